@@ -32,6 +32,43 @@ public interface IActiveResource {
     void consume(IRequest request, ResourceContainer resourceContainer, ResourceType resourceType,
             double absoluteDemand, final int resourceServiceID, Procedure onServedCallback);
 
+    /**
+     * Resolves the resource of the specified type contained in the specified resource container.
+     * 
+     * @param resourceContainer
+     *            the resource container of the requested resource
+     * @param resourceType
+     *            the type of the requested resource
+     * @return a handle to be passed to
+     *         {@link #consume(IRequest, ResourceHandle, double, int, Procedure)}; by default, a handle
+     *         that is looked up on each demand
+     */
+    default ResourceHandle resolve(ResourceContainer resourceContainer, ResourceType resourceType) {
+        return new UnresolvedResource(this, resourceContainer, resourceType);
+    }
+
+    /**
+     * Simulates a resource demand by the specified request on a previously resolved resource. By
+     * default, delegates to
+     * {@link #consume(IRequest, ResourceContainer, ResourceType, double, int, Procedure)}.
+     * 
+     * @param request
+     *            the demanding request
+     * @param resource
+     *            the handle of the requested resource
+     * @param absoluteDemand
+     *            the resource demand
+     * @param onServedCallback
+     *            the callback to be invoked once the requested demand has been served
+     * @see #resolve(ResourceContainer, ResourceType)
+     */
+    default void consume(IRequest request, ResourceHandle resource, double absoluteDemand,
+            final int resourceServiceID, Procedure onServedCallback) {
+        UnresolvedResource unresolved = UnresolvedResource.of(resource, this);
+        consume(request, (ResourceContainer) unresolved.context, (ResourceType) unresolved.specification,
+                absoluteDemand, resourceServiceID, onServedCallback);
+    }
+
     /**
      * Finds and returns the resource type providing the specified resource interface. If multiple
      * resource types provide the specified interface, the result of this method is unspecified, so
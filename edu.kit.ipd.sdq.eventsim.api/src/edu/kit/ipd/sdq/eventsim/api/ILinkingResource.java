@@ -24,4 +24,36 @@ public interface ILinkingResource {
      */
     void consume(IRequest request, LinkingResource specification, double absoluteDemand, Procedure onServedCallback);
 
+    /**
+     * Resolves the simulated counterpart of the specified linking resource.
+     * 
+     * @param specification
+     *            specification of the linking resource
+     * @return a handle to be passed to {@link #consume(IRequest, ResourceHandle, double, Procedure)};
+     *         by default, a handle that is looked up on each transfer
+     */
+    default ResourceHandle resolve(LinkingResource specification) {
+        return new UnresolvedResource(this, null, specification);
+    }
+
+    /**
+     * Simulates a network transfer over a previously resolved linking resource. By default,
+     * delegates to {@link #consume(IRequest, LinkingResource, double, Procedure)}.
+     * 
+     * @param request
+     *            the demanding request
+     * @param resource
+     *            the handle of the linking resource connecting the resource containers
+     * @param absoluteDemand
+     *            the resource demand
+     * @param onServedCallback
+     *            the callback to be invoked once the requested demand has been served
+     * @see #resolve(LinkingResource)
+     */
+    default void consume(IRequest request, ResourceHandle resource, double absoluteDemand,
+            Procedure onServedCallback) {
+        UnresolvedResource unresolved = UnresolvedResource.of(resource, this);
+        consume(request, (LinkingResource) unresolved.specification, absoluteDemand, onServedCallback);
+    }
+
 }
@@ -47,4 +47,57 @@ public interface IPassiveResource {
      */
     void release(IRequest request, AssemblyContext ctx, PassiveResource passiveResouce, int num);
 
+    /**
+     * Resolves the passive resource instantiated in the specified assembly context.
+     * 
+     * @param ctx
+     *            the passive resource's assembly context
+     * @param passiveResouce
+     *            the passive resource
+     * @return a handle to be passed to {@link #acquire(IRequest, ResourceHandle, int, Procedure)}
+     *         and {@link #release(IRequest, ResourceHandle, int)}; by default, a handle that is
+     *         looked up on each acquisition and release
+     */
+    default ResourceHandle resolve(AssemblyContext ctx, PassiveResource passiveResouce) {
+        return new UnresolvedResource(this, ctx, passiveResouce);
+    }
+
+    /**
+     * Acquires the specified number of instances of a previously resolved passive resource. By
+     * default, delegates to {@link #acquire(IRequest, AssemblyContext, PassiveResource, int, Procedure)}.
+     * 
+     * @param request
+     *            the request acquiring the passive resource
+     * @param resource
+     *            the handle of the passive resource to be acquired
+     * @param num
+     *            the number of instances
+     * @param onGrantedCallback
+     *            the callback to be invoked once the demanded number of instances have been granted
+     *            to the request
+     * @see #resolve(AssemblyContext, PassiveResource)
+     */
+    default void acquire(IRequest request, ResourceHandle resource, int num, Procedure onGrantedCallback) {
+        UnresolvedResource unresolved = UnresolvedResource.of(resource, this);
+        acquire(request, (AssemblyContext) unresolved.context, (PassiveResource) unresolved.specification, num,
+                onGrantedCallback);
+    }
+
+    /**
+     * Releases a specific amount of a previously resolved passive resource. By default, delegates
+     * to {@link #release(IRequest, AssemblyContext, PassiveResource, int)}.
+     * 
+     * @param request
+     *            the request releasing the passive resource
+     * @param resource
+     *            the handle of the passive resource to be released
+     * @param num
+     *            the number of instances
+     * @see #resolve(AssemblyContext, PassiveResource)
+     */
+    default void release(IRequest request, ResourceHandle resource, int num) {
+        UnresolvedResource unresolved = UnresolvedResource.of(resource, this);
+        release(request, (AssemblyContext) unresolved.context, (PassiveResource) unresolved.specification, num);
+    }
+
 }
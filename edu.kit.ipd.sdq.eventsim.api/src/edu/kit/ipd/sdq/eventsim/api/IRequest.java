@@ -1,6 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.api;
 
 import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
 
 /**
  * A system request represents a system call by a {@link IUser}.
@@ -22,6 +23,15 @@ public interface IRequest {
 
     IRequest getParent();
 
+    /**
+     * @return the system call that caused this request, or {@code null} if the implementation does
+     *         not track it. Requests without a system call are not delivered to keyed event
+     *         handlers.
+     */
+    default EntryLevelSystemCall getSystemCall() {
+        return null;
+    }
+
     AbstractAction getCurrentPosition();
 
 }
@@ -41,4 +41,139 @@ public interface ISimulationConfiguration extends ISimulationConfig {
 
     boolean isSimulateThroughputOfLinkingResources();
 
+    /**
+     * Indicates whether traversal instructions are executed iteratively (trampolined) rather than
+     * recursively, which keeps the call stack depth constant. Zero-time actions of different
+     * entities may then be interleaved differently than with recursive execution, so that a given
+     * seed does not necessarily reproduce the results of a recursive run.
+     * 
+     * @return true, if traversal is trampolined; false (default) else
+     */
+    default boolean isTrampolinedTraversal() {
+        return false;
+    }
+
+    /**
+     * Indicates whether simulation events are, in addition to their in-process delivery, published
+     * via the OSGi event admin service to listeners outside of the simulation.
+     * 
+     * @return true, if simulation events are published as OSGi events; false (default) else
+     */
+    default boolean isPublishOsgiEvents() {
+        return false;
+    }
+
+    /**
+     * Indicates whether live simulation telemetry (throughput, live entities, queue lengths, ...) is
+     * exposed via JMX while the simulation is running.
+     * 
+     * @return true, if telemetry is enabled; false (default) else
+     */
+    default boolean isTelemetryEnabled() {
+        return false;
+    }
+
+    /**
+     * @return the localhost port serving telemetry in the Prometheus text format, or 0 if telemetry
+     *         is not to be served over HTTP (default)
+     */
+    default int getTelemetryPort() {
+        return 0;
+    }
+
+    /**
+     * Returns the desired precision of the estimated mean of {@link #getPrecisionMetric()}, given
+     * as confidence interval half-width relative to the mean. Once this precision is reached, the
+     * simulation is stopped.
+     * 
+     * @return the relative half-width, e.g. 0.02 for &plusmn;2%, or 0 if the simulation is not to be
+     *         stopped on reaching a certain precision (default)
+     */
+    default double getPrecisionTarget() {
+        return 0;
+    }
+
+    /**
+     * @return the confidence level of the confidence interval assessed against
+     *         {@link #getPrecisionTarget()}; defaults to 0.95
+     */
+    default double getPrecisionConfidenceLevel() {
+        return 0.95;
+    }
+
+    /**
+     * @return the number of observations per batch when estimating the confidence interval by the
+     *         method of batch means; defaults to 100
+     */
+    default int getPrecisionBatchSize() {
+        return 100;
+    }
+
+    /**
+     * Returns the metric whose mean is assessed against {@link #getPrecisionTarget()}. Like
+     * {@link #getWarmupMetric()}, the metric is selected by the name used by measurements.
+     * 
+     * @return the metric name as used by measurements, e.g. {@code TIME_SPAN}, or an empty string
+     *         (default) if no precision target is set
+     */
+    default String getPrecisionMetric() {
+        return "";
+    }
+
+    /**
+     * @return the name or ID of the model element measured by {@link #getPrecisionMetric()}, e.g.
+     *         the start action of a time span, or an empty string to pool all measuring points of
+     *         that metric (default)
+     */
+    default String getPrecisionMeasuringPoint() {
+        return "";
+    }
+
+    /**
+     * Returns the metric observed to detect the end of the warm-up period. Measurements taken
+     * before steady state has been detected are not stored.
+     * 
+     * @return the metric name as used by measurements, e.g. {@code QUEUE_LENGTH}, or an empty
+     *         string (default) if warm-up detection is disabled
+     */
+    default String getWarmupMetric() {
+        return "";
+    }
+
+    /**
+     * Indicates whether the simulation runs on EventSim's own event-oriented simulation engine
+     * instead of the engine preferred by the simulation platform. The native engine supports the
+     * FCFS, delay and processor sharing scheduling policies only.
+     * 
+     * @return true, if the native simulation engine is used; false (default) else
+     */
+    default boolean isNativeSimulationEngine() {
+        return false;
+    }
+
+    /**
+     * Indicates whether requests and simulated processes are recycled once they have left the
+     * system, instead of being garbage-collected. Event handlers and listeners must then not retain
+     * references to these entities beyond their notification. Observe-only event handlers are
+     * notified synchronously in this case, so that no event refers to a recycled entity.
+     * 
+     * @return true, if entities are pooled; false (default) else
+     */
+    default boolean isEntityPooling() {
+        return false;
+    }
+
+    /**
+     * Returns the file summary statistics are written to at the end of the simulation. If set,
+     * summary statistics (mean, variance, percentiles etc.) are stored per metric and measuring
+     * point instead of individual measurements, which requires constant memory and no connection
+     * to R.
+     * 
+     * @return the summary file path, or an empty string (default) if individual measurements are
+     *         stored in R
+     */
+    default String getSummaryFile() {
+        return "";
+    }
+
 }
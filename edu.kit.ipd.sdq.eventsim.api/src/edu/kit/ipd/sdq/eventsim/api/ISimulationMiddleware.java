@@ -2,12 +2,16 @@ package edu.kit.ipd.sdq.eventsim.api;
 
 import javax.inject.Singleton;
 
+import org.palladiosimulator.pcm.core.entity.Entity;
+
 import de.uka.ipd.sdq.probfunction.math.IRandomGenerator;
 import de.uka.ipd.sdq.simulation.IStatusObserver;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationControl;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler;
+import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationEvent;
+import edu.kit.ipd.sdq.eventsim.api.events.SimulationStopEvent;
 
 /**
  * The simulation middleware provides infrastructure services.
@@ -81,14 +85,79 @@ public interface ISimulationMiddleware {
     <T extends SimulationEvent> void registerEventHandler(Class<T> eventType, final IEventHandler<T> handler,
             String filter);
 
+    /**
+     * Registers a new event handler for events of a specified type that concern the specified model
+     * element. Events are delivered to the handler only if their {@link SimulationEvent#getKey()}
+     * has the same ID as the given key, e.g. the usage scenario for user events, or the system call
+     * for request events. Finding the interested handlers does not involve invoking the others.
+     * <p>
+     * The default implementation registers an unkeyed handler that compares the IDs itself.
+     * 
+     * @param eventType
+     *            The event type to listen for
+     * @param key
+     *            The model element the handler is interested in
+     * @param handler
+     *            The event handler
+     */
+    default <T extends SimulationEvent> void registerEventHandler(Class<T> eventType, Entity key,
+            final IEventHandler<T> handler) {
+        final String keyId = key.getId();
+        registerEventHandler(eventType, e -> {
+            Entity eventKey = e.getKey();
+            if (eventKey == null || !keyId.equals(eventKey.getId())) {
+                return Registration.KEEP_REGISTERED;
+            }
+            return handler.handle(e);
+        });
+    }
+
+    /**
+     * Registers a new event handler for events of a specified type. Observe-only handlers are
+     * notified asynchronously on a background thread, in the order the events have been triggered.
+     * All events triggered before a {@link SimulationStopEvent} are delivered to observe-only
+     * handlers before the stop event reaches the other handlers.
+     * <p>
+     * Observe-only handlers must not access the simulation (not even to query the simulation time),
+     * because the simulation proceeds while they are running. If entity pooling is enabled (see
+     * {@link ISimulationConfiguration#isEntityPooling()}), they are notified synchronously instead.
+     * <p>
+     * The default implementation notifies all handlers synchronously, which satisfies the above
+     * ordering guarantees.
+     * 
+     * @param eventType
+     *            The event type to listen for
+     * @param handler
+     *            The event handler
+     * @param observeOnly
+     *            whether the handler merely observes events
+     */
+    default <T extends SimulationEvent> void registerEventHandler(Class<T> eventType,
+            final IEventHandler<T> handler, boolean observeOnly) {
+        registerEventHandler(eventType, handler);
+    }
+
     /**
      * Gives access the the amount of measurements done in the current simulation. One measurement
      * means one user request was entirely processed.
      * 
-     * @return The amount of measurement for the current simulation run.
+     * @return The amount of measurement for the current simulation run, or
+     *         {@link Integer#MAX_VALUE} if the amount exceeds the range of {@code int} (see
+     *         {@link #getMeasurementCountAsLong()}).
      */
     int getMeasurementCount();
 
+    /**
+     * Gives access to the amount of measurements done in the current simulation, like
+     * {@link #getMeasurementCount()}, but without being limited to the range of {@code int}. The
+     * default implementation returns {@link #getMeasurementCount()}.
+     * 
+     * @return The amount of measurement for the current simulation run.
+     */
+    default long getMeasurementCountAsLong() {
+        return getMeasurementCount();
+    }
+
     /**
      * Increases the simulation measurement count. One measurement means one user request was
      * entirely processed.
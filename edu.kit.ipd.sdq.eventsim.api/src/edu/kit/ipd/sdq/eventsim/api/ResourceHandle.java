@@ -0,0 +1,17 @@
+package edu.kit.ipd.sdq.eventsim.api;
+
+/**
+ * An opaque reference to a simulated resource, as returned by the {@code resolve} methods of
+ * {@link IActiveResource}, {@link IPassiveResource} and {@link ILinkingResource}.
+ * <p>
+ * Resolving a resource involves looking it up (or creating it) in a registry. Clients demanding the
+ * same resource over and over again should resolve it once and then pass the handle to the
+ * handle-based methods, which access the resource directly. Handles are valid for the simulation run
+ * they have been resolved in, and may only be passed to the module that issued them.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public interface ResourceHandle {
+
+}
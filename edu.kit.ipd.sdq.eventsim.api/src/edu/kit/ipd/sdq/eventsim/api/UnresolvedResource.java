@@ -0,0 +1,46 @@
+package edu.kit.ipd.sdq.eventsim.api;
+
+/**
+ * The {@link ResourceHandle} issued by the default {@code resolve} methods of
+ * {@link IActiveResource}, {@link IPassiveResource} and {@link ILinkingResource}. It merely keeps
+ * the arguments passed to {@code resolve}, so that the handle-based methods can fall back to the
+ * lookup-based methods of modules that do not resolve their resources in advance.
+ *
+ * @author Philipp Merkle
+ *
+ */
+final class UnresolvedResource implements ResourceHandle {
+
+    /** the module that issued this handle */
+    private final Object issuer;
+
+    /** the resource container or assembly context, or {@code null} if not required */
+    final Object context;
+
+    /** the resource type, passive resource or linking resource */
+    final Object specification;
+
+    UnresolvedResource(Object issuer, Object context, Object specification) {
+        this.issuer = issuer;
+        this.context = context;
+        this.specification = specification;
+    }
+
+    /**
+     * @return the specified handle, if it has been issued by the specified module's default
+     *         {@code resolve} method
+     * @throws IllegalArgumentException
+     *             if the handle has been issued by another module or by an overridden
+     *             {@code resolve} method
+     */
+    static UnresolvedResource of(ResourceHandle handle, Object issuer) {
+        if (!(handle instanceof UnresolvedResource) || ((UnresolvedResource) handle).issuer != issuer) {
+            throw new IllegalArgumentException(String.format(
+                    "Resource handle %s has not been issued by %s. Modules overriding resolve have to "
+                            + "override the handle-based methods as well.",
+                    handle, issuer));
+        }
+        return (UnresolvedResource) handle;
+    }
+
+}
@@ -2,6 +2,8 @@ package edu.kit.ipd.sdq.eventsim.api.events;
 
 import java.util.Map;
 
+import org.palladiosimulator.pcm.core.entity.Entity;
+
 /**
  * A simulation event triggered or handled by a simulation component.
  * 
@@ -24,5 +26,15 @@ public interface SimulationEvent {
 	}
 
 	public Map<String, String> getProperties();
+
+	/**
+	 * Returns the model element this event is about, such as the usage scenario of a user. Handlers
+	 * registered for a key are notified only of events whose key has the same ID.
+	 * 
+	 * @return the key of this event, or {@code null} if this event cannot be subscribed to by key
+	 */
+	public default Entity getKey() {
+		return null;
+	}
 	
 }
@@ -1,5 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.api.events;
 
+import org.palladiosimulator.pcm.core.entity.Entity;
+
 import edu.kit.ipd.sdq.eventsim.api.IRequest;
 
 /**
@@ -13,8 +15,12 @@ public class SystemRequestFinishedEvent extends AbstractSimulationEvent {
 
 	private IRequest request;
 
+	/** captured on creation, so that later delivery does not depend on the request's state */
+	private Entity key;
+
 	public SystemRequestFinishedEvent(IRequest request) {
 		this.request = request;
+		this.key = request.getSystemCall();
 	}
 
 	/**
@@ -23,7 +29,13 @@ public class SystemRequestFinishedEvent extends AbstractSimulationEvent {
 	public IRequest getRequest() {
 		return request;
 	}
-	
-	
+
+	/**
+	 * @return the system call that caused the finished request
+	 */
+	@Override
+	public Entity getKey() {
+		return key;
+	}
 
 }
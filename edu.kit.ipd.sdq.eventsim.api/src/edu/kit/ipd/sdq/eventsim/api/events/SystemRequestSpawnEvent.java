@@ -1,5 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.api.events;
 
+import org.palladiosimulator.pcm.core.entity.Entity;
+
 import edu.kit.ipd.sdq.eventsim.api.IRequest;
 
 /**
@@ -13,8 +15,12 @@ public class SystemRequestSpawnEvent extends AbstractSimulationEvent {
 
 	private IRequest request;
 
+	/** captured on creation, so that later delivery does not depend on the request's state */
+	private Entity key;
+
 	public SystemRequestSpawnEvent(IRequest request) {
 		this.request = request;
+		this.key = request.getSystemCall();
 	}
 
 	/**
@@ -24,4 +30,12 @@ public class SystemRequestSpawnEvent extends AbstractSimulationEvent {
 		return request;
 	}
 
+	/**
+	 * @return the system call that caused the spawned request
+	 */
+	@Override
+	public Entity getKey() {
+		return key;
+	}
+
 }
@@ -1,5 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.api.events;
 
+import org.palladiosimulator.pcm.core.entity.Entity;
+
 import edu.kit.ipd.sdq.eventsim.api.IUser;
 
 /**
@@ -13,8 +15,12 @@ public class WorkloadUserFinishedEvent extends AbstractSimulationEvent {
 
 	private IUser user;
 
+	/** captured on creation, so that later delivery does not depend on the user's state */
+	private Entity key;
+
 	public WorkloadUserFinishedEvent(IUser user) {
 		this.user = user;
+		this.key = user.getUsageScenario();
 	}
 
 	/**
@@ -24,4 +30,12 @@ public class WorkloadUserFinishedEvent extends AbstractSimulationEvent {
 		return user;
 	}
 
+	/**
+	 * @return the usage scenario of the finished user
+	 */
+	@Override
+	public Entity getKey() {
+		return key;
+	}
+
 }
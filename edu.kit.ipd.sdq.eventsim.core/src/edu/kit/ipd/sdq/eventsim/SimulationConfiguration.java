@@ -28,6 +28,48 @@ public class SimulationConfiguration extends AbstractSimulationConfig implements
     /** whether to include throughput in the simulation without marshaling/demarshalling. */
     public static final String SIMULATE_THROUGHPUT_OF_LINKING_RESOURCES = "simulateThroughputOfLinkingResources";
 
+    /** whether to execute traversal instructions iteratively rather than recursively; defaults to false. */
+    public static final String TRAMPOLINED_TRAVERSAL = "trampolinedTraversal";
+
+    /** whether to publish simulation events via the OSGi event admin as well; defaults to false. */
+    public static final String PUBLISH_OSGI_EVENTS = "publishOsgiEvents";
+
+    /** whether to expose live telemetry via JMX; defaults to false. */
+    public static final String TELEMETRY_ENABLED = "telemetryEnabled";
+
+    /** the localhost port serving telemetry in the Prometheus text format; 0 (default) disables HTTP. */
+    public static final String TELEMETRY_PORT = "telemetryPort";
+
+    /**
+     * the relative confidence interval half-width of the mean of the precision metric at which to
+     * stop; 0 (default) disables the precision-driven stop condition.
+     */
+    public static final String PRECISION_TARGET = "precisionTarget";
+
+    /** the confidence level of the interval assessed against the precision target; defaults to 0.95. */
+    public static final String PRECISION_CONFIDENCE_LEVEL = "precisionConfidenceLevel";
+
+    /** the number of observations per batch; defaults to 100. */
+    public static final String PRECISION_BATCH_SIZE = "precisionBatchSize";
+
+    /** the metric whose mean is assessed against the precision target; required if there is a target. */
+    public static final String PRECISION_METRIC = "precisionMetric";
+
+    /** the measured element's name or ID; empty (default) pools all measuring points of the metric. */
+    public static final String PRECISION_MEASURING_POINT = "precisionMeasuringPoint";
+
+    /** the metric observed to detect the end of the warm-up period; empty (default) disables detection. */
+    public static final String WARMUP_METRIC = "warmupMetric";
+
+    /** whether to use EventSim's native simulation engine instead of the preferred one; defaults to false. */
+    public static final String NATIVE_SIMULATION_ENGINE = "nativeSimulationEngine";
+
+    /** whether to recycle requests and simulated processes after they left the system; defaults to false. */
+    public static final String ENTITY_POOLING = "entityPooling";
+
+    /** the file summary statistics are written to; empty (default) stores all measurements in R. */
+    public static final String SUMMARY_FILE = "summaryFile";
+
     private Map<String, Object> configMap;
 
     private PCMModel model;
@@ -38,6 +80,32 @@ public class SimulationConfiguration extends AbstractSimulationConfig implements
 
     private boolean simulateThroughputOfLinkingResources;
 
+    private boolean trampolinedTraversal;
+
+    private boolean publishOsgiEvents;
+
+    private boolean telemetryEnabled;
+
+    private int telemetryPort;
+
+    private double precisionTarget;
+
+    private double precisionConfidenceLevel = 0.95;
+
+    private int precisionBatchSize = 100;
+
+    private String precisionMetric = "";
+
+    private String precisionMeasuringPoint = "";
+
+    private String warmupMetric = "";
+
+    private boolean nativeSimulationEngine;
+
+    private boolean entityPooling;
+
+    private String summaryFile = "";
+
     public SimulationConfiguration(Map<String, Object> configuration, boolean debug) {
         super(configuration, debug);
         this.configMap = configuration;
@@ -49,6 +117,46 @@ public class SimulationConfiguration extends AbstractSimulationConfig implements
             simulateThroughputOfLinkingResources = (Boolean) configuration
                     .get(SIMULATE_THROUGHPUT_OF_LINKING_RESOURCES);
         }
+        if (configuration.containsKey(TRAMPOLINED_TRAVERSAL)) {
+            trampolinedTraversal = (Boolean) configuration.get(TRAMPOLINED_TRAVERSAL);
+        }
+        if (configuration.containsKey(PUBLISH_OSGI_EVENTS)) {
+            publishOsgiEvents = (Boolean) configuration.get(PUBLISH_OSGI_EVENTS);
+        }
+        if (configuration.containsKey(TELEMETRY_ENABLED)) {
+            telemetryEnabled = (Boolean) configuration.get(TELEMETRY_ENABLED);
+        }
+        if (configuration.containsKey(TELEMETRY_PORT)) {
+            telemetryPort = (Integer) configuration.get(TELEMETRY_PORT);
+        }
+        // stored as strings by the launch configuration
+        if (configuration.containsKey(PRECISION_TARGET)) {
+            precisionTarget = Double.parseDouble(configuration.get(PRECISION_TARGET).toString());
+        }
+        if (configuration.containsKey(PRECISION_CONFIDENCE_LEVEL)) {
+            precisionConfidenceLevel = Double.parseDouble(configuration.get(PRECISION_CONFIDENCE_LEVEL).toString());
+        }
+        if (configuration.containsKey(PRECISION_BATCH_SIZE)) {
+            precisionBatchSize = Integer.parseInt(configuration.get(PRECISION_BATCH_SIZE).toString());
+        }
+        if (configuration.containsKey(PRECISION_METRIC)) {
+            precisionMetric = configuration.get(PRECISION_METRIC).toString().trim();
+        }
+        if (configuration.containsKey(PRECISION_MEASURING_POINT)) {
+            precisionMeasuringPoint = configuration.get(PRECISION_MEASURING_POINT).toString().trim();
+        }
+        if (configuration.containsKey(WARMUP_METRIC)) {
+            warmupMetric = configuration.get(WARMUP_METRIC).toString().trim();
+        }
+        if (configuration.containsKey(NATIVE_SIMULATION_ENGINE)) {
+            nativeSimulationEngine = (Boolean) configuration.get(NATIVE_SIMULATION_ENGINE);
+        }
+        if (configuration.containsKey(ENTITY_POOLING)) {
+            entityPooling = (Boolean) configuration.get(ENTITY_POOLING);
+        }
+        if (configuration.containsKey(SUMMARY_FILE)) {
+            summaryFile = configuration.get(SUMMARY_FILE).toString().trim();
+        }
     }
 
     @Override
@@ -88,4 +196,69 @@ public class SimulationConfiguration extends AbstractSimulationConfig implements
         return simulateThroughputOfLinkingResources;
     }
 
+    @Override
+    public boolean isTrampolinedTraversal() {
+        return trampolinedTraversal;
+    }
+
+    @Override
+    public boolean isPublishOsgiEvents() {
+        return publishOsgiEvents;
+    }
+
+    @Override
+    public boolean isTelemetryEnabled() {
+        return telemetryEnabled;
+    }
+
+    @Override
+    public int getTelemetryPort() {
+        return telemetryPort;
+    }
+
+    @Override
+    public double getPrecisionTarget() {
+        return precisionTarget;
+    }
+
+    @Override
+    public double getPrecisionConfidenceLevel() {
+        return precisionConfidenceLevel;
+    }
+
+    @Override
+    public int getPrecisionBatchSize() {
+        return precisionBatchSize;
+    }
+
+    @Override
+    public String getPrecisionMetric() {
+        return precisionMetric;
+    }
+
+    @Override
+    public String getPrecisionMeasuringPoint() {
+        return precisionMeasuringPoint;
+    }
+
+    @Override
+    public String getWarmupMetric() {
+        return warmupMetric;
+    }
+
+    @Override
+    public boolean isNativeSimulationEngine() {
+        return nativeSimulationEngine;
+    }
+
+    @Override
+    public boolean isEntityPooling() {
+        return entityPooling;
+    }
+
+    @Override
+    public String getSummaryFile() {
+        return summaryFile;
+    }
+
 }
@@ -7,7 +7,11 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEntityDelegator;
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimEngineFactory;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import edu.kit.ipd.sdq.eventsim.api.Procedure;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
 
 /**
  * This is the abstract base class for all simulated entities. Entities have an ID and they notify
@@ -20,6 +24,12 @@ import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
  * <p>
  * Listeners can register themselves by using the {@code addEntityListener()} method. The listeners
  * can be notified by calling {@code notifyEnteredSystem()} or {@code notifyLeftSystem()}.
+ * <p>
+ * Entities can be recycled to save allocations: once an entity is no longer used, it is
+ * {@link #release() released} to a pool, from where it is later {@link #recycle() recycled} under a
+ * new ID. Subclasses supporting this reset their own state when being recycled. Since an entity's
+ * ID changes when it is recycled, entities are equal by identity only; they remain valid keys of
+ * hash-based collections across recycling.
  * 
  * @author Philipp Merkle
  * 
@@ -54,11 +64,11 @@ public abstract class EventSimEntity extends AbstractSimEntityDelegator {
     private static final Map<Class<? extends EventSimEntity>, AtomicLong> idGenerators;
 
     private final List<IEntityListener> listeners;
-    private final long id;
+    private long id;
     private final String namePrefix;
     private EntityLifecyclePhase lifecyclePhase;
-
-    private int hashCode;
+    private boolean released;
+    private boolean recyclable = true;
 
     static {
         idGenerators = new HashMap<Class<? extends EventSimEntity>, AtomicLong>();
@@ -142,6 +152,62 @@ public abstract class EventSimEntity extends AbstractSimEntityDelegator {
         return this.id;
     }
 
+    /**
+     * Marks this entity as released, i.e. as no longer being used by the simulation. Released
+     * entities may be recycled later on.
+     */
+    public void release() {
+        this.released = true;
+    }
+
+    /**
+     * @return true, if this entity has been released and has not been recycled since; false else
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Prevents this entity from being recycled. To be used when the entity is referenced by other
+     * entities that may outlive it, e.g. by asynchronously forked requests.
+     */
+    public void preventRecycling() {
+        this.recyclable = false;
+    }
+
+    /**
+     * @return true, if this entity may be recycled once released; false else
+     */
+    public boolean isRecyclable() {
+        return recyclable;
+    }
+
+    /**
+     * Prepares a released entity for being reused. The entity is assigned the next ID, loses all
+     * listeners and returns to the {@link EntityLifecyclePhase#CREATED} phase.
+     * <p>
+     * Equality and hash code do not depend on the ID, so a hash-based collection still containing
+     * the entity keeps finding it. Owners of such collections should nonetheless remove the entity
+     * when it leaves the system, unless they mean to associate the recycled entity with what has
+     * been stored for the released one.
+     */
+    protected void recycle() {
+        this.id = generateNextId();
+        this.listeners.clear();
+        this.lifecyclePhase = EntityLifecyclePhase.CREATED;
+        this.released = false;
+    }
+
+    /**
+     * Throws an exception if this entity has been released. Meant to detect use-after-release bugs
+     * when debugging.
+     */
+    protected void checkNotReleased() {
+        if (released) {
+            throw new EventSimException(getName() + " is used after having been released");
+        }
+    }
+
     /**
      * Returns the name of this entity. The name is the {@code namePrefix} passed to the constructor
      * concatenated with the entity's ID.
@@ -153,6 +219,30 @@ public abstract class EventSimEntity extends AbstractSimEntityDelegator {
         return this.namePrefix + "#" + this.getEntityId();
     }
 
+    /**
+     * Invokes the specified callback once the specified amount of simulation time has passed. If
+     * supported by the simulation engine, the callback is scheduled without creating an event
+     * object (see {@link ICallbackScheduler}).
+     * 
+     * @param delay
+     *            the delay, relative to the current simulation time
+     * @param callback
+     *            the callback to be invoked
+     */
+    protected void scheduleCallback(double delay, Procedure callback) {
+        ISimEngineFactory factory = getModel().getSimEngineFactory();
+        if (factory instanceof ICallbackScheduler) {
+            ((ICallbackScheduler) factory).scheduleCallback(delay, callback);
+            return;
+        }
+        new AbstractSimEventDelegator<EventSimEntity>(getModel(), "waitEvent") {
+            @Override
+            public void eventRoutine(EventSimEntity who) {
+                callback.execute();
+            }
+        }.schedule(this, delay);
+    }
+
     /**
      * Resets the ID generators, so that the ID generated next is 0 for all entity classes.
      */
@@ -177,28 +267,22 @@ public abstract class EventSimEntity extends AbstractSimEntityDelegator {
         return lifecyclePhase;
     }
 
+    /**
+     * Returns the identity hash code, which other than the ID is retained when recycling this
+     * entity. Since IDs are unique per class, comparing by identity is equivalent to comparing by
+     * ID for entities in use.
+     */
     @Override
     public int hashCode() {
-        if (hashCode == 0) {
-            final int prime = 31;
-            int result = 1;
-            hashCode = prime * result + (int) (id ^ (id >>> 32));
-        }
-        return hashCode;
+        return System.identityHashCode(this);
     }
 
+    /**
+     * Compares by identity; see {@link #hashCode()}.
+     */
     @Override
     public boolean equals(Object obj) {
-        if (this == obj)
-            return true;
-        if (obj == null)
-            return false;
-        if (getClass() != obj.getClass())
-            return false;
-        EventSimEntity other = (EventSimEntity) obj;
-        if (id != other.id)
-            return false;
-        return true;
+        return this == obj;
     }
 
 }
@@ -0,0 +1,28 @@
+package edu.kit.ipd.sdq.eventsim.entities;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimEngineFactory;
+import edu.kit.ipd.sdq.eventsim.api.Procedure;
+
+/**
+ * Implemented by {@link ISimEngineFactory}s whose engine can schedule plain callbacks. Compared to
+ * scheduling an {@link AbstractSimEventDelegator}, this saves allocating an event object (and its
+ * engine-specific delegate) for each delay.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public interface ICallbackScheduler {
+
+    /**
+     * Schedules the specified callback to be invoked once the specified amount of simulation time
+     * has passed.
+     * 
+     * @param delay
+     *            the delay, relative to the current simulation time
+     * @param callback
+     *            the callback to be invoked
+     */
+    void scheduleCallback(double delay, Procedure callback);
+
+}
@@ -0,0 +1,148 @@
+package edu.kit.ipd.sdq.eventsim.interpreter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.palladiosimulator.pcm.core.entity.Entity;
+
+import com.google.inject.Singleton;
+
+import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
+import edu.kit.ipd.sdq.eventsim.interpreter.listener.ITraversalListener;
+
+/**
+ * The compiled form of all behaviours that can be traversed by a certain kind of
+ * {@link EventSimEntity}. Each action is assigned a dense index, so that the interpreter can
+ * dispatch actions by indexing into arrays instead of looking up simulation strategies and traversal
+ * listeners on every step. For each action, the program holds
+ * <ul>
+ * <li>the {@link SimulationStrategy} responsible for the action,</li>
+ * <li>the index of the action's successor, or {@link #NO_ACTION} if there is none, and</li>
+ * <li>the list of {@link ITraversalListener}s observing the action. This list is shared with the
+ * {@link TraversalListenerRegistry}, so that listeners registered after compilation are
+ * notified as well.</li>
+ * </ul>
+ * Programs are built by an {@link ExecutionProgramCompiler} when the simulation is being prepared.
+ *
+ * @author Philipp Merkle
+ *
+ * @param <A>
+ *            the least common parent type of all actions that are to be traversed
+ * @param <E>
+ *            the type of entities traversing the actions
+ */
+@Singleton
+public class ExecutionProgram<A extends Entity, E extends EventSimEntity> {
+
+    /** index denoting the absence of an action, e.g. the successor of a stop action */
+    public static final int NO_ACTION = -1;
+
+    private List<A> actions = Collections.emptyList();
+
+    private List<SimulationStrategy<A, E>> strategies = Collections.emptyList();
+
+    private int[] successors = new int[0];
+
+    private List<List<ITraversalListener<A, E>>> listeners = Collections.emptyList();
+
+    private List<ITraversalListener<A, E>> globalListeners = Collections.emptyList();
+
+    private Map<A, Integer> actionIndices = Collections.emptyMap();
+
+    private Map<Object, Integer> entryIndices = Collections.emptyMap();
+
+    /**
+     * Replaces the contents of this program. Used by {@link ExecutionProgramCompiler}.
+     */
+    void load(List<A> actions, List<SimulationStrategy<A, E>> strategies, int[] successors,
+            List<List<ITraversalListener<A, E>>> listeners, List<ITraversalListener<A, E>> globalListeners,
+            IdentityHashMap<A, Integer> actionIndices, IdentityHashMap<Object, Integer> entryIndices) {
+        this.actions = new ArrayList<>(actions);
+        this.strategies = new ArrayList<>(strategies);
+        this.successors = successors;
+        this.listeners = new ArrayList<>(listeners);
+        this.globalListeners = globalListeners;
+        this.actionIndices = actionIndices;
+        this.entryIndices = entryIndices;
+    }
+
+    /**
+     * @return the number of actions contained in this program
+     */
+    public int size() {
+        return actions.size();
+    }
+
+    /**
+     * Returns the index of the specified action.
+     *
+     * @param action
+     *            the action
+     * @return the action's index, or {@link #NO_ACTION} if the action has not been compiled into
+     *         this program
+     */
+    public int indexOf(A action) {
+        Integer index = actionIndices.get(action);
+        return index != null ? index : NO_ACTION;
+    }
+
+    /**
+     * Returns the index of the first action to be simulated when traversing the specified
+     * behaviour.
+     *
+     * @param behaviour
+     *            the behaviour
+     * @return the index of the behaviour's start action, or {@link #NO_ACTION} if the behaviour has
+     *         not been compiled into this program
+     */
+    public int entryOf(Object behaviour) {
+        Integer index = entryIndices.get(behaviour);
+        return index != null ? index : NO_ACTION;
+    }
+
+    public A getAction(int index) {
+        return actions.get(index);
+    }
+
+    /**
+     * @return the simulation strategy for the action at the specified index, or {@code null} if
+     *         there is no strategy for the action's type
+     */
+    public SimulationStrategy<A, E> getStrategy(int index) {
+        return strategies.get(index);
+    }
+
+    /**
+     * @return the index of the successor of the action at the specified index, or
+     *         {@link #NO_ACTION} if the action has no successor
+     */
+    public int getSuccessor(int index) {
+        return successors[index];
+    }
+
+    public void notifyBeforeListener(int index, E entity) {
+        A action = actions.get(index);
+        for (int i = 0; i < globalListeners.size(); i++) {
+            globalListeners.get(i).before(action, entity);
+        }
+        List<ITraversalListener<A, E>> actionListeners = listeners.get(index);
+        for (int i = 0; i < actionListeners.size(); i++) {
+            actionListeners.get(i).before(action, entity);
+        }
+    }
+
+    public void notifyAfterListener(int index, E entity) {
+        A action = actions.get(index);
+        for (int i = 0; i < globalListeners.size(); i++) {
+            globalListeners.get(i).after(action, entity);
+        }
+        List<ITraversalListener<A, E>> actionListeners = listeners.get(index);
+        for (int i = 0; i < actionListeners.size(); i++) {
+            actionListeners.get(i).after(action, entity);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package edu.kit.ipd.sdq.eventsim.interpreter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.pcm.core.entity.Entity;
+
+import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
+import edu.kit.ipd.sdq.eventsim.interpreter.listener.ITraversalListener;
+
+/**
+ * Compiles behaviours into an {@link ExecutionProgram}. Behaviours are added one by one, each
+ * identified by its start action; the chain of actions following the start action is determined by
+ * the given successor function. Nested behaviours (e.g. loop bodies) need to be added separately.
+ *
+ * @author Philipp Merkle
+ *
+ * @param <A>
+ *            the least common parent type of all actions that are to be traversed
+ * @param <E>
+ *            the type of entities traversing the actions
+ */
+public class ExecutionProgramCompiler<A extends Entity, E extends EventSimEntity> {
+
+    private static final Logger logger = Logger.getLogger(ExecutionProgramCompiler.class);
+
+    private final SimulationStrategyRegistry<A, E> strategyRegistry;
+
+    private final TraversalListenerRegistry<A, E> listenerRegistry;
+
+    private final Function<A, A> successorFunction;
+
+    private final List<A> actions = new ArrayList<>();
+
+    private final IdentityHashMap<A, Integer> actionIndices = new IdentityHashMap<>();
+
+    private final IdentityHashMap<Object, Integer> entryIndices = new IdentityHashMap<>();
+
+    /**
+     * @param strategyRegistry
+     *            the registry used to resolve simulation strategies
+     * @param listenerRegistry
+     *            the registry providing the traversal listeners
+     * @param successorFunction
+     *            returns the successor of an action, or {@code null} if there is none
+     */
+    public ExecutionProgramCompiler(SimulationStrategyRegistry<A, E> strategyRegistry,
+            TraversalListenerRegistry<A, E> listenerRegistry, Function<A, A> successorFunction) {
+        this.strategyRegistry = strategyRegistry;
+        this.listenerRegistry = listenerRegistry;
+        this.successorFunction = successorFunction;
+    }
+
+    /**
+     * Adds the chain of actions starting at the specified start action. Behaviours that have been
+     * added before are skipped.
+     *
+     * @param behaviour
+     *            the behaviour containing the start action
+     * @param start
+     *            the behaviour's start action
+     * @return {@code true}, if the behaviour has not been added before; {@code false} else
+     */
+    public boolean addBehaviour(Object behaviour, A start) {
+        if (entryIndices.containsKey(behaviour)) {
+            return false;
+        }
+        A current = start;
+        while (current != null && !actionIndices.containsKey(current)) {
+            actionIndices.put(current, actions.size());
+            actions.add(current);
+            current = successorFunction.apply(current);
+        }
+        if (start != null) {
+            entryIndices.put(behaviour, actionIndices.get(start));
+        }
+        return true;
+    }
+
+    /**
+     * Resolves strategies, successors and listeners for all actions added so far, and loads the
+     * result into the specified program.
+     *
+     * @param program
+     *            the program to be (re-)loaded
+     */
+    @SuppressWarnings("unchecked")
+    public void compileInto(ExecutionProgram<A, E> program) {
+        List<SimulationStrategy<A, E>> strategies = new ArrayList<>(actions.size());
+        List<List<ITraversalListener<A, E>>> listeners = new ArrayList<>(actions.size());
+        int[] successors = new int[actions.size()];
+        for (int i = 0; i < actions.size(); i++) {
+            A action = actions.get(i);
+            // unsupported action types are reported not before they are traversed
+            strategies.add(strategyRegistry.lookup((Class<? extends A>) action.eClass().getInstanceClass()));
+            listeners.add(listenerRegistry.getTraversalListeners(action));
+            A successor = successorFunction.apply(action);
+            successors[i] = successor != null ? actionIndices.get(successor) : ExecutionProgram.NO_ACTION;
+        }
+        program.load(actions, strategies, successors, listeners, listenerRegistry.getGlobalTraversalListeners(),
+                new IdentityHashMap<>(actionIndices), new IdentityHashMap<>(entryIndices));
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Compiled %s behaviours comprising %s actions", entryIndices.size(),
+                    actions.size()));
+        }
+    }
+
+}
@@ -30,10 +30,7 @@ public class TraversalListenerRegistry<A extends Entity, E extends EventSimEntit
      *            the listener that is to be registered
      */
     public void addTraversalListener(final A action, final ITraversalListener<A, E> listener) {
-        if (!traversalListenerMap.containsKey(action)) {
-            traversalListenerMap.put(action, new ArrayList<>());
-        }
-        traversalListenerMap.get(action).add(listener);
+        getTraversalListeners(action).add(listener);
     }
 
     /**
@@ -68,12 +65,38 @@ public class TraversalListenerRegistry<A extends Entity, E extends EventSimEntit
         return Collections.unmodifiableMap(traversalListenerMap);
     }
 
+    /**
+     * Returns the (modifiable) list of listeners observing the specified action. The list is
+     * created, if not yet present, and remains valid for the lifetime of this registry so that an
+     * {@link ExecutionProgram} may hold on to it.
+     * 
+     * @param action
+     *            the observed action
+     * @return the listeners observing the action
+     */
+    List<ITraversalListener<A, E>> getTraversalListeners(final A action) {
+        List<ITraversalListener<A, E>> listeners = traversalListenerMap.get(action);
+        if (listeners == null) {
+            listeners = new ArrayList<>();
+            traversalListenerMap.put(action, listeners);
+        }
+        return listeners;
+    }
+
+    /**
+     * @return the (modifiable) list of listeners observing arbitrary actions
+     */
+    List<ITraversalListener<A, E>> getGlobalTraversalListeners() {
+        return traversalListenerList;
+    }
+
     /**
      * Removes all {@link ITraversalListener}s.
      */
     public void removeTraversalListeners() {
         traversalListenerList.clear();
-        traversalListenerMap.clear();
+        // clear lists in place, as they might be referenced by an execution program
+        traversalListenerMap.values().forEach(List::clear);
     }
 
     public void notifyAfterListener(final A action, final E request) {
@@ -100,4 +123,4 @@ public class TraversalListenerRegistry<A extends Entity, E extends EventSimEntit
         }
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package edu.kit.ipd.sdq.eventsim.interpreter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
+import edu.kit.ipd.sdq.eventsim.api.Procedure;
+
+/**
+ * Executes {@link TraversalInstruction}s iteratively instead of recursively.
+ * <p>
+ * Without trampolining, simulating an action invokes its simulation strategy, which invokes the
+ * returned traversal instruction, which in turn simulates the successor action, all on the same
+ * call stack. The stack thus grows with the number of actions traversed in between two simulation
+ * events, which may be unbounded for long behaviours or loops with many iterations.
+ * <p>
+ * With trampolining, instructions issued while another instruction is being executed are deferred
+ * and executed by the outermost invocation of {@link #execute(TraversalInstruction)} once the
+ * current instruction returns. Hence, the stack depth is constant, regardless of the behaviour's
+ * length. Deferred instructions are executed depth-first: the instructions issued by an instruction
+ * are executed in the order they have been issued, each one including the instructions it issues in
+ * turn, before any instruction issued earlier by an enclosing instruction. This is the order of the
+ * recursive execution, except that the remainder of an instruction now runs before, not after, the
+ * instructions it issues. Thus, zero-time actions of different entities (e.g. a forked behaviour and
+ * its parent) may still be interleaved differently, and so may random numbers be drawn and resources
+ * be requested in a different order at the same point in simulation time.
+ * <p>
+ * For this reason, trampolining is disabled by default, so that a given seed reproduces the results
+ * of the recursive execution. It can be enabled via
+ * {@link ISimulationConfiguration#isTrampolinedTraversal()} for models that would otherwise overflow
+ * the stack.
+ * <p>
+ * In either mode, tasks can be deferred until the traversal in progress has completed (see
+ * {@link #executeAfterTraversal(Procedure)}), e.g. to recycle an entity only once no instruction
+ * referring to it is pending or still on the stack.
+ *
+ * @author Philipp Merkle
+ *
+ */
+@Singleton
+public class TraversalTrampoline {
+
+    /** instructions waiting for execution, the next one on top */
+    private final Deque<TraversalInstruction> pendingInstructions = new ArrayDeque<>();
+
+    /** instructions issued by the instruction currently being executed, in the order of issue */
+    private final List<TraversalInstruction> issuedInstructions = new ArrayList<>();
+
+    private final boolean enabled;
+
+    /** tasks to be run once the outermost instruction has completed */
+    private final Deque<Procedure> deferredTasks = new ArrayDeque<>();
+
+    private boolean draining;
+
+    /** the nesting depth of instructions executed recursively, i.e. with trampolining disabled */
+    private int depth;
+
+    @Inject
+    public TraversalTrampoline(ISimulationConfiguration configuration) {
+        this.enabled = configuration.isTrampolinedTraversal();
+    }
+
+    /**
+     * Executes the specified instruction, either right away or, if invoked from within another
+     * instruction, as soon as the current instruction has returned.
+     *
+     * @param instruction
+     *            the instruction to be executed
+     */
+    public void execute(TraversalInstruction instruction) {
+        if (!enabled) {
+            depth++;
+            try {
+                instruction.execute();
+            } catch (RuntimeException e) {
+                deferredTasks.clear();
+                throw e;
+            } finally {
+                depth--;
+            }
+            if (depth == 0) {
+                runDeferredTasks();
+            }
+            return;
+        }
+        if (draining) {
+            // will be executed by the enclosing invocation
+            issuedInstructions.add(instruction);
+            return;
+        }
+        draining = true;
+        try {
+            TraversalInstruction next = instruction;
+            while (next != null) {
+                next.execute();
+                // the first instruction issued is to be executed next
+                for (int i = issuedInstructions.size() - 1; i >= 0; i--) {
+                    pendingInstructions.push(issuedInstructions.get(i));
+                }
+                issuedInstructions.clear();
+                next = pendingInstructions.poll();
+            }
+        } catch (RuntimeException e) {
+            deferredTasks.clear();
+            throw e;
+        } finally {
+            // discard instructions left over by an exception
+            pendingInstructions.clear();
+            issuedInstructions.clear();
+            draining = false;
+        }
+        runDeferredTasks();
+    }
+
+    /**
+     * Runs the specified task once the traversal in progress has completed, i.e. once the outermost
+     * invocation of {@link #execute(TraversalInstruction)} is about to return; or right away if no
+     * traversal is in progress. Tasks are discarded if the traversal fails with an exception.
+     * 
+     * @param task
+     *            the task to be run
+     */
+    public void executeAfterTraversal(Procedure task) {
+        if (!draining && depth == 0) {
+            task.execute();
+        } else {
+            deferredTasks.addLast(task);
+        }
+    }
+
+    private void runDeferredTasks() {
+        // a task may start another traversal, which then runs the remaining tasks
+        Procedure task;
+        while ((task = deferredTasks.poll()) != null) {
+            task.execute();
+        }
+    }
+
+}
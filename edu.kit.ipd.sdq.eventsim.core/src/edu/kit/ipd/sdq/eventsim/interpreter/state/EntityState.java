@@ -1,6 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.interpreter.state;
 
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.EmptyStackException;
 
 import org.apache.log4j.Logger;
 import org.palladiosimulator.pcm.core.entity.Entity;
@@ -18,6 +19,10 @@ import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
  * For each level of hierarchy, there is a stack frame, which holds the state information for the
  * respective level of hierarchy. Only state information contained in the topmost frame are
  * accessible.
+ * <p>
+ * The stack is backed by an array. Frames are allocated only when the stack grows beyond its
+ * largest size so far; popped frames are reset and reused by subsequent pushes. Hence, entering and
+ * leaving behaviours does not allocate memory in the steady state.
  * 
  * @author Philipp Merkle
  * 
@@ -28,9 +33,13 @@ public class EntityState<A extends Entity> implements IEntityState<A> {
 
     private static final Logger logger = Logger.getLogger(EntityState.class);
 
-    private final Stack<StateStackFrame<A>> stack;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private StateStackFrame<A>[] frames;
 
-    private final StackContext stoExContext;
+    private int size;
+
+    private StackContext stoExContext;
 
     /**
      * Copy constructor.
@@ -39,7 +48,7 @@ public class EntityState<A extends Entity> implements IEntityState<A> {
      *            the state to be copied
      */
     public EntityState(EntityState<A> state) {
-        this.stack = new Stack<>(); // TODO better copy stack?
+        this.frames = newFrames(INITIAL_CAPACITY); // TODO better copy stack?
         this.stoExContext = new StackContext();
         this.stoExContext.getStack().pushStackFrame(state.getStoExContext().getStack().currentStackFrame().copyFrame());
 
@@ -48,10 +57,22 @@ public class EntityState<A extends Entity> implements IEntityState<A> {
     }
 
     public EntityState(final StackContext stoExContext) {
-        this.stack = new Stack<>();
+        this.frames = newFrames(INITIAL_CAPACITY);
         this.stoExContext = stoExContext;
     }
 
+    @SuppressWarnings("unchecked")
+    private static <A extends Entity> StateStackFrame<A>[] newFrames(int capacity) {
+        return (StateStackFrame<A>[]) new StateStackFrame<?>[capacity];
+    }
+
+    private StateStackFrame<A> top() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return frames[size - 1];
+    }
+
     /**
      * Pushes an emtpy stack frame onto the stack.
      */
@@ -59,19 +80,40 @@ public class EntityState<A extends Entity> implements IEntityState<A> {
         if (logger.isDebugEnabled()) {
             logger.debug("Entering scope");
         }
-        final StateStackFrame<A> f = new StateStackFrame<>();
-        this.stack.push(f);
+        if (size == frames.length) {
+            frames = Arrays.copyOf(frames, size * 2);
+        }
+        if (frames[size] == null) {
+            frames[size] = new StateStackFrame<>();
+        }
+        size++;
     }
 
     /**
      * Removes the topmost frame from the stack.
      */
     public void popStackFrame() {
-        assert !this.stack.isEmpty() : "Tried to leave scope but there is no outer scope";
+        assert size > 0 : "Tried to leave scope but there is no outer scope";
         if (logger.isDebugEnabled()) {
             logger.debug("Leaving scope");
         }
-        this.stack.pop();
+        top().reset();
+        size--;
+    }
+
+    /**
+     * Empties the stack and replaces the StoEx context, so that this state can be reused by a
+     * recycled entity. Frames allocated so far are kept for reuse.
+     * 
+     * @param stoExContext
+     *            the StoEx context of the entity reusing this state
+     */
+    public void reset(final StackContext stoExContext) {
+        while (size > 0) {
+            top().reset();
+            size--;
+        }
+        this.stoExContext = stoExContext;
     }
 
     /**
@@ -80,29 +122,29 @@ public class EntityState<A extends Entity> implements IEntityState<A> {
      * @return true, if the stack is empty; false else
      */
     public boolean isEmpty() {
-        return this.stack.isEmpty();
+        return size == 0;
     }
 
     /**
      * @return the number of stack frames contained in this state's stack
      */
     public int size() {
-        return stack.size();
+        return size;
     }
 
     @Override
     public void setOnFinishCallback(Procedure callback) {
-        stack.peek().setOnFinishCallback(callback);
+        top().setOnFinishCallback(callback);
     }
 
     @Override
     public Procedure getOnFinishCallback() {
-        return stack.peek().getOnFinishCallback();
+        return top().getOnFinishCallback();
     }
 
     @Override
     public A getCurrentPosition() {
-        return this.stack.peek().getCurrentPosition();
+        return top().getCurrentPosition();
     }
 
     /**
@@ -110,7 +152,31 @@ public class EntityState<A extends Entity> implements IEntityState<A> {
      */
     @Override
     public void setCurrentPosition(A position) {
-        this.stack.peek().setCurrentPosition(position);
+        top().setCurrentPosition(position);
+    }
+
+    /**
+     * @return the index of the current position within the execution program
+     * @see StateStackFrame#getCurrentIndex()
+     */
+    public int getCurrentIndex() {
+        return top().getCurrentIndex();
+    }
+
+    public void setCurrentIndex(int index) {
+        top().setCurrentIndex(index);
+    }
+
+    /**
+     * @return the component whose behaviour is being traversed in the current frame
+     * @see StateStackFrame#getComponent()
+     */
+    public <C> C getComponent() {
+        return top().getComponent();
+    }
+
+    public void setComponent(Object component) {
+        top().setComponent(component);
     }
 
     /**
@@ -126,12 +192,12 @@ public class EntityState<A extends Entity> implements IEntityState<A> {
 
     @Override
     public void addProperty(String name, Object property) {
-        this.stack.peek().addProperty(name, property);
+        top().addProperty(name, property);
     }
 
     @Override
     public <T> T getProperty(String name, Class<T> type) {
-        return this.stack.peek().getProperty(name, type);
+        return top().getProperty(name, type);
     }
 
 }
@@ -9,7 +9,8 @@ import org.palladiosimulator.pcm.core.entity.Entity;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
 
 /**
- * A stack frame which holds information of the traversal progress.
+ * A stack frame which holds information of the traversal progress. Frames are reused by
+ * {@link EntityState} once popped, see {@link #reset()}.
  * 
  * @author Philipp Merkle
  * 
@@ -21,8 +22,12 @@ public class StateStackFrame<A extends Entity> implements IEntityState<A> {
 
     private A currentPosition;
 
+    private int currentIndex = -1;
+
     private Procedure onFinishCallback;
 
+    private Object component;
+
     private Map<String, Object> properties;
 
     @Override
@@ -35,6 +40,17 @@ public class StateStackFrame<A extends Entity> implements IEntityState<A> {
         this.currentPosition = position;
     }
 
+    /**
+     * @return the index of the current position within the execution program, or -1 if unknown
+     */
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    public void setCurrentIndex(int currentIndex) {
+        this.currentIndex = currentIndex;
+    }
+
     @Override
     public void setOnFinishCallback(Procedure onFinishCallback) {
         this.onFinishCallback = onFinishCallback;
@@ -45,6 +61,31 @@ public class StateStackFrame<A extends Entity> implements IEntityState<A> {
         return onFinishCallback;
     }
 
+    /**
+     * @return the component whose behaviour is being traversed, or null if not set
+     */
+    @SuppressWarnings("unchecked")
+    public <C> C getComponent() {
+        return (C) component;
+    }
+
+    public void setComponent(Object component) {
+        this.component = component;
+    }
+
+    /**
+     * Clears this frame so that it can be reused. Allocated property storage is retained.
+     */
+    void reset() {
+        currentPosition = null;
+        currentIndex = -1;
+        onFinishCallback = null;
+        component = null;
+        if (properties != null) {
+            properties.clear();
+        }
+    }
+
     @Override
     public void addProperty(String name, Object property) {
         if (properties == null) {
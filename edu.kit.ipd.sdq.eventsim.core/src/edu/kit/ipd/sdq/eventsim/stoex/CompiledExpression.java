@@ -0,0 +1,166 @@
+package edu.kit.ipd.sdq.eventsim.stoex;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+
+import de.uka.ipd.sdq.simucomframework.variables.StackContext;
+import de.uka.ipd.sdq.simucomframework.variables.converter.NumberConverter;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+
+/**
+ * A stochastic expression (StoEx) that has been prepared for repeated evaluation. Expressions that
+ * neither reference variables nor involve random variables or functions are folded to their value
+ * once; all other expressions are evaluated against the given stack frame, as before.
+ * <p>
+ * Instances are obtained from {@link StoExCompiler}. Compilation happens lazily on first
+ * evaluation, so that expressions may be obtained before the StoEx infrastructure has been
+ * initialised.
+ * 
+ * @author Philipp Merkle
+ * 
+ * @see PCMRandomVariable
+ */
+public class CompiledExpression {
+
+    private final String specification;
+
+    private volatile boolean compiled;
+
+    private boolean constant;
+
+    private Object constantValue;
+
+    /** typed variants of the folded value, as returned by {@link StackContext#evaluateStatic(String, Class)} */
+    private Map<Class<?>, Object> typedConstantValues;
+
+    CompiledExpression(String specification) {
+        this.specification = specification;
+    }
+
+    private void compile() {
+        synchronized (this) {
+            if (compiled) {
+                return;
+            }
+            constant = StoExCompiler.isConstant(specification);
+            if (constant) {
+                constantValue = StackContext.evaluateStatic(specification);
+                typedConstantValues = new ConcurrentHashMap<>();
+            }
+            compiled = true;
+        }
+    }
+
+    /**
+     * @return the textual specification of this expression
+     */
+    public String getSpecification() {
+        return specification;
+    }
+
+    /**
+     * @return true, if this expression has been folded to a constant value; false else
+     */
+    public boolean isConstant() {
+        if (!compiled) {
+            compile();
+        }
+        return constant;
+    }
+
+    /**
+     * @return true, if this expression has been compiled and folded to a constant value; false
+     *         else. Unlike {@link #isConstant()}, this does not compile the expression.
+     */
+    boolean isFolded() {
+        return compiled && constant;
+    }
+
+    /**
+     * Evaluates this expression in the context of the current stack frame of the specified context.
+     */
+    public Object evaluate(StackContext context) {
+        if (isConstant()) {
+            return constantValue;
+        }
+        return context.evaluate(specification);
+    }
+
+    /**
+     * Evaluates this expression in the context of the current stack frame of the specified context
+     * and converts the result to the specified type.
+     */
+    public <T> T evaluate(StackContext context, Class<T> type) {
+        if (isConstant()) {
+            return typedConstantValue(type);
+        }
+        return context.evaluate(specification, type);
+    }
+
+    /**
+     * Evaluates this expression in the context of the specified stack frame.
+     */
+    public Object evaluate(SimulatedStackframe<Object> frame) {
+        if (isConstant()) {
+            return constantValue;
+        }
+        return StackContext.evaluateStatic(specification, frame);
+    }
+
+    /**
+     * Evaluates this expression without a stack frame, i.e. the expression must not reference
+     * variables.
+     */
+    public Object evaluateStatic() {
+        if (isConstant()) {
+            return constantValue;
+        }
+        return StackContext.evaluateStatic(specification);
+    }
+
+    /**
+     * Evaluates this expression without a stack frame and converts the result to the specified
+     * type.
+     */
+    public <T> T evaluateStatic(Class<T> type) {
+        if (isConstant()) {
+            return typedConstantValue(type);
+        }
+        return StackContext.evaluateStatic(specification, type);
+    }
+
+    /**
+     * Convenience method that evaluates this expression in the context of the current stack frame
+     * of the specified context and converts the result to a double.
+     */
+    public double evaluateAsDouble(StackContext context) {
+        return NumberConverter.toDouble(evaluate(context));
+    }
+
+    /**
+     * Convenience method that evaluates this expression without a stack frame and converts the
+     * result to a double.
+     */
+    public double evaluateStaticAsDouble() {
+        return NumberConverter.toDouble(evaluateStatic());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T typedConstantValue(Class<T> type) {
+        Object value = typedConstantValues.get(type);
+        if (value == null) {
+            // let SimuCom do the conversion, exactly once per type
+            value = StackContext.evaluateStatic(specification, type);
+            typedConstantValues.put(type, value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public String toString() {
+        return specification;
+    }
+
+}
@@ -0,0 +1,114 @@
+package edu.kit.ipd.sdq.eventsim.stoex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+
+import de.uka.ipd.sdq.simucomframework.variables.EvaluationProxy;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+import edu.kit.ipd.sdq.eventsim.util.ParameterHelper;
+
+/**
+ * The compiled form of a list of {@link VariableUsage}s, e.g. the input parameters of a call. For
+ * each variable characterisation, the plan holds the stack frame key and the compiled
+ * characterisation expression, so that executing the plan does not need to traverse the model.
+ * <p>
+ * Executing a plan is equivalent to
+ * {@link ParameterHelper#evaluateParametersAndCopyToFrame(List, SimulatedStackframe, SimulatedStackframe)}
+ * .
+ * 
+ * @author Philipp Merkle
+ * 
+ */
+public class ParameterPlan {
+
+    private static final ParameterPlan EMPTY = new ParameterPlan(new String[0], new CompiledExpression[0],
+            new boolean[0]);
+
+    private final String[] keys;
+
+    private final CompiledExpression[] expressions;
+
+    /** true for INNER characterisations, which are evaluated lazily on each access */
+    private final boolean[] inner;
+
+    private final boolean hasInner;
+
+    private ParameterPlan(String[] keys, CompiledExpression[] expressions, boolean[] inner) {
+        this.keys = keys;
+        this.expressions = expressions;
+        this.inner = inner;
+        boolean hasInner = false;
+        for (boolean b : inner) {
+            hasInner |= b;
+        }
+        this.hasInner = hasInner;
+    }
+
+    /**
+     * Compiles the specified variable usages into a plan.
+     * 
+     * @param usages
+     *            the variable usages
+     * @param compiler
+     *            the compiler of the characterisation expressions
+     * @return the plan
+     */
+    public static ParameterPlan compile(List<VariableUsage> usages, StoExCompiler compiler) {
+        List<VariableCharacterisation> characterisations = new ArrayList<>();
+        List<Boolean> innerFlags = new ArrayList<>();
+        for (VariableUsage u : usages) {
+            boolean isInner = ParameterHelper.isInnerReference(u.getNamedReference__VariableUsage());
+            for (VariableCharacterisation c : u.getVariableCharacterisation_VariableUsage()) {
+                characterisations.add(c);
+                innerFlags.add(isInner);
+            }
+        }
+        if (characterisations.isEmpty()) {
+            return EMPTY;
+        }
+
+        int size = characterisations.size();
+        String[] keys = new String[size];
+        CompiledExpression[] expressions = new CompiledExpression[size];
+        boolean[] inner = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            VariableCharacterisation c = characterisations.get(i);
+            keys[i] = VariableKeys.keyOf(c);
+            expressions[i] = compiler.compile(c.getSpecification_VariableCharacterisation());
+            inner[i] = innerFlags.get(i);
+        }
+        return new ParameterPlan(keys, expressions, inner);
+    }
+
+    /**
+     * Evaluates the planned characterisations in the context of the source frame and copies the
+     * results to the target frame. INNER characterisations are encapsulated in an
+     * {@link EvaluationProxy}; all proxies share a single copy of the source frame.
+     * 
+     * @param sourceFrame
+     *            the frame in whose context characterisations are evaluated
+     * @param targetFrame
+     *            the frame receiving the evaluated characterisations
+     */
+    public void execute(SimulatedStackframe<Object> sourceFrame, SimulatedStackframe<Object> targetFrame) {
+        SimulatedStackframe<Object> sourceFrameCopy = hasInner ? sourceFrame.copyFrame() : null;
+        for (int i = 0; i < keys.length; i++) {
+            if (inner[i]) {
+                targetFrame.addValue(keys[i], new EvaluationProxy(expressions[i].getSpecification(), sourceFrameCopy));
+            } else {
+                targetFrame.addValue(keys[i], expressions[i].evaluate(sourceFrame));
+            }
+        }
+    }
+
+    /**
+     * @return true, if there are no characterisations to be evaluated; false else
+     */
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+}
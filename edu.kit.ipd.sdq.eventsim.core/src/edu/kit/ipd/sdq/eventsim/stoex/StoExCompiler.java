@@ -0,0 +1,123 @@
+package edu.kit.ipd.sdq.eventsim.stoex;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+
+import com.google.inject.Singleton;
+
+import de.uka.ipd.sdq.simucomframework.variables.cache.StoExCache;
+import de.uka.ipd.sdq.stoex.Expression;
+import de.uka.ipd.sdq.stoex.FunctionLiteral;
+import de.uka.ipd.sdq.stoex.ProbabilityFunctionLiteral;
+import de.uka.ipd.sdq.stoex.Variable;
+
+/**
+ * Provides {@link CompiledExpression}s for stochastic expressions, so that each expression is
+ * analysed only once, rather than on each evaluation. Expressions are cached per
+ * {@link PCMRandomVariable} and per specification string, respectively.
+ * <p>
+ * Unlike SimuCom's {@link StoExCache}, the cache is not static: there is one compiler per
+ * simulation run, which is to be injected into its clients. Clients are expected to obtain the
+ * compiled expressions of a model element once, e.g. when preparing the element's simulation, and
+ * to keep them. Counters keep track of cache hits and misses; evaluations are not counted to keep
+ * them as cheap as possible.
+ * 
+ * @author Philipp Merkle
+ * 
+ */
+@Singleton
+public class StoExCompiler {
+
+    private final Map<PCMRandomVariable, CompiledExpression> variableCache = new ConcurrentHashMap<>();
+
+    private final Map<String, CompiledExpression> specificationCache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the compiled form of the specified random variable's specification.
+     * 
+     * @param variable
+     *            the random variable
+     * @return the compiled expression
+     */
+    public CompiledExpression compile(PCMRandomVariable variable) {
+        CompiledExpression expression = variableCache.get(variable);
+        if (expression != null) {
+            hits.increment();
+            return expression;
+        }
+        expression = compile(variable.getSpecification());
+        variableCache.put(variable, expression);
+        return expression;
+    }
+
+    /**
+     * Returns the compiled form of the specified specification.
+     * 
+     * @param specification
+     *            the StoEx specification
+     * @return the compiled expression
+     */
+    public CompiledExpression compile(String specification) {
+        CompiledExpression expression = specificationCache.get(specification);
+        if (expression != null) {
+            hits.increment();
+            return expression;
+        }
+        misses.increment();
+        return specificationCache.computeIfAbsent(specification, CompiledExpression::new);
+    }
+
+    /**
+     * Returns whether the specified expression evaluates to the same value each time, i.e. whether
+     * it neither references variables nor involves probability functions or other functions.
+     */
+    static boolean isConstant(String specification) {
+        Expression expression = StoExCache.singleton().getEntry(specification).getParsedExpression();
+        if (isDynamic(expression)) {
+            return false;
+        }
+        for (TreeIterator<EObject> it = expression.eAllContents(); it.hasNext();) {
+            if (isDynamic(it.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDynamic(EObject o) {
+        return o instanceof Variable || o instanceof ProbabilityFunctionLiteral || o instanceof FunctionLiteral;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of cached expressions that have been folded to a constant value
+     */
+    public long getFoldedExpressions() {
+        return specificationCache.values().stream().filter(CompiledExpression::isFolded).count();
+    }
+
+    /**
+     * @return a human-readable summary of the counters
+     */
+    public String getStatistics() {
+        return String.format("StoEx cache: %s hits, %s misses; %s of %s expressions folded to constants", getHits(),
+                getMisses(), getFoldedExpressions(), specificationCache.size());
+    }
+
+}
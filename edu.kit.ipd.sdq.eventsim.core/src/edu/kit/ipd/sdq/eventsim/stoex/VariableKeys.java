@@ -0,0 +1,40 @@
+package edu.kit.ipd.sdq.eventsim.stoex;
+
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+import edu.kit.ipd.sdq.eventsim.util.ParameterHelper;
+
+/**
+ * Provides the keys under which characterised variables are stored in a
+ * {@link SimulatedStackframe}, e.g. {@code "input.VALUE"} or {@code "INNER.NUMBER_OF_ELEMENTS"}.
+ * <p>
+ * Keys are interned, so that stack frames receive one instance per key. Deriving a key walks the
+ * named reference and concatenates strings; clients passing parameters repeatedly should derive
+ * the keys once, as {@link ParameterPlan} does. There is deliberately no cache of keys per
+ * characterisation, which would keep model elements alive beyond their simulation run.
+ * 
+ * @author Philipp Merkle
+ * 
+ */
+public final class VariableKeys {
+
+    private VariableKeys() {
+        // static class
+    }
+
+    /**
+     * Returns the stack frame key for the specified characterisation of a variable.
+     * 
+     * @param characterisation
+     *            the variable characterisation, which is contained in a {@link VariableUsage}
+     * @return the interned key
+     */
+    public static String keyOf(VariableCharacterisation characterisation) {
+        VariableUsage usage = characterisation.getVariableUsage_VariableCharacterisation();
+        String name = ParameterHelper.getVariableName(usage.getNamedReference__VariableUsage());
+        return (name + "." + characterisation.getType().toString()).intern();
+    }
+
+}
@@ -0,0 +1,78 @@
+package edu.kit.ipd.sdq.eventsim.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Selects one of several outcomes (e.g. branch transitions) according to their probabilities.
+ * Cumulative probabilities are computed once upon construction; selecting an outcome is a binary
+ * search for the given random number in the cumulative distribution.
+ * <p>
+ * For a random number {@code r}, the outcome {@code i} is selected such that
+ * {@code p_0 + ... + p_(i-1) <= r < p_0 + ... + p_i}. This is the same outcome a linear walk over
+ * the outcomes would select, so simulation results remain reproducible for a given seed.
+ * 
+ * @author Philipp Merkle
+ *
+ * @param <T>
+ *            the type of outcomes
+ */
+public class BranchSampler<T> {
+
+    private final List<T> outcomes;
+
+    /** upper (exclusive) bounds of the outcomes' intervals */
+    private final double[] cumulativeProbabilities;
+
+    /**
+     * Creates a sampler for the specified outcomes.
+     * 
+     * @param candidates
+     *            the candidates, e.g. branch transitions
+     * @param outcome
+     *            maps a candidate to its outcome, e.g. the branched behaviour
+     * @param probability
+     *            maps a candidate to its probability
+     */
+    public <C> BranchSampler(List<C> candidates, Function<C, T> outcome,
+            ToDoubleFunction<C> probability) {
+        this.outcomes = new ArrayList<>(candidates.size());
+        this.cumulativeProbabilities = new double[candidates.size()];
+        double sum = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            C c = candidates.get(i);
+            sum += probability.applyAsDouble(c);
+            outcomes.add(outcome.apply(c));
+            cumulativeProbabilities[i] = sum;
+        }
+    }
+
+    /**
+     * Selects the outcome whose interval contains the specified random number.
+     * 
+     * @param random
+     *            a random number in [0, 1)
+     * @return the selected outcome, or {@code null} if the random number exceeds the sum of all
+     *         probabilities
+     */
+    public T select(double random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random);
+        // exact hit on an upper bound belongs to the next interval; skip empty intervals, too
+        index = index >= 0 ? index + 1 : -(index + 1);
+        while (index < cumulativeProbabilities.length && cumulativeProbabilities[index] <= random) {
+            index++;
+        }
+        return index < outcomes.size() ? outcomes.get(index) : null;
+    }
+
+    /**
+     * @return the sum of all probabilities, which is expected to be (approximately) 1
+     */
+    public double getSum() {
+        return cumulativeProbabilities.length > 0 ? cumulativeProbabilities[cumulativeProbabilities.length - 1] : 0;
+    }
+
+}
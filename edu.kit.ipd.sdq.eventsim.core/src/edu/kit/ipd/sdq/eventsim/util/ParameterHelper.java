@@ -11,6 +11,8 @@ import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 import de.uka.ipd.sdq.stoex.AbstractNamedReference;
 import de.uka.ipd.sdq.stoex.NamespaceReference;
 import de.uka.ipd.sdq.stoex.VariableReference;
+import edu.kit.ipd.sdq.eventsim.stoex.ParameterPlan;
+import edu.kit.ipd.sdq.eventsim.stoex.VariableKeys;
 
 /**
  * Provides helper methods for PCM parameters.
@@ -62,18 +64,26 @@ public class ParameterHelper {
      * Evaluates the passed parameters in the context of the source frame and copies the results to
      * the targetFrame. INNER characterisations are not evaluated directly, but are instead
      * encapsulated in an {@link EvaluationProxy} which are being repeatedly evaluated on each
-     * access.
+     * access. All proxies created by a single invocation share one copy of the source frame, which
+     * is taken not before the first INNER characterisation is encountered.
+     * <p>
+     * Parameters are interpreted anew on each invocation. Use a {@link ParameterPlan} to pass the
+     * same parameters repeatedly.
      */
     public static void evaluateParametersAndCopyToFrame(List<VariableUsage> parameters,
             SimulatedStackframe<Object> sourceFrame, SimulatedStackframe<Object> targetFrame) {
+        SimulatedStackframe<Object> sourceFrameCopy = null;
         for (VariableUsage u : parameters) {
+            boolean inner = ParameterHelper.isInnerReference(u.getNamedReference__VariableUsage());
             for (VariableCharacterisation c : u.getVariableCharacterisation_VariableUsage()) {
-                String parameterUsageLHS = ParameterHelper.getVariableName(u.getNamedReference__VariableUsage());
-                if (ParameterHelper.isInnerReference(u.getNamedReference__VariableUsage())) {
-                    targetFrame.addValue(parameterUsageLHS + "." + c.getType().toString(), new EvaluationProxy(c
-                            .getSpecification_VariableCharacterisation().getSpecification(), sourceFrame.copyFrame()));
+                if (inner) {
+                    if (sourceFrameCopy == null) {
+                        sourceFrameCopy = sourceFrame.copyFrame();
+                    }
+                    targetFrame.addValue(VariableKeys.keyOf(c), new EvaluationProxy(
+                            c.getSpecification_VariableCharacterisation().getSpecification(), sourceFrameCopy));
                 } else {
-                    targetFrame.addValue(parameterUsageLHS + "." + c.getType().toString(), StackContext.evaluateStatic(
+                    targetFrame.addValue(VariableKeys.keyOf(c), StackContext.evaluateStatic(
                             c.getSpecification_VariableCharacterisation().getSpecification(), sourceFrame));
                 }
             }
@@ -88,12 +98,11 @@ public class ParameterHelper {
      */
     public static void createEvaluationProxiesAndCopyToFrame(List<VariableUsage> parameters,
             SimulatedStackframe<Object> targetFrame) {
+        SimulatedStackframe<Object> emptyFrame = new SimulatedStackframe<Object>();
         for (VariableUsage u : parameters) {
-            String parameterUsageLHS = ParameterHelper.getVariableName(u.getNamedReference__VariableUsage());
             for (VariableCharacterisation c : u.getVariableCharacterisation_VariableUsage()) {
-                targetFrame.addValue(parameterUsageLHS + "." + c.getType().toString(), new EvaluationProxy(c
-                        .getSpecification_VariableCharacterisation().getSpecification(),
-                        new SimulatedStackframe<Object>()));
+                targetFrame.addValue(VariableKeys.keyOf(c), new EvaluationProxy(
+                        c.getSpecification_VariableCharacterisation().getSpecification(), emptyFrame));
             }
         }
     }
@@ -0,0 +1,99 @@
+package edu.kit.ipd.sdq.eventsim.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+
+/**
+ * Tests that {@link EventSimEntity}s stay valid keys of hash-based collections when recycled.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class EventSimEntityTest {
+
+    /**
+     * @return an instance of the specified interface whose methods return further such instances,
+     *         or default values for non-interface return types
+     */
+    private static Object stub(Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            } else if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (returnType.isInterface()) {
+                return stub(returnType);
+            } else if (returnType == boolean.class) {
+                return false;
+            } else if (returnType.isPrimitive() && returnType != void.class) {
+                return 0;
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void staysInHashSetWhenRecycled() {
+        RecyclableEntity entity = new RecyclableEntity();
+        RecyclableEntity other = new RecyclableEntity();
+        Set<EventSimEntity> set = new HashSet<>();
+        set.add(entity);
+        set.add(other);
+        long id = entity.getEntityId();
+        int hashCode = entity.hashCode();
+
+        entity.release();
+        entity.recycle();
+
+        assertNotEquals(id, entity.getEntityId());
+        assertEquals(hashCode, entity.hashCode());
+        assertTrue(set.contains(entity));
+        assertTrue(set.remove(entity));
+        assertFalse(set.contains(entity));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void isEqualToItselfOnly() {
+        RecyclableEntity entity = new RecyclableEntity();
+        RecyclableEntity other = new RecyclableEntity();
+        Map<EventSimEntity, String> map = new HashMap<>();
+        map.put(entity, "entity");
+        map.put(other, "other");
+
+        entity.recycle();
+        other.recycle();
+
+        assertEquals(entity, entity);
+        assertNotEquals(entity, other);
+        assertEquals("entity", map.get(entity));
+        assertEquals("other", map.get(other));
+    }
+
+    private static class RecyclableEntity extends EventSimEntity {
+
+        public RecyclableEntity() {
+            super((ISimulationModel) stub(ISimulationModel.class), "Entity");
+        }
+
+        @Override
+        public void recycle() {
+            super.recycle();
+        }
+
+    }
+
+}
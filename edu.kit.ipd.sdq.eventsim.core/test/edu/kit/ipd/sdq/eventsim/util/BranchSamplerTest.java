@@ -0,0 +1,94 @@
+package edu.kit.ipd.sdq.eventsim.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BranchSampler} against the interval semantics of a linear walk over the outcomes.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class BranchSamplerTest {
+
+    private static BranchSampler<String> sampler(String[] outcomes, double... probabilities) {
+        List<Integer> candidates = Arrays.asList(new Integer[outcomes.length]);
+        for (int i = 0; i < outcomes.length; i++) {
+            candidates.set(i, i);
+        }
+        Function<Integer, String> outcome = i -> outcomes[i];
+        return new BranchSampler<>(candidates, outcome, i -> probabilities[i]);
+    }
+
+    /** reference implementation: the linear walk used before cumulative distributions */
+    private static String linearWalk(String[] outcomes, double[] probabilities, double random) {
+        double sum = 0;
+        for (int i = 0; i < outcomes.length; i++) {
+            sum += probabilities[i];
+            if (random < sum) {
+                return outcomes[i];
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void selectsOutcomeWhoseIntervalContainsRandomNumber() {
+        BranchSampler<String> sampler = sampler(new String[] { "a", "b", "c" }, 0.2, 0.5, 0.3);
+        assertEquals("a", sampler.select(0.0));
+        assertEquals("a", sampler.select(0.1));
+        assertEquals("b", sampler.select(0.6));
+        assertEquals("c", sampler.select(0.99));
+    }
+
+    @Test
+    public void exactBoundaryHitBelongsToNextInterval() {
+        BranchSampler<String> sampler = sampler(new String[] { "a", "b", "c" }, 0.25, 0.25, 0.5);
+        assertEquals("b", sampler.select(0.25));
+        assertEquals("c", sampler.select(0.5));
+    }
+
+    @Test
+    public void zeroProbabilityTransitionsAreNeverSelected() {
+        BranchSampler<String> sampler = sampler(new String[] { "zero1", "a", "zero2", "zero3", "b" }, 0, 0.5, 0,
+                0, 0.5);
+        assertEquals("a", sampler.select(0.0));
+        assertEquals("b", sampler.select(0.5));
+        assertEquals("b", sampler.select(0.75));
+    }
+
+    @Test
+    public void sumBelowOneYieldsNullAboveSum() {
+        BranchSampler<String> sampler = sampler(new String[] { "a", "b" }, 0.3, 0.4);
+        assertEquals(0.7, sampler.getSum(), 1e-12);
+        assertEquals("b", sampler.select(0.69));
+        assertNull(sampler.select(0.7));
+        assertNull(sampler.select(0.9));
+    }
+
+    @Test
+    public void emptySamplerSelectsNothing() {
+        BranchSampler<String> sampler = sampler(new String[0]);
+        assertEquals(0, sampler.getSum(), 0);
+        assertNull(sampler.select(0.5));
+    }
+
+    @Test
+    public void agreesWithLinearWalk() {
+        String[] outcomes = { "a", "b", "c", "d", "e" };
+        double[] probabilities = { 0.1, 0, 0.35, 0.05, 0.3 };
+        BranchSampler<String> sampler = sampler(outcomes, probabilities);
+        for (int i = 0; i <= 1000; i++) {
+            double random = i / 1000.0;
+            assertEquals("random number " + random, linearWalk(outcomes, probabilities, random),
+                    sampler.select(random));
+        }
+    }
+
+}
@@ -110,9 +110,9 @@ public class ActionInstrumentor<C extends ProbeConfiguration> implements Instrum
 					// TODO: error!
 				}
 
-				calculator.forEachMeasurement(m -> measurementStorage.put(m));
+				measurementStorage.storeAllOf(calculator);
 			} else {
-				calculator.forEachMeasurement(m -> measurementStorage.put(m));
+				measurementStorage.storeAllOf(calculator);
 			}
 
 			// probes used by a calculator should not produce measurements by
@@ -122,7 +122,7 @@ public class ActionInstrumentor<C extends ProbeConfiguration> implements Instrum
 		}
 
 		for (Entry<ProbeRepresentative, IProbe<AbstractAction>> probeEntry : createdProbes.entrySet()) {
-			probeEntry.getValue().forEachMeasurement(m -> measurementStorage.put(m));
+			measurementStorage.storeAllOf(probeEntry.getValue());
 		}
 	}
 
@@ -73,17 +73,16 @@ public class ResourceInstrumentor<R, C extends ProbeConfiguration>
 		}
 
 		for (CalculatorRepresentative modelCalculator : entity.getCalculators()) {
-			measurementFacade.createCalculator(instantiateCalculator(resource, modelCalculator))
+			measurementStorage.storeAllOf(measurementFacade.createCalculator(instantiateCalculator(resource, modelCalculator))
 					.from(resource, modelCalculator.getFromProbe().getMeasuredProperty())
-					.to(resource, modelCalculator.getToProbe().getMeasuredProperty())
-					.forEachMeasurement(m -> measurementStorage.put(m));
+					.to(resource, modelCalculator.getToProbe().getMeasuredProperty()));
 
 			createdProbes.remove(modelCalculator.getFromProbe());
 			createdProbes.remove(modelCalculator.getToProbe());
 		}
 
 		for (Entry<ProbeRepresentative, IProbe<E>> probeEntry : createdProbes.entrySet()) {
-			probeEntry.getValue().forEachMeasurement(m -> measurementStorage.put(m));
+			measurementStorage.storeAllOf(probeEntry.getValue());
 		}
 	}
 
@@ -108,9 +108,9 @@ public class UserActionInstrumentor<C extends ProbeConfiguration>
 					// TODO: error!
 				}
 
-				calculator.forEachMeasurement(m -> measurementStorage.put(m));
+				measurementStorage.storeAllOf(calculator);
 			} else {
-				calculator.forEachMeasurement(m -> measurementStorage.put(m));
+				measurementStorage.storeAllOf(calculator);
 			}
 
 			// probes used by a calculator should not produce measurements by
@@ -120,7 +120,7 @@ public class UserActionInstrumentor<C extends ProbeConfiguration>
 		}
 
 		for (Entry<ProbeRepresentative, IProbe<AbstractUserAction>> probeEntry : createdProbes.entrySet()) {
-			probeEntry.getValue().forEachMeasurement(m -> measurementStorage.put(m));
+			measurementStorage.storeAllOf(probeEntry.getValue());
 		}
 	}
 
@@ -1,5 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.launch.runconfig;
 
+import edu.kit.ipd.sdq.eventsim.SimulationConfiguration;
+
 public class EventSimConfigurationConstants {
 
     public static final String INSTRUMENTATION_FILE = "instrumentationFile";
@@ -11,4 +13,47 @@ public class EventSimConfigurationConstants {
     
     public static final String ENABLED_MODULES = "enabledModules";
 
+    /** relative confidence interval half-width at which to stop; "0" disables the stop condition */
+    public static final String PRECISION_TARGET = SimulationConfiguration.PRECISION_TARGET;
+
+    public static final String PRECISION_TARGET_DEFAULT = "0";
+
+    public static final String PRECISION_CONFIDENCE_LEVEL = SimulationConfiguration.PRECISION_CONFIDENCE_LEVEL;
+
+    public static final String PRECISION_CONFIDENCE_LEVEL_DEFAULT = "0.95";
+
+    public static final String PRECISION_BATCH_SIZE = SimulationConfiguration.PRECISION_BATCH_SIZE;
+
+    public static final String PRECISION_BATCH_SIZE_DEFAULT = "100";
+
+    /** metric whose mean is assessed against the precision target */
+    public static final String PRECISION_METRIC = SimulationConfiguration.PRECISION_METRIC;
+
+    public static final String PRECISION_METRIC_DEFAULT = "";
+
+    /** name or ID of the measured element; empty to pool all measuring points of the metric */
+    public static final String PRECISION_MEASURING_POINT = SimulationConfiguration.PRECISION_MEASURING_POINT;
+
+    public static final String PRECISION_MEASURING_POINT_DEFAULT = "";
+
+    /** metric observed to detect the end of the warm-up period; empty to store all measurements */
+    public static final String WARMUP_METRIC = SimulationConfiguration.WARMUP_METRIC;
+
+    public static final String WARMUP_METRIC_DEFAULT = "";
+
+    /** whether to run on EventSim's native simulation engine instead of the preferred one */
+    public static final String NATIVE_SIMULATION_ENGINE = SimulationConfiguration.NATIVE_SIMULATION_ENGINE;
+
+    public static final boolean NATIVE_SIMULATION_ENGINE_DEFAULT = false;
+
+    /** whether to recycle requests and simulated processes after they left the system */
+    public static final String ENTITY_POOLING = SimulationConfiguration.ENTITY_POOLING;
+
+    public static final boolean ENTITY_POOLING_DEFAULT = false;
+
+    /** file summary statistics are written to; empty to store all measurements in R */
+    public static final String SUMMARY_FILE = SimulationConfiguration.SUMMARY_FILE;
+
+    public static final String SUMMARY_FILE_DEFAULT = "";
+
 }
@@ -23,9 +23,11 @@ import org.eclipse.swt.events.ModifyListener;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
@@ -45,6 +47,16 @@ public class EventSimTab extends AbstractLaunchConfigurationTab {
     private Table modulesTable;
     private Group grpModules;
 
+    private Text precisionTarget;
+    private Text precisionConfidenceLevel;
+    private Text precisionBatchSize;
+    private Text precisionMetric;
+    private Text precisionMeasuringPoint;
+    private Text warmupMetric;
+    private Text summaryFile;
+    private Button btnNativeSimulationEngine;
+    private Button btnEntityPooling;
+
     private SimulationModuleRegistry moduleRegistry;
 
     /** the set of enabled simulation modules, identified by their id */
@@ -95,6 +107,42 @@ public class EventSimTab extends AbstractLaunchConfigurationTab {
                 "Select Instrumentation Description File", getShell(),
                 EventSimConfigurationConstants.INSTRUMENTATION_FILE_DEFAULT);
 
+        btnNativeSimulationEngine = new Button(container, SWT.CHECK);
+        btnNativeSimulationEngine.setText("Use native EventSim simulation engine (instead of preferred engine)");
+        btnNativeSimulationEngine.addListener(SWT.Selection, e -> {
+            setDirty(true);
+            updateLaunchConfigurationDialog();
+        });
+
+        btnEntityPooling = new Button(container, SWT.CHECK);
+        btnEntityPooling.setText("Recycle requests and simulated processes (entity pooling)");
+        btnEntityPooling.addListener(SWT.Selection, e -> {
+            setDirty(true);
+            updateLaunchConfigurationDialog();
+        });
+
+        Group grpPrecision = new Group(container, SWT.NONE);
+        grpPrecision.setLayout(new GridLayout(2, false));
+        grpPrecision.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1));
+        grpPrecision.setText("Stop on Precision of Mean");
+        precisionTarget = createTextField(grpPrecision, "Relative CI half-width (0 = off):", modifyListener);
+        precisionConfidenceLevel = createTextField(grpPrecision, "Confidence level:", modifyListener);
+        precisionBatchSize = createTextField(grpPrecision, "Observations per batch:", modifyListener);
+        precisionMetric = createTextField(grpPrecision, "Metric:", modifyListener);
+        precisionMeasuringPoint = createTextField(grpPrecision, "Measured element (empty = all):", modifyListener);
+
+        Group grpWarmup = new Group(container, SWT.NONE);
+        grpWarmup.setLayout(new GridLayout(2, false));
+        grpWarmup.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1));
+        grpWarmup.setText("Warm-up Detection (MSER-5)");
+        warmupMetric = createTextField(grpWarmup, "Observed metric (empty = off):", modifyListener);
+
+        Group grpSummary = new Group(container, SWT.NONE);
+        grpSummary.setLayout(new GridLayout(2, false));
+        grpSummary.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1));
+        grpSummary.setText("Summary Statistics (no R required)");
+        summaryFile = createTextField(grpSummary, "Summary CSV file (empty = R):", modifyListener);
+
         grpModules = new Group(container, SWT.NONE);
         grpModules.setLayout(new GridLayout(2, false));
         grpModules.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 1, 1));
@@ -168,6 +216,17 @@ public class EventSimTab extends AbstractLaunchConfigurationTab {
 
     }
 
+    private static Text createTextField(Composite parent, String label, ModifyListener modifyListener) {
+        Label lbl = new Label(parent, SWT.NONE);
+        lbl.setText(label);
+        Text text = new Text(parent, SWT.SINGLE | SWT.BORDER);
+        GridData gd_text = new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1);
+        gd_text.widthHint = 150;
+        text.setLayoutData(gd_text);
+        text.addModifyListener(modifyListener);
+        return text;
+    }
+
     private static Image getImage(String file) {
         return Activator.imageDescriptorFromPlugin(Activator.PLUGIN_ID, "icons/" + file).createImage();
     }
@@ -182,6 +241,25 @@ public class EventSimTab extends AbstractLaunchConfigurationTab {
 
         configuration.setAttribute(EventSimConfigurationConstants.INSTRUMENTATION_FILE,
                 EventSimConfigurationConstants.INSTRUMENTATION_FILE_DEFAULT);
+
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_TARGET,
+                EventSimConfigurationConstants.PRECISION_TARGET_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_CONFIDENCE_LEVEL,
+                EventSimConfigurationConstants.PRECISION_CONFIDENCE_LEVEL_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_BATCH_SIZE,
+                EventSimConfigurationConstants.PRECISION_BATCH_SIZE_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_METRIC,
+                EventSimConfigurationConstants.PRECISION_METRIC_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_MEASURING_POINT,
+                EventSimConfigurationConstants.PRECISION_MEASURING_POINT_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.WARMUP_METRIC,
+                EventSimConfigurationConstants.WARMUP_METRIC_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.NATIVE_SIMULATION_ENGINE,
+                EventSimConfigurationConstants.NATIVE_SIMULATION_ENGINE_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.ENTITY_POOLING,
+                EventSimConfigurationConstants.ENTITY_POOLING_DEFAULT);
+        configuration.setAttribute(EventSimConfigurationConstants.SUMMARY_FILE,
+                EventSimConfigurationConstants.SUMMARY_FILE_DEFAULT);
     }
 
     private Set<String> getSimulationModulesEnabledDefault() {
@@ -211,6 +289,28 @@ public class EventSimTab extends AbstractLaunchConfigurationTab {
             instrumentationDescriptionLocation
                     .setText(configuration.getAttribute(EventSimConfigurationConstants.INSTRUMENTATION_FILE,
                             EventSimConfigurationConstants.INSTRUMENTATION_FILE_DEFAULT));
+
+            precisionTarget.setText(configuration.getAttribute(EventSimConfigurationConstants.PRECISION_TARGET,
+                    EventSimConfigurationConstants.PRECISION_TARGET_DEFAULT));
+            precisionConfidenceLevel
+                    .setText(configuration.getAttribute(EventSimConfigurationConstants.PRECISION_CONFIDENCE_LEVEL,
+                            EventSimConfigurationConstants.PRECISION_CONFIDENCE_LEVEL_DEFAULT));
+            precisionBatchSize.setText(configuration.getAttribute(EventSimConfigurationConstants.PRECISION_BATCH_SIZE,
+                    EventSimConfigurationConstants.PRECISION_BATCH_SIZE_DEFAULT));
+            precisionMetric.setText(configuration.getAttribute(EventSimConfigurationConstants.PRECISION_METRIC,
+                    EventSimConfigurationConstants.PRECISION_METRIC_DEFAULT));
+            precisionMeasuringPoint
+                    .setText(configuration.getAttribute(EventSimConfigurationConstants.PRECISION_MEASURING_POINT,
+                            EventSimConfigurationConstants.PRECISION_MEASURING_POINT_DEFAULT));
+            warmupMetric.setText(configuration.getAttribute(EventSimConfigurationConstants.WARMUP_METRIC,
+                    EventSimConfigurationConstants.WARMUP_METRIC_DEFAULT));
+            btnNativeSimulationEngine
+                    .setSelection(configuration.getAttribute(EventSimConfigurationConstants.NATIVE_SIMULATION_ENGINE,
+                            EventSimConfigurationConstants.NATIVE_SIMULATION_ENGINE_DEFAULT));
+            btnEntityPooling.setSelection(configuration.getAttribute(EventSimConfigurationConstants.ENTITY_POOLING,
+                    EventSimConfigurationConstants.ENTITY_POOLING_DEFAULT));
+            summaryFile.setText(configuration.getAttribute(EventSimConfigurationConstants.SUMMARY_FILE,
+                    EventSimConfigurationConstants.SUMMARY_FILE_DEFAULT));
         } catch (CoreException e) {
             throw new RuntimeException(e);
         }
@@ -227,6 +327,41 @@ public class EventSimTab extends AbstractLaunchConfigurationTab {
         configuration.setAttribute(EventSimConfigurationConstants.INSTRUMENTATION_FILE,
                 instrumentationDescriptionLocation.getText());
 
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_TARGET, precisionTarget.getText().trim());
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_CONFIDENCE_LEVEL,
+                precisionConfidenceLevel.getText().trim());
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_BATCH_SIZE,
+                precisionBatchSize.getText().trim());
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_METRIC, precisionMetric.getText().trim());
+        configuration.setAttribute(EventSimConfigurationConstants.PRECISION_MEASURING_POINT,
+                precisionMeasuringPoint.getText().trim());
+        configuration.setAttribute(EventSimConfigurationConstants.WARMUP_METRIC, warmupMetric.getText().trim());
+        configuration.setAttribute(EventSimConfigurationConstants.NATIVE_SIMULATION_ENGINE,
+                btnNativeSimulationEngine.getSelection());
+        configuration.setAttribute(EventSimConfigurationConstants.ENTITY_POOLING, btnEntityPooling.getSelection());
+        configuration.setAttribute(EventSimConfigurationConstants.SUMMARY_FILE, summaryFile.getText().trim());
+    }
+
+    @Override
+    public boolean isValid(ILaunchConfiguration launchConfig) {
+        setErrorMessage(null);
+        try {
+            double target = Double.parseDouble(precisionTarget.getText().trim());
+            double confidence = Double.parseDouble(precisionConfidenceLevel.getText().trim());
+            int batchSize = Integer.parseInt(precisionBatchSize.getText().trim());
+            if (target < 0) {
+                setErrorMessage("Relative confidence interval half-width must not be negative.");
+            } else if (confidence <= 0 || confidence >= 1) {
+                setErrorMessage("Confidence level must be greater than 0 and less than 1.");
+            } else if (batchSize < 1) {
+                setErrorMessage("Observations per batch must be positive.");
+            } else if (target > 0 && precisionMetric.getText().trim().isEmpty()) {
+                setErrorMessage("A metric is required to stop on the precision of its mean.");
+            }
+        } catch (NumberFormatException e) {
+            setErrorMessage("Precision settings must be numbers, e.g. 0.02 for a half-width of 2%.");
+        }
+        return getErrorMessage() == null;
     }
 
     @Override
@@ -18,6 +18,7 @@ import edu.kit.ipd.sdq.eventsim.measurement.Pair;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Calculator;
 import edu.kit.ipd.sdq.eventsim.measurement.calculator.BinaryCalculator;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
 
 public class CalculatorFactory {
 
@@ -101,6 +102,15 @@ public class CalculatorFactory {
 			public void forEachMeasurement(MeasurementListener<Pair<F, S>> l) {
 			}
 
+			@Override
+			public void forEachRecord(RecordListener l) {
+			}
+
+			@Override
+			public boolean isRecordable() {
+				return true;
+			}
+
 			@Override
 			public void setup(IProbe<F> fromProbe, IProbe<S> toProbe) {
 			}
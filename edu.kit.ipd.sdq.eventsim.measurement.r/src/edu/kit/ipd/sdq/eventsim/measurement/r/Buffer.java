@@ -8,12 +8,16 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
-import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPointPair;
 import edu.kit.ipd.sdq.eventsim.measurement.Metadata;
-import edu.kit.ipd.sdq.eventsim.measurement.PropertyExtractor;
+import edu.kit.ipd.sdq.eventsim.measurement.record.EntityDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 
 /**
  * Buffers multiple measurements waiting to be transferred to R later on.
+ * <p>
+ * Measuring points and triggers ("who") are buffered as ids issued by a {@link RecordDictionary}.
+ * Their id, name and type columns are joined in only once, after all buffers have been transferred
+ * to R. The labels of triggers are memoized by an {@link EntityDictionary}.
  * 
  * @author Philipp Merkle
  *
@@ -21,19 +25,16 @@ import edu.kit.ipd.sdq.eventsim.measurement.PropertyExtractor;
 public class Buffer {
 
     private Column<String> what;
-    private BufferPart whereFirst;
-    private BufferPart whereSecond;
-    private Column<String> whereProperty;
-    private BufferPart who;
+    private int[] where;
+    private long[] who;
     private double[] value;
     private double[] when;
 
-    private Map<String, BufferPart> contexts;
     private Map<String, Column<String>> metadata;
 
-    private PropertyExtractor idExtractors;
-    private PropertyExtractor nameExtractors;
-    private PropertyExtractor typeExtractors;
+    private RecordDictionary dictionary;
+
+    private EntityDictionary entities;
 
     /**
      * the number of elements effectively contained in this buffer. Once this number equals the
@@ -46,23 +47,17 @@ public class Buffer {
      */
     private final int capacity;
 
-    public Buffer(int capacity, PropertyExtractor idExtractors, PropertyExtractor nameExtractors,
-            PropertyExtractor typeExtractors) {
+    public Buffer(int capacity, RecordDictionary dictionary, EntityDictionary entities) {
         this.capacity = capacity;
-
-        this.idExtractors = idExtractors;
-        this.nameExtractors = nameExtractors;
-        this.typeExtractors = typeExtractors;
+        this.dictionary = dictionary;
+        this.entities = entities;
 
         what = new Column<>(String.class, "what", capacity, true);
-        whereFirst = new BufferPart("where.first", capacity);
-        whereSecond = new BufferPart("where.second", capacity);
-        whereProperty = new Column<>(String.class, "where.property", capacity, true);
-        who = new BufferPart("who", capacity);
+        where = new int[capacity];
+        who = new long[capacity];
         value = new double[capacity];
         when = new double[capacity];
 
-        contexts = new HashMap<>();
         metadata = new HashMap<>();
     }
 
@@ -84,52 +79,61 @@ public class Buffer {
         value[position] = m.getValue();
         when[position] = m.getWhen();
         what.set(position, m.getWhat().toString());
-        whereProperty.set(position, m.getWhere().getProperty());
+        where[position] = dictionary.measuringPointId(m.getWhere());
         if (m.getWho() != null) {
-            who.getType().set(position, typeExtractors.extractFrom(m.getWho()));
-            who.getId().set(position, idExtractors.extractFrom(m.getWho()));
-            who.getName().set(position, nameExtractors.extractFrom(m.getWho()));
+            long whoId = dictionary.whoId(m.getWho());
+            who[position] = whoId;
+            entities.register(whoId, m.getWho());
         }
 
-        putMeasuringPoint(m, position);
-        putContexts(m, position);
-        putMetadata(m, position);
+        putMetadata(m.getMetadata(), position);
 
         return true;
     }
 
-    private void putMeasuringPoint(Measurement<?> m, int position) {
-        if (m.getWhere() instanceof MeasuringPointPair<?, ?>) {
-            MeasuringPointPair<?, ?> mpp = (MeasuringPointPair<?, ?>) m.getWhere();
-            Object first = mpp.getElement().getFirst();
-            Object second = mpp.getElement().getSecond();
-            whereFirst.getId().set(position, idExtractors.extractFrom(first));
-            whereFirst.getType().set(position, typeExtractors.extractFrom(first));
-            whereFirst.getName().set(position, nameExtractors.extractFrom(first));
-            whereSecond.getId().set(position, idExtractors.extractFrom(second));
-            whereSecond.getType().set(position, typeExtractors.extractFrom(second));
-            whereSecond.getName().set(position, nameExtractors.extractFrom(second));
-        } else {
-            whereFirst.getId().set(position, idExtractors.extractFrom(m.getWhere().getElement()));
-            whereFirst.getType().set(position, typeExtractors.extractFrom(m.getWhere().getElement()));
-            whereFirst.getName().set(position, nameExtractors.extractFrom(m.getWhere().getElement()));
+    /**
+     * Adds a record to this buffer. Other than {@link #put(Measurement)}, this does not register the
+     * trigger with the {@link EntityDictionary}; records are issued by producers passing their
+     * trigger to the {@link RecordDictionary} who listeners instead.
+     * 
+     * @param metricId
+     *            the metric, see {@link RecordDictionary#metricId(String)}
+     * @param measuringPointId
+     *            the measuring point, see {@link RecordDictionary#measuringPointId}
+     * @param whoId
+     *            the trigger, see {@link RecordDictionary#whoId(Object)}
+     * @param value
+     *            the measured value
+     * @param when
+     *            the point in simulation time of the measurement
+     * @param globalMetadata
+     *            the metadata to be attached to the record, or {@code null}
+     * @return @code{true}, if the record has been added successfully; @code{false}, if the record
+     *         could not be added because this buffer is full already. The caller should then retry
+     *         to call this method on the new buffer.
+     */
+    public boolean put(int metricId, int measuringPointId, long whoId, double value, double when,
+            Metadata[] globalMetadata) {
+        int position = size.getAndIncrement();
+        if (position >= capacity) {
+            return false; // buffer is full
         }
-    }
 
-    private void putContexts(Measurement<?> m, int position) {
-        for (Object o : m.getWhere().getContexts()) {
-            String key = typeExtractors.extractFrom(o).toLowerCase();
-            if (!contexts.containsKey(key)) {
-                contexts.put(key, new BufferPart(key, capacity));
-            }
-            contexts.get(key).getId().set(position, idExtractors.extractFrom(o));
-            contexts.get(key).getType().set(position, typeExtractors.extractFrom(o));
-            contexts.get(key).getName().set(position, nameExtractors.extractFrom(o));
+        this.value[position] = value;
+        this.when[position] = when;
+        what.set(position, dictionary.getMetric(metricId));
+        where[position] = measuringPointId;
+        who[position] = whoId;
+
+        if (globalMetadata != null) {
+            putMetadata(globalMetadata, position);
         }
+
+        return true;
     }
 
-    private void putMetadata(Measurement<?> m, int position) {
-        for (Metadata md : m.getMetadata()) {
+    private void putMetadata(Metadata[] metadataOfMeasurement, int position) {
+        for (Metadata md : metadataOfMeasurement) {
             String key = md.getName();
             if (!metadata.containsKey(key)) {
                 metadata.put(key, new Column<>(String.class, md.getName(), capacity, md.isFactorial()));
@@ -142,17 +146,11 @@ public class Buffer {
     public void shrinkToSize() {
         int position = size.get();
         what.shrink(position);
-        whereFirst.shrink(position);
-        whereSecond.shrink(position);
-        whereProperty.shrink(position);
-        who.shrink(position);
+        where = shrinkArray(where, position);
+        who = shrinkArray(who, position);
         value = shrinkArray(value, position);
         when = shrinkArray(when, position);
 
-        for (BufferPart p : contexts.values()) {
-            p.shrink(position);
-        }
-
         for (Column<?> c : metadata.values()) {
             c.shrink(position);
         }
@@ -170,27 +168,38 @@ public class Buffer {
         return dest;
     }
 
-    public boolean isFull() {
-        return size.get() >= capacity;
+    private static long[] shrinkArray(long[] src, int size) {
+        long[] dest = new long[size];
+        System.arraycopy(src, 0, dest, 0, size);
+        return dest;
     }
 
-    public Column<String> getWhat() {
-        return what;
+    private static int[] shrinkArray(int[] src, int size) {
+        int[] dest = new int[size];
+        System.arraycopy(src, 0, dest, 0, size);
+        return dest;
     }
 
-    public BufferPart getWhereFirst() {
-        return whereFirst;
+    public boolean isFull() {
+        return size.get() >= capacity;
     }
 
-    public BufferPart getWhereSecond() {
-        return whereSecond;
+    public Column<String> getWhat() {
+        return what;
     }
 
-    public Column<String> getWhereProperty() {
-        return whereProperty;
+    /**
+     * @return the ids of the buffered measurements' measuring points
+     */
+    public int[] getWhere() {
+        return where;
     }
 
-    public BufferPart getWho() {
+    /**
+     * @return the who ids of the buffered measurements, or {@link RecordDictionary#NO_WHO} for
+     *         measurements without trigger
+     */
+    public long[] getWho() {
         return who;
     }
 
@@ -209,21 +218,6 @@ public class Buffer {
     public Collection<Column<?>> getColumns() {
         List<Column<?>> columns = new ArrayList<>();
         columns.add(what);
-        columns.add(whereFirst.id);
-        columns.add(whereFirst.name);
-        columns.add(whereFirst.type);
-        columns.add(whereSecond.id);
-        columns.add(whereSecond.name);
-        columns.add(whereSecond.type);
-        columns.add(whereProperty);
-        columns.add(who.id);
-        columns.add(who.name);
-        columns.add(who.type);
-        for (BufferPart p : contexts.values()) {
-            columns.add(p.id);
-            columns.add(p.name);
-            columns.add(p.type);
-        }
         for (Column<?> md : metadata.values()) {
             columns.add(md);
         }
@@ -26,6 +26,9 @@ public class RJobProcessor {
 
     private RserveConnection connection;
 
+    /** written by the processing thread only */
+    private volatile long timeSpentInR; // in milliseconds
+
     public RJobProcessor(RserveConnection connection) {
         this.connection = connection;
         this.jobQueue = new LinkedBlockingQueue<>();
@@ -53,6 +56,20 @@ public class RJobProcessor {
         thread.start();
     }
 
+    /**
+     * @return the number of jobs waiting to be processed
+     */
+    public int getQueueLength() {
+        return jobQueue.size();
+    }
+
+    /**
+     * @return the total time spent processing jobs in R so far, in milliseconds
+     */
+    public long getTimeSpentInR() {
+        return timeSpentInR;
+    }
+
     /**
      * Waits until all jobs left in this processor's queue have been processed. This effectively
      * stops the calling thread.
@@ -90,6 +107,7 @@ public class RJobProcessor {
                     long end = System.currentTimeMillis();
                     log.debug(String.format("%s. Took %.2f seconds.", job.getName(), (end - start) / 1000.0));
                     context.getStatistics().captureTimeSpentInR(end - start);
+                    timeSpentInR = context.getStatistics().getTotalTimeSpentInR();
 
                     // shut down if "poison pill" has been processed
                     if (job.getClass().equals(FinalizeRProcessingJob.class)) {
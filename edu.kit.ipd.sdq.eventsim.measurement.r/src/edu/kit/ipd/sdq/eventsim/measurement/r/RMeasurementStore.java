@@ -1,5 +1,6 @@
 package edu.kit.ipd.sdq.eventsim.measurement.r;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -16,7 +17,15 @@ import edu.kit.ipd.sdq.eventsim.measurement.r.connection.RserveConnection;
 import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.FinalizeRProcessingJob;
 import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.MergeBufferedDataFramesJob;
 import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.PushBufferToRJob;
+import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.PushEntitiesToRJob;
+import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.ResolveEntitiesJob;
+import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.ResolveMeasuringPointsJob;
 import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.StoreRDSFileJob;
+import edu.kit.ipd.sdq.eventsim.measurement.record.EntityDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels.ElementLabels;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
 
 /**
  * Stores {@link Measurement}s into R using Rserve (for details on Rserve see
@@ -25,6 +34,15 @@ import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.StoreRDSFileJob;
  * Measurements are buffered and sent to R as a batch once the buffer size reaches its capacity.
  * Increasing the buffer capacity improves performance at the cost of higher memory consumption
  * (this needs to be further evaluated, however).
+ * <p>
+ * Measuring points and triggers are interned by a {@link RecordDictionary}, so that buffers hold
+ * their ids only. Ids, names and types of measuring points are extracted once per measuring point
+ * upon finish. Ids, names and types of triggers are extracted once per trigger by an
+ * {@link EntityDictionary}, and transferred to R along with the next buffer once the trigger has
+ * left the system. Both are joined with the buffered measurements in R upon finish.
+ * <p>
+ * Besides measurements, the store accepts records via {@link #getRecordListener()}. Records carry
+ * the trigger's id only, so the store learns the trigger from the dictionary's who listeners.
  * 
  * @author Philipp Merkle
  *
@@ -45,12 +63,18 @@ public class RMeasurementStore implements MeasurementStorage {
 
     private PropertyExtractor typeExtractor;
 
+    private RecordDictionary dictionary;
+
+    private EntityDictionary entities;
+
     private RserveConnection connection;
 
     private RJobProcessor rJobProcessor;
 
     private int bufferNumber;
 
+    private int entitiesChunkNumber;
+
     private boolean storeRds;
     private String rdsFilePath;
 
@@ -58,11 +82,16 @@ public class RMeasurementStore implements MeasurementStorage {
 
     private ReentrantReadWriteLock bufferLock = new ReentrantReadWriteLock(false);
 
+    private RecordListener recordListener;
+
     /**
      * Use this constructor when no RDS file is to be created upon finish.
+     * 
+     * @param dictionary
+     *            the dictionary interning the measuring points of stored measurements
      */
-    public RMeasurementStore(RserveConnection connection) {
-        this(connection, "");
+    public RMeasurementStore(RserveConnection connection, RecordDictionary dictionary) {
+        this(connection, "", dictionary);
         this.connection = connection;
         this.storeRds = false;
     }
@@ -72,11 +101,14 @@ public class RMeasurementStore implements MeasurementStorage {
      * 
      * @param rdsFilePath
      *            the location of the file to be created.
+     * @param dictionary
+     *            the dictionary interning the measuring points of stored measurements
      */
-    public RMeasurementStore(RserveConnection connection, String rdsFilePath) {
+    public RMeasurementStore(RserveConnection connection, String rdsFilePath, RecordDictionary dictionary) {
         this.connection = connection;
         this.storeRds = true;
         this.rdsFilePath = rdsFilePath;
+        this.dictionary = dictionary;
         idExtractor = new PropertyExtractor();
         nameExtractor = new PropertyExtractor();
         typeExtractor = new PropertyExtractor();
@@ -95,7 +127,10 @@ public class RMeasurementStore implements MeasurementStorage {
             }
         });
 
-        buffer = new Buffer(BUFFER_CAPACITY, idExtractor, nameExtractor, typeExtractor);
+        entities = new EntityDictionary(idExtractor, nameExtractor, typeExtractor);
+        dictionary.addEvictionListener(entities::evict);
+
+        buffer = new Buffer(BUFFER_CAPACITY, dictionary, entities);
     }
 
     /**
@@ -104,18 +139,20 @@ public class RMeasurementStore implements MeasurementStorage {
      * 
      * @param configuration
      *            the launch configuration
+     * @param dictionary
+     *            the dictionary interning the measuring points of stored measurements
      * @return the constructed {@link RMeasurementStore}, or {@code null} if expected configuration
      *         options could not be found in the provided launch configuration.
      */
     public static RMeasurementStore fromLaunchConfiguration(Map<String, Object> configuration,
-            RserveConnection connection) {
+            RserveConnection connection, RecordDictionary dictionary) {
         Boolean createRds = (Boolean) configuration.get(RConfigurationConstants.CREATE_RDS_FILE_KEY);
         if (createRds == null || !createRds) {
-            return new RMeasurementStore(connection);
+            return new RMeasurementStore(connection, dictionary);
         }
         String rdsFilePath = (String) configuration.get(RConfigurationConstants.RDS_FILE_PATH_KEY);
         if (rdsFilePath != null) {
-            return new RMeasurementStore(connection, rdsFilePath);
+            return new RMeasurementStore(connection, rdsFilePath, dictionary);
         }
         return null;
     }
@@ -140,30 +177,7 @@ public class RMeasurementStore implements MeasurementStorage {
         boolean successfullyAdded = false;
         int tries = 0;
         while (!successfullyAdded && tries < MAX_RETRIES_PUT_MEASUREMENT + 1) {
-            /*
-             * lock handling implemented as suggested by
-             * https://docs.oracle.com/javase/7/docs/api/java/util/concurrent/locks/
-             * ReentrantReadWriteLock.html
-             */
-            bufferLock.readLock().lock();
-            if (buffer.isFull()) {
-                // must release read lock before acquiring write lock
-                bufferLock.readLock().unlock();
-                bufferLock.writeLock().lock();
-                try {
-                    // recheck state because another thread might have acquired write lock and
-                    // changed state before we did
-                    if (buffer.isFull()) {
-                        rJobProcessor.enqueue(new PushBufferToRJob(buffer, bufferNumber++));
-                        buffer = new Buffer(BUFFER_CAPACITY, idExtractor, nameExtractor, typeExtractor);
-                    }
-                    // downgrade lock by acquiring read lock before releasing write lock
-                    bufferLock.readLock().lock();
-                } finally {
-                    // release write lock, keep read lock
-                    bufferLock.writeLock().unlock();
-                }
-            }
+            lockBuffer();
             try {
                 // add global metadata to measurement, if present
                 if (globalMetadata != null) {
@@ -182,6 +196,65 @@ public class RMeasurementStore implements MeasurementStorage {
         }
     }
 
+    @Override
+    public synchronized RecordListener getRecordListener() {
+        if (recordListener == null) {
+            dictionary.addWhoListener((who, whoId) -> entities.register(whoId, who));
+            recordListener = this::record;
+        }
+        return recordListener;
+    }
+
+    private void record(int metricId, int measuringPointId, long whoId, double value, double when) {
+        boolean successfullyAdded = false;
+        int tries = 0;
+        while (!successfullyAdded && tries < MAX_RETRIES_PUT_MEASUREMENT + 1) {
+            lockBuffer();
+            try {
+                successfullyAdded = buffer.put(metricId, measuringPointId, whoId, value, when, globalMetadata);
+            } finally {
+                bufferLock.readLock().unlock();
+            }
+            tries++;
+        }
+        if (!successfullyAdded) {
+            log.warn("Failed to add record of metric " + dictionary.getMetric(metricId)
+                    + " to buffer after multiple retries.");
+        }
+    }
+
+    /**
+     * Acquires the read lock on the current buffer. If the buffer is full, it is pushed to R and
+     * replaced by an empty buffer beforehand. The caller has to release the read lock.
+     */
+    private void lockBuffer() {
+        /*
+         * lock handling implemented as suggested by
+         * https://docs.oracle.com/javase/7/docs/api/java/util/concurrent/locks/
+         * ReentrantReadWriteLock.html
+         */
+        bufferLock.readLock().lock();
+        if (buffer.isFull()) {
+            // must release read lock before acquiring write lock
+            bufferLock.readLock().unlock();
+            bufferLock.writeLock().lock();
+            try {
+                // recheck state because another thread might have acquired write lock and
+                // changed state before we did
+                if (buffer.isFull()) {
+                    rJobProcessor.enqueue(new PushBufferToRJob(buffer, bufferNumber++));
+                    pushEvictedEntities();
+                    buffer = new Buffer(BUFFER_CAPACITY, dictionary, entities);
+                }
+                // downgrade lock by acquiring read lock before releasing write lock
+                bufferLock.readLock().lock();
+            } finally {
+                // release write lock, keep read lock
+                bufferLock.writeLock().unlock();
+            }
+        }
+    }
+
     @Override
     public void addMetadata(Metadata... metadata) {
         globalMetadata = metadata;
@@ -192,6 +265,13 @@ public class RMeasurementStore implements MeasurementStorage {
         globalMetadata = metadata.toArray(new Metadata[metadata.size()]);
     }
 
+    /**
+     * @return the processor executing R jobs on behalf of this store
+     */
+    public RJobProcessor getJobProcessor() {
+        return rJobProcessor;
+    }
+
     @Override
     public void start() throws MeasurementStorageStartException {
         if (connection != null && connection.isConnected()) {
@@ -210,7 +290,10 @@ public class RMeasurementStore implements MeasurementStorage {
             buffer.shrinkToSize();
 
             rJobProcessor.enqueue(new PushBufferToRJob(buffer, bufferNumber++));
+            rJobProcessor.enqueue(new PushEntitiesToRJob(entities.drainAll(), entitiesChunkNumber++));
             rJobProcessor.enqueue(new MergeBufferedDataFramesJob());
+            rJobProcessor.enqueue(new ResolveMeasuringPointsJob(extractMeasuringPointLabels()));
+            rJobProcessor.enqueue(new ResolveEntitiesJob());
 
             // handle R job extensions
             for (RJob job : JobExtensionHelper.createExtensionJobs()) {
@@ -230,11 +313,29 @@ public class RMeasurementStore implements MeasurementStorage {
 
             // clean up
             // TODO really needed?
-            buffer = new Buffer(BUFFER_CAPACITY, idExtractor, nameExtractor, typeExtractor);
+            buffer = new Buffer(BUFFER_CAPACITY, dictionary, entities);
             bufferNumber = 0;
+            entitiesChunkNumber = 0;
         } finally {
             bufferLock.writeLock().unlock();
         }
     }
 
+    private void pushEvictedEntities() {
+        Map<Long, ElementLabels> evicted = entities.drainEvicted();
+        if (!evicted.isEmpty()) {
+            rJobProcessor.enqueue(new PushEntitiesToRJob(evicted, entitiesChunkNumber++));
+        }
+    }
+
+    private List<MeasuringPointLabels> extractMeasuringPointLabels() {
+        int count = dictionary.getMeasuringPointCount();
+        List<MeasuringPointLabels> labels = new ArrayList<>(count);
+        for (int id = 0; id < count; id++) {
+            labels.add(MeasuringPointLabels.of(dictionary.getMeasuringPoint(id), idExtractor, nameExtractor,
+                    typeExtractor));
+        }
+        return labels;
+    }
+
 }
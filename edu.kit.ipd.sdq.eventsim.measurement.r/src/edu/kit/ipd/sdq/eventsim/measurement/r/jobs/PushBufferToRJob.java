@@ -5,6 +5,7 @@ import java.util.Collection;
 import org.apache.log4j.Logger;
 import org.rosuda.REngine.REXP;
 import org.rosuda.REngine.REXPDouble;
+import org.rosuda.REngine.REXPInteger;
 import org.rosuda.REngine.REXPMismatchException;
 import org.rosuda.REngine.REXPWrapper;
 import org.rosuda.REngine.RList;
@@ -65,7 +66,7 @@ public class PushBufferToRJob implements RJob {
 	
 	private void convertCategoricalColumnsToFactorColumns(RContext context) {
 		try {
-			// first two entries in buffer list are "value" and "when" -- not categorical
+			// first entries in buffer list are "value", "when", "where" and "who" -- not categorical
 			for (Column<?> c : buffer.getColumns()) {
 				if (c.isFactorial()) {
 					String colName = "buffer$" + c.getName();
@@ -80,9 +81,11 @@ public class PushBufferToRJob implements RJob {
 	private REXP createDataFrameFromBuffer(Buffer buffer) {
 		try {
 			Collection<Column<?>> columns = buffer.getColumns();
-			RList rList = new RList(2 + columns.size(), true);
+			RList rList = new RList(4 + columns.size(), true);
 			rList.put("value", new REXPDouble(buffer.getValue()));
 			rList.put("when", new REXPDouble(buffer.getWhen()));
+			rList.put("where", new REXPInteger(buffer.getWhere()));
+			rList.put("who", new REXPDouble(toDoubles(buffer.getWho())));
 			for(Column<?> c : buffer.getColumns()) {
 				rList.put(c.getName(), REXPWrapper.wrap(c.values()));
 			}
@@ -93,6 +96,18 @@ public class PushBufferToRJob implements RJob {
 		}
 	}
 
+	/**
+	 * Converts who ids to doubles, which is how R represents them. Who ids are far below 2^53 and
+	 * hence represented exactly.
+	 */
+	private static double[] toDoubles(long[] values) {
+		double[] result = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = values[i];
+		}
+		return result;
+	}
+
 	@Override
 	public String getName() {
 		return "Push buffered measurements to R";
@@ -0,0 +1,86 @@
+package edu.kit.ipd.sdq.eventsim.measurement.r.jobs;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.log4j.Logger;
+import org.rosuda.REngine.REXP;
+import org.rosuda.REngine.REXPDouble;
+import org.rosuda.REngine.REXPMismatchException;
+import org.rosuda.REngine.REXPString;
+import org.rosuda.REngine.RList;
+import org.rosuda.REngine.Rserve.RserveException;
+
+import edu.kit.ipd.sdq.eventsim.measurement.r.RContext;
+import edu.kit.ipd.sdq.eventsim.measurement.r.RJob;
+import edu.kit.ipd.sdq.eventsim.measurement.record.EntityDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels.ElementLabels;
+
+/**
+ * Transfers the labels of triggers ("who") drained from an {@link EntityDictionary} to R. Each
+ * chunk becomes a data frame holding one row per trigger; chunks are joined with the measurements
+ * by {@link ResolveEntitiesJob}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class PushEntitiesToRJob implements RJob {
+
+	private static final Logger log = Logger.getLogger(PushEntitiesToRJob.class);
+
+	private final Map<Long, ElementLabels> entities;
+
+	private final int chunkNumber;
+
+	public PushEntitiesToRJob(Map<Long, ElementLabels> entities, int chunkNumber) {
+		this.entities = entities;
+		this.chunkNumber = chunkNumber;
+	}
+
+	@Override
+	public void process(RContext context) {
+		log.debug("Pushing entities chunk " + chunkNumber + " to R.");
+		try {
+			if (chunkNumber == 0) {
+				EvaluationHelper.evaluateVoid(context, "ww <- list()");
+			}
+			context.getConnection().assign("entities", createDataFrameFromEntities());
+			EvaluationHelper.evaluateVoid(context, "ww[[length(ww)+1]] <- entities", "rm(entities)");
+		} catch (RserveException | EvaluationException e) {
+			log.error(e);
+		}
+	}
+
+	private REXP createDataFrameFromEntities() {
+		int size = entities.size();
+		double[] who = new double[size];
+		String[] ids = new String[size];
+		String[] names = new String[size];
+		String[] types = new String[size];
+		int i = 0;
+		for (Entry<Long, ElementLabels> e : entities.entrySet()) {
+			who[i] = e.getKey();
+			ids[i] = e.getValue().getId();
+			names[i] = e.getValue().getName();
+			types[i] = e.getValue().getType();
+			i++;
+		}
+		RList rList = new RList(4, true);
+		rList.put("who", new REXPDouble(who));
+		rList.put("who.id", new REXPString(ids));
+		rList.put("who.name", new REXPString(names));
+		rList.put("who.type", new REXPString(types));
+		try {
+			return REXP.createDataFrame(rList);
+		} catch (REXPMismatchException e) {
+			// indicates a programming error => throw unchecked
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "Push entities to R";
+	}
+
+}
@@ -0,0 +1,37 @@
+package edu.kit.ipd.sdq.eventsim.measurement.r.jobs;
+
+import org.apache.log4j.Logger;
+
+import edu.kit.ipd.sdq.eventsim.measurement.r.RContext;
+import edu.kit.ipd.sdq.eventsim.measurement.r.RJob;
+
+/**
+ * Replaces the who ids of the merged measurements data frame by the id, name and type columns of
+ * the respective triggers, as transferred by {@link PushEntitiesToRJob}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class ResolveEntitiesJob implements RJob {
+
+	private static final Logger log = Logger.getLogger(ResolveEntitiesJob.class);
+
+	@Override
+	public void process(RContext context) {
+		try {
+			// triggers seen again after having been evicted are contained in more than one chunk
+			EvaluationHelper.evaluateVoid(context, "ww <- unique(rbindlist(ww), by='who')",
+					"ww[, c('who.id', 'who.name', 'who.type') := lapply(.SD, as.factor), "
+							+ ".SDcols=c('who.id', 'who.name', 'who.type')]",
+					"mm <- merge(mm, ww, by='who', all.x=TRUE, sort=FALSE)", "mm[, who := NULL]", "rm(ww)");
+		} catch (EvaluationException e) {
+			log.error(e);
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "Resolve triggers of buffered measurements";
+	}
+
+}
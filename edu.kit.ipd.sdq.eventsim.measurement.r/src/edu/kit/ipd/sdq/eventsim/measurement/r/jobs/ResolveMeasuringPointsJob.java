@@ -0,0 +1,110 @@
+package edu.kit.ipd.sdq.eventsim.measurement.r.jobs;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.log4j.Logger;
+import org.rosuda.REngine.REXP;
+import org.rosuda.REngine.REXPInteger;
+import org.rosuda.REngine.REXPMismatchException;
+import org.rosuda.REngine.REXPString;
+import org.rosuda.REngine.RList;
+import org.rosuda.REngine.Rserve.RserveException;
+
+import edu.kit.ipd.sdq.eventsim.measurement.r.RContext;
+import edu.kit.ipd.sdq.eventsim.measurement.r.RJob;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels.ElementLabels;
+
+/**
+ * Replaces the measuring point ids of the merged measurements data frame by the id, name and type
+ * columns of the respective measuring points. The labels are transferred to R once, as a data frame
+ * holding one row per measuring point, which is then joined with the measurements.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class ResolveMeasuringPointsJob implements RJob {
+
+	private static final Logger log = Logger.getLogger(ResolveMeasuringPointsJob.class);
+
+	private final List<MeasuringPointLabels> labels;
+
+	/**
+	 * @param labels
+	 *            the labels of each measuring point, indexed by measuring point id
+	 */
+	public ResolveMeasuringPointsJob(List<MeasuringPointLabels> labels) {
+		this.labels = labels;
+	}
+
+	@Override
+	public void process(RContext context) {
+		try {
+			Map<String, String[]> columns = createColumnsFromLabels();
+			context.getConnection().assign("mp", createDataFrame(columns));
+			for (String column : columns.keySet()) {
+				String colName = "mp$`" + column + "`";
+				EvaluationHelper.evaluateVoid(context, colName + " <- as.factor(" + colName + ")");
+			}
+			EvaluationHelper.evaluateVoid(context, "mp <- as.data.table(mp)",
+					"mm <- merge(mm, mp, by='where', all.x=TRUE, sort=FALSE)", "mm[, where := NULL]", "rm(mp)");
+		} catch (RserveException | EvaluationException e) {
+			log.error(e);
+		}
+	}
+
+	private Map<String, String[]> createColumnsFromLabels() {
+		Map<String, String[]> columns = new LinkedHashMap<>();
+		for (int i = 0; i < labels.size(); i++) {
+			MeasuringPointLabels l = labels.get(i);
+			put(columns, "where.first", l.getFirst(), i);
+			put(columns, "where.second", l.getSecond(), i);
+			column(columns, "where.property")[i] = l.getProperty();
+			for (Entry<String, ElementLabels> e : l.getContexts().entrySet()) {
+				put(columns, e.getKey(), e.getValue(), i);
+			}
+		}
+		return columns;
+	}
+
+	private REXP createDataFrame(Map<String, String[]> columns) {
+		int[] where = new int[labels.size()];
+		for (int i = 0; i < where.length; i++) {
+			where[i] = i;
+		}
+		RList rList = new RList(1 + columns.size(), true);
+		rList.put("where", new REXPInteger(where));
+		for (Entry<String, String[]> c : columns.entrySet()) {
+			rList.put(c.getKey(), new REXPString(c.getValue()));
+		}
+		try {
+			return REXP.createDataFrame(rList);
+		} catch (REXPMismatchException e) {
+			// indicates a programming error => throw unchecked
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void put(Map<String, String[]> columns, String prefix, ElementLabels element, int row) {
+		if (element == null) {
+			// leave column empty (NA) for this measuring point
+			return;
+		}
+		column(columns, prefix + ".id")[row] = element.getId();
+		column(columns, prefix + ".name")[row] = element.getName();
+		column(columns, prefix + ".type")[row] = element.getType();
+	}
+
+	private String[] column(Map<String, String[]> columns, String name) {
+		return columns.computeIfAbsent(name, n -> new String[labels.size()]);
+	}
+
+	@Override
+	public String getName() {
+		return "Resolve measuring points of buffered measurements";
+	}
+
+}
@@ -20,6 +20,7 @@ import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.r.connection.RserveConnection;
 import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.EvaluationException;
 import edu.kit.ipd.sdq.eventsim.measurement.r.jobs.EvaluationHelper;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 
 /**
  * Tests {@link RMeasurementStore} under highly concurrent load. Checks that no measurement is lost
@@ -52,7 +53,10 @@ public class ConcurrencyTest {
 
         RserveConnection connection = new RserveConnection();
         connection.connect("localhost", 6311);
-        measurementStore = new RMeasurementStore(connection);
+        RecordDictionary dictionary = new RecordDictionary();
+        // who ids need to be unique, which is not guaranteed for the default (identity hash code)
+        dictionary.addWhoIdExtractor(String.class, s -> Long.parseLong(((String) s).substring("who".length())));
+        measurementStore = new RMeasurementStore(connection, dictionary);
         measurementStore.addIdExtractor(String.class, s -> (String) s);
         measurementStore.addNameExtractor(String.class, s -> (String) s);
         measurementStore.addTypeExtractor(String.class, s -> String.class.getSimpleName());
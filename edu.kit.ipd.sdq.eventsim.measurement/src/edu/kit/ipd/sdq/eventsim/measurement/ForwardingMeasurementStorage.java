@@ -0,0 +1,83 @@
+package edu.kit.ipd.sdq.eventsim.measurement;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Base class of {@link MeasurementStorage} decorators. All methods are forwarded to the decorated
+ * storage, except for {@link #put(Measurement)} and {@link #getRecordListener()}, which subclasses
+ * need to intercept. Unless overridden, no record listener is offered, so that producers fall back to
+ * {@link #put(Measurement)} instead of bypassing the decorator.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public abstract class ForwardingMeasurementStorage implements MeasurementStorage {
+
+    private final MeasurementStorage delegate;
+
+    public ForwardingMeasurementStorage(MeasurementStorage delegate) {
+        this.delegate = delegate;
+    }
+
+    public MeasurementStorage getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Finds the storage of the specified type in a chain of decorators.
+     *
+     * @param storage
+     *            the outermost storage
+     * @param type
+     *            the type of the storage to be found
+     * @return the first storage of the specified type, starting with {@code storage} itself, or
+     *         {@code null} if there is none
+     */
+    public static <T extends MeasurementStorage> T find(MeasurementStorage storage, Class<T> type) {
+        while (storage != null) {
+            if (type.isInstance(storage)) {
+                return type.cast(storage);
+            }
+            storage = storage instanceof ForwardingMeasurementStorage
+                    ? ((ForwardingMeasurementStorage) storage).getDelegate() : null;
+        }
+        return null;
+    }
+
+    @Override
+    public void addIdExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+        delegate.addIdExtractor(type, extractionFunction);
+    }
+
+    @Override
+    public void addNameExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+        delegate.addNameExtractor(type, extractionFunction);
+    }
+
+    @Override
+    public void addTypeExtractor(Class<? extends Object> elementClass, Function<Object, String> extractionFunction) {
+        delegate.addTypeExtractor(elementClass, extractionFunction);
+    }
+
+    @Override
+    public void addMetadata(Metadata... metadata) {
+        delegate.addMetadata(metadata);
+    }
+
+    @Override
+    public void addMetadata(List<Metadata> metadata) {
+        delegate.addMetadata(metadata);
+    }
+
+    @Override
+    public void start() throws MeasurementStorageStartException {
+        delegate.start();
+    }
+
+    @Override
+    public void finish() {
+        delegate.finish();
+    }
+
+}
@@ -9,6 +9,7 @@ import edu.kit.ipd.sdq.eventsim.measurement.calculator.IntermediateCalculatorFro
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.ProbeFactory;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.ProbeLocator;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 
 public class MeasurementFacade<C extends ProbeConfiguration> {
 
@@ -16,9 +17,37 @@ public class MeasurementFacade<C extends ProbeConfiguration> {
 
 	private Set<IProbe<?>> existingProbesSet;
 
+	private RecordDictionary dictionary;
+
+	/**
+	 * Creates a facade with a dictionary of its own. Use
+	 * {@link #MeasurementFacade(ProbeConfiguration, ProbeLocator, RecordDictionary)} to share ids with other facades.
+	 * 
+	 * @param configuration
+	 *            the configuration passed to probes
+	 * @param probeLocator
+	 *            looks up probe classes
+	 */
 	public MeasurementFacade(C configuration, ProbeLocator<C> probeLocator) {
-		this.probeFactory = new ProbeFactory<>(configuration, probeLocator);
+		this(configuration, probeLocator, new RecordDictionary());
+	}
+
+	/**
+	 * @param configuration
+	 *            the configuration passed to probes
+	 * @param probeLocator
+	 *            looks up probe classes
+	 * @param dictionary
+	 *            the dictionary issuing ids for records; to be shared by all facades of a simulation run
+	 */
+	public MeasurementFacade(C configuration, ProbeLocator<C> probeLocator, RecordDictionary dictionary) {
+		this.probeFactory = new ProbeFactory<>(configuration, probeLocator, dictionary);
 		this.existingProbesSet = new HashSet<>();
+		this.dictionary = dictionary;
+	}
+
+	public RecordDictionary getRecordDictionary() {
+		return dictionary;
 	}
 
 	public <F, S> IntermediateCalculatorFrom<F, S> createCalculator(BinaryCalculator<F, S> calculator) {
@@ -3,6 +3,9 @@ package edu.kit.ipd.sdq.eventsim.measurement;
 import java.util.List;
 import java.util.function.Function;
 
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordProducer;
+
 public interface MeasurementStorage {
 
     /**
@@ -47,6 +50,36 @@ public interface MeasurementStorage {
      */
     void put(Measurement<?> m);
 
+    /**
+     * Returns the listener consuming records on behalf of this storage, if this storage supports
+     * records. Records are passed without allocating any objects and should therefore be preferred
+     * over {@link Measurement}s. Global {@link #addMetadata(Metadata...) metadata} applies to
+     * records as well.
+     * 
+     * @return the record listener, or {@code null} if this storage consumes {@link Measurement}s
+     *         only
+     */
+    default RecordListener getRecordListener() {
+        return null;
+    }
+
+    /**
+     * Stores all measurements emitted by the specified producer from now on. Measurements are
+     * passed as records, if both this storage and the producer support records, and as
+     * {@link Measurement}s else.
+     * 
+     * @param producer
+     *            the probe or calculator
+     */
+    default <P extends MeasurementProducer<?> & RecordProducer> void storeAllOf(P producer) {
+        RecordListener recordListener = getRecordListener();
+        if (recordListener != null && producer.isRecordable()) {
+            producer.forEachRecord(recordListener);
+        } else {
+            producer.forEachMeasurement(this::put);
+        }
+    }
+
     /**
      * Adds global metadata that will be appended to each {@link Measurement} added via
      * {@link #put(Measurement)}.
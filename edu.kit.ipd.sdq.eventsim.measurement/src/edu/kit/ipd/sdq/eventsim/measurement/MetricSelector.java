@@ -0,0 +1,99 @@
+package edu.kit.ipd.sdq.eventsim.measurement;
+
+import java.util.BitSet;
+import java.util.function.Function;
+
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+
+/**
+ * Selects the measurements and records of a certain metric, optionally restricted to the measuring
+ * points of a certain element. The metric is compared against {@link Measurement#getWhat()}, or
+ * against the metric id of records. The element is given by its id or name, as returned by the id
+ * and name extractors added to this selector. For {@link MeasuringPointPair}s, e.g. the measuring
+ * points of time spans, the first element is compared.
+ * <p>
+ * Whether a measuring point is selected is decided once per measuring point id, so that selecting
+ * records takes constant time. Hence, extractors need to be added before the first measurement.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class MetricSelector {
+
+    private final String metric;
+
+    private final String element;
+
+    private final RecordDictionary dictionary;
+
+    private final int metricId;
+
+    private final PropertyExtractor idExtractor = new PropertyExtractor();
+
+    private final PropertyExtractor nameExtractor = new PropertyExtractor();
+
+    /** measuring point ids whose selection has been decided */
+    private final BitSet decided = new BitSet();
+
+    /** measuring point ids that have been selected */
+    private final BitSet selected = new BitSet();
+
+    /**
+     * @param metric
+     *            the metric name as used by measurements
+     * @param element
+     *            the id or name of the measured element, or an empty string to select the metric at
+     *            all measuring points
+     * @param dictionary
+     *            the dictionary issuing the ids of records
+     */
+    public MetricSelector(String metric, String element, RecordDictionary dictionary) {
+        this.metric = metric;
+        this.element = element;
+        this.dictionary = dictionary;
+        this.metricId = dictionary.metricId(metric);
+    }
+
+    public void addIdExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+        idExtractor.add(type, extractionFunction);
+    }
+
+    public void addNameExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+        nameExtractor.add(type, extractionFunction);
+    }
+
+    public boolean selects(Measurement<?> m) {
+        if (!metric.equals(m.getWhat())) {
+            return false;
+        }
+        return element.isEmpty() || selectsMeasuringPoint(dictionary.measuringPointId(m.getWhere()));
+    }
+
+    public boolean selects(int metricId, int measuringPointId) {
+        return metricId == this.metricId && (element.isEmpty() || selectsMeasuringPoint(measuringPointId));
+    }
+
+    private boolean selectsMeasuringPoint(int measuringPointId) {
+        if (!decided.get(measuringPointId)) {
+            decided.set(measuringPointId);
+            selected.set(measuringPointId, matches(dictionary.getMeasuringPoint(measuringPointId)));
+        }
+        return selected.get(measuringPointId);
+    }
+
+    private boolean matches(MeasuringPoint<?> measuringPoint) {
+        Object measured = measuringPoint instanceof MeasuringPointPair<?, ?>
+                ? ((MeasuringPointPair<?, ?>) measuringPoint).getFirst().getElement() : measuringPoint.getElement();
+        return element.equals(idExtractor.extractFrom(measured)) || element.equals(nameExtractor.extractFrom(measured));
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    @Override
+    public String toString() {
+        return element.isEmpty() ? metric : metric + " of " + element;
+    }
+
+}
@@ -0,0 +1,85 @@
+package edu.kit.ipd.sdq.eventsim.measurement;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
+
+/**
+ * Decorates a {@link MeasurementStorage} so as to pass the values of selected measurements to an
+ * observer, e.g. a stop condition, in addition to storing them. Records are observed as well, so
+ * that the decorated storage's record path is retained.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class ObservingStorage extends ForwardingMeasurementStorage {
+
+    private final MetricSelector selector;
+
+    private DoubleConsumer observer = value -> {
+    };
+
+    private RecordListener recordListener;
+
+    /**
+     * @param delegate
+     *            the storage receiving all measurements
+     * @param selector
+     *            selects the measurements whose values are passed to the observer
+     */
+    public ObservingStorage(MeasurementStorage delegate, MetricSelector selector) {
+        super(delegate);
+        this.selector = selector;
+    }
+
+    /**
+     * @param observer
+     *            receives the value of each selected measurement or record
+     */
+    public void setObserver(DoubleConsumer observer) {
+        this.observer = observer;
+    }
+
+    public MetricSelector getSelector() {
+        return selector;
+    }
+
+    @Override
+    public void put(Measurement<?> m) {
+        if (selector.selects(m)) {
+            observer.accept(m.getValue());
+        }
+        getDelegate().put(m);
+    }
+
+    @Override
+    public RecordListener getRecordListener() {
+        if (recordListener == null) {
+            RecordListener delegateListener = getDelegate().getRecordListener();
+            if (delegateListener == null) {
+                return null;
+            }
+            recordListener = (metricId, measuringPointId, whoId, value, when) -> {
+                if (selector.selects(metricId, measuringPointId)) {
+                    observer.accept(value);
+                }
+                delegateListener.record(metricId, measuringPointId, whoId, value, when);
+            };
+        }
+        return recordListener;
+    }
+
+    @Override
+    public void addIdExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+        selector.addIdExtractor(type, extractionFunction);
+        super.addIdExtractor(type, extractionFunction);
+    }
+
+    @Override
+    public void addNameExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+        selector.addNameExtractor(type, extractionFunction);
+        super.addNameExtractor(type, extractionFunction);
+    }
+
+}
@@ -7,16 +7,47 @@ import org.apache.log4j.Logger;
 
 import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementListener;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.Pair;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
 
+/**
+ * Base class for calculators. Subclasses report their results via
+ * {@link #measure(String, MeasuringPoint, Object, double, double)}, which builds a {@link Measurement} only if there
+ * are measurement listeners.
+ * 
+ * @author Philipp Merkle
+ *
+ */
 public abstract class AbstractBinaryCalculator<F, S> implements BinaryCalculator<F, S> {
 
 	private static final Logger log = Logger.getLogger(AbstractBinaryCalculator.class);
 
 	protected List<MeasurementListener<Pair<F, S>>> measurementListener;
 
+	protected List<RecordListener> recordListener;
+
+	private RecordDictionary dictionary;
+
+	private String lastMetric;
+
+	private int lastMetricId;
+
+	private MeasuringPoint<Pair<F, S>> lastWhere;
+
+	private int lastWhereId;
+
 	public AbstractBinaryCalculator() {
 		measurementListener = new ArrayList<>();
+		recordListener = new ArrayList<>();
+	}
+
+	/**
+	 * Attaches this calculator to the dictionary issuing ids for its records. Invoked by {@link CalculatorBuilder}.
+	 */
+	void attach(RecordDictionary dictionary) {
+		this.dictionary = dictionary;
 	}
 
 	@Override
@@ -24,6 +55,20 @@ public abstract class AbstractBinaryCalculator<F, S> implements BinaryCalculator
 		measurementListener.add(l);
 	}
 
+	@Override
+	public void forEachRecord(RecordListener l) {
+		if (dictionary == null) {
+			throw new IllegalStateException(String.format("Cannot register record listener with calculator %s "
+					+ "because the calculator has not been attached to a record dictionary.", this));
+		}
+		recordListener.add(l);
+	}
+
+	@Override
+	public boolean isRecordable() {
+		return true;
+	}
+
 	protected void notify(Measurement<Pair<F, S>> measurement) {
 		if (measurement != null) {
 			measurementListener.forEach(listener -> listener.notify(measurement));
@@ -33,4 +78,42 @@ public abstract class AbstractBinaryCalculator<F, S> implements BinaryCalculator
 		}
 	}
 
+	/**
+	 * Reports a calculation result. To avoid allocations, calculators should create their measuring point once, when
+	 * being set up, instead of creating a new one for each result.
+	 * 
+	 * @param metric
+	 *            the calculated metric
+	 * @param where
+	 *            the measuring point, usually spanning the from- and to-probe's measuring points
+	 * @param who
+	 *            the trigger
+	 * @param value
+	 *            the calculated value
+	 * @param when
+	 *            the point in time the result refers to
+	 */
+	protected void measure(String metric, MeasuringPoint<Pair<F, S>> where, Object who, double value, double when) {
+		if (!recordListener.isEmpty()) {
+			if (metric != lastMetric) {
+				lastMetricId = dictionary.metricId(metric);
+				lastMetric = metric;
+			}
+			if (where != lastWhere) {
+				lastWhereId = dictionary.measuringPointId(where);
+				lastWhere = where;
+			}
+			long whoId = dictionary.recordWho(who);
+			for (int i = 0; i < recordListener.size(); i++) {
+				recordListener.get(i).record(lastMetricId, lastWhereId, who, whoId, value, when);
+			}
+		}
+		if (!measurementListener.isEmpty()) {
+			Measurement<Pair<F, S>> m = new Measurement<>(metric, where, who, value, when);
+			for (int i = 0; i < measurementListener.size(); i++) {
+				measurementListener.get(i).notify(m);
+			}
+		}
+	}
+
 }
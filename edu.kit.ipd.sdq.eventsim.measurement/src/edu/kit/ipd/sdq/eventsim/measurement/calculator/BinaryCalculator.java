@@ -4,9 +4,10 @@ import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementProducer;
 import edu.kit.ipd.sdq.eventsim.measurement.Pair;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordProducer;
 
 
-public interface BinaryCalculator<F, S> extends MeasurementProducer<Pair<F, S>> {
+public interface BinaryCalculator<F, S> extends MeasurementProducer<Pair<F, S>>, RecordProducer {
 
 	void setup(IProbe<F> fromProbe, IProbe<S> toProbe);
 
@@ -29,6 +29,9 @@ public class CalculatorBuilder<F, S, C extends ProbeConfiguration>
 	@Override
 	public BinaryCalculator<F, S> to(S second, String property, Object... measurementContexts) {
 		toProbe = measurementFacade.createProbe(second, property, measurementContexts);
+		if (c instanceof AbstractBinaryCalculator) {
+			((AbstractBinaryCalculator<F, S>) c).attach(measurementFacade.getRecordDictionary());
+		}
 		c.setup(fromProbe, toProbe);
 		return c;
 	}
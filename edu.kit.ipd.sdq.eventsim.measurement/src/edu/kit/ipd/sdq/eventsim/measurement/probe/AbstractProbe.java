@@ -8,9 +8,16 @@ import org.apache.log4j.Logger;
 import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementListener;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
+import edu.kit.ipd.sdq.eventsim.measurement.Metadata;
 import edu.kit.ipd.sdq.eventsim.measurement.ProbeConfiguration;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
 
 /**
+ * Base class for probes. Subclasses report their observations via one of the {@code measure} methods, which notify
+ * record listeners and measurement listeners. {@link Measurement}s are built only if there are measurement listeners,
+ * so that probes observed by record listeners alone do not allocate any objects per observation. If caching is
+ * enabled, the most recent observation per trigger is kept in a {@link LastMeasurementStore}.
  * 
  * @author Philipp Merkle
  *
@@ -21,26 +28,75 @@ public abstract class AbstractProbe<E, C extends ProbeConfiguration> implements
 
 	private static final Logger log = Logger.getLogger(AbstractProbe.class);
 
-	protected MeasurementCache<E> cache;
-
 	protected List<MeasurementListener<E>> measurementListener;
 
+	protected List<RecordListener> recordListener;
+
 	protected MeasuringPoint<E> measuringPoint;
 
 	protected C configuration;
 
 	private boolean cacheEnabled;
 
+	private RecordDictionary dictionary;
+
+	private LastMeasurementStore lastMeasurements;
+
+	private int measuringPointId;
+
+	private String lastMetric;
+
+	private int lastMetricId;
+
+	private MeasuringPoint<E> lastWhere;
+
+	private int lastWhereId;
+
 	public AbstractProbe(MeasuringPoint<E> p, C configuration) {
 		this.measuringPoint = p;
 		this.configuration = configuration;
-		this.cache = new DisabledCache();
 		this.measurementListener = new ArrayList<>();
+		this.recordListener = new ArrayList<>();
+	}
+
+	/**
+	 * Attaches this probe to the dictionary issuing ids for its records, and to the store caching its most recent
+	 * observations. Invoked by {@link ProbeFactory}.
+	 */
+	void attach(RecordDictionary dictionary, LastMeasurementStore lastMeasurements) {
+		this.dictionary = dictionary;
+		this.lastMeasurements = lastMeasurements;
+		this.measuringPointId = dictionary.measuringPointId(measuringPoint);
 	}
 
 	@Override
 	public Measurement<E> getLastMeasurementOf(Object who) {
-		return cache.getLastMeasurement(who, measuringPoint);
+		int slot = findLastMeasurementOf(who);
+		if (slot < 0) {
+			return null;
+		}
+		return new Measurement<>(dictionary.getMetric(lastMeasurements.getMetricId(slot)), measuringPoint, who,
+				lastMeasurements.getValue(slot), lastMeasurements.getWhen(slot));
+	}
+
+	@Override
+	public double getLastValueOf(Object who) {
+		int slot = findLastMeasurementOf(who);
+		return slot < 0 ? Double.NaN : lastMeasurements.getValue(slot);
+	}
+
+	/**
+	 * @return the slot of the {@link LastMeasurementStore} holding the latest observation caused by the given
+	 *         trigger, or {@code -1} if there is no such observation
+	 */
+	private int findLastMeasurementOf(Object who) {
+		if (!cacheEnabled) {
+			log.warn(String.format("Tried to retrieve a measurement for probe %s, but caching of measurements is "
+					+ "disabled for this probe.", this));
+			return -1;
+		}
+		// returns -1 if evicted already, or never measured
+		return lastMeasurements.find(dictionary.whoId(who), measuringPointId);
 	}
 
 	@Override
@@ -48,6 +104,101 @@ public abstract class AbstractProbe<E, C extends ProbeConfiguration> implements
 		measurementListener.add(l);
 	}
 
+	@Override
+	public void forEachRecord(RecordListener l) {
+		if (dictionary == null) {
+			throw new IllegalStateException(String.format("Cannot register record listener with probe %s because "
+					+ "the probe has not been attached to a record dictionary.", this));
+		}
+		recordListener.add(l);
+	}
+
+	/**
+	 * @return {@code true}, unless this probe attaches metadata to its measurements
+	 */
+	@Override
+	public boolean isRecordable() {
+		return true;
+	}
+
+	/**
+	 * Reports an observation made at this probe's measuring point.
+	 * 
+	 * @param metric
+	 *            the measured metric
+	 * @param who
+	 *            the trigger, may be {@code null}
+	 * @param value
+	 *            the measured value
+	 * @param when
+	 *            the point in time the observation refers to
+	 */
+	protected void measure(String metric, Object who, double value, double when) {
+		if (cacheEnabled || !recordListener.isEmpty()) {
+			record(metric, measuringPointId, who, value, when);
+		}
+		if (!measurementListener.isEmpty()) {
+			notifyMeasurementListener(new Measurement<>(metric, measuringPoint, who, value, when));
+		}
+	}
+
+	/**
+	 * Reports an observation that comes with metadata. Records do not convey metadata, so subclasses using this
+	 * method should override {@link #isRecordable()}.
+	 * 
+	 * @see #measure(String, Object, double, double)
+	 */
+	protected void measure(String metric, Object who, double value, double when, Metadata... metadata) {
+		if (cacheEnabled || !recordListener.isEmpty()) {
+			record(metric, measuringPointId, who, value, when);
+		}
+		if (!measurementListener.isEmpty()) {
+			notifyMeasurementListener(new Measurement<>(metric, measuringPoint, who, value, when, metadata));
+		}
+	}
+
+	/**
+	 * Reports an observation made at a measuring point more specific than this probe's measuring point, e.g. one with
+	 * additional contexts.
+	 * 
+	 * @see #measure(String, Object, double, double)
+	 */
+	protected void measure(String metric, MeasuringPoint<E> where, Object who, double value, double when) {
+		if (cacheEnabled || !recordListener.isEmpty()) {
+			if (where != lastWhere) {
+				lastWhereId = dictionary.measuringPointId(where);
+				lastWhere = where;
+			}
+			record(metric, lastWhereId, who, value, when);
+		}
+		if (!measurementListener.isEmpty()) {
+			notifyMeasurementListener(new Measurement<>(metric, where, who, value, when));
+		}
+	}
+
+	private void record(String metric, int whereId, Object who, double value, double when) {
+		if (metric != lastMetric) {
+			// probes usually report a single metric, so this lookup is done once
+			lastMetricId = dictionary.metricId(metric);
+			lastMetric = metric;
+		}
+		// the cache does not need the trigger, unlike record listeners resolving it later on
+		long whoId = recordListener.isEmpty() ? dictionary.whoId(who) : dictionary.recordWho(who);
+		if (cacheEnabled && whereId == measuringPointId) {
+			// only observations at this probe's measuring point can be retrieved, see getLastMeasurementOf
+			lastMeasurements.put(whoId, whereId, lastMetricId, value, when);
+		}
+		for (int i = 0; i < recordListener.size(); i++) {
+			recordListener.get(i).record(lastMetricId, whereId, who, whoId, value, when);
+		}
+	}
+
+	private void notifyMeasurementListener(Measurement<E> m) {
+		for (int i = 0; i < measurementListener.size(); i++) {
+			measurementListener.get(i).notify(m);
+		}
+	}
+
 	@Override
 	public MeasuringPoint<E> getMeasuringPoint() {
 		return measuringPoint;
@@ -57,8 +208,12 @@ public abstract class AbstractProbe<E, C extends ProbeConfiguration> implements
 	 * Enables caching of measurements for this probe. If caching is already enabled, this method has no effect.
 	 */
 	public void enableCaching() {
+		if (lastMeasurements == null) {
+			throw new IllegalStateException(String.format("Cannot enable caching for probe %s because the probe has "
+					+ "not been attached to a last-measurement store.", this));
+		}
 		if (!cacheEnabled) {
-			cache = new MeasurementCache<>();
+			lastMeasurements.enable(measuringPointId);
 			cacheEnabled = true;
 		}
 	}
@@ -69,7 +224,7 @@ public abstract class AbstractProbe<E, C extends ProbeConfiguration> implements
 	 */
 	public void disableCaching() {
 		if (cacheEnabled) {
-			cache = new DisabledCache();
+			lastMeasurements.disable(measuringPointId);
 			cacheEnabled = false;
 		}
 	}
@@ -100,20 +255,4 @@ public abstract class AbstractProbe<E, C extends ProbeConfiguration> implements
 		return true;
 	}
 
-	private class DisabledCache extends MeasurementCache<E> {
-
-		@Override
-		public void put(Measurement<E> m) {
-			// do nothing
-		}
-
-		@Override
-		public Measurement<E> getLastMeasurement(Object trigger, MeasuringPoint<E> mp) {
-			log.warn(String.format("Tried to retrieve a measurement for probe %s, but caching of measurements is "
-					+ "disabled for this probe.", AbstractProbe.this));
-			return null;
-		}
-
-	}
-
 }
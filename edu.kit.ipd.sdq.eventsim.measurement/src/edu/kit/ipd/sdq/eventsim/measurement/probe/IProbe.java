@@ -4,11 +4,14 @@ import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementListener;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementProducer;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordProducer;
 
 /**
  * 
  * A probe observes a {@link MeasuringPoint} and produces a {@link Measurement} whenever the property observed by the
- * {@code MeasuringPoint} changes.
+ * {@code MeasuringPoint} changes. Observations are available as {@link Measurement}s and as records, see
+ * {@link RecordProducer}.
  * <p>
  * TODO document caching
  * 
@@ -17,7 +20,7 @@ import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
  * @param <E>
  *            type of the probed element
  */
-public interface IProbe<E> extends MeasurementProducer<E> {
+public interface IProbe<E> extends MeasurementProducer<E>, RecordProducer {
 
 	/**
 	 * Returns the latest measurement caused by the given trigger.
@@ -29,6 +32,20 @@ public interface IProbe<E> extends MeasurementProducer<E> {
 	 */
 	Measurement<E> getLastMeasurementOf(Object who);
 
+	/**
+	 * Returns the value of the latest measurement caused by the given trigger. Other than
+	 * {@link #getLastMeasurementOf(Object)}, this does not require the probe to create a {@link Measurement}.
+	 * 
+	 * @param who
+	 *            the trigger
+	 * @return the value of the most recent measurement caused by the given trigger, or {@link Double#NaN}, if there
+	 *         is no such measurement.
+	 */
+	default double getLastValueOf(Object who) {
+		Measurement<E> m = getLastMeasurementOf(who);
+		return m != null ? m.getValue() : Double.NaN;
+	}
+
 	/**
 	 * @return the measuring point this probe is attached to.
 	 */
@@ -45,6 +62,15 @@ public interface IProbe<E> extends MeasurementProducer<E> {
 			public void forEachMeasurement(MeasurementListener<E> l) {
 			}
 
+			@Override
+			public void forEachRecord(RecordListener l) {
+			}
+
+			@Override
+			public boolean isRecordable() {
+				return true;
+			}
+
 			@Override
 			public Measurement<E> getLastMeasurementOf(Object who) {
 				return null;
@@ -0,0 +1,211 @@
+package edu.kit.ipd.sdq.eventsim.measurement.probe;
+
+import java.util.Arrays;
+
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+
+/**
+ * Stores the most recent observation per (trigger, measuring point)-pair, where triggers and measuring points are
+ * identified by the ids issued by a {@link RecordDictionary}. Only metric id, value and point in time of observations
+ * are stored, in a primitive open-addressing hash table (linear probing), so that storing an observation does not
+ * allocate any objects.
+ * <p>
+ * Entries are removed as soon as their trigger is {@link RecordDictionary#evict(Object) evicted}, i.e. when the
+ * trigger leaves the system. Only measuring points that have been {@link #enable(int) enabled} are stored.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class LastMeasurementStore {
+
+	/** marks free slots; measuring point ids are non-negative */
+	private static final int FREE = -1;
+
+	static final int INITIAL_CAPACITY = 1 << 10;
+
+	private long[] whoIds;
+
+	private int[] measuringPointIds;
+
+	private int[] metricIds;
+
+	private double[] values;
+
+	private double[] whens;
+
+	private int size;
+
+	private int mask;
+
+	private int[] enabledMeasuringPoints = new int[0];
+
+	public LastMeasurementStore(RecordDictionary dictionary) {
+		allocate(INITIAL_CAPACITY);
+		dictionary.addEvictionListener(this::evict);
+	}
+
+	/**
+	 * Enables storing observations made at the specified measuring point.
+	 */
+	public void enable(int measuringPointId) {
+		if (!isEnabled(measuringPointId)) {
+			enabledMeasuringPoints = Arrays.copyOf(enabledMeasuringPoints, enabledMeasuringPoints.length + 1);
+			enabledMeasuringPoints[enabledMeasuringPoints.length - 1] = measuringPointId;
+		}
+	}
+
+	/**
+	 * Disables storing observations made at the specified measuring point, and removes those stored so far.
+	 */
+	public void disable(int measuringPointId) {
+		if (!isEnabled(measuringPointId)) {
+			return;
+		}
+		int[] enabled = new int[enabledMeasuringPoints.length - 1];
+		int j = 0;
+		for (int id : enabledMeasuringPoints) {
+			if (id != measuringPointId) {
+				enabled[j++] = id;
+			}
+		}
+		enabledMeasuringPoints = enabled;
+		rehash(whoIds.length, measuringPointId);
+	}
+
+	public boolean isEnabled(int measuringPointId) {
+		for (int id : enabledMeasuringPoints) {
+			if (id == measuringPointId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stores the specified observation, replacing the previous one of the same (trigger, measuring point)-pair.
+	 */
+	public void put(long whoId, int measuringPointId, int metricId, double value, double when) {
+		int slot = slotOf(whoId, measuringPointId);
+		if (measuringPointIds[slot] == FREE) {
+			if (size + 1 > (mask + 1) * 3 / 4) {
+				rehash(whoIds.length * 2, FREE);
+				slot = slotOf(whoId, measuringPointId);
+			}
+			whoIds[slot] = whoId;
+			measuringPointIds[slot] = measuringPointId;
+			size++;
+		}
+		metricIds[slot] = metricId;
+		values[slot] = value;
+		whens[slot] = when;
+	}
+
+	/**
+	 * @return the slot holding the observation of the specified (trigger, measuring point)-pair, or {@code -1} if
+	 *         there is no such observation. Valid until the next modification of this store.
+	 */
+	public int find(long whoId, int measuringPointId) {
+		int slot = slotOf(whoId, measuringPointId);
+		return measuringPointIds[slot] == FREE ? -1 : slot;
+	}
+
+	public int getMetricId(int slot) {
+		return metricIds[slot];
+	}
+
+	public double getValue(int slot) {
+		return values[slot];
+	}
+
+	public double getWhen(int slot) {
+		return whens[slot];
+	}
+
+	/**
+	 * @return the number of stored observations
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all observations of the specified trigger.
+	 */
+	public void evict(long whoId) {
+		if (size == 0) {
+			return;
+		}
+		for (int measuringPointId : enabledMeasuringPoints) {
+			int slot = find(whoId, measuringPointId);
+			if (slot >= 0) {
+				remove(slot);
+			}
+		}
+	}
+
+	private void remove(int slot) {
+		// backward-shift deletion keeps probe sequences intact without tombstones
+		int free = slot;
+		int i = (slot + 1) & mask;
+		while (measuringPointIds[i] != FREE) {
+			int home = hash(whoIds[i], measuringPointIds[i]) & mask;
+			// move entry i to the free slot, unless its home lies cyclically in (free, i]
+			if (((i - home) & mask) >= ((i - free) & mask)) {
+				whoIds[free] = whoIds[i];
+				measuringPointIds[free] = measuringPointIds[i];
+				metricIds[free] = metricIds[i];
+				values[free] = values[i];
+				whens[free] = whens[i];
+				free = i;
+			}
+			i = (i + 1) & mask;
+		}
+		measuringPointIds[free] = FREE;
+		size--;
+	}
+
+	private int slotOf(long whoId, int measuringPointId) {
+		int slot = hash(whoId, measuringPointId) & mask;
+		while (measuringPointIds[slot] != FREE
+				&& (whoIds[slot] != whoId || measuringPointIds[slot] != measuringPointId)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	static int hash(long whoId, int measuringPointId) {
+		long h = whoId * 0x9E3779B97F4A7C15L + measuringPointId;
+		h ^= h >>> 32;
+		h *= 0xFF51AFD7ED558CCDL;
+		return (int) (h ^ (h >>> 29));
+	}
+
+	/**
+	 * Moves all entries, except those of the excluded measuring point, to a new table of the specified capacity.
+	 */
+	private void rehash(int capacity, int excludedMeasuringPointId) {
+		long[] oldWhoIds = whoIds;
+		int[] oldMeasuringPointIds = measuringPointIds;
+		int[] oldMetricIds = metricIds;
+		double[] oldValues = values;
+		double[] oldWhens = whens;
+		allocate(capacity);
+		for (int i = 0; i < oldWhoIds.length; i++) {
+			if (oldMeasuringPointIds[i] != FREE && oldMeasuringPointIds[i] != excludedMeasuringPointId) {
+				put(oldWhoIds[i], oldMeasuringPointIds[i], oldMetricIds[i], oldValues[i], oldWhens[i]);
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		whoIds = new long[capacity];
+		measuringPointIds = new int[capacity];
+		Arrays.fill(measuringPointIds, FREE);
+		metricIds = new int[capacity];
+		values = new double[capacity];
+		whens = new double[capacity];
+		mask = capacity - 1;
+		size = 0;
+	}
+
+}
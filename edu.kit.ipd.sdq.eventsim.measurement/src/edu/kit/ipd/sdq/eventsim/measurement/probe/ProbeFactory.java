@@ -8,6 +8,7 @@ import org.apache.log4j.Logger;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.ProbeConfiguration;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 
 /**
  * A factory for instances of {@link IProbe}. Maintains a map that maps (element, property)-pairs to probes; each
@@ -26,9 +27,19 @@ public class ProbeFactory<C extends ProbeConfiguration> {
 	
 	private ProbeLocator<C> probeLocator;
 
+	private RecordDictionary dictionary;
+
+	private LastMeasurementStore lastMeasurements;
+
 	public ProbeFactory(C configuration, ProbeLocator<C> probeLocator) {
+		this(configuration, probeLocator, new RecordDictionary());
+	}
+
+	public ProbeFactory(C configuration, ProbeLocator<C> probeLocator, RecordDictionary dictionary) {
 		this.configuration = configuration;
 		this.probeLocator = probeLocator;
+		this.dictionary = dictionary;
+		this.lastMeasurements = new LastMeasurementStore(dictionary);
 	}
 
 	public <E> IProbe<E> create(E element, String property, Object... measurementContexts) {
@@ -48,6 +59,7 @@ public class ProbeFactory<C extends ProbeConfiguration> {
 			Constructor<? extends AbstractProbe<?, C>> c = probeClass.getConstructor(MeasuringPoint.class,
 					configuration.getClass());
 			p = c.newInstance(new MeasuringPoint<E>(element, property, measurementContexts), configuration);
+			p.attach(dictionary, lastMeasurements);
 			log.debug("Created probe " + p + " (element=" + element + ", property=" + property + ")");
 		} catch (InstantiationException | IllegalAccessException | NoSuchMethodException | SecurityException
 				| IllegalArgumentException | InvocationTargetException e) {
@@ -0,0 +1,110 @@
+package edu.kit.ipd.sdq.eventsim.measurement.record;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.kit.ipd.sdq.eventsim.measurement.PropertyExtractor;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels.ElementLabels;
+
+/**
+ * Memoizes the id, name and type strings of triggers ("who") under their who id, as issued by a
+ * {@link RecordDictionary}. Labels are extracted once, when a trigger is first seen, instead of
+ * once per measurement.
+ * <p>
+ * Triggers that have left the system are evicted from the memo and queued until a storage
+ * {@link #drainEvicted() drains} them, e.g. to write them along with the measurements buffered so
+ * far. This keeps the memo small even for long simulation runs. Triggers may still be seen after
+ * their eviction, e.g. by probes observing the trigger leaving the system. Until drained, their
+ * queued labels are reused; afterwards, their labels are extracted anew, so that a trigger may be
+ * drained twice.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class EntityDictionary {
+
+    private final PropertyExtractor idExtractor;
+
+    private final PropertyExtractor nameExtractor;
+
+    private final PropertyExtractor typeExtractor;
+
+    private final Map<Long, ElementLabels> live = new ConcurrentHashMap<>();
+
+    private Map<Long, ElementLabels> evicted = new LinkedHashMap<>();
+
+    private volatile long lastWhoId = RecordDictionary.NO_WHO;
+
+    public EntityDictionary(PropertyExtractor idExtractor, PropertyExtractor nameExtractor,
+            PropertyExtractor typeExtractor) {
+        this.idExtractor = idExtractor;
+        this.nameExtractor = nameExtractor;
+        this.typeExtractor = typeExtractor;
+    }
+
+    /**
+     * Extracts the labels of the specified trigger, unless they have been extracted before.
+     * 
+     * @param whoId
+     *            the trigger's id
+     * @param who
+     *            the trigger
+     */
+    public void register(long whoId, Object who) {
+        if (whoId == lastWhoId || whoId == RecordDictionary.NO_WHO) {
+            // measurements of the same trigger usually come in batches
+            return;
+        }
+        if (!live.containsKey(whoId)) {
+            synchronized (this) {
+                if (evicted.containsKey(whoId)) {
+                    // left the system already, but not yet drained
+                    return;
+                }
+            }
+            live.computeIfAbsent(whoId, id -> ElementLabels.of(who, idExtractor, nameExtractor, typeExtractor));
+        }
+        lastWhoId = whoId;
+    }
+
+    /**
+     * Evicts the labels of the specified trigger and queues them for being drained.
+     * 
+     * @param whoId
+     *            the id of the trigger that has left the system
+     */
+    public void evict(long whoId) {
+        if (lastWhoId == whoId) {
+            lastWhoId = RecordDictionary.NO_WHO;
+        }
+        ElementLabels labels = live.remove(whoId);
+        if (labels != null) {
+            synchronized (this) {
+                evicted.put(whoId, labels);
+            }
+        }
+    }
+
+    /**
+     * @return the labels of all triggers evicted since the last call, keyed by who id
+     */
+    public synchronized Map<Long, ElementLabels> drainEvicted() {
+        Map<Long, ElementLabels> drained = evicted;
+        evicted = new LinkedHashMap<>();
+        return drained;
+    }
+
+    /**
+     * @return the labels of all triggers evicted since the last call or not evicted at all, keyed by
+     *         who id
+     */
+    public synchronized Map<Long, ElementLabels> drainAll() {
+        Map<Long, ElementLabels> drained = drainEvicted();
+        drained.putAll(live);
+        live.clear();
+        lastWhoId = RecordDictionary.NO_WHO;
+        return drained;
+    }
+
+}
@@ -0,0 +1,130 @@
+package edu.kit.ipd.sdq.eventsim.measurement.record;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPointPair;
+import edu.kit.ipd.sdq.eventsim.measurement.PropertyExtractor;
+
+/**
+ * The id, name and type strings of a {@link MeasuringPoint}'s element(s) and contexts. Labels are
+ * extracted once per measuring point, typically when a storage writes the dictionary of measuring
+ * points referenced by its records.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class MeasuringPointLabels {
+
+    private final ElementLabels first;
+
+    private final ElementLabels second;
+
+    private final String property;
+
+    private final Map<String, ElementLabels> contexts;
+
+    private MeasuringPointLabels(ElementLabels first, ElementLabels second, String property,
+            Map<String, ElementLabels> contexts) {
+        this.first = first;
+        this.second = second;
+        this.property = property;
+        this.contexts = contexts;
+    }
+
+    /**
+     * Extracts the labels of the specified measuring point.
+     * 
+     * @param measuringPoint
+     *            the measuring point
+     * @param ids
+     *            the extractors used for ids
+     * @param names
+     *            the extractors used for names
+     * @param types
+     *            the extractors used for types; context labels are keyed by their lower-case type
+     * @return the extracted labels
+     */
+    public static MeasuringPointLabels of(MeasuringPoint<?> measuringPoint, PropertyExtractor ids,
+            PropertyExtractor names, PropertyExtractor types) {
+        ElementLabels first;
+        ElementLabels second = null;
+        if (measuringPoint instanceof MeasuringPointPair<?, ?>) {
+            MeasuringPointPair<?, ?> mpp = (MeasuringPointPair<?, ?>) measuringPoint;
+            first = ElementLabels.of(mpp.getElement().getFirst(), ids, names, types);
+            second = ElementLabels.of(mpp.getElement().getSecond(), ids, names, types);
+        } else {
+            first = ElementLabels.of(measuringPoint.getElement(), ids, names, types);
+        }
+        Map<String, ElementLabels> contexts = new LinkedHashMap<>();
+        for (Object o : measuringPoint.getContexts()) {
+            ElementLabels context = ElementLabels.of(o, ids, names, types);
+            contexts.put(context.getType().toLowerCase(), context);
+        }
+        return new MeasuringPointLabels(first, second, measuringPoint.getProperty(),
+                Collections.unmodifiableMap(contexts));
+    }
+
+    public ElementLabels getFirst() {
+        return first;
+    }
+
+    /**
+     * @return the labels of the second element, or {@code null} if the measuring point is not a
+     *         {@link MeasuringPointPair}
+     */
+    public ElementLabels getSecond() {
+        return second;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @return the labels of each context, keyed by the context's lower-case type
+     */
+    public Map<String, ElementLabels> getContexts() {
+        return contexts;
+    }
+
+    /**
+     * The id, name and type of a single element.
+     */
+    public static class ElementLabels {
+
+        private final String id;
+
+        private final String name;
+
+        private final String type;
+
+        public ElementLabels(String id, String name, String type) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+        }
+
+        public static ElementLabels of(Object element, PropertyExtractor ids, PropertyExtractor names,
+                PropertyExtractor types) {
+            return new ElementLabels(ids.extractFrom(element), names.extractFrom(element),
+                    types.extractFrom(element));
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+    }
+
+}
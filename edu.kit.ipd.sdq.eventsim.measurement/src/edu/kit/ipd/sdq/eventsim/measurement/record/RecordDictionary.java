@@ -0,0 +1,276 @@
+package edu.kit.ipd.sdq.eventsim.measurement.record;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+import org.apache.log4j.Logger;
+
+import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
+
+/**
+ * Issues the ids records are made of, and resolves them back to metrics and measuring points. A
+ * single dictionary is shared by all producers and consumers of records in a simulation run.
+ * <p>
+ * Metrics and measuring points are interned, i.e. equal metrics or measuring points share the same
+ * dense id, starting at {@code 0}. Triggers ("who") are identified by a {@code long} composed of a
+ * code for the trigger's class and the id returned by the who-id extractor registered for that
+ * class (or one of its supertypes). Extractors need to return ids that are unique among instances
+ * of the same class, but not across classes.
+ * <p>
+ * Measuring points are usually interned when a probe is created, so that record consumers can
+ * resolve ids to names once per measuring point instead of once per record. Likewise, consumers may
+ * keep per-trigger data (e.g. names) under the trigger's id; they are informed via
+ * {@link #addEvictionListener(LongConsumer)} once a trigger has left the system. Since records do not
+ * reference their trigger, consumers needing the trigger itself (e.g. to extract its name) obtain it
+ * via {@link #addWhoListener(ObjLongConsumer)} when producers issue records for it. All methods are
+ * thread-safe.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class RecordDictionary {
+
+    private static final Logger log = Logger.getLogger(RecordDictionary.class);
+
+    /** the id of records without a trigger */
+    public static final long NO_WHO = 0;
+
+    private static final int TYPE_CODE_SHIFT = 48;
+
+    private static final long LOCAL_ID_MASK = (1L << TYPE_CODE_SHIFT) - 1;
+
+    private final Map<String, Integer> metricIds = new HashMap<>();
+
+    private final List<String> metrics = new ArrayList<>();
+
+    private final Map<MeasuringPoint<?>, Integer> measuringPointIds = new HashMap<>();
+
+    private final List<MeasuringPoint<?>> measuringPoints = new ArrayList<>();
+
+    private final Map<Class<?>, ToLongFunction<Object>> whoIdExtractors = new HashMap<>();
+
+    private final Map<Class<?>, WhoType> whoTypes = new HashMap<>();
+
+    private final List<Class<?>> whoClasses = new ArrayList<>();
+
+    private final List<LongConsumer> evictionListeners = new CopyOnWriteArrayList<>();
+
+    private final List<ObjLongConsumer<Object>> whoListeners = new CopyOnWriteArrayList<>();
+
+    private WhoType lastWhoType;
+
+    public RecordDictionary() {
+        // type code 0 is reserved for NO_WHO
+        whoClasses.add(null);
+    }
+
+    /**
+     * Returns the id of the specified metric, issuing a new id if the metric has not been seen
+     * before.
+     */
+    public synchronized int metricId(String metric) {
+        Integer id = metricIds.get(metric);
+        if (id == null) {
+            id = metrics.size();
+            metrics.add(metric);
+            metricIds.put(metric, id);
+        }
+        return id;
+    }
+
+    public synchronized String getMetric(int metricId) {
+        return metrics.get(metricId);
+    }
+
+    /**
+     * Returns the id of the specified measuring point, issuing a new id if no equal measuring point
+     * has been seen before.
+     */
+    public synchronized int measuringPointId(MeasuringPoint<?> measuringPoint) {
+        Integer id = measuringPointIds.get(measuringPoint);
+        if (id == null) {
+            id = measuringPoints.size();
+            measuringPoints.add(measuringPoint);
+            measuringPointIds.put(measuringPoint, id);
+        }
+        return id;
+    }
+
+    public synchronized MeasuringPoint<?> getMeasuringPoint(int measuringPointId) {
+        return measuringPoints.get(measuringPointId);
+    }
+
+    /**
+     * @return the number of measuring points interned so far; ids range from {@code 0} to this
+     *         number minus one
+     */
+    public synchronized int getMeasuringPointCount() {
+        return measuringPoints.size();
+    }
+
+    /**
+     * Adds a mapping from triggers of the specified type (including subtypes, unless there is a
+     * more specific mapping) to {@code long} ids that are unique among instances of the same class.
+     * 
+     * @param type
+     *            the type's class
+     * @param extractionFunction
+     *            the function that maps {@code type} instances to non-negative ids
+     */
+    public synchronized void addWhoIdExtractor(Class<?> type, ToLongFunction<Object> extractionFunction) {
+        whoIdExtractors.put(type, extractionFunction);
+        // resolve extractors anew, but keep type codes issued so far
+        whoTypes.clear();
+        lastWhoType = null;
+    }
+
+    /**
+     * @param who
+     *            the trigger, may be {@code null}
+     * @return the id of the specified trigger, or {@link #NO_WHO} if {@code who} is {@code null}
+     */
+    public long whoId(Object who) {
+        if (who == null) {
+            return NO_WHO;
+        }
+        // triggers of a certain class usually come in batches, so remember the last lookup
+        WhoType type = lastWhoType;
+        if (type == null || type.whoClass != who.getClass()) {
+            type = lookupWhoType(who.getClass());
+            lastWhoType = type;
+        }
+        return type.typeBits | (type.extractor.applyAsLong(who) & LOCAL_ID_MASK);
+    }
+
+    /**
+     * Returns the id of the specified trigger, like {@link #whoId(Object)}, and passes the trigger
+     * along with its id to the who listeners. To be called by producers issuing a record for the
+     * trigger.
+     * 
+     * @param who
+     *            the trigger, may be {@code null}
+     * @return the id of the specified trigger, or {@link #NO_WHO} if {@code who} is {@code null}
+     */
+    public long recordWho(Object who) {
+        long whoId = whoId(who);
+        if (whoId != NO_WHO) {
+            for (int i = 0; i < whoListeners.size(); i++) {
+                whoListeners.get(i).accept(who, whoId);
+            }
+        }
+        return whoId;
+    }
+
+    /**
+     * @return the class of the trigger identified by the specified id, or {@code null} for
+     *         {@link #NO_WHO}
+     */
+    public synchronized Class<?> getWhoType(long whoId) {
+        return whoClasses.get((int) (whoId >>> TYPE_CODE_SHIFT));
+    }
+
+    /**
+     * Adds a listener to be informed of the ids of triggers that have left the system.
+     * 
+     * @param listener
+     *            the listener, accepting the who id of evicted triggers
+     */
+    public void addEvictionListener(LongConsumer listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Adds a listener to be informed of the triggers records are issued for (see
+     * {@link #recordWho(Object)}). Listeners are invoked once per record, so they should return
+     * quickly for triggers seen before.
+     * 
+     * @param listener
+     *            the listener, accepting the trigger and its who id
+     */
+    public void addWhoListener(ObjLongConsumer<Object> listener) {
+        whoListeners.add(listener);
+    }
+
+    /**
+     * Informs the eviction listeners that the specified trigger has left the system, so that data
+     * kept under its id can be released. The trigger may still be referenced by records issued
+     * afterwards.
+     * 
+     * @param who
+     *            the trigger that has left the system
+     */
+    public void evict(Object who) {
+        if (who == null || evictionListeners.isEmpty()) {
+            return;
+        }
+        long whoId = whoId(who);
+        for (LongConsumer l : evictionListeners) {
+            l.accept(whoId);
+        }
+    }
+
+    private synchronized WhoType lookupWhoType(Class<?> whoClass) {
+        WhoType type = whoTypes.get(whoClass);
+        if (type == null) {
+            type = registerWhoType(whoClass);
+        }
+        return type;
+    }
+
+    private WhoType registerWhoType(Class<?> whoClass) {
+        ToLongFunction<Object> extractor = extractorForType(whoClass);
+        if (extractor == null) {
+            log.warn("Could not find who-id extractor for class " + whoClass
+                    + ". Falling back to identity hash codes, which are not guaranteed to be unique.");
+            extractor = System::identityHashCode;
+        }
+        int typeCode = whoClasses.indexOf(whoClass);
+        if (typeCode < 0) {
+            typeCode = whoClasses.size();
+            whoClasses.add(whoClass);
+        }
+        WhoType type = new WhoType(whoClass, (long) typeCode << TYPE_CODE_SHIFT, extractor);
+        whoTypes.put(whoClass, type);
+        return type;
+    }
+
+    private ToLongFunction<Object> extractorForType(Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        ToLongFunction<Object> extractor = whoIdExtractors.get(type);
+        if (extractor != null) {
+            return extractor;
+        }
+        for (Class<?> iface : type.getInterfaces()) {
+            extractor = extractorForType(iface);
+            if (extractor != null) {
+                return extractor;
+            }
+        }
+        return extractorForType(type.getSuperclass());
+    }
+
+    private static class WhoType {
+
+        private final Class<?> whoClass;
+
+        private final long typeBits;
+
+        private final ToLongFunction<Object> extractor;
+
+        public WhoType(Class<?> whoClass, long typeBits, ToLongFunction<Object> extractor) {
+            this.whoClass = whoClass;
+            this.typeBits = typeBits;
+            this.extractor = extractor;
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package edu.kit.ipd.sdq.eventsim.measurement.record;
+
+import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementListener;
+
+/**
+ * A listener that is notified whenever a new record has been produced. Records are the primitive
+ * counterpart of {@link Measurement}s: instead of referencing the metric, the measuring point and
+ * the trigger, a record identifies them by ids issued by a {@link RecordDictionary}. Hence, no
+ * objects need to be allocated for passing a record to its listeners.
+ * <p>
+ * Records do not carry {@link Measurement#getMetadata() metadata}. Listeners needing metadata, or
+ * the objects behind the ids, should register as {@link MeasurementListener} instead. Listeners
+ * needing just the trigger, e.g. calculators, can implement {@link TriggeredRecordListener}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public interface RecordListener {
+
+    /**
+     * @param metricId
+     *            the measured metric, see {@link RecordDictionary#getMetric(int)}
+     * @param measuringPointId
+     *            the measuring point, see {@link RecordDictionary#getMeasuringPoint(int)}
+     * @param whoId
+     *            the trigger, see {@link RecordDictionary#whoId(Object)}
+     * @param value
+     *            the measured value
+     * @param when
+     *            the point in time the record refers to
+     */
+    void record(int metricId, int measuringPointId, long whoId, double value, double when);
+
+    /**
+     * Receives a record along with its trigger. Producers invoke this method, so that listeners can
+     * make use of the trigger without resolving its id. The default implementation drops the trigger
+     * and invokes {@link #record(int, int, long, double, double)}.
+     * 
+     * @param who
+     *            the trigger identified by {@code whoId}, may be {@code null}
+     * @see #record(int, int, long, double, double)
+     */
+    default void record(int metricId, int measuringPointId, Object who, long whoId, double value, double when) {
+        record(metricId, measuringPointId, whoId, value, when);
+    }
+
+}
@@ -0,0 +1,22 @@
+package edu.kit.ipd.sdq.eventsim.measurement.record;
+
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementProducer;
+
+/**
+ * An emitter for records, see {@link RecordListener}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public interface RecordProducer {
+
+    void forEachRecord(RecordListener l);
+
+    /**
+     * @return {@code true}, if records convey everything this producer observes; {@code false}, if
+     *         observations carry metadata and should therefore be consumed as measurements, see
+     *         {@link MeasurementProducer}
+     */
+    boolean isRecordable();
+
+}
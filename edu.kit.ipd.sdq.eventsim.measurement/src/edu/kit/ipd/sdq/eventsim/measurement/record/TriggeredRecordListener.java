@@ -0,0 +1,26 @@
+package edu.kit.ipd.sdq.eventsim.measurement.record;
+
+/**
+ * A {@link RecordListener} that makes use of the trigger of records, e.g. to look up earlier
+ * observations caused by the trigger or its parents. Producers pass the trigger along with each
+ * record, so that neither the producer nor the listener needs to allocate objects.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+@FunctionalInterface
+public interface TriggeredRecordListener extends RecordListener {
+
+    @Override
+    void record(int metricId, int measuringPointId, Object who, long whoId, double value, double when);
+
+    /**
+     * Invoked by decorators that forward records without their trigger. Passes {@code null} as
+     * trigger.
+     */
+    @Override
+    default void record(int metricId, int measuringPointId, long whoId, double value, double when) {
+        record(metricId, measuringPointId, null, whoId, value, when);
+    }
+
+}
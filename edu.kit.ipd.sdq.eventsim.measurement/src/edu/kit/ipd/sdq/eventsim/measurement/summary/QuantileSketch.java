@@ -0,0 +1,193 @@
+package edu.kit.ipd.sdq.eventsim.measurement.summary;
+
+/**
+ * Estimates quantiles of a stream of values in constant memory. Values are counted in buckets whose
+ * boundaries grow exponentially, so that each bucket covers values that differ by at most the
+ * configured relative accuracy from the bucket's representative value. Hence, a quantile estimate
+ * deviates by at most that accuracy (relative to the true quantile), regardless of the values'
+ * magnitude or distribution.
+ * <p>
+ * Positive and negative values are counted separately; values whose magnitude is too small to be
+ * indexed are counted as zero. To bound memory, each sign holds at most {@code maxBuckets} buckets.
+ * If values span a larger range, the buckets closest to zero are merged, thereby sacrificing the
+ * accuracy of the smallest magnitudes in favour of the upper quantiles, which are usually of
+ * interest.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class QuantileSketch {
+
+    /** values with a smaller magnitude are counted as zero */
+    private static final double MIN_INDEXABLE_VALUE = Double.MIN_NORMAL;
+
+    private final double gamma;
+
+    private final double logGamma;
+
+    private final Buckets positive;
+
+    private final Buckets negative;
+
+    private long zeroCount;
+
+    private long count;
+
+    /**
+     * @param relativeAccuracy
+     *            the maximum relative error of quantile estimates, e.g. {@code 0.01} for 1%
+     * @param maxBuckets
+     *            the maximum number of buckets per sign
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBuckets) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1), but was " + relativeAccuracy);
+        }
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.positive = new Buckets(maxBuckets);
+        this.negative = new Buckets(maxBuckets);
+    }
+
+    public void add(double value) {
+        if (value > MIN_INDEXABLE_VALUE) {
+            positive.add(index(value));
+        } else if (value < -MIN_INDEXABLE_VALUE) {
+            negative.add(index(-value));
+        } else {
+            zeroCount++;
+        }
+        count++;
+    }
+
+    /**
+     * @param quantile
+     *            the quantile, between 0 and 1 (inclusive)
+     * @return the estimated value of the specified quantile, or {@link Double#NaN} if no values have
+     *         been added
+     */
+    public double getQuantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        // zero-based rank of the requested value in ascending order
+        double rank = quantile * (count - 1);
+        long seen = 0;
+        for (int i = negative.hi; negative.count > 0 && i >= negative.lo; i--) {
+            seen += negative.get(i);
+            if (seen > rank) {
+                return -value(i);
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = positive.lo; positive.count > 0 && i <= positive.hi; i++) {
+            seen += positive.get(i);
+            if (seen > rank) {
+                return value(i);
+            }
+        }
+        return value(positive.hi);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the index of the bucket covering values in (gamma^(index-1), gamma^index]
+     */
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    /**
+     * @return the value representing the bucket with the specified index, which deviates from each
+     *         value covered by the bucket by at most the relative accuracy
+     */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * Counts per bucket index within a sliding window of at most {@code maxBuckets} indices.
+     */
+    private static class Buckets {
+
+        private static final int INITIAL_CAPACITY = 32;
+
+        private final int maxBuckets;
+
+        private long[] counts = new long[0];
+
+        /** the bucket index stored at counts[0] */
+        private int offset;
+
+        /** the lowest and highest bucket index used so far; valid only if count > 0 */
+        private int lo;
+
+        private int hi;
+
+        private long count;
+
+        public Buckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public void add(int index) {
+            if (count == 0) {
+                lo = index;
+                hi = index;
+                ensureCapacity(index, index);
+            } else {
+                int newLo = Math.min(lo, index);
+                int newHi = Math.max(hi, index);
+                long collapsed = 0;
+                if (newHi - newLo >= maxBuckets) {
+                    // merge the lowest buckets, which cover the values closest to zero
+                    newLo = newHi - maxBuckets + 1;
+                    for (int i = lo; i < newLo && i <= hi; i++) {
+                        collapsed += counts[i - offset];
+                        counts[i - offset] = 0;
+                    }
+                    index = Math.max(index, newLo);
+                }
+                ensureCapacity(newLo, newHi);
+                lo = newLo;
+                hi = newHi;
+                counts[lo - offset] += collapsed;
+            }
+            counts[index - offset]++;
+            count++;
+        }
+
+        public long get(int index) {
+            return counts[index - offset];
+        }
+
+        private void ensureCapacity(int from, int to) {
+            if (from >= offset && to < offset + counts.length) {
+                return;
+            }
+            int required = to - from + 1;
+            int capacity = Math.max(INITIAL_CAPACITY, Math.min(2 * required, 2 * maxBuckets));
+            // leave room for growing in both directions
+            int newOffset = from - (capacity - required) / 2;
+            long[] newCounts = new long[capacity];
+            if (count > 0) {
+                int copyFrom = Math.max(lo, from);
+                int copyTo = Math.min(hi, to);
+                if (copyFrom <= copyTo) {
+                    System.arraycopy(counts, copyFrom - offset, newCounts, copyFrom - newOffset,
+                            copyTo - copyFrom + 1);
+                }
+            }
+            counts = newCounts;
+            offset = newOffset;
+        }
+
+    }
+
+}
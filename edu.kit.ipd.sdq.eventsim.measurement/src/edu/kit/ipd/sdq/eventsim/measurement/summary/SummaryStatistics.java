@@ -0,0 +1,97 @@
+package edu.kit.ipd.sdq.eventsim.measurement.summary;
+
+/**
+ * Summarises a stream of values in constant memory. Mean and variance are updated online using
+ * Welford's algorithm, which avoids the cancellation errors of summing up squares; quantiles are
+ * estimated by a {@link QuantileSketch}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class SummaryStatistics {
+
+    private final QuantileSketch sketch;
+
+    private long count;
+
+    private double mean;
+
+    /** the sum of squared deviations from the current mean */
+    private double squaredDeviations;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param relativeAccuracy
+     *            the maximum relative error of quantile estimates
+     * @param maxBuckets
+     *            the maximum number of buckets per sign used to estimate quantiles
+     */
+    public SummaryStatistics(double relativeAccuracy, int maxBuckets) {
+        this.sketch = new QuantileSketch(relativeAccuracy, maxBuckets);
+    }
+
+    /**
+     * Adds the specified value. {@link Double#NaN} values are ignored.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sketch.add(value);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the arithmetic mean, or {@link Double#NaN} if no values have been added
+     */
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * @return the sample variance, or {@link Double#NaN} if less than two values have been added
+     */
+    public double getVariance() {
+        return count > 1 ? squaredDeviations / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * @return the smallest value, or {@link Double#NaN} if no values have been added
+     */
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    /**
+     * @return the largest value, or {@link Double#NaN} if no values have been added
+     */
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    /**
+     * @param quantile
+     *            the quantile, between 0 and 1 (inclusive)
+     * @return the estimated value of the specified quantile, which lies between {@link #getMin()} and
+     *         {@link #getMax()}, or {@link Double#NaN} if no values have been added
+     */
+    public double getQuantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return Math.max(min, Math.min(max, sketch.getQuantile(quantile)));
+    }
+
+}
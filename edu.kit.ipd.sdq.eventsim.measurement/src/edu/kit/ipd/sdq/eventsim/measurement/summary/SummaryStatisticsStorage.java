@@ -0,0 +1,221 @@
+package edu.kit.ipd.sdq.eventsim.measurement.summary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import org.apache.log4j.Logger;
+
+import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorageStartException;
+import edu.kit.ipd.sdq.eventsim.measurement.Metadata;
+import edu.kit.ipd.sdq.eventsim.measurement.PropertyExtractor;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels;
+import edu.kit.ipd.sdq.eventsim.measurement.record.MeasuringPointLabels.ElementLabels;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
+
+/**
+ * Stores summary statistics instead of individual measurements. For each combination of metric and
+ * measuring point (including the measuring point's contexts), the count, mean, variance, minimum,
+ * maximum and the 50th, 95th, 99th and 99.9th percentile of the measured values are maintained online in constant
+ * memory, regardless of the simulation's length. Upon finish, one line per combination is written to
+ * a CSV file, with the global metadata appended as additional columns.
+ * <p>
+ * Unlike the R measurement store, this storage does not require Rserve. Triggers ("who") are not
+ * distinguished, so metrics cannot be broken down by request or user afterwards.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class SummaryStatisticsStorage implements MeasurementStorage, RecordListener {
+
+    private static final Logger log = Logger.getLogger(SummaryStatisticsStorage.class);
+
+    /** the quantiles written to the summary file, in the order of {@link #HEADER} */
+    private static final double[] QUANTILES = { 0.5, 0.95, 0.99, 0.999 };
+
+    private static final String HEADER = "what,where.first.type,where.first.name,where.first.id,"
+            + "where.second.type,where.second.name,where.second.id,where.property,where.contexts,"
+            + "count,mean,variance,min,max,p50,p95,p99,p99.9";
+
+    /** the maximum relative error of quantile estimates */
+    private static final double RELATIVE_ACCURACY = 0.01;
+
+    /** covers about 17 orders of magnitude per sign at the above accuracy */
+    private static final int MAX_BUCKETS = 2048;
+
+    private static final String SEPARATOR = ",";
+
+    private final String summaryFilePath;
+
+    private final RecordDictionary dictionary;
+
+    private final PropertyExtractor idExtractor = new PropertyExtractor();
+
+    private final PropertyExtractor nameExtractor = new PropertyExtractor();
+
+    private final PropertyExtractor typeExtractor = new PropertyExtractor();
+
+    /** indexed by metric id, then by measuring point id; grown on demand */
+    private SummaryStatistics[][] statistics = new SummaryStatistics[0][];
+
+    private Metadata[] globalMetadata = new Metadata[0];
+
+    /**
+     * @param summaryFilePath
+     *            the file the summary is written to upon finish
+     * @param dictionary
+     *            the dictionary resolving the ids of metrics and measuring points
+     */
+    public SummaryStatisticsStorage(String summaryFilePath, RecordDictionary dictionary) {
+        this.summaryFilePath = summaryFilePath;
+        this.dictionary = dictionary;
+
+        // add simple type extractor as a default
+        typeExtractor.add(Object.class, o -> o.getClass().getSimpleName());
+    }
+
+    @Override
+    public void addIdExtractor(Class<? extends Object> elementClass, Function<Object, String> extractionFunction) {
+        idExtractor.add(elementClass, extractionFunction);
+    }
+
+    @Override
+    public void addNameExtractor(Class<? extends Object> elementClass, Function<Object, String> extractionFunction) {
+        nameExtractor.add(elementClass, extractionFunction);
+    }
+
+    @Override
+    public void addTypeExtractor(Class<? extends Object> elementClass, Function<Object, String> extractionFunction) {
+        typeExtractor.add(elementClass, extractionFunction);
+    }
+
+    @Override
+    public void put(Measurement<?> m) {
+        record(dictionary.metricId(m.getWhat().toString()), dictionary.measuringPointId(m.getWhere()),
+                RecordDictionary.NO_WHO, m.getValue(), m.getWhen());
+    }
+
+    @Override
+    public RecordListener getRecordListener() {
+        return this;
+    }
+
+    @Override
+    public synchronized void record(int metricId, int measuringPointId, long whoId, double value, double when) {
+        if (metricId >= statistics.length) {
+            statistics = Arrays.copyOf(statistics, Math.max(metricId + 1, 2 * statistics.length));
+        }
+        SummaryStatistics[] byMeasuringPoint = statistics[metricId];
+        if (byMeasuringPoint == null) {
+            byMeasuringPoint = new SummaryStatistics[measuringPointId + 1];
+            statistics[metricId] = byMeasuringPoint;
+        } else if (measuringPointId >= byMeasuringPoint.length) {
+            byMeasuringPoint = Arrays.copyOf(byMeasuringPoint,
+                    Math.max(measuringPointId + 1, 2 * byMeasuringPoint.length));
+            statistics[metricId] = byMeasuringPoint;
+        }
+        SummaryStatistics s = byMeasuringPoint[measuringPointId];
+        if (s == null) {
+            s = new SummaryStatistics(RELATIVE_ACCURACY, MAX_BUCKETS);
+            byMeasuringPoint[measuringPointId] = s;
+        }
+        s.add(value);
+    }
+
+    @Override
+    public void addMetadata(Metadata... metadata) {
+        globalMetadata = metadata;
+    }
+
+    @Override
+    public void addMetadata(List<Metadata> metadata) {
+        globalMetadata = metadata.toArray(new Metadata[metadata.size()]);
+    }
+
+    @Override
+    public void start() throws MeasurementStorageStartException {
+        // nothing to do
+    }
+
+    @Override
+    public synchronized void finish() {
+        log.info("Writing summary statistics to " + summaryFilePath);
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(summaryFilePath), StandardCharsets.UTF_8)) {
+            writer.write(header());
+            writer.newLine();
+            for (int metricId = 0; metricId < statistics.length; metricId++) {
+                SummaryStatistics[] byMeasuringPoint = statistics[metricId];
+                for (int mpId = 0; byMeasuringPoint != null && mpId < byMeasuringPoint.length; mpId++) {
+                    if (byMeasuringPoint[mpId] != null) {
+                        writer.write(line(metricId, mpId, byMeasuringPoint[mpId]));
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write summary statistics to " + summaryFilePath, e);
+        }
+        statistics = new SummaryStatistics[0][];
+    }
+
+    private String header() {
+        StringBuilder b = new StringBuilder(HEADER);
+        for (Metadata m : globalMetadata) {
+            b.append(SEPARATOR).append(quote(m.getName()));
+        }
+        return b.toString();
+    }
+
+    private String line(int metricId, int measuringPointId, SummaryStatistics s) {
+        MeasuringPointLabels labels = MeasuringPointLabels.of(dictionary.getMeasuringPoint(measuringPointId),
+                idExtractor, nameExtractor, typeExtractor);
+        StringBuilder b = new StringBuilder();
+        b.append(quote(dictionary.getMetric(metricId)));
+        appendElement(b, labels.getFirst());
+        appendElement(b, labels.getSecond());
+        b.append(SEPARATOR).append(quote(labels.getProperty()));
+        StringBuilder contexts = new StringBuilder();
+        for (Entry<String, ElementLabels> e : labels.getContexts().entrySet()) {
+            if (contexts.length() > 0) {
+                contexts.append(";");
+            }
+            contexts.append(e.getKey()).append("=").append(e.getValue().getName());
+        }
+        b.append(SEPARATOR).append(quote(contexts.toString()));
+        b.append(SEPARATOR).append(s.getCount());
+        b.append(SEPARATOR).append(s.getMean());
+        b.append(SEPARATOR).append(s.getVariance());
+        b.append(SEPARATOR).append(s.getMin());
+        b.append(SEPARATOR).append(s.getMax());
+        for (double q : QUANTILES) {
+            b.append(SEPARATOR).append(s.getQuantile(q));
+        }
+        for (Metadata m : globalMetadata) {
+            b.append(SEPARATOR).append(quote(String.valueOf(m.getValue())));
+        }
+        return b.toString();
+    }
+
+    private static void appendElement(StringBuilder b, ElementLabels element) {
+        b.append(SEPARATOR).append(quote(element != null ? element.getType() : null));
+        b.append(SEPARATOR).append(quote(element != null ? element.getName() : null));
+        b.append(SEPARATOR).append(quote(element != null ? element.getId() : null));
+    }
+
+    private static String quote(String s) {
+        if (s == null) {
+            return "";
+        }
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+
+}
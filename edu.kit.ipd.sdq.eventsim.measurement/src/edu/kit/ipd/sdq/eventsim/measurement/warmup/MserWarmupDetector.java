@@ -0,0 +1,131 @@
+package edu.kit.ipd.sdq.eventsim.measurement.warmup;
+
+import java.util.Arrays;
+
+/**
+ * Detects the end of the initial transient (warm-up period) of a series of observations online by
+ * the MSER-5 rule (marginal standard error rule, applied to batch means of five observations).
+ * <p>
+ * For a truncation point d, MSER is the variance of the batch means remaining after discarding the
+ * first d batches, divided by the number of remaining batches. The optimal truncation point d* is
+ * the one minimising MSER over the first half of the batches, since the variance of the few batches
+ * remaining for larger d is too unreliable to compare. If the minimum lies on the boundary of that
+ * range, the series is considered still trending and the detector cannot decide yet. Otherwise,
+ * steady state is assumed to begin at the end of batch d*.
+ * <p>
+ * Evaluating the rule takes time linear in the number of batches. To keep the total effort
+ * near-linear, the rule is re-evaluated only after the number of batches has grown by a constant
+ * fraction since the last evaluation.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class MserWarmupDetector {
+
+    /** the number of observations per batch */
+    public static final int BATCH_SIZE = 5;
+
+    /** the minimum number of batches required to evaluate the rule */
+    public static final int MIN_BATCHES = 50;
+
+    /** the fraction by which the number of batches grows in between two evaluations */
+    private static final double EVALUATION_GROWTH = 0.1;
+
+    private double[] batchMeans = new double[64];
+
+    private double[] batchEnds = new double[64];
+
+    private int batchCount;
+
+    private double batchSum;
+
+    private int batchFill;
+
+    private int nextEvaluation = MIN_BATCHES;
+
+    private double steadyStateStart = Double.NaN;
+
+    private int truncatedBatches;
+
+    /**
+     * Adds an observation.
+     * 
+     * @param value
+     *            the observed value
+     * @param time
+     *            the simulation time of the observation
+     * @return {@code true}, if steady state has been detected (now or before); {@code false} else
+     */
+    public boolean add(double value, double time) {
+        if (isSteadyState()) {
+            return true;
+        }
+        batchSum += value;
+        if (++batchFill < BATCH_SIZE) {
+            return false;
+        }
+        if (batchCount == batchMeans.length) {
+            batchMeans = Arrays.copyOf(batchMeans, batchCount * 2);
+            batchEnds = Arrays.copyOf(batchEnds, batchCount * 2);
+        }
+        batchMeans[batchCount] = batchSum / BATCH_SIZE;
+        batchEnds[batchCount] = time;
+        batchCount++;
+        batchSum = 0;
+        batchFill = 0;
+
+        if (batchCount >= nextEvaluation) {
+            nextEvaluation = Math.max(batchCount + 1, (int) (batchCount * (1 + EVALUATION_GROWTH)));
+            evaluate();
+        }
+        return isSteadyState();
+    }
+
+    private void evaluate() {
+        // accumulate suffix sums backwards, so that MSER(d) is available for each d in O(1)
+        int maxTruncation = batchCount / 2;
+        double sum = 0;
+        double sumOfSquares = 0;
+        double minMser = Double.POSITIVE_INFINITY;
+        int optimum = 0;
+        for (int d = batchCount - 1; d >= 0; d--) {
+            double x = batchMeans[d];
+            sum += x;
+            sumOfSquares += x * x;
+            int remaining = batchCount - d;
+            double mser = (sumOfSquares - sum * sum / remaining) / ((double) remaining * remaining);
+            if (d <= maxTruncation && mser <= minMser) {
+                minMser = mser;
+                optimum = d;
+            }
+        }
+        if (optimum < maxTruncation) {
+            truncatedBatches = optimum;
+            steadyStateStart = optimum > 0 ? batchEnds[optimum - 1] : 0;
+            // no longer needed
+            batchMeans = null;
+            batchEnds = null;
+        }
+    }
+
+    public boolean isSteadyState() {
+        return !Double.isNaN(steadyStateStart);
+    }
+
+    /**
+     * @return the simulation time at which steady state begins, or {@code NaN} if steady state has
+     *         not been detected yet
+     */
+    public double getSteadyStateStart() {
+        return steadyStateStart;
+    }
+
+    /**
+     * @return the number of observations belonging to the warm-up period, or the number of
+     *         observations so far if steady state has not been detected yet
+     */
+    public long getWarmupObservations() {
+        return isSteadyState() ? (long) truncatedBatches * BATCH_SIZE : (long) batchCount * BATCH_SIZE + batchFill;
+    }
+
+}
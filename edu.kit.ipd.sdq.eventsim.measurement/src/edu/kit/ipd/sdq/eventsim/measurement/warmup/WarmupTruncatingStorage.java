@@ -0,0 +1,120 @@
+package edu.kit.ipd.sdq.eventsim.measurement.warmup;
+
+import org.apache.log4j.Logger;
+
+import edu.kit.ipd.sdq.eventsim.measurement.ForwardingMeasurementStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.MetricSelector;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
+
+/**
+ * Decorates a {@link MeasurementStorage} so as to drop measurements taken during the warm-up period
+ * of a simulation run. The end of the warm-up period is determined online by a
+ * {@link MserWarmupDetector} observing the values of a single metric, e.g. the response time of a
+ * certain kind of request.
+ * <p>
+ * Until the detector decides that steady state has been reached, all measurements are dropped,
+ * regardless of their metric. Since the detector decides with some delay, this includes
+ * measurements taken between the start of steady state and its detection, which are not buffered to
+ * keep memory consumption constant.
+ * <p>
+ * Records are truncated alike, so that the decorated storage's record path is retained; their
+ * metric is compared by id.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class WarmupTruncatingStorage extends ForwardingMeasurementStorage {
+
+    private static final Logger log = Logger.getLogger(WarmupTruncatingStorage.class);
+
+    private final MetricSelector selector;
+
+    private final MserWarmupDetector detector = new MserWarmupDetector();
+
+    private boolean steadyState;
+
+    private long droppedMeasurements;
+
+    private RecordListener recordListener;
+
+    /**
+     * @param delegate
+     *            the storage receiving measurements once steady state has been reached
+     * @param metric
+     *            the metric whose values are observed to detect steady state, compared against
+     *            {@link Measurement#getWhat()}
+     * @param dictionary
+     *            the dictionary issuing the metric ids of records
+     */
+    public WarmupTruncatingStorage(MeasurementStorage delegate, String metric, RecordDictionary dictionary) {
+        super(delegate);
+        this.selector = new MetricSelector(metric, "", dictionary);
+    }
+
+    @Override
+    public void put(Measurement<?> m) {
+        if (passes(!steadyState && selector.selects(m), m.getValue(), m.getWhen())) {
+            getDelegate().put(m);
+        }
+    }
+
+    @Override
+    public RecordListener getRecordListener() {
+        if (recordListener == null) {
+            RecordListener delegateListener = getDelegate().getRecordListener();
+            if (delegateListener == null) {
+                return null;
+            }
+            recordListener = (metricId, measuringPointId, whoId, value, when) -> {
+                if (passes(!steadyState && selector.selects(metricId, measuringPointId), value, when)) {
+                    delegateListener.record(metricId, measuringPointId, whoId, value, when);
+                }
+            };
+        }
+        return recordListener;
+    }
+
+    /**
+     * Passes an observation of the warm-up metric to the detector, if the warm-up period is not over
+     * yet.
+     * 
+     * @return {@code true}, if the observation is to be passed on to the decorated storage
+     */
+    private boolean passes(boolean observed, double value, double when) {
+        if (steadyState) {
+            return true;
+        }
+        if (observed && detector.add(value, when)) {
+            steadyState = true;
+            log.info(String.format("Detected steady state of %s beginning at simulation time %.4f after %d "
+                    + "warm-up observations; dropped %d measurements until detection at simulation time %.4f",
+                    selector, detector.getSteadyStateStart(), detector.getWarmupObservations(),
+                    droppedMeasurements, when));
+            return true;
+        }
+        droppedMeasurements++;
+        return false;
+    }
+
+    /**
+     * @return {@code true}, if the warm-up period is over and measurements are passed on to the
+     *         decorated storage; {@code false} else
+     */
+    public boolean isSteadyState() {
+        return steadyState;
+    }
+
+    @Override
+    public void finish() {
+        if (!steadyState) {
+            log.warn(String.format("Could not detect steady state of %s from %d observations; all %d measurements "
+                    + "have been dropped. Consider a longer simulation run.", selector,
+                    detector.getWarmupObservations(), droppedMeasurements));
+        }
+        super.finish();
+    }
+
+}
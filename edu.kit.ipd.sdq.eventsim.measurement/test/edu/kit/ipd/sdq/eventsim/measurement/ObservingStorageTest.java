@@ -0,0 +1,193 @@
+package edu.kit.ipd.sdq.eventsim.measurement;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
+
+/**
+ * Tests {@link ObservingStorage} and the {@link MetricSelector} it is configured with.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class ObservingStorageTest {
+
+    private RecordDictionary dictionary;
+
+    private RecordingStorage delegate;
+
+    private List<Double> observed;
+
+    @Before
+    public void init() {
+        dictionary = new RecordDictionary();
+        delegate = new RecordingStorage();
+        observed = new ArrayList<>();
+    }
+
+    private ObservingStorage storage(String metric, String element) {
+        ObservingStorage storage = new ObservingStorage(delegate, new MetricSelector(metric, element, dictionary));
+        storage.addIdExtractor(Element.class, e -> ((Element) e).id);
+        storage.addNameExtractor(Element.class, e -> ((Element) e).name);
+        storage.setObserver(observed::add);
+        return storage;
+    }
+
+    @Test
+    public void observesMetricAtAllMeasuringPoints() {
+        ObservingStorage storage = storage("TIME", "");
+        storage.put(measurement("TIME", new Element("1", "a"), 1));
+        storage.put(measurement("TIME", new Element("2", "b"), 2));
+        storage.put(measurement("OTHER", new Element("1", "a"), 3));
+
+        assertEquals(Arrays.asList(1.0, 2.0), observed);
+        assertEquals(3, delegate.measurements.size());
+    }
+
+    @Test
+    public void observesMetricAtElementSelectedByNameOrId() {
+        Element a = new Element("1", "a");
+        Element b = new Element("2", "b");
+
+        ObservingStorage byName = storage("TIME", "a");
+        byName.put(measurement("TIME", a, 1));
+        byName.put(measurement("TIME", b, 2));
+        assertEquals(Arrays.asList(1.0), observed);
+
+        observed.clear();
+        ObservingStorage byId = storage("TIME", "2");
+        byId.put(measurement("TIME", a, 1));
+        byId.put(measurement("TIME", b, 2));
+        assertEquals(Arrays.asList(2.0), observed);
+    }
+
+    @Test
+    public void comparesFirstElementOfMeasuringPointPairs() {
+        Element from = new Element("1", "from");
+        Element to = new Element("2", "to");
+        MeasuringPointPair<Element, Element> span = new MeasuringPointPair<>(new MeasuringPoint<>(from, "before"),
+                new MeasuringPoint<>(to, "after"), "");
+
+        ObservingStorage storage = storage("TIME", "from");
+        storage.put(new Measurement<>("TIME", span, null, 1, 0));
+        ObservingStorage other = storage("TIME", "to");
+        other.put(new Measurement<>("TIME", span, null, 2, 0));
+
+        assertEquals(Arrays.asList(1.0), observed);
+    }
+
+    @Test
+    public void observesRecordsAndForwardsThem() {
+        ObservingStorage storage = storage("TIME", "a");
+        int time = dictionary.metricId("TIME");
+        int other = dictionary.metricId("OTHER");
+        int a = dictionary.measuringPointId(new MeasuringPoint<>(new Element("1", "a"), "p"));
+        int b = dictionary.measuringPointId(new MeasuringPoint<>(new Element("2", "b"), "p"));
+
+        RecordListener listener = storage.getRecordListener();
+        listener.record(time, a, RecordDictionary.NO_WHO, 1, 0);
+        listener.record(time, b, RecordDictionary.NO_WHO, 2, 0);
+        listener.record(other, a, RecordDictionary.NO_WHO, 3, 0);
+        listener.record(time, a, RecordDictionary.NO_WHO, 4, 0);
+
+        assertEquals(Arrays.asList(1.0, 4.0), observed);
+        assertEquals(4, delegate.records);
+    }
+
+    @Test
+    public void offersNoRecordListenerIfDelegateDoesNot() {
+        delegate.recordable = false;
+        assertEquals(null, storage("TIME", "").getRecordListener());
+    }
+
+    @Test
+    public void findsDecoratedStorage() {
+        ObservingStorage storage = storage("TIME", "");
+        assertEquals(storage, ForwardingMeasurementStorage.find(storage, ObservingStorage.class));
+        assertEquals(delegate, ForwardingMeasurementStorage.find(storage, RecordingStorage.class));
+        assertEquals(null, ForwardingMeasurementStorage.find(delegate, ObservingStorage.class));
+    }
+
+    private static Measurement<Element> measurement(String metric, Element element, double value) {
+        return new Measurement<>(metric, new MeasuringPoint<>(element, "p"), null, value, 0);
+    }
+
+    private static class Element {
+
+        private final String id;
+
+        private final String name;
+
+        public Element(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+    }
+
+    private static class RecordingStorage implements MeasurementStorage {
+
+        private final List<Measurement<?>> measurements = new ArrayList<>();
+
+        private int records;
+
+        private boolean recordable = true;
+
+        @Override
+        public void put(Measurement<?> m) {
+            measurements.add(m);
+        }
+
+        @Override
+        public RecordListener getRecordListener() {
+            return recordable ? (metricId, measuringPointId, whoId, value, when) -> records++ : null;
+        }
+
+        @Override
+        public void addIdExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+            // not needed
+        }
+
+        @Override
+        public void addNameExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+            // not needed
+        }
+
+        @Override
+        public void addTypeExtractor(Class<? extends Object> elementClass,
+                Function<Object, String> extractionFunction) {
+            // not needed
+        }
+
+        @Override
+        public void addMetadata(Metadata... metadata) {
+            // not needed
+        }
+
+        @Override
+        public void addMetadata(List<Metadata> metadata) {
+            // not needed
+        }
+
+        @Override
+        public void start() throws MeasurementStorageStartException {
+            // not needed
+        }
+
+        @Override
+        public void finish() {
+            // not needed
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package edu.kit.ipd.sdq.eventsim.measurement.probe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
+import edu.kit.ipd.sdq.eventsim.measurement.ProbeConfiguration;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.TriggeredRecordListener;
+
+/**
+ * Tests that {@link AbstractProbe} passes triggers to record listeners and serves cached values by trigger.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class AbstractProbeTest {
+
+    private RecordDictionary dictionary;
+
+    private TestProbe probe;
+
+    @Before
+    public void init() {
+        dictionary = new RecordDictionary();
+        probe = new TestProbe(new MeasuringPoint<>("element", "before"));
+        probe.attach(dictionary, new LastMeasurementStore(dictionary));
+    }
+
+    @Test
+    public void passesTriggerToRecordListeners() {
+        List<Object> triggers = new ArrayList<>();
+        List<Long> whoIds = new ArrayList<>();
+        probe.forEachRecord((TriggeredRecordListener) (metricId, measuringPointId, who, whoId, value, when) -> {
+            triggers.add(who);
+            whoIds.add(whoId);
+        });
+
+        Object who = new Object();
+        probe.measure("TIME", who, 1, 2);
+
+        assertEquals(1, triggers.size());
+        assertSame(who, triggers.get(0));
+        assertEquals(dictionary.whoId(who), (long) whoIds.get(0));
+    }
+
+    @Test
+    public void servesLastValueOfTrigger() {
+        probe.enableCaching();
+        Object first = new Object();
+        Object second = new Object();
+        probe.measure("TIME", first, 1, 1);
+        probe.measure("TIME", second, 2, 2);
+        probe.measure("TIME", first, 3, 3);
+
+        assertEquals(3, probe.getLastValueOf(first), 0);
+        assertEquals(2, probe.getLastValueOf(second), 0);
+        assertTrue(Double.isNaN(probe.getLastValueOf(new Object())));
+        assertEquals(3, probe.getLastMeasurementOf(first).getValue(), 0);
+
+        dictionary.evict(first);
+        assertTrue(Double.isNaN(probe.getLastValueOf(first)));
+    }
+
+    private static class TestProbe extends AbstractProbe<String, ProbeConfiguration> {
+
+        public TestProbe(MeasuringPoint<String> p) {
+            super(p, null);
+        }
+
+    }
+
+}
@@ -0,0 +1,191 @@
+package edu.kit.ipd.sdq.eventsim.measurement.probe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+
+/**
+ * Tests {@link LastMeasurementStore}, in particular the probe sequences of its hash table.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class LastMeasurementStoreTest {
+
+    private static final int MASK = LastMeasurementStore.INITIAL_CAPACITY - 1;
+
+    private RecordDictionary dictionary;
+
+    private LastMeasurementStore store;
+
+    @Before
+    public void init() {
+        dictionary = new RecordDictionary();
+        store = new LastMeasurementStore(dictionary);
+        store.enable(0);
+        store.enable(1);
+    }
+
+    /**
+     * @return the who ids of the specified number of triggers whose observations at the specified
+     *         measuring point have the specified home slot in the initial table
+     */
+    private static List<Long> whoIdsWithHome(int home, int measuringPointId, int count) {
+        List<Long> whoIds = new ArrayList<>();
+        for (long whoId = 1; whoIds.size() < count; whoId++) {
+            if ((LastMeasurementStore.hash(whoId, measuringPointId) & MASK) == home) {
+                whoIds.add(whoId);
+            }
+        }
+        return whoIds;
+    }
+
+    private void assertStored(long whoId, int measuringPointId, double value) {
+        int slot = store.find(whoId, measuringPointId);
+        assertTrue("observation of " + whoId + " not found", slot >= 0);
+        assertEquals(value, store.getValue(slot), 0);
+        assertEquals(2 * value, store.getWhen(slot), 0);
+        assertEquals(measuringPointId, store.getMetricId(slot));
+    }
+
+    private void put(long whoId, int measuringPointId, double value) {
+        store.put(whoId, measuringPointId, measuringPointId, value, 2 * value);
+    }
+
+    @Test
+    public void replacesObservationOfSamePair() {
+        put(1, 0, 1);
+        put(1, 1, 2);
+        put(1, 0, 3);
+
+        assertEquals(2, store.size());
+        assertStored(1, 0, 3);
+        assertStored(1, 1, 2);
+        assertEquals(-1, store.find(2, 0));
+    }
+
+    @Test
+    public void probesAcrossEndOfTable() {
+        // a cluster starting in the last slot wraps around to the start of the table
+        List<Long> cluster = whoIdsWithHome(MASK, 0, 4);
+        for (int i = 0; i < cluster.size(); i++) {
+            put(cluster.get(i), 0, i);
+        }
+        for (int i = 0; i < cluster.size(); i++) {
+            assertStored(cluster.get(i), 0, i);
+        }
+        assertEquals(MASK, store.find(cluster.get(0), 0));
+        assertEquals(cluster.size() - 2, store.find(cluster.get(cluster.size() - 1), 0));
+    }
+
+    @Test
+    public void keepsWrappedEntriesReachableOnRemoval() {
+        List<Long> atEnd = whoIdsWithHome(MASK - 1, 0, 4);
+        List<Long> atStart = whoIdsWithHome(0, 0, 2);
+        // slots MASK-1, MASK, 0, 1 hold atEnd; atStart has to probe beyond them
+        for (long whoId : atEnd) {
+            put(whoId, 0, whoId);
+        }
+        for (long whoId : atStart) {
+            put(whoId, 0, whoId);
+        }
+
+        // removing entries at both ends of the table shifts the wrapped entries backwards
+        store.evict(atEnd.get(0));
+        store.evict(atEnd.get(3));
+        assertEquals(4, store.size());
+        assertEquals(-1, store.find(atEnd.get(0), 0));
+        assertEquals(-1, store.find(atEnd.get(3), 0));
+        for (long whoId : atEnd.subList(1, 3)) {
+            assertStored(whoId, 0, whoId);
+        }
+        for (long whoId : atStart) {
+            assertStored(whoId, 0, whoId);
+        }
+        // the entries probing beyond the cluster have been shifted back to their home slots
+        assertEquals(0, store.find(atStart.get(0), 0));
+        assertEquals(1, store.find(atStart.get(1), 0));
+    }
+
+    @Test
+    public void evictsAllObservationsOfTrigger() {
+        put(1, 0, 1);
+        put(1, 1, 2);
+        put(2, 0, 3);
+
+        dictionary.addWhoIdExtractor(Long.class, w -> (Long) w);
+        long whoId = dictionary.whoId(1L);
+        put(whoId, 0, 4);
+        put(whoId, 1, 5);
+        dictionary.evict(1L);
+
+        assertEquals(3, store.size());
+        assertEquals(-1, store.find(whoId, 0));
+        assertEquals(-1, store.find(whoId, 1));
+        assertStored(1, 0, 1);
+        assertStored(2, 0, 3);
+    }
+
+    @Test
+    public void growsAndMatchesReferenceMap() {
+        Random random = new Random(42);
+        Map<Long, Double> expected = new HashMap<>();
+        // enough live triggers to grow the table several times, with frequent removals
+        for (int i = 0; i < 50_000; i++) {
+            long whoId = 1 + random.nextInt(10_000);
+            int measuringPointId = random.nextInt(2);
+            long key = whoId << 1 | measuringPointId;
+            if (random.nextInt(4) == 0) {
+                store.evict(whoId);
+                expected.remove(whoId << 1);
+                expected.remove(whoId << 1 | 1);
+            } else {
+                put(whoId, measuringPointId, i);
+                expected.put(key, (double) i);
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        assertTrue(expected.size() > LastMeasurementStore.INITIAL_CAPACITY);
+        for (long whoId = 1; whoId <= 10_000; whoId++) {
+            for (int measuringPointId = 0; measuringPointId < 2; measuringPointId++) {
+                Double value = expected.get(whoId << 1 | measuringPointId);
+                if (value == null) {
+                    assertEquals(-1, store.find(whoId, measuringPointId));
+                } else {
+                    assertStored(whoId, measuringPointId, value);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void removesObservationsOfDisabledMeasuringPoint() {
+        for (long whoId = 1; whoId <= 1000; whoId++) {
+            put(whoId, 0, whoId);
+            put(whoId, 1, whoId);
+        }
+
+        store.disable(1);
+
+        assertFalse(store.isEnabled(1));
+        assertTrue(store.isEnabled(0));
+        assertEquals(1000, store.size());
+        for (long whoId = 1; whoId <= 1000; whoId++) {
+            assertStored(whoId, 0, whoId);
+            assertEquals(-1, store.find(whoId, 1));
+        }
+    }
+
+}
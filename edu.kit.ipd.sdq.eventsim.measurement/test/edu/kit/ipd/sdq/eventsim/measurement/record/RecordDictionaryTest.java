@@ -0,0 +1,192 @@
+package edu.kit.ipd.sdq.eventsim.measurement.record;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
+
+/**
+ * Tests the id encoding of {@link RecordDictionary}.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class RecordDictionaryTest {
+
+    private RecordDictionary dictionary;
+
+    @Before
+    public void init() {
+        dictionary = new RecordDictionary();
+        dictionary.addWhoIdExtractor(Entity.class, e -> ((Entity) e).id);
+    }
+
+    @Test
+    public void issuesNoWhoForMissingTrigger() {
+        assertEquals(RecordDictionary.NO_WHO, dictionary.whoId(null));
+        assertNull(dictionary.getWhoType(RecordDictionary.NO_WHO));
+    }
+
+    @Test
+    public void distinguishesEqualLocalIdsOfDifferentClasses() {
+        long request = dictionary.whoId(new Request(7));
+        long process = dictionary.whoId(new Process(7));
+
+        assertNotEquals(request, process);
+        assertNotEquals(RecordDictionary.NO_WHO, request);
+        assertSame(Request.class, dictionary.getWhoType(request));
+        assertSame(Process.class, dictionary.getWhoType(process));
+        assertEquals(request, dictionary.whoId(new Request(7)));
+        assertNotEquals(request, dictionary.whoId(new Request(8)));
+    }
+
+    @Test
+    public void appliesExtractorOfSupertypeOrInterface() {
+        dictionary.addWhoIdExtractor(Named.class, n -> ((Named) n).name().length());
+
+        // the subclass shares the extractor of its superclass, but is given a type code of its own
+        long subclass = dictionary.whoId(new Request(3));
+        assertSame(Request.class, dictionary.getWhoType(subclass));
+        assertEquals(3, subclass & ~typeBits(subclass));
+
+        long implementation = dictionary.whoId(new Resource("cpu"));
+        assertSame(Resource.class, dictionary.getWhoType(implementation));
+        assertEquals(3, implementation & ~typeBits(implementation));
+    }
+
+    @Test
+    public void prefersMostSpecificExtractor() {
+        long generic = dictionary.whoId(new Request(3));
+        dictionary.addWhoIdExtractor(Request.class, r -> 100 + ((Entity) r).id);
+        long specific = dictionary.whoId(new Request(3));
+
+        assertEquals(103, specific & ~typeBits(specific));
+        // adding extractors keeps the type codes issued so far
+        assertEquals(typeBits(generic), typeBits(specific));
+        long sibling = dictionary.whoId(new Process(3));
+        assertEquals(3, sibling & ~typeBits(sibling));
+    }
+
+    @Test
+    public void masksLocalIdsToLowerBits() {
+        long whoId = dictionary.whoId(new Request(-1));
+        assertSame(Request.class, dictionary.getWhoType(whoId));
+        assertEquals((1L << 48) - 1, whoId & ~typeBits(whoId));
+    }
+
+    @Test
+    public void fallsBackToIdentityHashCode() {
+        Object unknown = new Object();
+        long whoId = dictionary.whoId(unknown);
+        assertSame(Object.class, dictionary.getWhoType(whoId));
+        assertEquals(System.identityHashCode(unknown) & ((1L << 48) - 1), whoId & ~typeBits(whoId));
+    }
+
+    @Test
+    public void informsWhoListenersOfRecordedTriggers() {
+        List<Object> triggers = new ArrayList<>();
+        List<Long> whoIds = new ArrayList<>();
+        dictionary.addWhoListener((who, whoId) -> {
+            triggers.add(who);
+            whoIds.add(whoId);
+        });
+
+        Request request = new Request(1);
+        assertEquals(dictionary.whoId(request), dictionary.recordWho(request));
+        assertEquals(RecordDictionary.NO_WHO, dictionary.recordWho(null));
+        dictionary.whoId(new Request(2));
+
+        assertEquals(Arrays.asList(request), triggers);
+        assertEquals(Arrays.asList(dictionary.whoId(request)), whoIds);
+    }
+
+    @Test
+    public void informsEvictionListenersOfWhoId() {
+        List<Long> evicted = new ArrayList<>();
+        dictionary.addEvictionListener(evicted::add);
+
+        Request request = new Request(1);
+        dictionary.evict(request);
+        dictionary.evict(null);
+
+        assertEquals(Arrays.asList(dictionary.whoId(request)), evicted);
+    }
+
+    @Test
+    public void internsMetricsAndMeasuringPointsDensely() {
+        assertEquals(0, dictionary.metricId("a"));
+        assertEquals(1, dictionary.metricId("b"));
+        assertEquals(0, dictionary.metricId("a"));
+        assertEquals("b", dictionary.getMetric(1));
+
+        Request element = new Request(1);
+        int first = dictionary.measuringPointId(new MeasuringPoint<>(element, "before"));
+        int second = dictionary.measuringPointId(new MeasuringPoint<>(element, "after"));
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(first, dictionary.measuringPointId(new MeasuringPoint<>(element, "before")));
+        assertEquals(2, dictionary.getMeasuringPointCount());
+        assertEquals("after", dictionary.getMeasuringPoint(second).getProperty());
+    }
+
+    private static long typeBits(long whoId) {
+        return whoId & ~((1L << 48) - 1);
+    }
+
+    private static class Entity {
+
+        private final long id;
+
+        public Entity(long id) {
+            this.id = id;
+        }
+
+    }
+
+    private static class Request extends Entity {
+
+        public Request(long id) {
+            super(id);
+        }
+
+    }
+
+    private static class Process extends Entity {
+
+        public Process(long id) {
+            super(id);
+        }
+
+    }
+
+    private interface Named {
+
+        String name();
+
+    }
+
+    private static class Resource implements Named {
+
+        private final String name;
+
+        public Resource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+package edu.kit.ipd.sdq.eventsim.measurement.summary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the error bounds of {@link QuantileSketch}.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    private static final double[] QUANTILES = { 0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1 };
+
+    /**
+     * Asserts that the sketch estimates each quantile of the specified values within the relative
+     * accuracy.
+     */
+    private static void assertAccurate(QuantileSketch sketch, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double expected = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            double estimate = sketch.getQuantile(q);
+            assertEquals("quantile " + q, expected, estimate, ACCURACY * Math.abs(expected) + 1e-12);
+        }
+    }
+
+    @Test
+    public void estimatesQuantilesWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        QuantileSketch sketch = new QuantileSketch(ACCURACY, 2048);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // log-normal values spanning several orders of magnitude
+            values[i] = Math.exp(3 * random.nextGaussian());
+            sketch.add(values[i]);
+        }
+        assertEquals(values.length, sketch.getCount());
+        assertAccurate(sketch, values);
+    }
+
+    @Test
+    public void estimatesNegativeAndZeroValues() {
+        Random random = new Random(42);
+        QuantileSketch sketch = new QuantileSketch(ACCURACY, 2048);
+        double[] values = new double[30_000];
+        for (int i = 0; i < values.length; i++) {
+            switch (i % 3) {
+            case 0:
+                values[i] = -100 * random.nextDouble() - Double.MIN_NORMAL;
+                break;
+            case 1:
+                values[i] = 0;
+                break;
+            default:
+                values[i] = 100 * random.nextDouble() + Double.MIN_NORMAL;
+            }
+            sketch.add(values[i]);
+        }
+        assertAccurate(sketch, values);
+        assertEquals(0, sketch.getQuantile(0.5), 0);
+        assertTrue(sketch.getQuantile(0.3) < 0);
+        assertTrue(sketch.getQuantile(0.7) > 0);
+    }
+
+    @Test
+    public void countsTinyMagnitudesAsZero() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY, 2048);
+        sketch.add(Double.MIN_VALUE);
+        sketch.add(-Double.MIN_VALUE);
+        sketch.add(0);
+        assertEquals(0, sketch.getQuantile(0), 0);
+        assertEquals(0, sketch.getQuantile(1), 0);
+    }
+
+    @Test
+    public void collapsesLowestBucketsWhenExceedingBucketLimit() {
+        // 1% accuracy covers about 4.3 orders of magnitude with 500 buckets
+        QuantileSketch ascending = new QuantileSketch(ACCURACY, 500);
+        QuantileSketch descending = new QuantileSketch(ACCURACY, 500);
+        double[] values = new double[10_001];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.pow(10, 8.0 * i / (values.length - 1));
+        }
+        for (int i = 0; i < values.length; i++) {
+            ascending.add(values[i]);
+            descending.add(values[values.length - 1 - i]);
+        }
+
+        for (QuantileSketch sketch : Arrays.asList(ascending, descending)) {
+            assertEquals(values.length, sketch.getCount());
+            // upper quantiles keep their accuracy...
+            assertEquals(values[9000], sketch.getQuantile(0.9), ACCURACY * values[9000]);
+            assertEquals(values[values.length - 1], sketch.getQuantile(1), ACCURACY * values[values.length - 1]);
+            // ...while small values are overestimated by the lowest remaining bucket
+            double lowest = sketch.getQuantile(0);
+            assertTrue(lowest > 1e3 && lowest < 1e4);
+            assertEquals(lowest, sketch.getQuantile(0.3), 0);
+        }
+    }
+
+    @Test
+    public void returnsNaNIfEmpty() {
+        assertTrue(Double.isNaN(new QuantileSketch(ACCURACY, 2048).getQuantile(0.5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidAccuracy() {
+        new QuantileSketch(1, 2048);
+    }
+
+}
@@ -0,0 +1,85 @@
+package edu.kit.ipd.sdq.eventsim.measurement.warmup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link MserWarmupDetector} on series with a known initial transient.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class MserWarmupDetectorTest {
+
+    /** the number of observations in the transient of {@link #decaying(int)} */
+    private static final int TRANSIENT = 500;
+
+    private MserWarmupDetector detector;
+
+    private Random random;
+
+    @Before
+    public void init() {
+        detector = new MserWarmupDetector();
+        random = new Random(42);
+    }
+
+    /**
+     * @return the i-th observation of a series decaying linearly from 50 to 10 during the first
+     *         {@link #TRANSIENT} observations, and being stationary at 10 afterwards
+     */
+    private double decaying(int i) {
+        double level = i < TRANSIENT ? 50 - 40.0 * i / TRANSIENT : 10;
+        return level + random.nextGaussian();
+    }
+
+    @Test
+    public void detectsEndOfKnownTransient() {
+        int i = 0;
+        while (!detector.add(decaying(i), i)) {
+            i++;
+            assertTrue("steady state should have been detected by now", i < 100 * TRANSIENT);
+        }
+
+        // the truncation point lies close to the actual end of the transient...
+        long warmup = detector.getWarmupObservations();
+        assertTrue("truncated " + warmup + " observations", warmup > 0.8 * TRANSIENT && warmup < 1.5 * TRANSIENT);
+        // ...and is no later than half of the series observed until the decision
+        assertTrue(warmup <= (i + 1) / 2);
+        assertEquals(warmup - 1, detector.getSteadyStateStart(), 0);
+    }
+
+    @Test
+    public void truncatesLittleOfStationarySeries() {
+        int i = 0;
+        while (!detector.add(10 + random.nextGaussian(), i)) {
+            i++;
+        }
+        assertTrue(detector.getWarmupObservations() < TRANSIENT / 5);
+    }
+
+    @Test
+    public void doesNotDecideOnPersistentTrend() {
+        for (int i = 0; i < 100 * TRANSIENT; i++) {
+            assertFalse(detector.add(i + random.nextGaussian(), i));
+        }
+        assertTrue(Double.isNaN(detector.getSteadyStateStart()));
+        assertEquals(100 * TRANSIENT, detector.getWarmupObservations());
+    }
+
+    @Test
+    public void doesNotDecideBeforeMinimumBatches() {
+        for (int i = 0; i < MserWarmupDetector.MIN_BATCHES * MserWarmupDetector.BATCH_SIZE - 1; i++) {
+            assertFalse(detector.add(10, i));
+        }
+        assertTrue(detector.add(10, 0));
+        assertEquals(0, detector.getWarmupObservations());
+    }
+
+}
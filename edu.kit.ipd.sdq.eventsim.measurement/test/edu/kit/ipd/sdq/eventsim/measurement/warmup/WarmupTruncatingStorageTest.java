@@ -0,0 +1,141 @@
+package edu.kit.ipd.sdq.eventsim.measurement.warmup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
+import edu.kit.ipd.sdq.eventsim.measurement.Metadata;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordListener;
+
+/**
+ * Tests that {@link WarmupTruncatingStorage} truncates both measurements and records.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class WarmupTruncatingStorageTest {
+
+    /** the number of constant observations after which the detector decides */
+    private static final int DECISION = MserWarmupDetector.MIN_BATCHES * MserWarmupDetector.BATCH_SIZE;
+
+    private RecordDictionary dictionary;
+
+    private RecordingStorage delegate;
+
+    private WarmupTruncatingStorage storage;
+
+    @Before
+    public void init() {
+        dictionary = new RecordDictionary();
+        delegate = new RecordingStorage();
+        storage = new WarmupTruncatingStorage(delegate, "TIME", dictionary);
+    }
+
+    @Test
+    public void dropsMeasurementsUntilSteadyState() {
+        MeasuringPoint<String> where = new MeasuringPoint<>("element", "p");
+        for (int i = 0; i < DECISION - 1; i++) {
+            storage.put(new Measurement<>("TIME", where, null, 10, i));
+            storage.put(new Measurement<>("OTHER", where, null, 10, i));
+        }
+        assertFalse(storage.isSteadyState());
+        assertTrue(delegate.values.isEmpty());
+
+        storage.put(new Measurement<>("TIME", where, null, 10, DECISION));
+        storage.put(new Measurement<>("OTHER", where, null, 20, DECISION));
+        assertTrue(storage.isSteadyState());
+        assertEquals(2, delegate.values.size());
+    }
+
+    @Test
+    public void dropsRecordsUntilSteadyState() {
+        int time = dictionary.metricId("TIME");
+        int other = dictionary.metricId("OTHER");
+        RecordListener listener = storage.getRecordListener();
+        for (int i = 0; i < DECISION - 1; i++) {
+            listener.record(time, 0, RecordDictionary.NO_WHO, 10, i);
+            listener.record(other, 0, RecordDictionary.NO_WHO, 10, i);
+        }
+        assertFalse(storage.isSteadyState());
+        assertTrue(delegate.values.isEmpty());
+
+        listener.record(time, 0, RecordDictionary.NO_WHO, 10, DECISION);
+        listener.record(other, 0, RecordDictionary.NO_WHO, 20, DECISION);
+        assertTrue(storage.isSteadyState());
+        assertEquals(2, delegate.values.size());
+        assertEquals(20, delegate.values.get(1), 0);
+    }
+
+    @Test
+    public void offersNoRecordListenerIfDelegateDoesNot() {
+        delegate.recordable = false;
+        assertNull(storage.getRecordListener());
+    }
+
+    private static class RecordingStorage implements MeasurementStorage {
+
+        private final List<Double> values = new ArrayList<>();
+
+        private boolean recordable = true;
+
+        @Override
+        public void put(Measurement<?> m) {
+            values.add(m.getValue());
+        }
+
+        @Override
+        public RecordListener getRecordListener() {
+            return recordable ? (metricId, measuringPointId, whoId, value, when) -> values.add(value) : null;
+        }
+
+        @Override
+        public void addIdExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+            // not needed
+        }
+
+        @Override
+        public void addNameExtractor(Class<? extends Object> type, Function<Object, String> extractionFunction) {
+            // not needed
+        }
+
+        @Override
+        public void addTypeExtractor(Class<? extends Object> elementClass,
+                Function<Object, String> extractionFunction) {
+            // not needed
+        }
+
+        @Override
+        public void addMetadata(Metadata... metadata) {
+            // not needed
+        }
+
+        @Override
+        public void addMetadata(List<Metadata> metadata) {
+            // not needed
+        }
+
+        @Override
+        public void start() {
+            // not needed
+        }
+
+        @Override
+        public void finish() {
+            // not needed
+        }
+
+    }
+
+}
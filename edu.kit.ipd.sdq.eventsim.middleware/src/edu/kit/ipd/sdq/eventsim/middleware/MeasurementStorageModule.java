@@ -1,12 +1,19 @@
 package edu.kit.ipd.sdq.eventsim.middleware;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
 
 import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.MetricSelector;
+import edu.kit.ipd.sdq.eventsim.measurement.ObservingStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.r.RMeasurementStore;
 import edu.kit.ipd.sdq.eventsim.measurement.r.connection.ConnectionRegistry;
 import edu.kit.ipd.sdq.eventsim.measurement.r.connection.RserveConnection;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.measurement.summary.SummaryStatisticsStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.warmup.WarmupTruncatingStorage;
 
 public class MeasurementStorageModule extends AbstractModule {
 
@@ -18,14 +25,52 @@ public class MeasurementStorageModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        // lookup Rserve connection
-        RserveConnection connection = ConnectionRegistry.instance().getConnection();
-        MeasurementStorage measurementStorage = RMeasurementStore.fromLaunchConfiguration(config.getConfigurationMap(),
-                connection);
-        if (measurementStorage == null) {
-            throw new RuntimeException("R measurement store could not bet constructed from launch configuration.");
+        // nothing to do; the measurement storage is provided below
+    }
+
+    @Provides
+    @Singleton
+    public MeasurementStorage provideMeasurementStorage(RecordDictionary dictionary) {
+        MeasurementStorage measurementStorage;
+        if (!config.getSummaryFile().isEmpty()) {
+            measurementStorage = new SummaryStatisticsStorage(config.getSummaryFile(), dictionary);
+        } else {
+            // lookup Rserve connection
+            RserveConnection connection = ConnectionRegistry.instance().getConnection();
+            measurementStorage = RMeasurementStore.fromLaunchConfiguration(config.getConfigurationMap(), connection,
+                    dictionary);
+            if (measurementStorage == null) {
+                throw new RuntimeException("R measurement store could not bet constructed from launch configuration.");
+            }
+        }
+        return decorate(measurementStorage, config, dictionary);
+    }
+
+    /**
+     * Decorates the specified storage as requested by the simulation configuration. If the simulation
+     * is to be stopped on reaching a certain precision, the precision metric is observed by an
+     * {@link ObservingStorage}. If warm-up detection is enabled, the outermost decorator is a
+     * {@link WarmupTruncatingStorage}, so that measurements dropped during warm-up are not observed
+     * either.
+     * 
+     * @param measurementStorage
+     *            the storage to be decorated
+     * @param config
+     *            the simulation configuration
+     * @param dictionary
+     *            the dictionary shared by record producers and consumers
+     * @return the decorated storage, or the specified storage if no decorator is required
+     */
+    public static MeasurementStorage decorate(MeasurementStorage measurementStorage, ISimulationConfiguration config,
+            RecordDictionary dictionary) {
+        if (config.getPrecisionTarget() > 0) {
+            measurementStorage = new ObservingStorage(measurementStorage,
+                    new MetricSelector(config.getPrecisionMetric(), config.getPrecisionMeasuringPoint(), dictionary));
+        }
+        if (!config.getWarmupMetric().isEmpty()) {
+            measurementStorage = new WarmupTruncatingStorage(measurementStorage, config.getWarmupMetric(), dictionary);
         }
-        bind(MeasurementStorage.class).toInstance(measurementStorage);
+        return measurementStorage;
     }
 
 }
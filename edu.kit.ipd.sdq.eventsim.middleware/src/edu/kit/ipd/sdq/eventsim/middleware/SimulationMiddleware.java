@@ -2,10 +2,12 @@ package edu.kit.ipd.sdq.eventsim.middleware;
 
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.pcm.core.entity.Entity;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -19,6 +21,7 @@ import de.uka.ipd.sdq.simulation.preferences.SimulationPreferencesHelper;
 import edu.kit.ipd.sdq.eventsim.SimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
+import edu.kit.ipd.sdq.eventsim.api.Procedure;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationEvent;
@@ -26,10 +29,19 @@ import edu.kit.ipd.sdq.eventsim.api.events.SimulationPrepareEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationStartEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationStopEvent;
 import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
+import edu.kit.ipd.sdq.eventsim.measurement.ForwardingMeasurementStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorageStartException;
+import edu.kit.ipd.sdq.eventsim.measurement.ObservingStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.r.RJobProcessor;
+import edu.kit.ipd.sdq.eventsim.measurement.r.RMeasurementStore;
+import edu.kit.ipd.sdq.eventsim.middleware.engine.NativeSimEngineFactory;
 import edu.kit.ipd.sdq.eventsim.middleware.events.EventManager;
+import edu.kit.ipd.sdq.eventsim.middleware.simulation.ConfidenceIntervalStopCondition;
 import edu.kit.ipd.sdq.eventsim.middleware.simulation.MaxMeasurementsStopCondition;
+import edu.kit.ipd.sdq.eventsim.middleware.telemetry.SimulationTelemetry;
+import edu.kit.ipd.sdq.eventsim.middleware.telemetry.WallClockThrottle;
 
 /**
  * The simulation middleware is the central point of the simulation component based simulation. This
@@ -43,6 +55,9 @@ public class SimulationMiddleware implements ISimulationMiddleware {
 
     private static final Logger logger = Logger.getLogger(SimulationMiddleware.class);
 
+    /** minimum wall-clock time between two progress updates, in milliseconds */
+    private static final long STATUS_UPDATE_INTERVAL = 500;
+
     @Inject
     private ISimulationModel model;
 
@@ -55,12 +70,19 @@ public class SimulationMiddleware implements ISimulationMiddleware {
     @Inject
     private IRandomGenerator randomNumberGenerator;
 
+    @Inject
+    private SimulationTelemetry telemetry;
+
     private EventManager eventManager;
 
-    private int measurementCount;
+    private ConfidenceIntervalStopCondition precisionStopCondition;
+
+    private long measurementCount;
 
     private boolean isStopping;
 
+    private Procedure publishProgress;
+
     @Inject
     public SimulationMiddleware(EventManager eventManager) {
         // setup event listeners early because the middleware itself listens to simulation events
@@ -70,8 +92,28 @@ public class SimulationMiddleware implements ISimulationMiddleware {
 
     private void initialize() {
         addEcoreTypeExtractor(measurementStorage);
-        connectSimulationModelToSimulationEngine(model);
+        connectSimulationModelToSimulationEngine(model, config);
         setupStopConditions();
+        if (config.isTelemetryEnabled()) {
+            setupTelemetry();
+        }
+    }
+
+    private void setupTelemetry() {
+        RMeasurementStore storage = ForwardingMeasurementStorage.find(measurementStorage, RMeasurementStore.class);
+        if (storage != null) {
+            RJobProcessor processor = storage.getJobProcessor();
+            telemetry.registerGauge("eventsim_r_job_queue_length", processor::getQueueLength);
+            telemetry.registerGauge("eventsim_r_time_spent_milliseconds", processor::getTimeSpentInR);
+        }
+        telemetry.start(this, config.getTelemetryPort());
+        model.getSimulationControl().addTimeObserver(new Observer() {
+
+            public void update(final Observable clock, final Object data) {
+                telemetry.onClockUpdate(getSimulationControl().getCurrentSimulationTime(), measurementCount);
+            }
+
+        });
     }
 
     private static void addEcoreTypeExtractor(MeasurementStorage measurementStorage) {
@@ -88,8 +130,15 @@ public class SimulationMiddleware implements ISimulationMiddleware {
         });
     }
 
-    private static void connectSimulationModelToSimulationEngine(ISimulationModel model) {
-        ISimEngineFactory factory = SimulationPreferencesHelper.getPreferredSimulationEngine();
+    private static void connectSimulationModelToSimulationEngine(ISimulationModel model,
+            ISimulationConfiguration config) {
+        ISimEngineFactory factory;
+        if (config.isNativeSimulationEngine()) {
+            NativeSimEngineFactory.checkSupported(config.getPCMModel());
+            factory = new NativeSimEngineFactory();
+        } else {
+            factory = SimulationPreferencesHelper.getPreferredSimulationEngine();
+        }
         if (factory == null) {
             throw new RuntimeException("There is no simulation engine available. Install at least one engine.");
         }
@@ -124,6 +173,23 @@ public class SimulationMiddleware implements ISimulationMiddleware {
         }
 
         this.getSimulationControl().addStopCondition(new MaxMeasurementsStopCondition(this));
+
+        if (configuration.getPrecisionTarget() > 0) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Enabling simulation stop condition at relative confidence interval half-width of "
+                        + configuration.getPrecisionTarget());
+            }
+            ObservingStorage storage = ForwardingMeasurementStorage.find(measurementStorage, ObservingStorage.class);
+            if (storage == null || configuration.getPrecisionMetric().isEmpty()) {
+                throw new EventSimException("Stopping on a precision target requires a precision metric, and a "
+                        + "measurement storage observing it (see MeasurementStorageModule#decorate).");
+            }
+            precisionStopCondition = new ConfidenceIntervalStopCondition(configuration.getPrecisionTarget(),
+                    configuration.getPrecisionConfidenceLevel(), configuration.getPrecisionBatchSize(),
+                    storage.getSelector().toString());
+            storage.setObserver(precisionStopCondition);
+            this.getSimulationControl().addStopCondition(precisionStopCondition);
+        }
     }
 
     private void registerEventHandler() {
@@ -173,21 +239,25 @@ public class SimulationMiddleware implements ISimulationMiddleware {
 
     private void setupSimulationProgressObserver(IStatusObserver statusObserver) {
         final long simStopTime = config.getSimuTime();
+        final WallClockThrottle throttle = new WallClockThrottle(STATUS_UPDATE_INTERVAL, TimeUnit.MILLISECONDS);
+        publishProgress = () -> {
+            int timePercent = (int) (getSimulationControl().getCurrentSimulationTime() * 100 / simStopTime);
+            int measurementsPercent = (int) (measurementCount * 100 / config.getMaxMeasurementsCount());
+
+            if (timePercent < measurementsPercent) {
+                statusObserver.updateStatus(measurementsPercent,
+                        (int) getSimulationControl().getCurrentSimulationTime(), getMeasurementCount());
+            } else {
+                statusObserver.updateStatus(timePercent, (int) getSimulationControl().getCurrentSimulationTime(),
+                        getMeasurementCount());
+            }
+        };
         model.getSimulationControl().addTimeObserver(new Observer() {
 
             public void update(final Observable clock, final Object data) {
-
-                int timePercent = (int) (getSimulationControl().getCurrentSimulationTime() * 100 / simStopTime);
-                int measurementsPercent = (int) (getMeasurementCount() * 100 / config.getMaxMeasurementsCount());
-
-                if (timePercent < measurementsPercent) {
-                    statusObserver.updateStatus(measurementsPercent,
-                            (int) getSimulationControl().getCurrentSimulationTime(), getMeasurementCount());
-                } else {
-                    statusObserver.updateStatus(timePercent, (int) getSimulationControl().getCurrentSimulationTime(),
-                            getMeasurementCount());
+                if (throttle.tryAcquire()) {
+                    publishProgress.execute();
                 }
-
             }
 
         });
@@ -218,12 +288,20 @@ public class SimulationMiddleware implements ISimulationMiddleware {
      * Called after a simulation run to perform some clean up.
      */
     private void finalise() {
+        // the throttled progress observer may have skipped the latest updates
+        if (publishProgress != null) {
+            publishProgress.execute();
+        }
+        telemetry.stop();
         measurementStorage.finish();
         EventSimEntity.resetIdGenerator();
         notifyStopListeners();
         eventManager.unregisterAllEventHandlers();
         logger.info(
                 "Simulation took " + this.getSimulationControl().getCurrentSimulationTime() + " simulation seconds");
+        if (precisionStopCondition != null) {
+            logger.info(precisionStopCondition.getSummary());
+        }
     }
 
     @Override
@@ -244,6 +322,20 @@ public class SimulationMiddleware implements ISimulationMiddleware {
         registerEventHandler(eventType, handler, null);
     }
 
+    @Override
+    public <T extends SimulationEvent> void registerEventHandler(Class<T> eventType, Entity key,
+            final IEventHandler<T> handler) {
+        // delegate handler registration
+        eventManager.registerEventHandler(eventType, key, handler);
+    }
+
+    @Override
+    public <T extends SimulationEvent> void registerEventHandler(Class<T> eventType, final IEventHandler<T> handler,
+            boolean observeOnly) {
+        // delegate handler registration
+        eventManager.registerEventHandler(eventType, handler, observeOnly);
+    }
+
     /**
      * Gives access to the simulation configuration of the current simulation
      * 
@@ -260,6 +352,11 @@ public class SimulationMiddleware implements ISimulationMiddleware {
 
     @Override
     public int getMeasurementCount() {
+        return (int) Math.min(measurementCount, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getMeasurementCountAsLong() {
         return measurementCount;
     }
 
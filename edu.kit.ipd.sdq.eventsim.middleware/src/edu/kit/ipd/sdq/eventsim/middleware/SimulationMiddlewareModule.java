@@ -9,6 +9,7 @@ import de.uka.ipd.sdq.simucomframework.SimuComDefaultRandomNumberGenerator;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 import edu.kit.ipd.sdq.eventsim.middleware.simulation.SimulationModel;
 
 public class SimulationMiddlewareModule extends AbstractModule {
@@ -23,6 +24,8 @@ public class SimulationMiddlewareModule extends AbstractModule {
     protected void configure() {
         bind(ISimulationMiddleware.class).to(SimulationMiddleware.class).in(Singleton.class);
         bind(ISimulationModel.class).to(SimulationModel.class).in(Singleton.class);
+        // shared by all measurement facades and storages
+        bind(RecordDictionary.class).in(Singleton.class);
     }
 
     @Provides
@@ -0,0 +1,256 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+/**
+ * A calendar queue (Brown, 1988) serving as future event list. Events are hashed into buckets
+ * ("days") of fixed width by their time; each bucket holds a list sorted by time and scheduling
+ * order. Dequeuing scans the buckets in time order, one "year" after the other. With the bucket
+ * width adapted to the spacing of events, inserting and removing events takes amortised constant
+ * time.
+ * <p>
+ * Events with equal time are dequeued together as a batch (see {@link #pollBatch()}), in the order
+ * they have been scheduled. Entries are recycled via a pool once they have been handed back by
+ * {@link #release(ScheduledEvent)}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+final class CalendarQueue {
+
+    private static final int MIN_BUCKETS = 16;
+
+    /** the number of events sampled to estimate the bucket width on resize */
+    private static final int WIDTH_SAMPLES = 25;
+
+    private static final int MAX_POOL_SIZE = 1 << 16;
+
+    private ScheduledEvent[] buckets = new ScheduledEvent[MIN_BUCKETS];
+
+    /** the last entry of each bucket, so that events scheduled in order are appended quickly */
+    private ScheduledEvent[] tails = new ScheduledEvent[MIN_BUCKETS];
+
+    private int mask = MIN_BUCKETS - 1;
+
+    private double width = 1.0;
+
+    private int size;
+
+    private long sequence;
+
+    /** the slot, i.e. floor(time / width), of the last dequeued event; no event lies before it */
+    private long currentSlot;
+
+    private double lastTime;
+
+    private ScheduledEvent pool;
+
+    private int poolSize;
+
+    /**
+     * @return an unused entry, taken from the pool if possible
+     */
+    ScheduledEvent acquire() {
+        ScheduledEvent e = pool;
+        if (e == null) {
+            return new ScheduledEvent();
+        }
+        pool = e.next;
+        e.next = null;
+        poolSize--;
+        return e;
+    }
+
+    /**
+     * Hands back an entry that has been dequeued, so that it can be reused.
+     */
+    void release(ScheduledEvent e) {
+        e.generation++;
+        e.owner = null;
+        e.who = null;
+        e.callback = null;
+        e.cancelled = false;
+        if (poolSize < MAX_POOL_SIZE) {
+            e.next = pool;
+            pool = e;
+            poolSize++;
+        } else {
+            e.next = null;
+        }
+    }
+
+    /**
+     * Enqueues the specified entry.
+     * 
+     * @param e
+     *            the entry, obtained from {@link #acquire()}
+     * @param time
+     *            the absolute simulation time; must not lie before the time of the last dequeued
+     *            event
+     */
+    void add(ScheduledEvent e, double time) {
+        if (time < lastTime) {
+            throw new IllegalArgumentException(
+                    "Cannot schedule event at time " + time + " before the current time " + lastTime);
+        }
+        e.time = time;
+        e.sequence = sequence++;
+        insert(buckets, tails, mask, e);
+        if (++size > 2 * buckets.length) {
+            resize(buckets.length * 2);
+        }
+    }
+
+    private void insert(ScheduledEvent[] buckets, ScheduledEvent[] tails, int mask, ScheduledEvent e) {
+        int i = (int) (slot(e.time) & mask);
+        ScheduledEvent current = buckets[i];
+        if (current == null) {
+            e.next = null;
+            buckets[i] = e;
+            tails[i] = e;
+        } else if (!before(e, tails[i])) {
+            // common case, e.g. for events with equal time
+            e.next = null;
+            tails[i].next = e;
+            tails[i] = e;
+        } else if (before(e, current)) {
+            e.next = current;
+            buckets[i] = e;
+        } else {
+            while (!before(e, current.next)) {
+                current = current.next;
+            }
+            e.next = current.next;
+            current.next = e;
+        }
+    }
+
+    private static boolean before(ScheduledEvent a, ScheduledEvent b) {
+        return a.time < b.time || (a.time == b.time && a.sequence < b.sequence);
+    }
+
+    private long slot(double time) {
+        return (long) Math.floor(time / width);
+    }
+
+    /**
+     * Dequeues all events scheduled for the earliest time.
+     * 
+     * @return the first of the dequeued events, which are chained via {@link ScheduledEvent#next};
+     *         or {@code null} if the queue is empty
+     */
+    ScheduledEvent pollBatch() {
+        if (size == 0) {
+            return null;
+        }
+        int i = findEarliestBucket();
+        ScheduledEvent first = buckets[i];
+        ScheduledEvent last = first;
+        int count = 1;
+        while (last.next != null && last.next.time == first.time) {
+            last = last.next;
+            count++;
+        }
+        buckets[i] = last.next;
+        if (last.next == null) {
+            tails[i] = null;
+        }
+        last.next = null;
+        lastTime = first.time;
+        size -= count;
+        if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) {
+            resize(buckets.length / 2);
+        }
+        return first;
+    }
+
+    private int findEarliestBucket() {
+        // scan one year, starting at the current day
+        long slot = currentSlot;
+        for (int n = 0; n < buckets.length; n++, slot++) {
+            int i = (int) (slot & mask);
+            ScheduledEvent head = buckets[i];
+            if (head != null && slot(head.time) <= slot) {
+                currentSlot = slot;
+                return i;
+            }
+        }
+        // events are sparse compared to the bucket width; search for the earliest one directly
+        int earliest = -1;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] != null && (earliest < 0 || before(buckets[i], buckets[earliest]))) {
+                earliest = i;
+            }
+        }
+        currentSlot = slot(buckets[earliest].time);
+        return earliest;
+    }
+
+    private void resize(int bucketCount) {
+        double newWidth = estimateWidth();
+        ScheduledEvent[] newBuckets = new ScheduledEvent[bucketCount];
+        ScheduledEvent[] newTails = new ScheduledEvent[bucketCount];
+        int newMask = bucketCount - 1;
+        width = newWidth;
+        for (int i = 0; i < buckets.length; i++) {
+            ScheduledEvent e = buckets[i];
+            while (e != null) {
+                ScheduledEvent next = e.next;
+                insert(newBuckets, newTails, newMask, e);
+                e = next;
+            }
+        }
+        buckets = newBuckets;
+        tails = newTails;
+        mask = newMask;
+        currentSlot = slot(lastTime);
+    }
+
+    /**
+     * Estimates a bucket width of about three times the average spacing between the earliest events,
+     * ignoring spacings far above average.
+     */
+    double estimateWidth() {
+        int samples = Math.min(size, WIDTH_SAMPLES);
+        if (samples < 2) {
+            return width;
+        }
+        // collect the earliest events by merging the bucket heads; cheap compared to rehashing
+        double[] times = new double[samples];
+        ScheduledEvent[] cursors = new ScheduledEvent[buckets.length];
+        System.arraycopy(buckets, 0, cursors, 0, buckets.length);
+        for (int n = 0; n < samples; n++) {
+            int earliest = -1;
+            for (int i = 0; i < cursors.length; i++) {
+                if (cursors[i] != null && (earliest < 0 || before(cursors[i], cursors[earliest]))) {
+                    earliest = i;
+                }
+            }
+            times[n] = cursors[earliest].time;
+            cursors[earliest] = cursors[earliest].next;
+        }
+        double average = (times[samples - 1] - times[0]) / (samples - 1);
+        double sum = 0;
+        int count = 0;
+        for (int n = 1; n < samples; n++) {
+            double spacing = times[n] - times[n - 1];
+            if (spacing <= 2 * average) {
+                sum += spacing;
+                count++;
+            }
+        }
+        double estimate = count > 0 ? 3 * sum / count : 0;
+        return estimate > 0 ? estimate : width;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int bucketCount() {
+        return buckets.length;
+    }
+
+    double width() {
+        return width;
+    }
+
+}
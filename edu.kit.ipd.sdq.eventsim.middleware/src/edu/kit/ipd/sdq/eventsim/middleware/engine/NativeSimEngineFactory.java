@@ -0,0 +1,113 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEntityDelegator;
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimProcessDelegator;
+import de.uka.ipd.sdq.simulation.abstractsimengine.IEntity;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimEngineFactory;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimEvent;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimProcess;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationControl;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import edu.kit.ipd.sdq.eventsim.api.PCMModel;
+import edu.kit.ipd.sdq.eventsim.api.Procedure;
+import edu.kit.ipd.sdq.eventsim.entities.ICallbackScheduler;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
+
+/**
+ * A simulation engine tailored to EventSim, used instead of the preferred engine of the simulation
+ * platform if requested by {@link edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration#isNativeSimulationEngine()}.
+ * <p>
+ * Its future event list is a {@link CalendarQueue} of pooled entries. Entities scheduling plain
+ * callbacks (see {@link ICallbackScheduler}) do not need to allocate any event object at all. Events
+ * with equal time are processed in batches (see {@link NativeSimulationControl}).
+ * <p>
+ * The engine is purely event-oriented; process-oriented simulation is not supported. Models using
+ * a scheduling policy other than the event-based FCFS, delay and processor sharing policies, e.g.
+ * the exact schedulers contributed via extension point, need simulation processes and are rejected
+ * up front by {@link #checkSupported(PCMModel)}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class NativeSimEngineFactory implements ISimEngineFactory, ICallbackScheduler {
+
+    /** the ids of the scheduling policies whose resources are simulated by events only */
+    private static final Set<String> SUPPORTED_SCHEDULING_POLICIES = new HashSet<>(
+            Arrays.asList("FCFS", "Delay", "ProcessorSharing"));
+
+    private ISimulationModel model;
+
+    private NativeSimulationControl control;
+
+    /**
+     * Checks whether the specified model can be simulated by this engine.
+     * 
+     * @param model
+     *            the PCM model to be simulated
+     * @throws EventSimException
+     *             if a processing resource uses a scheduling policy requiring simulation processes
+     */
+    public static void checkSupported(PCMModel model) {
+        for (ResourceContainer container : model.getResourceEnvironmentModel()
+                .getResourceContainer_ResourceEnvironment()) {
+            for (ProcessingResourceSpecification specification : container
+                    .getActiveResourceSpecifications_ResourceContainer()) {
+                String policy = specification.getSchedulingPolicy().getId();
+                if (!SUPPORTED_SCHEDULING_POLICIES.contains(policy)) {
+                    throw new EventSimException("The native simulation engine does not support scheduling policy "
+                            + policy + " of resource container " + container.getEntityName()
+                            + ". Use one of " + SUPPORTED_SCHEDULING_POLICIES
+                            + " or disable the native simulation engine.");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void setModel(ISimulationModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public ISimulationControl createSimulationControl() {
+        return control();
+    }
+
+    private NativeSimulationControl control() {
+        if (control == null) {
+            control = new NativeSimulationControl(model);
+        }
+        return control;
+    }
+
+    @Override
+    public <E extends IEntity> ISimEvent<E> createSimEvent(AbstractSimEventDelegator<E> event, String name) {
+        return new NativeSimEvent<>(event, control(), name);
+    }
+
+    @Override
+    public IEntity createEntity(AbstractSimEntityDelegator entity, String name) {
+        return new NativeSimEntity(name);
+    }
+
+    @Override
+    public ISimProcess createSimProcess(AbstractSimProcessDelegator process, String name) {
+        // not reached for models passing checkSupported
+        throw new EventSimException("The native simulation engine does not support simulation processes, as "
+                + "required by " + name + ". Disable the native simulation engine to simulate this model.");
+    }
+
+    @Override
+    public void scheduleCallback(double delay, Procedure callback) {
+        control().scheduleCallback(delay, callback);
+    }
+
+}
@@ -0,0 +1,25 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.IEntity;
+
+/**
+ * The engine-specific delegate of a simulated entity. Entities do not hold engine state; this class
+ * merely satisfies the delegation scheme of the abstract simulation engine.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+final class NativeSimEntity implements IEntity {
+
+    private final String name;
+
+    NativeSimEntity(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+}
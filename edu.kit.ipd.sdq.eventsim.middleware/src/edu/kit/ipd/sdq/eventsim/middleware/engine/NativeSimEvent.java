@@ -0,0 +1,75 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
+import de.uka.ipd.sdq.simulation.abstractsimengine.IEntity;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimEvent;
+
+/**
+ * The engine-specific delegate of an {@link AbstractSimEventDelegator}. Scheduling the event
+ * enqueues a pooled {@link ScheduledEvent}, which is recycled after the event has occurred.
+ * 
+ * @author Philipp Merkle
+ *
+ * @param <E>
+ *            the type of entities affected by the event
+ */
+final class NativeSimEvent<E extends IEntity> implements ISimEvent<E> {
+
+    private final AbstractSimEventDelegator<E> event;
+
+    private final NativeSimulationControl control;
+
+    private final String name;
+
+    private ScheduledEvent scheduled;
+
+    /** the generation of {@link #scheduled} when it has been enqueued for this event */
+    private int generation;
+
+    NativeSimEvent(AbstractSimEventDelegator<E> event, NativeSimulationControl control, String name) {
+        this.event = event;
+        this.control = control;
+        this.name = name;
+    }
+
+    @Override
+    public void schedule(E entity, double delay) {
+        scheduled = control.schedule(delay, this, entity);
+        generation = scheduled.generation;
+    }
+
+    @SuppressWarnings("unchecked")
+    void fire(ScheduledEvent e) {
+        if (scheduled == e) {
+            scheduled = null;
+        }
+        event.eventRoutine((E) e.who);
+    }
+
+    @Override
+    public void removeEvent() {
+        if (isPending()) {
+            scheduled.cancelled = true;
+            scheduled = null;
+        }
+    }
+
+    @Override
+    public double scheduledAtTime() {
+        return isPending() ? scheduled.time : -1;
+    }
+
+    /**
+     * @return whether the entry scheduled last is still owned by this event, i.e. has not been
+     *         released and reused for another event in between
+     */
+    private boolean isPending() {
+        return scheduled != null && scheduled.owner == this && scheduled.generation == generation;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,172 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observer;
+
+import org.apache.log4j.Logger;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.IEntity;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationControl;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import de.uka.ipd.sdq.simulation.abstractsimengine.SimCondition;
+import edu.kit.ipd.sdq.eventsim.api.Procedure;
+
+/**
+ * Runs the event loop of the native simulation engine on top of a {@link CalendarQueue}.
+ * <p>
+ * Events with equal time are processed as one batch: the clock is advanced, time observers are
+ * notified and stop conditions are checked once per distinct point in simulation time rather than
+ * once per event. Stop conditions are checked before advancing the clock, so that all events of the
+ * current point in time are processed before the simulation stops. Time observers are invoked
+ * directly, without an {@code Observable} in between; the observable passed to them is always
+ * {@code null}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+final class NativeSimulationControl implements ISimulationControl {
+
+    private static final Logger logger = Logger.getLogger(NativeSimulationControl.class);
+
+    private final ISimulationModel model;
+
+    private final CalendarQueue queue = new CalendarQueue();
+
+    private final List<SimCondition> stopConditions = new ArrayList<>();
+
+    private final List<Observer> timeObservers = new ArrayList<>();
+
+    private double currentTime;
+
+    private long maxSimTime;
+
+    private volatile boolean running;
+
+    private long processedEvents;
+
+    NativeSimulationControl(ISimulationModel model) {
+        this.model = model;
+    }
+
+    ScheduledEvent schedule(double delay, NativeSimEvent<?> owner, IEntity who) {
+        ScheduledEvent e = queue.acquire();
+        e.owner = owner;
+        e.who = who;
+        queue.add(e, currentTime + delay);
+        return e;
+    }
+
+    void scheduleCallback(double delay, Procedure callback) {
+        ScheduledEvent e = queue.acquire();
+        e.callback = callback;
+        queue.add(e, currentTime + delay);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        model.init();
+        try {
+            run();
+        } finally {
+            running = false;
+            if (logger.isDebugEnabled()) {
+                logger.debug(String.format("Processed %d events until simulation time %s", processedEvents,
+                        currentTime));
+            }
+            model.finalise();
+        }
+    }
+
+    private void run() {
+        ScheduledEvent batch;
+        while (running && (batch = queue.pollBatch()) != null) {
+            if (batch.time != currentTime) {
+                if (maxSimTime > 0 && batch.time > maxSimTime) {
+                    currentTime = maxSimTime;
+                    discard(batch);
+                    return;
+                }
+                if (stopConditionsHold()) {
+                    discard(batch);
+                    return;
+                }
+                currentTime = batch.time;
+                notifyTimeObservers();
+            }
+            while (batch != null) {
+                ScheduledEvent next = batch.next;
+                batch.next = null;
+                batch.fire();
+                queue.release(batch);
+                processedEvents++;
+                batch = next;
+                if (!running) {
+                    discard(batch);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void discard(ScheduledEvent batch) {
+        while (batch != null) {
+            ScheduledEvent next = batch.next;
+            queue.release(batch);
+            batch = next;
+        }
+    }
+
+    private boolean stopConditionsHold() {
+        for (int i = 0; i < stopConditions.size(); i++) {
+            if (stopConditions.get(i).check()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void notifyTimeObservers() {
+        for (int i = 0; i < timeObservers.size(); i++) {
+            timeObservers.get(i).update(null, currentTime);
+        }
+    }
+
+    @Override
+    public void startInBackground() {
+        Thread thread = new Thread(this::start, "EventSim native simulation engine");
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public double getCurrentSimulationTime() {
+        return currentTime;
+    }
+
+    @Override
+    public void setMaxSimTime(long simTime) {
+        this.maxSimTime = simTime;
+    }
+
+    @Override
+    public void addStopCondition(SimCondition condition) {
+        stopConditions.add(condition);
+    }
+
+    @Override
+    public void addTimeObserver(Observer observer) {
+        timeObservers.add(observer);
+    }
+
+}
@@ -0,0 +1,47 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.IEntity;
+import edu.kit.ipd.sdq.eventsim.api.Procedure;
+
+/**
+ * An entry of the {@link CalendarQueue}. Entries are pooled by the queue and therefore must not be
+ * referenced once they have been released; {@link #owner} and {@link #generation} allow holders of
+ * an entry to check whether it still refers to what they have scheduled.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+final class ScheduledEvent {
+
+    double time;
+
+    /** tie-breaker preserving the scheduling order among events with equal time */
+    long sequence;
+
+    /** incremented on each release, invalidating references held by former owners */
+    int generation;
+
+    /** the event delegate that scheduled this entry, or {@code null} for callbacks */
+    NativeSimEvent<?> owner;
+
+    IEntity who;
+
+    Procedure callback;
+
+    boolean cancelled;
+
+    /** the next entry in the same bucket, in the same batch, or in the pool */
+    ScheduledEvent next;
+
+    void fire() {
+        if (cancelled) {
+            return;
+        }
+        if (callback != null) {
+            callback.execute();
+        } else {
+            owner.fire(this);
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+package edu.kit.ipd.sdq.eventsim.middleware.events;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Logger;
+
+import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler;
+import edu.kit.ipd.sdq.eventsim.api.events.SimulationEvent;
+
+/**
+ * Delivers {@link SimulationEvent}s to observe-only {@link IEventHandler}s on a background thread,
+ * so that the simulation thread does not wait for them.
+ * <p>
+ * Events are published by the simulation thread (the single producer) into a bounded ring buffer.
+ * A consumer thread drains the buffer in batches, i.e. all events published since the last batch,
+ * and delivers them in publication order to the handlers registered with this dispatcher. If the
+ * buffer is full, the producer waits for the consumer to catch up.
+ * <p>
+ * Neither side polls: a thread running out of work announces itself as waiting, checks its
+ * condition once more and parks; the other side unparks it after making progress. Since both the
+ * announcement and the sequence numbers are volatile, at least one side sees the other's write.
+ * <p>
+ * Since handlers run concurrently to the simulation, they must not query or modify simulation
+ * state; all they may rely on is the event itself.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class AsyncEventDispatcher {
+
+    private static final Logger logger = Logger.getLogger(AsyncEventDispatcher.class);
+
+    private static final int CAPACITY = 1 << 14;
+
+    private static final int MASK = CAPACITY - 1;
+
+    private final SimulationEvent[] buffer = new SimulationEvent[CAPACITY];
+
+    /** sequence number of the next event to be published; written by the producer only */
+    private volatile long tail;
+
+    /** sequence number of the next event to be delivered; written by the consumer only */
+    private volatile long head;
+
+    /** guarded by itself; accessed by both the producer (registration) and the consumer (delivery) */
+    private final SimulationEventBus bus = new SimulationEventBus();
+
+    /** event types with at least one registered handler; accessed by the producer only */
+    private final Set<Class<? extends SimulationEvent>> observedTypes = new HashSet<>();
+
+    private Thread consumer;
+
+    private volatile boolean running;
+
+    /** set by the consumer before parking for lack of events */
+    private volatile boolean consumerWaiting;
+
+    /** set by the producer before parking until the consumer has delivered more events */
+    private volatile Thread waitingProducer;
+
+    /**
+     * Registers the specified observe-only handler with events of the specified type.
+     */
+    public <T extends SimulationEvent> void register(Class<T> eventType, IEventHandler<T> handler) {
+        synchronized (bus) {
+            bus.register(eventType, handler, null);
+        }
+        observedTypes.add(eventType);
+    }
+
+    /**
+     * Enqueues the specified event for asynchronous delivery, unless nobody is interested in it.
+     * Must be called by the simulation thread only.
+     * 
+     * @param event
+     *            the event to be delivered
+     */
+    public void publish(SimulationEvent event) {
+        if (!observedTypes.contains(event.getClass())) {
+            return;
+        }
+        ensureStarted();
+        long sequence = tail;
+        if (sequence - head >= CAPACITY) {
+            // buffer full: wait for the consumer
+            awaitHead(sequence - CAPACITY + 1);
+        }
+        buffer[(int) (sequence & MASK)] = event;
+        tail = sequence + 1; // volatile write publishes the event to the consumer
+        if (consumerWaiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Blocks until all events published so far have been delivered.
+     */
+    public void flush() {
+        if (consumer != null) {
+            awaitHead(tail);
+        }
+    }
+
+    /**
+     * Parks the calling (producer) thread until the consumer has delivered all events up to, but
+     * excluding, the specified sequence number.
+     */
+    private void awaitHead(long sequence) {
+        waitingProducer = Thread.currentThread();
+        try {
+            while (head < sequence && consumer.isAlive()) {
+                LockSupport.park(this);
+            }
+        } finally {
+            waitingProducer = null;
+        }
+    }
+
+    /**
+     * Delivers all pending events, stops the consumer thread and removes all handler
+     * registrations.
+     */
+    public void shutdown() {
+        flush();
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer = null;
+        }
+        synchronized (bus) {
+            bus.clear();
+        }
+        observedTypes.clear();
+    }
+
+    private void ensureStarted() {
+        if (consumer == null) {
+            running = true;
+            consumer = new Thread(this::drain, "EventSim event dispatcher");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (running || head < tail) {
+                long available = tail;
+                long sequence = head;
+                if (sequence == available) {
+                    consumerWaiting = true;
+                    if (running && head == tail) {
+                        LockSupport.park(this);
+                    }
+                    consumerWaiting = false;
+                    continue;
+                }
+                synchronized (bus) {
+                    for (; sequence < available; sequence++) {
+                        int index = (int) (sequence & MASK);
+                        SimulationEvent event = buffer[index];
+                        buffer[index] = null;
+                        deliver(event);
+                    }
+                }
+                head = available; // volatile write frees the batch's slots
+                unparkProducer();
+            }
+        } finally {
+            // a producer waiting for a terminating consumer must not hang
+            unparkProducer();
+        }
+    }
+
+    private void unparkProducer() {
+        Thread producer = waitingProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    private void deliver(SimulationEvent event) {
+        try {
+            bus.dispatch(event);
+        } catch (RuntimeException e) {
+            // do not let a single observer take down the dispatcher
+            logger.error("Observe-only event handler failed on " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+}
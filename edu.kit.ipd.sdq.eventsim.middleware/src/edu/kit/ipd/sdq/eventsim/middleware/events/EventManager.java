@@ -1,32 +1,41 @@
 package edu.kit.ipd.sdq.eventsim.middleware.events;
 
-import java.util.Dictionary;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Hashtable;
 import java.util.Map;
-import java.util.Set;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.pcm.core.entity.Entity;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
-import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventAdmin;
-import org.osgi.service.event.EventConstants;
-import org.osgi.service.event.EventHandler;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler;
-import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationEvent;
+import edu.kit.ipd.sdq.eventsim.api.events.SimulationStopEvent;
 import edu.kit.ipd.sdq.eventsim.middleware.Activator;
 
 /**
- * Wraps the OSGi {@link EventAdmin} service for better type safety. {@link SimulationEvent}s and
- * {@link IEventHandler}s are strongly typed, whereas the classical way of using OSGi {@link Event}s
- * (hidden by this wrapper) involves undesired type casts.
+ * Delivers {@link SimulationEvent}s to type-safe {@link IEventHandler}s. Events are dispatched
+ * in-process by a {@link SimulationEventBus}, which avoids building property maps and topic strings
+ * for each event.
+ * <p>
+ * If requested by {@link ISimulationConfiguration#isPublishOsgiEvents()}, events are additionally
+ * published via the OSGi {@link EventAdmin} service, so that listeners outside of the simulation
+ * can observe them. Topics and properties of these OSGi {@link Event}s are the same as before the
+ * introduction of the event bus.
+ * <p>
+ * Handlers registered as observe-only are served by an {@link AsyncEventDispatcher} on a background
+ * thread. Pending events are flushed to them before a {@link SimulationStopEvent} is delivered to
+ * the synchronous handlers. The OSGi bridge, in contrast, is synchronous because OSGi listeners may
+ * inspect the entities referenced by an event, which must not change during delivery. For the same
+ * reason, observe-only handlers are notified synchronously if entity pooling is enabled (see
+ * {@link ISimulationConfiguration#isEntityPooling()}): a request referenced by a pending event could
+ * otherwise be recycled before the handler sees the event.
  * 
  * @author Christoph Föhrdes
  * @author Philipp Merkle
@@ -37,17 +46,28 @@ public class EventManager {
 
     private static final Logger log = Logger.getLogger(EventManager.class);
 
+    private final SimulationEventBus bus;
+
+    private final AsyncEventDispatcher observers;
+
     private EventAdmin eventAdmin;
 
-    private Set<ServiceRegistration<?>> handlerRegistrations;
+    /** whether observe-only handlers are served by {@link #observers} */
+    private final boolean asyncObservers;
 
-    public EventManager() {
-        handlerRegistrations = new HashSet<ServiceRegistration<?>>();
+    @Inject
+    public EventManager(ISimulationConfiguration configuration) {
+        bus = new SimulationEventBus();
 
-        // discover event admin service
-        BundleContext bundleContext = Activator.getContext();
-        ServiceReference<EventAdmin> eventAdminServiceReference = bundleContext.getServiceReference(EventAdmin.class);
-        eventAdmin = bundleContext.getService(eventAdminServiceReference);
+        if (configuration.isPublishOsgiEvents()) {
+            // discover event admin service
+            BundleContext bundleContext = Activator.getContext();
+            ServiceReference<EventAdmin> eventAdminServiceReference = bundleContext
+                    .getServiceReference(EventAdmin.class);
+            eventAdmin = bundleContext.getService(eventAdminServiceReference);
+        }
+        observers = new AsyncEventDispatcher();
+        asyncObservers = !configuration.isEntityPooling();
     }
 
     /**
@@ -62,12 +82,26 @@ public class EventManager {
             log.debug("Event triggered (" + SimulationEvent.topicName(event.getClass()) + ")");
         }
 
-        // we delegate the event to the OSGi event admin service
+        if (event instanceof SimulationStopEvent) {
+            // observers get to see all events before the simulation is finalised
+            observers.publish(event);
+            observers.flush();
+            bus.dispatch(event);
+        } else {
+            bus.dispatch(event);
+            observers.publish(event);
+        }
+        if (eventAdmin != null) {
+            publishOsgiEvent(event);
+        }
+    }
+
+    private void publishOsgiEvent(SimulationEvent event) {
+        // bridge the event to the OSGi event admin service
         Map<String, Object> properties = new HashMap<String, Object>();
         properties.put(SimulationEvent.ENCAPSULATED_EVENT, event);
         properties.putAll(event.getProperties());
         eventAdmin.sendEvent(new Event(SimulationEvent.topicName(event.getClass()), properties));
-
     }
 
     /**
@@ -77,67 +111,55 @@ public class EventManager {
      *            the type of events handled by the handler
      * @param handler
      *            the event handler
+     * @param filter
+     *            an optional LDAP-style filter on the event's properties; may be {@code null}
      */
     public <T extends SimulationEvent> void registerEventHandler(Class<T> eventType, final IEventHandler<T> handler,
             String filter) {
-        BundleContext bundleContext = Activator.getContext();
-        Dictionary<String, Object> properties = new Hashtable<String, Object>();
-        properties.put(EventConstants.EVENT_TOPIC, SimulationEvent.topicName(eventType));
-        if (filter != null && !filter.isEmpty()) {
-            properties.put(EventConstants.EVENT_FILTER, filter);
-        }
-        FutureServiceRegistration futureRegistration = new FutureServiceRegistration();
-        ServiceRegistration<EventHandler> handlerRegistration = bundleContext.registerService(EventHandler.class,
-                event -> {
-                    // delegate event handling to registered event handler
-                    @SuppressWarnings("unchecked")
-                    T encapsulatedEvent = (T) event.getProperty(SimulationEvent.ENCAPSULATED_EVENT);
-                    Registration registrationHint = handler.handle(encapsulatedEvent);
-                    // remove event handler if requested (indicated by its returned hint)
-                    if (registrationHint == Registration.UNREGISTER) {
-                        if (futureRegistration.get() != null) {
-                            // remove handler registration, if it is still contained in handler set;
-                            // otherwise do nothing
-                            boolean removed = handlerRegistrations.remove(futureRegistration.get());
-                            if (removed) {
-                                futureRegistration.get().unregister();
-                            }
-                        } else {
-                            log.warn("Cannot unregister event handler because the service registration "
-                                    + "is not yet available.");
-                        }
-                    } // else keep registered
-                }, properties);
-        // handler registration is now known; inform the corresponding future
-        futureRegistration.set(handlerRegistration);
-
-        // store service registration for later cleanup
-        handlerRegistrations.add(handlerRegistration);
+        bus.register(eventType, handler, filter);
     }
 
-    public void unregisterAllEventHandlers() {
-        for (ServiceRegistration<?> reg : handlerRegistrations) {
-            reg.unregister();
-        }
-        handlerRegistrations.clear();
+    /**
+     * Registers the specified handler with events of the specified type concerning the specified
+     * model element.
+     * 
+     * @param eventType
+     *            the type of events handled by the handler
+     * @param key
+     *            the model element the handler is interested in
+     * @param handler
+     *            the event handler
+     * @see SimulationEvent#getKey()
+     */
+    public <T extends SimulationEvent> void registerEventHandler(Class<T> eventType, Entity key,
+            final IEventHandler<T> handler) {
+        bus.register(eventType, key, handler);
     }
 
     /**
-     * Wraps a {@link ServiceRegistration} instance that will become available in future (via set
-     * method), but is not yet known at instantiation time.
+     * Registers the specified handler with events of the specified type. If {@code observeOnly} is
+     * set and entity pooling is disabled, the handler is notified asynchronously on a background
+     * thread (see {@link AsyncEventDispatcher}); otherwise, it is notified synchronously.
+     * 
+     * @param eventType
+     *            the type of events handled by the handler
+     * @param handler
+     *            the event handler
+     * @param observeOnly
+     *            whether the handler merely observes events without accessing the simulation
      */
-    private class FutureServiceRegistration {
-
-        private ServiceRegistration<EventHandler> handlerRegistration;
-
-        public void set(ServiceRegistration<EventHandler> handlerRegistration) {
-            this.handlerRegistration = handlerRegistration;
-        }
-
-        public ServiceRegistration<EventHandler> get() {
-            return this.handlerRegistration;
+    public <T extends SimulationEvent> void registerEventHandler(Class<T> eventType, final IEventHandler<T> handler,
+            boolean observeOnly) {
+        if (observeOnly && asyncObservers) {
+            observers.register(eventType, handler);
+        } else {
+            bus.register(eventType, handler, null);
         }
+    }
 
+    public void unregisterAllEventHandlers() {
+        observers.shutdown();
+        bus.clear();
     }
 
 }
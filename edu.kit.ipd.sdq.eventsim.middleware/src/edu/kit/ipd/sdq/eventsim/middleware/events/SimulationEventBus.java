@@ -0,0 +1,209 @@
+package edu.kit.ipd.sdq.eventsim.middleware.events;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.palladiosimulator.pcm.core.entity.Entity;
+
+import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler;
+import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
+import edu.kit.ipd.sdq.eventsim.api.events.SimulationEvent;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
+
+/**
+ * Delivers {@link SimulationEvent}s synchronously to the {@link IEventHandler}s registered for the
+ * event's class, without any detour through OSGi. Like OSGi event topics, event classes are matched
+ * exactly, i.e. handlers registered for a super type are not notified.
+ * <p>
+ * Handlers may be registered for a key (see {@link SimulationEvent#getKey()}). Keyed handlers are
+ * indexed by the key's ID, so that delivering an event involves only those keyed handlers whose key
+ * matches the event's key, plus all handlers registered without a key.
+ * <p>
+ * For each event class and key, the bus holds an array of handlers that is replaced (rather than
+ * modified) whenever a handler is added or removed. Dispatching iterates over the arrays found when
+ * the event has been triggered, so handlers may unregister themselves (or register other handlers)
+ * while an event is being delivered.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class SimulationEventBus {
+
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    private final Map<Class<? extends SimulationEvent>, Subscriptions> subscriptions = new HashMap<>();
+
+    /**
+     * Registers the specified handler with events of the specified type.
+     * 
+     * @param eventType
+     *            the type of events handled by the handler
+     * @param handler
+     *            the event handler
+     * @param filter
+     *            an optional LDAP-style filter evaluated against {@link SimulationEvent#getProperties()};
+     *            may be {@code null}
+     */
+    public <T extends SimulationEvent> void register(Class<T> eventType, IEventHandler<T> handler, String filter) {
+        Subscriptions s = subscriptionsFor(eventType);
+        s.unkeyed = add(s.unkeyed, new Subscription(handler, createFilter(filter), null));
+    }
+
+    /**
+     * Registers the specified handler with events of the specified type whose key has the same ID as
+     * the specified key.
+     * 
+     * @param eventType
+     *            the type of events handled by the handler
+     * @param key
+     *            the model element the handler is interested in
+     * @param handler
+     *            the event handler
+     */
+    public <T extends SimulationEvent> void register(Class<T> eventType, Entity key, IEventHandler<T> handler) {
+        Subscriptions s = subscriptionsFor(eventType);
+        String id = key.getId();
+        s.keyed.put(id, add(s.keyed.getOrDefault(id, NO_SUBSCRIPTIONS), new Subscription(handler, null, id)));
+    }
+
+    /**
+     * Delivers the specified event to all handlers registered for the event's class (and key). Returns
+     * not until all handlers processed the event completely.
+     * 
+     * @param event
+     *            the event to be delivered
+     */
+    public void dispatch(SimulationEvent event) {
+        Subscriptions s = subscriptions.get(event.getClass());
+        if (s == null) {
+            return;
+        }
+        Subscription[] unkeyed = s.unkeyed;
+        Subscription[] keyed = NO_SUBSCRIPTIONS;
+        if (!s.keyed.isEmpty()) {
+            Entity key = event.getKey();
+            if (key != null) {
+                keyed = s.keyed.getOrDefault(key.getId(), NO_SUBSCRIPTIONS);
+            }
+        }
+        deliver(event, unkeyed);
+        deliver(event, keyed);
+    }
+
+    /**
+     * @return {@code true}, if at least one handler is registered for events of the specified type
+     */
+    public boolean hasHandlers(Class<? extends SimulationEvent> eventType) {
+        Subscriptions s = subscriptions.get(eventType);
+        return s != null && (s.unkeyed.length > 0 || !s.keyed.isEmpty());
+    }
+
+    /**
+     * Removes all handler registrations.
+     */
+    public void clear() {
+        subscriptions.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(SimulationEvent event, Subscription[] current) {
+        for (Subscription s : current) {
+            if (s.filter != null && !s.filter.matches(event.getProperties())) {
+                continue;
+            }
+            Registration registrationHint = ((IEventHandler<SimulationEvent>) s.handler).handle(event);
+            if (registrationHint == Registration.UNREGISTER) {
+                unregister(event.getClass(), s);
+            }
+        }
+    }
+
+    private Subscriptions subscriptionsFor(Class<? extends SimulationEvent> eventType) {
+        Subscriptions s = subscriptions.get(eventType);
+        if (s == null) {
+            s = new Subscriptions();
+            subscriptions.put(eventType, s);
+        }
+        return s;
+    }
+
+    private void unregister(Class<? extends SimulationEvent> eventType, Subscription subscription) {
+        Subscriptions s = subscriptions.get(eventType);
+        if (s == null) {
+            // cleared in the meantime
+            return;
+        }
+        if (subscription.key == null) {
+            s.unkeyed = remove(s.unkeyed, subscription);
+        } else {
+            Subscription[] updated = remove(s.keyed.getOrDefault(subscription.key, NO_SUBSCRIPTIONS), subscription);
+            if (updated.length == 0) {
+                s.keyed.remove(subscription.key);
+            } else {
+                s.keyed.put(subscription.key, updated);
+            }
+        }
+    }
+
+    private static Subscription[] add(Subscription[] current, Subscription subscription) {
+        Subscription[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        return updated;
+    }
+
+    private static Subscription[] remove(Subscription[] current, Subscription subscription) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                Subscription[] updated = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                return updated;
+            }
+        }
+        return current;
+    }
+
+    private static Filter createFilter(String filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        try {
+            return FrameworkUtil.createFilter(filter);
+        } catch (InvalidSyntaxException e) {
+            throw new EventSimException("Invalid event filter: " + filter, e);
+        }
+    }
+
+    /**
+     * The handlers registered for a certain event class.
+     */
+    private static final class Subscriptions {
+
+        private Subscription[] unkeyed = NO_SUBSCRIPTIONS;
+
+        private final Map<String, Subscription[]> keyed = new HashMap<>();
+
+    }
+
+    private static final class Subscription {
+
+        private final IEventHandler<?> handler;
+
+        private final Filter filter;
+
+        /** the ID of the key this handler is interested in; null, if interested in all events */
+        private final String key;
+
+        public Subscription(IEventHandler<?> handler, Filter filter, String key) {
+            this.handler = handler;
+            this.filter = filter;
+            this.key = key;
+        }
+
+    }
+
+}
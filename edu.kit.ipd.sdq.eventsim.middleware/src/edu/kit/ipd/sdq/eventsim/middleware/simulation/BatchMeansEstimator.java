@@ -0,0 +1,152 @@
+package edu.kit.ipd.sdq.eventsim.middleware.simulation;
+
+/**
+ * Estimates a confidence interval for the mean of a series of observations by the method of
+ * non-overlapping batch means. Consecutive observations, e.g. response times of consecutive users,
+ * are usually correlated, which renders the textbook confidence interval far too narrow. Grouping
+ * observations into sufficiently large batches yields batch means that are approximately
+ * independent and normally distributed, so that a Student-t interval can be computed from them.
+ * <p>
+ * Observations are processed online and in constant memory; batch means are aggregated with
+ * Welford's algorithm.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class BatchMeansEstimator {
+
+    private final int batchSize;
+
+    private double batchSum;
+
+    private int batchFill;
+
+    private long observationCount;
+
+    private long batchCount;
+
+    private double mean;
+
+    private double squaredDeviations;
+
+    /**
+     * @param batchSize
+     *            the number of observations per batch
+     */
+    public BatchMeansEstimator(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void add(double observation) {
+        observationCount++;
+        batchSum += observation;
+        if (++batchFill < batchSize) {
+            return;
+        }
+        double batchMean = batchSum / batchSize;
+        batchSum = 0;
+        batchFill = 0;
+
+        batchCount++;
+        double delta = batchMean - mean;
+        mean += delta / batchCount;
+        squaredDeviations += delta * (batchMean - mean);
+    }
+
+    public long getObservationCount() {
+        return observationCount;
+    }
+
+    /**
+     * @return the number of completed batches
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * @return the mean over all completed batches, or {@code NaN} if there is none
+     */
+    public double getMean() {
+        return batchCount > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * Returns the half-width of the confidence interval around {@link #getMean()}.
+     * 
+     * @param confidenceLevel
+     *            the confidence level, e.g. 0.95
+     * @return the half-width, or {@code NaN} if less than two batches have been completed
+     */
+    public double getHalfWidth(double confidenceLevel) {
+        if (batchCount < 2) {
+            return Double.NaN;
+        }
+        double variance = squaredDeviations / (batchCount - 1);
+        double quantile = studentTQuantile((1 + confidenceLevel) / 2, batchCount - 1);
+        return quantile * Math.sqrt(variance / batchCount);
+    }
+
+    /**
+     * Returns the half-width of the confidence interval relative to the estimated mean, e.g. 0.02
+     * if the interval spans the mean &plusmn;2%.
+     * 
+     * @param confidenceLevel
+     *            the confidence level, e.g. 0.95
+     * @return the relative half-width, or {@code NaN} if less than two batches have been completed
+     */
+    public double getRelativeHalfWidth(double confidenceLevel) {
+        return getHalfWidth(confidenceLevel) / Math.abs(getMean());
+    }
+
+    /**
+     * Approximates the quantile of Student's t-distribution by the Cornish-Fisher expansion around the
+     * normal quantile (Abramowitz and Stegun, 26.7.5), which is accurate to three decimal places for
+     * ten or more degrees of freedom.
+     */
+    static double studentTQuantile(double p, long degreesOfFreedom) {
+        double z = normalQuantile(p);
+        double n = degreesOfFreedom;
+        double z2 = z * z;
+        double g1 = (z2 + 1) * z / 4;
+        double g2 = ((5 * z2 + 16) * z2 + 3) * z / 96;
+        double g3 = (((3 * z2 + 19) * z2 + 17) * z2 - 15) * z / 384;
+        double g4 = ((((79 * z2 + 776) * z2 + 1482) * z2 - 1920) * z2 - 945) * z / 92160;
+        return z + g1 / n + g2 / (n * n) + g3 / (n * n * n) + g4 / (n * n * n * n);
+    }
+
+    /**
+     * Approximates the quantile of the standard normal distribution by Acklam's rational
+     * approximation, whose relative error is below 1.2 * 10<sup>-9</sup>.
+     */
+    static double normalQuantile(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("Probability must be in (0, 1), but was " + p);
+        }
+        final double pLow = 0.02425;
+        if (p < pLow) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return tail(q);
+        } else if (p > 1 - pLow) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -tail(q);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                        + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+
+    private static double tail(double q) {
+        return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                        + 3.754408661907416e+00) * q + 1);
+    }
+
+}
@@ -0,0 +1,96 @@
+package edu.kit.ipd.sdq.eventsim.middleware.simulation;
+
+import java.util.function.DoubleConsumer;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.SimCondition;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
+
+/**
+ * Stop condition which stops the simulation as soon as the mean of a metric is known precisely
+ * enough, i.e. when the half-width of its confidence interval, relative to the mean, falls below the
+ * configured target. The observed values are passed to {@link #accept(double)}, usually by an
+ * {@link edu.kit.ipd.sdq.eventsim.measurement.ObservingStorage} selecting the configured metric and
+ * measuring point. If the storage drops measurements taken during warm-up, they are not observed
+ * either.
+ * <p>
+ * The confidence interval is estimated online by a {@link BatchMeansEstimator}. To avoid stopping
+ * on a spuriously narrow interval early in the run, the condition does not hold before
+ * {@link #MIN_BATCHES} batches have been completed.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class ConfidenceIntervalStopCondition implements SimCondition, DoubleConsumer {
+
+    /** the minimum number of completed batches before the simulation may be stopped */
+    public static final int MIN_BATCHES = 10;
+
+    private final double target;
+
+    private final double confidenceLevel;
+
+    private final String metricName;
+
+    private final BatchMeansEstimator estimator;
+
+    private long checkedBatches;
+
+    private boolean satisfied;
+
+    /**
+     * @param target
+     *            the relative half-width at which the condition holds, e.g. 0.02 for &plusmn;2%
+     * @param confidenceLevel
+     *            the confidence level, e.g. 0.95
+     * @param batchSize
+     *            the number of observations per batch
+     * @param metricName
+     *            describes the observed metric in {@link #getSummary()}
+     */
+    public ConfidenceIntervalStopCondition(double target, double confidenceLevel, int batchSize,
+            String metricName) {
+        if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+            throw new EventSimException("Confidence level must be in (0, 1), but was " + confidenceLevel);
+        }
+        this.target = target;
+        this.confidenceLevel = confidenceLevel;
+        this.metricName = metricName;
+        this.estimator = new BatchMeansEstimator(batchSize);
+    }
+
+    /**
+     * Adds an observation of the metric.
+     */
+    @Override
+    public void accept(double value) {
+        estimator.add(value);
+    }
+
+    @Override
+    public boolean check() {
+        // the interval changes only when a batch is completed
+        if (!satisfied && estimator.getBatchCount() != checkedBatches) {
+            checkedBatches = estimator.getBatchCount();
+            satisfied = checkedBatches >= MIN_BATCHES && getAchievedPrecision() <= target;
+        }
+        return satisfied;
+    }
+
+    /**
+     * @return the relative half-width of the confidence interval achieved so far, or {@code NaN} if
+     *         less than two batches have been completed
+     */
+    public double getAchievedPrecision() {
+        return estimator.getRelativeHalfWidth(confidenceLevel);
+    }
+
+    /**
+     * @return a human-readable summary of the estimated mean and the precision achieved so far
+     */
+    public String getSummary() {
+        return String.format("Estimated mean %s as %.6g ± %.2f%% at %.0f%% confidence (target ±%.2f%%, "
+                + "%d batches from %d observations)", metricName, estimator.getMean(), getAchievedPrecision() * 100,
+                confidenceLevel * 100, target * 100, estimator.getBatchCount(), estimator.getObservationCount());
+    }
+
+}
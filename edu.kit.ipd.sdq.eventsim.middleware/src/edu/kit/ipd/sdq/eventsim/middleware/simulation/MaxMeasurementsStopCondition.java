@@ -26,7 +26,7 @@ public class MaxMeasurementsStopCondition implements SimCondition {
 
 	@Override
 	public boolean check() {
-		return (this.maxMeasurements > 0) && (this.middleware.getMeasurementCount() >= this.maxMeasurements);
+		return (this.maxMeasurements > 0) && (this.middleware.getMeasurementCountAsLong() >= this.maxMeasurements);
 	}
 
 }
@@ -0,0 +1,97 @@
+package edu.kit.ipd.sdq.eventsim.middleware.telemetry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A minimal HTTP endpoint bound to the loopback interface that answers every request with a text
+ * document, e.g. metrics in the Prometheus text format. Requests are served one after another by a
+ * single daemon thread. Plain sockets are used so as not to depend on an HTTP server being
+ * available in the OSGi runtime.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class MetricsEndpoint {
+
+    private static final Logger logger = Logger.getLogger(MetricsEndpoint.class);
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** a client that does not finish its request in time must not block the endpoint */
+    private static final int READ_TIMEOUT_MILLIS = 2000;
+
+    private final ServerSocket serverSocket;
+
+    private final Supplier<String> content;
+
+    private Thread thread;
+
+    /**
+     * @param port
+     *            the localhost port to listen on
+     * @param content
+     *            supplies the document to be served; invoked by the endpoint's thread
+     * @throws IOException
+     *             if the port cannot be bound
+     */
+    public MetricsEndpoint(int port, Supplier<String> content) throws IOException {
+        this.serverSocket = new ServerSocket(port, 16, InetAddress.getLoopbackAddress());
+        this.content = content;
+    }
+
+    public void start() {
+        thread = new Thread(this::serve, "EventSim metrics endpoint");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.warn("Could not close metrics endpoint", e);
+        }
+    }
+
+    private void serve() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                respond(socket);
+            } catch (SocketException e) {
+                // server socket has been closed
+            } catch (IOException e) {
+                logger.warn("Could not serve metrics request", e);
+            }
+        }
+    }
+
+    private void respond(Socket socket) throws IOException {
+        socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+        // skip request line and headers; every request is answered with the same document
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        String line;
+        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+            // ignore
+        }
+        byte[] body = content.get().getBytes(StandardCharsets.UTF_8);
+        String header = "HTTP/1.0 200 OK\r\nContent-Type: " + CONTENT_TYPE + "\r\nContent-Length: " + body.length
+                + "\r\nConnection: close\r\n\r\n";
+        OutputStream out = socket.getOutputStream();
+        out.write(header.getBytes(StandardCharsets.US_ASCII));
+        out.write(body);
+        out.flush();
+    }
+
+}
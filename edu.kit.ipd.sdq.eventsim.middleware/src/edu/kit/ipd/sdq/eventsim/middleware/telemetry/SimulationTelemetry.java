@@ -0,0 +1,307 @@
+package edu.kit.ipd.sdq.eventsim.middleware.telemetry;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Singleton;
+
+import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
+import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
+import edu.kit.ipd.sdq.eventsim.api.events.SystemRequestFinishedEvent;
+import edu.kit.ipd.sdq.eventsim.api.events.SystemRequestSpawnEvent;
+import edu.kit.ipd.sdq.eventsim.api.events.WorkloadUserFinishedEvent;
+import edu.kit.ipd.sdq.eventsim.api.events.WorkloadUserSpawnEvent;
+
+/**
+ * Exposes live figures of a running simulation via JMX and, optionally, in the Prometheus text
+ * format on a localhost port (see {@link MetricsEndpoint}).
+ * <p>
+ * The simulation thread reports clock updates via {@link #onClockUpdate(double, long)}. At most once
+ * per {@link #UPDATE_INTERVAL_MILLIS} of wall-clock time, it takes a snapshot of all figures,
+ * including the registered gauges. Readers (JMX, HTTP) only ever see the latest snapshot, so they
+ * neither slow down the simulation nor observe simulation state while it is being modified.
+ * <p>
+ * Other simulation modules contribute figures by registering gauges, e.g. one per resource queue.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+@Singleton
+public class SimulationTelemetry implements SimulationTelemetryMXBean {
+
+    private static final Logger logger = Logger.getLogger(SimulationTelemetry.class);
+
+    public static final long UPDATE_INTERVAL_MILLIS = 1000;
+
+    private static final String OBJECT_NAME = "edu.kit.ipd.sdq.eventsim:type=SimulationTelemetry";
+
+    /** accessed by the simulation thread only */
+    private final Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+
+    private final WallClockThrottle throttle = new WallClockThrottle(UPDATE_INTERVAL_MILLIS,
+            TimeUnit.MILLISECONDS);
+
+    private ObjectName objectName;
+
+    private MetricsEndpoint endpoint;
+
+    // counters maintained by observe-only event handlers
+    private volatile long liveRequests;
+
+    private volatile long liveUsers;
+
+    // state of the simulation thread
+    private long clockUpdates;
+
+    private long lastClockUpdates;
+
+    private double lastSimulationTime;
+
+    private long lastWallTime;
+
+    private volatile Snapshot snapshot = new Snapshot(0, 0, 0, 0, Collections.emptyMap());
+
+    /**
+     * Registers a gauge whose value is sampled by the simulation thread whenever a new snapshot is
+     * taken. Registering a gauge under an existing name replaces the existing gauge.
+     * 
+     * @param name
+     *            the name of the gauge, see {@link #sampleName(String, String...)}
+     * @param gauge
+     *            supplies the gauge's current value
+     */
+    public void registerGauge(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Starts exposing telemetry.
+     * 
+     * @param middleware
+     *            the middleware of the simulation to be observed
+     * @param port
+     *            the localhost port to serve telemetry in the Prometheus text format; 0 to disable
+     */
+    public void start(ISimulationMiddleware middleware, int port) {
+        middleware.registerEventHandler(SystemRequestSpawnEvent.class, e -> {
+            liveRequests++;
+            return Registration.KEEP_REGISTERED;
+        }, true);
+        middleware.registerEventHandler(SystemRequestFinishedEvent.class, e -> {
+            liveRequests--;
+            return Registration.KEEP_REGISTERED;
+        }, true);
+        middleware.registerEventHandler(WorkloadUserSpawnEvent.class, e -> {
+            liveUsers++;
+            return Registration.KEEP_REGISTERED;
+        }, true);
+        middleware.registerEventHandler(WorkloadUserFinishedEvent.class, e -> {
+            liveUsers--;
+            return Registration.KEEP_REGISTERED;
+        }, true);
+
+        lastWallTime = System.nanoTime();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                // left over by a previous simulation run
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            logger.warn("Could not register simulation telemetry with JMX", e);
+            objectName = null;
+        }
+        if (port > 0) {
+            try {
+                endpoint = new MetricsEndpoint(port, this::toPrometheusText);
+                endpoint.start();
+                logger.info("Serving simulation telemetry at http://localhost:" + port + "/metrics");
+            } catch (IOException e) {
+                logger.warn("Could not serve simulation telemetry on port " + port, e);
+                endpoint = null;
+            }
+        }
+    }
+
+    /**
+     * Stops exposing telemetry.
+     */
+    public void stop() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                logger.warn("Could not unregister simulation telemetry from JMX", e);
+            }
+            objectName = null;
+        }
+        if (endpoint != null) {
+            endpoint.stop();
+            endpoint = null;
+        }
+    }
+
+    /**
+     * Informs about an update of the simulation clock. Must be invoked by the simulation thread.
+     * 
+     * @param simulationTime
+     *            the current simulation time
+     * @param measurementCount
+     *            the current measurement count
+     */
+    public void onClockUpdate(double simulationTime, long measurementCount) {
+        clockUpdates++;
+        if (throttle.tryAcquire()) {
+            takeSnapshot(simulationTime, measurementCount);
+        }
+    }
+
+    private void takeSnapshot(double simulationTime, long measurementCount) {
+        long wallTime = System.nanoTime();
+        double elapsedSeconds = Math.max(wallTime - lastWallTime, 1) / 1e9;
+        double eventsPerSecond = (clockUpdates - lastClockUpdates) / elapsedSeconds;
+        double timeRatio = (simulationTime - lastSimulationTime) / elapsedSeconds;
+        lastWallTime = wallTime;
+        lastClockUpdates = clockUpdates;
+        lastSimulationTime = simulationTime;
+
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            values.put(gauge.getKey(), gauge.getValue().getAsLong());
+        }
+        snapshot = new Snapshot(measurementCount, simulationTime, eventsPerSecond, timeRatio,
+                Collections.unmodifiableMap(values));
+    }
+
+    @Override
+    public long getMeasurementCount() {
+        return snapshot.measurementCount;
+    }
+
+    @Override
+    public double getSimulationTime() {
+        return snapshot.simulationTime;
+    }
+
+    @Override
+    public double getEventsPerSecond() {
+        return snapshot.eventsPerSecond;
+    }
+
+    @Override
+    public double getSimulationToWallTimeRatio() {
+        return snapshot.timeRatio;
+    }
+
+    @Override
+    public long getLiveRequests() {
+        return liveRequests;
+    }
+
+    @Override
+    public long getLiveUsers() {
+        return liveUsers;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        return snapshot.gauges;
+    }
+
+    /**
+     * @return the latest snapshot in the Prometheus text exposition format
+     */
+    public String toPrometheusText() {
+        Snapshot s = snapshot;
+        StringBuilder b = new StringBuilder();
+        appendSample(b, "eventsim_measurements_total", "counter", s.measurementCount);
+        appendSample(b, "eventsim_simulation_time", "gauge", s.simulationTime);
+        appendSample(b, "eventsim_events_per_second", "gauge", s.eventsPerSecond);
+        appendSample(b, "eventsim_simulation_to_wall_time_ratio", "gauge", s.timeRatio);
+        appendSample(b, "eventsim_live_requests", "gauge", liveRequests);
+        appendSample(b, "eventsim_live_users", "gauge", liveUsers);
+        String lastMetric = null;
+        for (Map.Entry<String, Long> gauge : s.gauges.entrySet()) {
+            String metric = metricOf(gauge.getKey());
+            if (!metric.equals(lastMetric)) {
+                b.append("# TYPE ").append(metric).append(" gauge\n");
+                lastMetric = metric;
+            }
+            b.append(gauge.getKey()).append(' ').append(gauge.getValue()).append('\n');
+        }
+        return b.toString();
+    }
+
+    /**
+     * Builds a sample name in the Prometheus notation, e.g.
+     * {@code eventsim_resource_queue_length{resource="Server [CPU]",instance="0"}}.
+     * 
+     * @param metric
+     *            the metric name
+     * @param labels
+     *            alternating label names and values
+     * @return the sample name
+     */
+    public static String sampleName(String metric, String... labels) {
+        if (labels.length == 0) {
+            return metric;
+        }
+        StringBuilder b = new StringBuilder(metric).append('{');
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) {
+                b.append(',');
+            }
+            String value = labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            b.append(labels[i]).append("=\"").append(value).append('"');
+        }
+        return b.append('}').toString();
+    }
+
+    private static String metricOf(String sampleName) {
+        int labelStart = sampleName.indexOf('{');
+        return labelStart < 0 ? sampleName : sampleName.substring(0, labelStart);
+    }
+
+    private static void appendSample(StringBuilder b, String metric, String type, Object value) {
+        b.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+        b.append(metric).append(' ').append(value).append('\n');
+    }
+
+    private static final class Snapshot {
+
+        private final long measurementCount;
+
+        private final double simulationTime;
+
+        private final double eventsPerSecond;
+
+        private final double timeRatio;
+
+        private final Map<String, Long> gauges;
+
+        public Snapshot(long measurementCount, double simulationTime, double eventsPerSecond, double timeRatio,
+                Map<String, Long> gauges) {
+            this.measurementCount = measurementCount;
+            this.simulationTime = simulationTime;
+            this.eventsPerSecond = eventsPerSecond;
+            this.timeRatio = timeRatio;
+            this.gauges = gauges;
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package edu.kit.ipd.sdq.eventsim.middleware.telemetry;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link SimulationTelemetry}. Values reflect the latest snapshot, which is
+ * refreshed at most once per {@link SimulationTelemetry#UPDATE_INTERVAL_MILLIS}.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public interface SimulationTelemetryMXBean {
+
+    /**
+     * @return the number of measurements (i.e. users simulated completely) so far
+     */
+    long getMeasurementCount();
+
+    /**
+     * @return the current simulation time
+     */
+    double getSimulationTime();
+
+    /**
+     * @return the number of simulation clock updates per wall-clock second, measured over the last
+     *         update interval
+     */
+    double getEventsPerSecond();
+
+    /**
+     * @return the simulated time elapsed per wall-clock second, measured over the last update
+     *         interval
+     */
+    double getSimulationToWallTimeRatio();
+
+    /**
+     * @return the number of system requests spawned, but not yet finished
+     */
+    long getLiveRequests();
+
+    /**
+     * @return the number of users spawned, but not yet finished
+     */
+    long getLiveUsers();
+
+    /**
+     * @return the values of all registered gauges, such as resource queue lengths
+     */
+    Map<String, Long> getGauges();
+
+}
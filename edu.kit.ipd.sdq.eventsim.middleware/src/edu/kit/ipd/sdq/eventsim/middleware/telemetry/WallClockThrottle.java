@@ -0,0 +1,36 @@
+package edu.kit.ipd.sdq.eventsim.middleware.telemetry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate of an action, such as updating a progress display, to once per wall-clock
+ * interval, regardless of how often the triggering event occurs in simulated time.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class WallClockThrottle {
+
+    private final long intervalNanos;
+
+    private long next;
+
+    public WallClockThrottle(long interval, TimeUnit unit) {
+        this.intervalNanos = unit.toNanos(interval);
+        this.next = System.nanoTime();
+    }
+
+    /**
+     * @return {@code true}, if the interval has elapsed since the last time this method returned
+     *         {@code true} (or this throttle has been created); {@code false} else
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        if (now - next < 0) {
+            return false;
+        }
+        next = now + intervalNanos;
+        return true;
+    }
+
+}
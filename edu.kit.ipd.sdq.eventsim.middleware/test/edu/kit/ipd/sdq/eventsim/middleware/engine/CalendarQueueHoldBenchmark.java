@@ -0,0 +1,108 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Compares the {@link CalendarQueue} against a binary heap ({@link PriorityQueue}) by the classic
+ * hold model: the queue is filled with a number of pending events, then each operation dequeues the
+ * earliest event and schedules a successor at an exponentially distributed offset. The number of
+ * pending events thus stays constant, as in a simulation in steady state.
+ * <p>
+ * This is a standalone program rather than a test; run it with
+ * {@code java CalendarQueueHoldBenchmark [pending events] [operations]}. Only the last rounds are
+ * representative, and their figures depend on the JVM and machine, which are therefore printed
+ * along with the results.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class CalendarQueueHoldBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private static final double MEAN_HOLD_TIME = 1.0;
+
+    public static void main(String[] args) {
+        int pending = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+
+        System.out.println(String.format("%s %s, %d processors, %d operations per round",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), operations));
+
+        // the first rounds warm up the JIT compiler
+        for (int round = 1; round <= ROUNDS; round++) {
+            double calendar = holdCalendarQueue(pending, operations);
+            double heap = holdBinaryHeap(pending, operations);
+            System.out.println(String.format("round %d, %d pending events: calendar queue %.0f ns/op, "
+                    + "binary heap %.0f ns/op", round, pending, calendar, heap));
+        }
+    }
+
+    private static double exponential(Random random) {
+        return -MEAN_HOLD_TIME * Math.log(1 - random.nextDouble());
+    }
+
+    /**
+     * @return the average duration of an operation in nanoseconds
+     */
+    private static double holdCalendarQueue(int pending, int operations) {
+        Random random = new Random(42);
+        CalendarQueue queue = new CalendarQueue();
+        for (int i = 0; i < pending; i++) {
+            queue.add(queue.acquire(), exponential(random));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            ScheduledEvent e = queue.pollBatch();
+            double now = e.time;
+            while (e != null) {
+                ScheduledEvent next = e.next;
+                queue.release(e);
+                queue.add(queue.acquire(), now + exponential(random));
+                e = next;
+            }
+        }
+        return (double) (System.nanoTime() - start) / operations;
+    }
+
+    /**
+     * @return the average duration of an operation in nanoseconds
+     */
+    private static double holdBinaryHeap(int pending, int operations) {
+        Random random = new Random(42);
+        PriorityQueue<HeapEntry> queue = new PriorityQueue<>();
+        long sequence = 0;
+        for (int i = 0; i < pending; i++) {
+            queue.add(new HeapEntry(exponential(random), sequence++));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            HeapEntry e = queue.poll();
+            // allocating entries corresponds to the event objects scheduled by the preferred engine
+            queue.add(new HeapEntry(e.time + exponential(random), sequence++));
+        }
+        return (double) (System.nanoTime() - start) / operations;
+    }
+
+    private static final class HeapEntry implements Comparable<HeapEntry> {
+
+        private final double time;
+
+        private final long sequence;
+
+        public HeapEntry(double time, long sequence) {
+            this.time = time;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(HeapEntry o) {
+            int result = Double.compare(time, o.time);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+
+    }
+
+}
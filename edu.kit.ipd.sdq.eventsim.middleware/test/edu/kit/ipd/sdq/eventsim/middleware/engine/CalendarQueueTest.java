@@ -0,0 +1,206 @@
+package edu.kit.ipd.sdq.eventsim.middleware.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link CalendarQueue}.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class CalendarQueueTest {
+
+    private CalendarQueue queue;
+
+    @Before
+    public void init() {
+        queue = new CalendarQueue();
+    }
+
+    private ScheduledEvent add(double time) {
+        ScheduledEvent e = queue.acquire();
+        queue.add(e, time);
+        return e;
+    }
+
+    /**
+     * @return all events dequeued batch by batch, in the order they have been dequeued
+     */
+    private List<ScheduledEvent> drain() {
+        List<ScheduledEvent> events = new ArrayList<>();
+        ScheduledEvent batch;
+        while ((batch = queue.pollBatch()) != null) {
+            while (batch != null) {
+                ScheduledEvent next = batch.next;
+                if (next != null) {
+                    assertEquals("a batch comprises events with equal time", batch.time, next.time, 0);
+                }
+                events.add(batch);
+                batch = next;
+            }
+        }
+        return events;
+    }
+
+    @Test
+    public void dequeuesEventsInTimeOrder() {
+        Random random = new Random(42);
+        double[] times = new double[10_000];
+        for (int i = 0; i < times.length; i++) {
+            // a mixture of close and far events
+            times[i] = random.nextBoolean() ? random.nextDouble() : 1000 * random.nextDouble();
+            add(times[i]);
+        }
+        Arrays.sort(times);
+
+        List<ScheduledEvent> events = drain();
+        assertEquals(times.length, events.size());
+        for (int i = 0; i < times.length; i++) {
+            assertEquals(times[i], events.get(i).time, 0);
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void dequeuesEventsInTimeOrderWhileScheduling() {
+        // hold model: each dequeued event schedules a successor in the future
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            add(random.nextDouble() * 10);
+        }
+        double last = 0;
+        for (int i = 0; i < 100_000; i++) {
+            ScheduledEvent e = queue.pollBatch();
+            assertTrue(e.time >= last);
+            last = e.time;
+            while (e != null) {
+                ScheduledEvent next = e.next;
+                queue.release(e);
+                add(last + random.nextDouble() * 10);
+                e = next;
+            }
+        }
+        assertEquals(1000, queue.size());
+    }
+
+    @Test
+    public void dequeuesEventsWithEqualTimeInSchedulingOrder() {
+        List<ScheduledEvent> expected = new ArrayList<>();
+        add(2);
+        expected.add(add(1));
+        add(0.5);
+        expected.add(add(1));
+        add(3);
+        expected.add(add(1));
+
+        assertEquals(0.5, queue.pollBatch().time, 0);
+        ScheduledEvent batch = queue.pollBatch();
+        for (ScheduledEvent e : expected) {
+            assertSame(e, batch);
+            batch = batch.next;
+        }
+        assertNull(batch);
+        assertEquals(2, queue.pollBatch().time, 0);
+    }
+
+    @Test
+    public void preservesOrderAcrossResize() {
+        int initialBuckets = queue.bucketCount();
+        List<ScheduledEvent> at7 = new ArrayList<>();
+        List<ScheduledEvent> at42 = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // events with equal time in two buckets, interleaved with distinct ones
+            if (i % 2 == 0) {
+                at7.add(add(7));
+            } else {
+                at42.add(add(42));
+            }
+            add(i + 0.5);
+        }
+        assertTrue(queue.bucketCount() > initialBuckets);
+
+        List<ScheduledEvent> events = drain();
+        assertEquals(200, events.size());
+        List<ScheduledEvent> equalTime = new ArrayList<>();
+        for (ScheduledEvent e : events) {
+            if (e.time == 7 || e.time == 42) {
+                equalTime.add(e);
+            }
+        }
+        List<ScheduledEvent> expected = new ArrayList<>(at7);
+        expected.addAll(at42);
+        assertEquals(expected, equalTime);
+        assertEquals("shrinks when drained", initialBuckets, queue.bucketCount());
+    }
+
+    @Test
+    public void adaptsBucketWidthOnResize() {
+        // more than twice the initial number of buckets, spaced 0.5 apart
+        int events = 2 * queue.bucketCount() + 1;
+        for (int i = 0; i < events; i++) {
+            add(0.5 * i);
+        }
+        assertEquals(events - 1, queue.bucketCount());
+        assertEquals(1.5, queue.width(), 1e-9);
+    }
+
+    @Test
+    public void estimatesWidthFromEarliestEvents() {
+        for (int i = 0; i < 10; i++) {
+            add(2 * i);
+        }
+        add(1000);
+        assertEquals(6, queue.estimateWidth(), 1e-9);
+    }
+
+    @Test
+    public void estimatesWidthIgnoringOutlyingSpacings() {
+        for (int i = 0; i < 12; i++) {
+            add(0.5 * i);
+            add(100 + 0.5 * i);
+        }
+        assertEquals(1.5, queue.estimateWidth(), 1e-9);
+    }
+
+    @Test
+    public void keepsWidthIfEventsCannotBeSpaced() {
+        double width = queue.width();
+        add(5);
+        assertEquals(width, queue.estimateWidth(), 0);
+        add(5);
+        add(5);
+        assertEquals(width, queue.estimateWidth(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEventsBeforeCurrentTime() {
+        add(5);
+        queue.pollBatch();
+        add(4);
+    }
+
+    @Test
+    public void reusesReleasedEntries() {
+        ScheduledEvent e = add(1);
+        int generation = e.generation;
+        assertSame(e, queue.pollBatch());
+        queue.release(e);
+
+        assertSame(e, queue.acquire());
+        assertEquals(generation + 1, e.generation);
+        assertNull(e.owner);
+        assertNull(e.callback);
+    }
+
+}
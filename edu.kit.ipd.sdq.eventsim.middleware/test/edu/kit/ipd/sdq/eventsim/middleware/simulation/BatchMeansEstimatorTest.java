@@ -0,0 +1,97 @@
+package edu.kit.ipd.sdq.eventsim.middleware.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BatchMeansEstimator} against direct computations and statistical tables.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class BatchMeansEstimatorTest {
+
+    @Test
+    public void normalQuantileMatchesTable() {
+        assertEquals(0, BatchMeansEstimator.normalQuantile(0.5), 1e-9);
+        assertEquals(1.959964, BatchMeansEstimator.normalQuantile(0.975), 1e-6);
+        assertEquals(-2.326348, BatchMeansEstimator.normalQuantile(0.01), 1e-6);
+        assertEquals(3.090232, BatchMeansEstimator.normalQuantile(0.999), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void normalQuantileRejectsProbabilityOutOfRange() {
+        BatchMeansEstimator.normalQuantile(1);
+    }
+
+    @Test
+    public void studentTQuantileMatchesTableFromTenDegreesOfFreedom() {
+        assertEquals(2.228, BatchMeansEstimator.studentTQuantile(0.975, 10), 1e-3);
+        assertEquals(1.812, BatchMeansEstimator.studentTQuantile(0.95, 10), 1e-3);
+        assertEquals(2.086, BatchMeansEstimator.studentTQuantile(0.975, 20), 1e-3);
+        assertEquals(2.000, BatchMeansEstimator.studentTQuantile(0.975, 60), 1e-3);
+        assertEquals(2.617, BatchMeansEstimator.studentTQuantile(0.995, 120), 1e-3);
+    }
+
+    @Test
+    public void groupsObservationsIntoBatches() {
+        BatchMeansEstimator estimator = new BatchMeansEstimator(3);
+        for (int i = 0; i < 7; i++) {
+            estimator.add(i);
+        }
+        assertEquals(7, estimator.getObservationCount());
+        assertEquals(2, estimator.getBatchCount());
+        // batch means 1 and 4; the incomplete batch is not taken into account
+        assertEquals(2.5, estimator.getMean(), 1e-12);
+    }
+
+    @Test
+    public void halfWidthIsUndefinedBeforeSecondBatch() {
+        BatchMeansEstimator estimator = new BatchMeansEstimator(2);
+        assertTrue(Double.isNaN(estimator.getMean()));
+        estimator.add(1);
+        estimator.add(2);
+        assertEquals(1.5, estimator.getMean(), 1e-12);
+        assertTrue(Double.isNaN(estimator.getHalfWidth(0.95)));
+    }
+
+    @Test
+    public void halfWidthMatchesDirectComputation() {
+        final int batchSize = 5;
+        final int batches = 40;
+        Random random = new Random(42);
+        BatchMeansEstimator estimator = new BatchMeansEstimator(batchSize);
+        double[] batchMeans = new double[batches];
+        for (int b = 0; b < batches; b++) {
+            for (int i = 0; i < batchSize; i++) {
+                double x = 10 + random.nextGaussian();
+                estimator.add(x);
+                batchMeans[b] += x / batchSize;
+            }
+        }
+
+        double mean = 0;
+        for (double m : batchMeans) {
+            mean += m / batches;
+        }
+        double variance = 0;
+        for (double m : batchMeans) {
+            variance += (m - mean) * (m - mean) / (batches - 1);
+        }
+        double halfWidth = BatchMeansEstimator.studentTQuantile(0.975, batches - 1) * Math.sqrt(variance / batches);
+
+        assertEquals(mean, estimator.getMean(), 1e-9);
+        assertEquals(halfWidth, estimator.getHalfWidth(0.95), 1e-9);
+        assertEquals(halfWidth / mean, estimator.getRelativeHalfWidth(0.95), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyBatches() {
+        new BatchMeansEstimator(0);
+    }
+
+}
@@ -0,0 +1,63 @@
+package edu.kit.ipd.sdq.eventsim.middleware.simulation;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
+
+/**
+ * Tests {@link ConfidenceIntervalStopCondition}.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class ConfidenceIntervalStopConditionTest {
+
+    private static final int BATCH_SIZE = 4;
+
+    @Test
+    public void doesNotHoldBeforeMinimumBatches() {
+        ConfidenceIntervalStopCondition condition = new ConfidenceIntervalStopCondition(0.05, 0.95, BATCH_SIZE,
+                "metric");
+        for (int i = 0; i < ConfidenceIntervalStopCondition.MIN_BATCHES * BATCH_SIZE - 1; i++) {
+            condition.accept(1);
+            assertFalse(condition.check());
+        }
+        condition.accept(1);
+        assertTrue(condition.check());
+    }
+
+    @Test
+    public void holdsOnceTargetPrecisionIsReached() {
+        ConfidenceIntervalStopCondition condition = new ConfidenceIntervalStopCondition(0.05, 0.95, 1, "metric");
+        // batch means alternate between 9 and 11, so the relative half-width shrinks with 1/sqrt(n)
+        int observations = 0;
+        while (!condition.check()) {
+            condition.accept(observations % 2 == 0 ? 9 : 11);
+            observations++;
+            assertTrue("condition should have held by now", observations < 1000);
+        }
+        assertTrue(condition.getAchievedPrecision() <= 0.05);
+        // for n batches, the relative half-width is about 2 / (10 * sqrt(n)), i.e. n is close to 16
+        assertTrue(observations > 15 && observations < 20);
+    }
+
+    @Test
+    public void keepsHoldingOnceSatisfied() {
+        ConfidenceIntervalStopCondition condition = new ConfidenceIntervalStopCondition(0.05, 0.95, 1, "metric");
+        for (int i = 0; i < ConfidenceIntervalStopCondition.MIN_BATCHES; i++) {
+            condition.accept(1);
+        }
+        assertTrue(condition.check());
+        condition.accept(1000);
+        assertTrue(condition.check());
+    }
+
+    @Test(expected = EventSimException.class)
+    public void rejectsInvalidConfidenceLevel() {
+        new ConfidenceIntervalStopCondition(0.05, 1, BATCH_SIZE, "metric");
+    }
+
+}
@@ -93,7 +93,8 @@ public class ActiveResourceRegistry {
      *             the requested type
      */
     public SimActiveResource findOrCreateResource(ResourceContainer resourceContainer, ResourceType resourceType) {
-        if (!containerToResourceMap.containsKey(compoundKey(resourceContainer, resourceType))) {
+        SimActiveResource resource = containerToResourceMap.get(compoundKey(resourceContainer, resourceType));
+        if (resource == null) {
             ProcessingResourceSpecification foundResourceSpecification = null;
             for (ProcessingResourceSpecification spec : resourceContainer
                     .getActiveResourceSpecifications_ResourceContainer()) {
@@ -110,13 +111,13 @@ public class ActiveResourceRegistry {
             }
 
             // create and register the resource
-            SimActiveResource resource = resourceFactory.createActiveResource(foundResourceSpecification);
+            resource = resourceFactory.createActiveResource(foundResourceSpecification);
             registerResource(resourceContainer, resourceType, resource);
 
             logger.info(String.format("Created %s resource with %s scheduling at %s", resourceType.getEntityName(),
                     resource.getSchedulingStrategy().getEntityName(), PCMEntityHelper.toString(resourceContainer)));
         }
-        return containerToResourceMap.get(compoundKey(resourceContainer, resourceType));
+        return resource;
     }
     
     private String compoundKey(ResourceContainer specification, ResourceType resourceType) {
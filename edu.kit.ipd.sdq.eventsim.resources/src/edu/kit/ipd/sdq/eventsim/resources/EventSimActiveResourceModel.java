@@ -20,9 +20,11 @@ import edu.kit.ipd.sdq.eventsim.api.IRequest;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
 import edu.kit.ipd.sdq.eventsim.api.PCMModel;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationPrepareEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationStopEvent;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.core.InstrumentationDescription;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.resource.ActiveResourceRep;
 import edu.kit.ipd.sdq.eventsim.instrumentation.injection.Instrumentor;
@@ -30,6 +32,8 @@ import edu.kit.ipd.sdq.eventsim.instrumentation.injection.InstrumentorBuilder;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementFacade;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.osgi.BundleProbeLocator;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.middleware.telemetry.SimulationTelemetry;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimActiveResource;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimulatedProcess;
 
@@ -45,6 +49,9 @@ public class EventSimActiveResourceModel implements IActiveResource {
     @Inject
     private MeasurementStorage measurementStorage;
 
+    @Inject
+    private RecordDictionary recordDictionary;
+
     @Inject
     private PCMModel pcm;
 
@@ -59,6 +66,9 @@ public class EventSimActiveResourceModel implements IActiveResource {
     @Inject
     private ActiveResourceRegistry resourceRegistry;
 
+    @Inject
+    private SimulationTelemetry telemetry;
+
     @Inject
     public EventSimActiveResourceModel(ISimulationMiddleware middleware) {
         // initialize in simulation preparation phase
@@ -77,7 +87,8 @@ public class EventSimActiveResourceModel implements IActiveResource {
     public void init() {
         // setup measurement facade
         Bundle bundle = Activator.getContext().getBundle();
-        measurementFacade = new MeasurementFacade<>(new ResourceProbeConfiguration(), new BundleProbeLocator<>(bundle));
+        measurementFacade = new MeasurementFacade<>(new ResourceProbeConfiguration(), new BundleProbeLocator<>(bundle),
+                recordDictionary);
 
         // add hints for extracting IDs and names
         measurementStorage.addIdExtractor(SimActiveResource.class, c -> ((SimActiveResource) c).getId());
@@ -85,6 +96,7 @@ public class EventSimActiveResourceModel implements IActiveResource {
         measurementStorage.addIdExtractor(SimulatedProcess.class,
                 c -> Long.toString(((SimulatedProcess) c).getEntityId()));
         measurementStorage.addNameExtractor(SimulatedProcess.class, c -> ((SimulatedProcess) c).getName());
+        recordDictionary.addWhoIdExtractor(SimulatedProcess.class, c -> ((SimulatedProcess) c).getEntityId());
 
         // create instrumentor for instrumentation description
         instrumentor = InstrumentorBuilder.buildFor(pcm).inBundle(Activator.getContext().getBundle())
@@ -97,6 +109,14 @@ public class EventSimActiveResourceModel implements IActiveResource {
         resourceRegistry.addResourceRegistrationListener(resource -> {
             // create probes and calculators (if requested by instrumentation description)
             instrumentor.instrument(resource);
+
+            // expose queue lengths as telemetry (sampled only if telemetry is enabled)
+            for (int i = 0; i < resource.getNumberOfInstances(); i++) {
+                final int instance = i;
+                telemetry.registerGauge(SimulationTelemetry.sampleName("eventsim_resource_queue_length", "resource",
+                        resource.getName(), "instance", Integer.toString(instance)),
+                        () -> resource.getQueueLength(instance));
+            }
         });
     }
 
@@ -113,6 +133,21 @@ public class EventSimActiveResourceModel implements IActiveResource {
                 resourceServiceID, onServedCallback);
     }
 
+    @Override
+    public ResourceHandle resolve(ResourceContainer resourceContainer, ResourceType resourceType) {
+        return resourceRegistry.findOrCreateResource(resourceContainer, resourceType);
+    }
+
+    @Override
+    public void consume(IRequest request, ResourceHandle resource, double absoluteDemand, int resourceServiceID,
+            Procedure onServedCallback) {
+        if (!(resource instanceof SimActiveResource)) {
+            throw new EventSimException("Not a handle of an active resource: " + resource);
+        }
+        ((SimActiveResource) resource).consumeResource(processRegistry.getOrCreateSimulatedProcess(request),
+                absoluteDemand, resourceServiceID, onServedCallback);
+    }
+
     public void finalise() {
         resourceRegistry.finalise();
 
@@ -13,9 +13,11 @@ import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
 import edu.kit.ipd.sdq.eventsim.api.PCMModel;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationPrepareEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationStopEvent;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.core.InstrumentationDescription;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.resource.LinkingResourceRep;
 import edu.kit.ipd.sdq.eventsim.instrumentation.injection.Instrumentor;
@@ -23,6 +25,7 @@ import edu.kit.ipd.sdq.eventsim.instrumentation.injection.InstrumentorBuilder;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementFacade;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.osgi.BundleProbeLocator;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimLinkingResource;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimulatedProcess;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
@@ -41,6 +44,9 @@ public class EventSimLinkingResourceModel implements ILinkingResource {
     @Inject
     private MeasurementStorage measurementStorage;
 
+    @Inject
+    private RecordDictionary recordDictionary;
+
     @Inject
     private InstrumentationDescription instrumentation;
 
@@ -71,7 +77,7 @@ public class EventSimLinkingResourceModel implements ILinkingResource {
         // setup measurement facade
         Bundle bundle = Activator.getContext().getBundle();
         MeasurementFacade<ResourceProbeConfiguration> measurementFacade = new MeasurementFacade<>(
-                new ResourceProbeConfiguration(), new BundleProbeLocator<>(bundle));
+                new ResourceProbeConfiguration(), new BundleProbeLocator<>(bundle), recordDictionary);
 
         // add hints for extracting IDs and names
         measurementStorage.addIdExtractor(SimLinkingResource.class, c -> ((SimLinkingResource) c).getId());
@@ -79,6 +85,7 @@ public class EventSimLinkingResourceModel implements ILinkingResource {
         measurementStorage.addIdExtractor(SimulatedProcess.class,
                 c -> Long.toString(((SimulatedProcess) c).getEntityId()));
         measurementStorage.addNameExtractor(SimulatedProcess.class, c -> ((SimulatedProcess) c).getName());
+        recordDictionary.addWhoIdExtractor(SimulatedProcess.class, c -> ((SimulatedProcess) c).getEntityId());
 
         // create instrumentor for instrumentation description
         Instrumentor<SimLinkingResource, ?> instrumentor = InstrumentorBuilder.buildFor(pcm)
@@ -121,4 +128,20 @@ public class EventSimLinkingResourceModel implements ILinkingResource {
 
     }
 
+    @Override
+    public ResourceHandle resolve(LinkingResource specification) {
+        return resourceRegistry.findOrCreateResource(specification);
+    }
+
+    @Override
+    public void consume(IRequest request, ResourceHandle resource, double absoluteDemand,
+            Procedure onServedCallback) {
+        if (!(resource instanceof SimLinkingResource)) {
+            throw new EventSimException("Not a handle of a linking resource: " + resource);
+        }
+        int resourceServiceID = 1; // TODO
+        ((SimLinkingResource) resource).consumeResource(processRegistry.getOrCreateSimulatedProcess(request),
+                absoluteDemand, resourceServiceID, onServedCallback);
+    }
+
 }
@@ -12,9 +12,11 @@ import edu.kit.ipd.sdq.eventsim.api.IRequest;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
 import edu.kit.ipd.sdq.eventsim.api.PCMModel;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationPrepareEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationStopEvent;
+import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.core.InstrumentationDescription;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.resource.PassiveResourceRep;
 import edu.kit.ipd.sdq.eventsim.instrumentation.injection.Instrumentor;
@@ -22,6 +24,7 @@ import edu.kit.ipd.sdq.eventsim.instrumentation.injection.InstrumentorBuilder;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementFacade;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.osgi.BundleProbeLocator;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimPassiveResource;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimulatedProcess;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
@@ -34,6 +37,9 @@ public class EventSimPassiveResourceModel implements IPassiveResource {
     @Inject
     private MeasurementStorage measurementStorage;
 
+    @Inject
+    private RecordDictionary recordDictionary;
+
     @Inject
     private PCMModel pcm;
 
@@ -65,12 +71,14 @@ public class EventSimPassiveResourceModel implements IPassiveResource {
     public void init() {
         // setup measurement facade
         Bundle bundle = Activator.getContext().getBundle();
-        measurementFacade = new MeasurementFacade<>(new ResourceProbeConfiguration(), new BundleProbeLocator<>(bundle));
+        measurementFacade = new MeasurementFacade<>(new ResourceProbeConfiguration(), new BundleProbeLocator<>(bundle),
+                recordDictionary);
 
         // add hints for extracting IDs and names
         measurementStorage.addIdExtractor(SimPassiveResource.class,
                 c -> ((SimPassiveResource) c).getSpecification().getId());
         measurementStorage.addNameExtractor(SimPassiveResource.class, c -> ((SimPassiveResource) c).getName());
+        recordDictionary.addWhoIdExtractor(SimulatedProcess.class, c -> ((SimulatedProcess) c).getEntityId());
 
         // create instrumentor for instrumentation description
         instrumentor = InstrumentorBuilder.buildFor(pcm).inBundle(Activator.getContext().getBundle())
@@ -102,6 +110,29 @@ public class EventSimPassiveResourceModel implements IPassiveResource {
         res.release(processRegistry.getOrCreateSimulatedProcess(request), 1);
     }
 
+    @Override
+    public ResourceHandle resolve(AssemblyContext assCtx, PassiveResource specification) {
+        return getPassiveResource(specification, assCtx);
+    }
+
+    @Override
+    public void acquire(IRequest request, ResourceHandle resource, int num, Procedure onGrantedCallback) {
+        SimulatedProcess process = processRegistry.getOrCreateSimulatedProcess(request);
+        toPassiveResource(resource).acquire(process, num, false, -1, onGrantedCallback);
+    }
+
+    @Override
+    public void release(IRequest request, ResourceHandle resource, int num) {
+        toPassiveResource(resource).release(processRegistry.getOrCreateSimulatedProcess(request), 1);
+    }
+
+    private static SimPassiveResource toPassiveResource(ResourceHandle resource) {
+        if (!(resource instanceof SimPassiveResource)) {
+            throw new EventSimException("Not a handle of a passive resource: " + resource);
+        }
+        return (SimPassiveResource) resource;
+    }
+
     /**
      * @param specification
      *            the passive resource specification
@@ -2,7 +2,6 @@ package edu.kit.ipd.sdq.eventsim.resources;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
-import com.google.inject.assistedinject.FactoryModuleBuilder;
 
 import de.uka.ipd.sdq.scheduler.ISchedulingFactory;
 import de.uka.ipd.sdq.scheduler.SchedulerModel;
@@ -10,13 +9,14 @@ import edu.kit.ipd.sdq.eventsim.api.IActiveResource;
 import edu.kit.ipd.sdq.eventsim.api.ILinkingResource;
 import edu.kit.ipd.sdq.eventsim.api.IPassiveResource;
 import edu.kit.ipd.sdq.eventsim.middleware.simulation.SimulationModel;
+import edu.kit.ipd.sdq.eventsim.resources.entities.DefaultSimResourceFactory;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimResourceFactory;
 
 public class EventSimResourceModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        install(new FactoryModuleBuilder().build(SimResourceFactory.class));
+        bind(SimResourceFactory.class).to(DefaultSimResourceFactory.class);
 
         bind(IActiveResource.class).to(EventSimActiveResourceModel.class).asEagerSingleton();
         bind(IPassiveResource.class).to(EventSimPassiveResourceModel.class).asEagerSingleton();
@@ -42,9 +42,10 @@ public class LinkingResourceRegistry {
     }
 
     public SimLinkingResource findOrCreateResource(LinkingResource specification) {
-        if (!resourceMap.containsKey(specification)) {
+        SimLinkingResource resource = resourceMap.get(specification);
+        if (resource == null) {
             // create linking resource
-            SimLinkingResource resource = resourceFactory.createLinkingResource(specification);
+            resource = resourceFactory.createLinkingResource(specification);
 
             // register the created passive resource
             resourceMap.put(specification, resource);
@@ -53,7 +54,7 @@ public class LinkingResourceRegistry {
 
             notifyRegistrationListeners(resource);
         }
-        return resourceMap.get(specification);
+        return resource;
     }
 
 }
@@ -51,9 +51,10 @@ public class PassiveResourceRegistry {
      * @return the resource of the specified type, if there is one; null else
      */
     public SimPassiveResource findOrCreateResource(PassiveResource specification, AssemblyContext assCtx) {
-        if (!contextToResourceMap.containsKey(compoundKey(assCtx, specification))) {
+        SimPassiveResource resource = contextToResourceMap.get(compoundKey(assCtx, specification));
+        if (resource == null) {
             // create passive resource
-            SimPassiveResource resource = resourceFactory.createPassiveResource(specification, assCtx);
+            resource = resourceFactory.createPassiveResource(specification, assCtx);
 
             // register the created passive resource
             contextToResourceMap.put(compoundKey(assCtx, specification), resource);
@@ -63,7 +64,7 @@ public class PassiveResourceRegistry {
 
             notifyRegistrationListeners(resource);
         }
-        return contextToResourceMap.get(compoundKey(assCtx, specification));
+        return resource;
     }
 
     private String compoundKey(AssemblyContext specification, PassiveResource resource) {
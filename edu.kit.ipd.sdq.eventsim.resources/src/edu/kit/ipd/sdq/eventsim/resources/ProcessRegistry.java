@@ -1,6 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.resources;
 
-import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -9,13 +10,20 @@ import com.google.inject.Singleton;
 
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.api.IRequest;
+import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
 import edu.kit.ipd.sdq.eventsim.entities.IEntityListener;
+import edu.kit.ipd.sdq.eventsim.interpreter.TraversalTrampoline;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimulatedProcess;
 
 /**
  * A registry that maps {@link IRequest}s to {@link SimulatedProcess}es. Assumes a one-to-one
  * relation between requests and simulated processes.
+ * <p>
+ * If entity pooling is enabled (see {@link ISimulationConfiguration#isEntityPooling()}), simulated
+ * processes are recycled, together with their {@link RequestFinishedHandler}, once their request
+ * has left the system. Processes having a parent or child process are never recycled.
  * 
  * @author Philipp Merkle
  *
@@ -25,11 +33,24 @@ public class ProcessRegistry {
 
     private Map<IRequest, SimulatedProcess> requestToSimulatedProcessMap;
 
+    private final Deque<RequestFinishedHandler> released;
+
+    private final boolean pooling;
+
     @Inject
     private ISimulationModel model;
 
-    public ProcessRegistry() {
+    @Inject
+    private RecordDictionary recordDictionary;
+
+    @Inject
+    private TraversalTrampoline trampoline;
+
+    @Inject
+    public ProcessRegistry(ISimulationConfiguration configuration) {
         requestToSimulatedProcessMap = new WeakHashMap<>();
+        released = new ArrayDeque<>();
+        pooling = configuration.isEntityPooling();
     }
 
     /**
@@ -39,20 +60,34 @@ public class ProcessRegistry {
      * @return the simulated process
      */
     public SimulatedProcess getOrCreateSimulatedProcess(IRequest request) {
-        if (!requestToSimulatedProcessMap.containsKey(request)) {
+        SimulatedProcess process = requestToSimulatedProcessMap.get(request);
+        if (process == null) {
             SimulatedProcess parent = null;
             if (request.getParent() != null) {
                 parent = getOrCreateSimulatedProcess(request.getParent());
             }
-            SimulatedProcess process = new SimulatedProcess(model, parent, request);
+
+            RequestFinishedHandler handler = parent == null ? released.pollLast() : null;
+            if (handler != null) {
+                process = handler.process;
+                process.recycle(parent, request);
+            } else {
+                process = new SimulatedProcess(model, parent, request);
+                handler = new RequestFinishedHandler(process);
+            }
+            if (parent != null) {
+                // the child may outlive its parent and keeps referencing it
+                parent.preventRecycling();
+                process.preventRecycling();
+            }
 
             // add listener for request finish
             EventSimEntity requestEntity = (EventSimEntity) request;
-            requestEntity.addEntityListener(new RequestFinishedHandler(process));
+            requestEntity.addEntityListener(handler);
 
             requestToSimulatedProcessMap.put(request, process);
         }
-        return requestToSimulatedProcessMap.get(request);
+        return process;
     }
 
     /**
@@ -63,10 +98,10 @@ public class ProcessRegistry {
      */
     private class RequestFinishedHandler implements IEntityListener {
 
-        private WeakReference<SimulatedProcess> process;
+        private final SimulatedProcess process;
 
         public RequestFinishedHandler(SimulatedProcess process) {
-            this.process = new WeakReference<SimulatedProcess>(process);
+            this.process = process;
         }
 
         @Override
@@ -76,8 +111,17 @@ public class ProcessRegistry {
 
         @Override
         public void leftSystem() {
-            process.get().terminate();
-            requestToSimulatedProcessMap.remove(process.get().getRequest());
+            process.terminate();
+            // evict before recycling changes the process' id
+            recordDictionary.evict(process);
+            requestToSimulatedProcessMap.remove(process.getRequest());
+            if (pooling && process.isRecyclable()) {
+                // like the request, the process is recycled only once the traversal has unwound
+                trampoline.executeAfterTraversal(() -> {
+                    process.release();
+                    released.addLast(this);
+                });
+            }
         }
 
     }
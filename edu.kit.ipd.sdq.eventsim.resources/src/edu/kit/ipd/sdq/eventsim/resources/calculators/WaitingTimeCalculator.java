@@ -11,6 +11,7 @@ import edu.kit.ipd.sdq.eventsim.measurement.annotation.Calculator;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.ProbePair;
 import edu.kit.ipd.sdq.eventsim.measurement.calculator.AbstractBinaryCalculator;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.TriggeredRecordListener;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimPassiveResource;
 import edu.kit.ipd.sdq.eventsim.resources.entities.SimulatedProcess;
 
@@ -23,22 +24,25 @@ public class WaitingTimeCalculator extends AbstractBinaryCalculator<SimPassiveRe
 	@Override
 	public void setup(IProbe<SimPassiveResource> fromProbe, IProbe<SimPassiveResource> toProbe) {
 		fromProbe.enableCaching();
-		toProbe.forEachMeasurement(m -> {
+		AssemblyContext assemblyCtx = fromProbe.getMeasuringPoint().getElement().getAssemblyContext();
+		MeasuringPoint<Pair<SimPassiveResource, SimPassiveResource>> mp = new MeasuringPointPair<>(
+				fromProbe.getMeasuringPoint(), toProbe.getMeasuringPoint(), "waiting_time", assemblyCtx);
+		toProbe.forEachRecord((TriggeredRecordListener) (metricId, measuringPointId, who, whoId, value, when) -> {
 			// find "from"-measurement
-			SimulatedProcess process = (SimulatedProcess) m.getWho();
-			Measurement<SimPassiveResource> fromMeasurement = null;
+			SimulatedProcess process = (SimulatedProcess) who;
+			double from = Double.NaN;
 			do {
-				fromMeasurement = fromProbe.getLastMeasurementOf(process);
+				from = fromProbe.getLastValueOf(process);
 				process = process.getParent();
-			} while (fromMeasurement == null && process != null);
+			} while (Double.isNaN(from) && process != null);
 
-			if (fromMeasurement != null) {
-				notify(calculate(fromMeasurement, m));
+			if (!Double.isNaN(from)) {
+				measure("WAITING_TIME", mp, who, value - from, when);
 			} else {
 				// TODO improve warning, give hits on how to resolve this
 				// problem
 				log.warn(String.format("Could not find last measurement triggered by %s or a parent request. "
-						+ "Skipping calculation.", m.getWho()));
+						+ "Skipping calculation.", who));
 			}
 		});
 
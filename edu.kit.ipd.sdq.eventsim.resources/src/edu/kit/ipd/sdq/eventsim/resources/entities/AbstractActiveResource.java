@@ -16,11 +16,12 @@ import de.uka.ipd.sdq.scheduler.ISchedulableProcess;
 import de.uka.ipd.sdq.scheduler.sensors.IActiveResourceStateSensor;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
 import edu.kit.ipd.sdq.eventsim.resources.listener.IDemandListener;
 import edu.kit.ipd.sdq.eventsim.resources.listener.IStateListener;
 
-public abstract class AbstractActiveResource extends EventSimEntity {
+public abstract class AbstractActiveResource extends EventSimEntity implements ResourceHandle {
 
     private static final Logger logger = Logger.getLogger(AbstractActiveResource.class);
 
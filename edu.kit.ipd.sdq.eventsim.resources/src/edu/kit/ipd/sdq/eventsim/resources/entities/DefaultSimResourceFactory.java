@@ -0,0 +1,64 @@
+package edu.kit.ipd.sdq.eventsim.resources.entities;
+
+import org.palladiosimulator.pcm.repository.PassiveResource;
+import org.palladiosimulator.pcm.resourceenvironment.HDDProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourcetype.SchedulingPolicy;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import de.uka.ipd.sdq.scheduler.IActiveResource;
+import de.uka.ipd.sdq.scheduler.IPassiveResource;
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
+
+/**
+ * Creates simulated resources by plain constructor calls, with the simulation model and StoEx
+ * compiler injected once into this factory.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+@Singleton
+public class DefaultSimResourceFactory implements SimResourceFactory {
+
+    private final ISimulationModel model;
+
+    private final StoExCompiler compiler;
+
+    @Inject
+    public DefaultSimResourceFactory(ISimulationModel model, StoExCompiler compiler) {
+        this.model = model;
+        this.compiler = compiler;
+    }
+
+    @Override
+    public SimActiveResource createActiveResource(IActiveResource resource, String processingRate,
+            int numberOfInstances, SchedulingPolicy schedulingPolicy, ProcessingResourceSpecification specification) {
+        return new SimActiveResource(model, compiler, resource, processingRate, numberOfInstances, schedulingPolicy,
+                specification);
+    }
+
+    @Override
+    public SimHDDActiveResource createActiveHDDResource(IActiveResource resource, String processingRate,
+            int numberOfInstances, SchedulingPolicy schedulingStrategy,
+            HDDProcessingResourceSpecification specification, String writeProcessingRate, String readProcessingRate) {
+        return new SimHDDActiveResource(model, compiler, resource, processingRate, numberOfInstances, schedulingStrategy,
+                specification, writeProcessingRate, readProcessingRate);
+    }
+
+    @Override
+    public SimLinkingResource createLinkingResource(IActiveResource resource, String latencySpecification,
+            String throughputSpecification, LinkingResource specification) {
+        return new SimLinkingResource(model, compiler, resource, latencySpecification, throughputSpecification,
+                specification);
+    }
+
+    @Override
+    public SimPassiveResource createPassiveResource(IPassiveResource resource, PassiveResource specification) {
+        return new SimPassiveResource(model, resource, specification);
+    }
+
+}
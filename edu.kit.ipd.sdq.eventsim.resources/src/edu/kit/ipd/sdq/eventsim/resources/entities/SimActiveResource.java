@@ -10,8 +10,9 @@ import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
 import de.uka.ipd.sdq.scheduler.IActiveResource;
-import de.uka.ipd.sdq.simucomframework.Context;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 
 /**
  * An active resource can process demands of {@link Request}s.
@@ -21,7 +22,7 @@ import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
  */
 public class SimActiveResource extends AbstractActiveResource {
 
-    private String processingRate;
+    private CompiledExpression processingRate;
 
     private ProcessingResourceSpecification specification;
 
@@ -30,6 +31,8 @@ public class SimActiveResource extends AbstractActiveResource {
      * 
      * @param model
      *            the simulation model
+     * @param compiler
+     *            the compiler of the processing rate
      * @param resource
      *            the wrapped scheduler resource
      * @param processingRate
@@ -37,18 +40,18 @@ public class SimActiveResource extends AbstractActiveResource {
      * @param specification
      */
     @Inject
-    public SimActiveResource(ISimulationModel model, @Assisted IActiveResource resource,
+    public SimActiveResource(ISimulationModel model, StoExCompiler compiler, @Assisted IActiveResource resource,
             @Assisted String processingRate, @Assisted int numberOfInstances,
             @Assisted SchedulingPolicy schedulingStrategy, @Assisted ProcessingResourceSpecification specification) {
         super(model, "SimActiveResource", resource, schedulingStrategy, numberOfInstances);
 
-        this.processingRate = processingRate;
+        this.processingRate = compiler.compile(processingRate);
         this.specification = specification;
     }
 
     @Override
     protected double calculateConcreteDemand(double abstractDemand, int resourceServiceId) {
-        return abstractDemand / Context.evaluateStatic(processingRate, Double.class);
+        return abstractDemand / processingRate.evaluateStatic(Double.class);
     }
 
     /**
@@ -7,8 +7,9 @@ import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
 import de.uka.ipd.sdq.scheduler.IActiveResource;
-import de.uka.ipd.sdq.simucomframework.Context;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 
 /**
  * An active resource which can process HDD read and write requests.
@@ -18,31 +19,32 @@ import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
  */
 public class SimHDDActiveResource extends SimActiveResource {
 
-    private final String writeProcessingRate;
-    private final String readProcessingRate;
+    private final CompiledExpression writeProcessingRate;
+    private final CompiledExpression readProcessingRate;
 
     private final int READ_SERVICE_ID = 1;
     private final int WRITE_SERVICE_ID = 2;
 
     @Inject
-    public SimHDDActiveResource(final ISimulationModel model, @Assisted final IActiveResource resource,
+    public SimHDDActiveResource(final ISimulationModel model, final StoExCompiler compiler,
+            @Assisted final IActiveResource resource,
             @Assisted final String processingRate, @Assisted final int numberOfInstances,
             @Assisted final SchedulingPolicy schedulingStrategy,
             @Assisted final HDDProcessingResourceSpecification specification,
             @Assisted("writeProcessingRate") final String writeProcessingRate,
             @Assisted("readProcessingRate") final String readProcessingRate) {
-        super(model, resource, processingRate, numberOfInstances, schedulingStrategy, specification);
-        this.writeProcessingRate = writeProcessingRate;
-        this.readProcessingRate = readProcessingRate;
+        super(model, compiler, resource, processingRate, numberOfInstances, schedulingStrategy, specification);
+        this.writeProcessingRate = compiler.compile(writeProcessingRate);
+        this.readProcessingRate = compiler.compile(readProcessingRate);
     }
 
     @Override
     protected double calculateConcreteDemand(double abstractDemand, int resourceServiceId) {
         double concreteDemand;
         if (resourceServiceId == this.READ_SERVICE_ID) {
-            concreteDemand = abstractDemand / Context.evaluateStatic(this.readProcessingRate, Double.class);
+            concreteDemand = abstractDemand / this.readProcessingRate.evaluateStatic(Double.class);
         } else if (resourceServiceId == this.WRITE_SERVICE_ID) {
-            concreteDemand = abstractDemand / Context.evaluateStatic(this.writeProcessingRate, Double.class);
+            concreteDemand = abstractDemand / this.writeProcessingRate.evaluateStatic(Double.class);
         } else {
             throw new IllegalStateException("HDD Resource called without explicit read/write call");
         }
@@ -6,27 +6,28 @@ import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
 import de.uka.ipd.sdq.scheduler.IActiveResource;
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
 
 public class SimLinkingResource extends AbstractActiveResource {
 
-    private String latencySpecification;
+    private CompiledExpression latencySpecification;
 
-    private String throughputSpecification;
+    private CompiledExpression throughputSpecification;
 
     private LinkingResource specification;
 
     @Inject
-    public SimLinkingResource(ISimulationModel model, @Assisted IActiveResource resource,
+    public SimLinkingResource(ISimulationModel model, StoExCompiler compiler, @Assisted IActiveResource resource,
             @Assisted("latency") String latencySpecification, @Assisted("throughput") String throughputSpecification,
             @Assisted LinkingResource specification) {
         super(model, "SimLinkingResource", resource, null, 1);
 
-        this.latencySpecification = latencySpecification;
-        this.throughputSpecification = throughputSpecification;
+        this.latencySpecification = compiler.compile(latencySpecification);
+        this.throughputSpecification = compiler.compile(throughputSpecification);
         this.specification = specification;
     }
 
@@ -36,12 +37,12 @@ public class SimLinkingResource extends AbstractActiveResource {
 
     @Override
     protected double calculateConcreteDemand(double abstractDemand, int resourceServiceId) {
-        double throughput = StackContext.evaluateStatic(throughputSpecification, Double.class);
+        double throughput = throughputSpecification.evaluateStatic(Double.class);
         if (throughput <= 0) {
             throw new EventSimException(String.format("Thoughput must be greater than 0, but is %s for %s", throughput,
                     PCMEntityHelper.toString(specification)));
         }
-        double latency = StackContext.evaluateStatic(latencySpecification, Double.class);
+        double latency = latencySpecification.evaluateStatic(Double.class);
         double concreteDemand = latency + abstractDemand / throughput;
         return concreteDemand;
     }
@@ -14,6 +14,7 @@ import de.uka.ipd.sdq.scheduler.ISchedulableProcess;
 import de.uka.ipd.sdq.scheduler.sensors.IPassiveResourceSensor;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
 import edu.kit.ipd.sdq.eventsim.resources.listener.IPassiveResourceListener;
 
@@ -31,7 +32,7 @@ import edu.kit.ipd.sdq.eventsim.resources.listener.IPassiveResourceListener;
  * @see IPassiveResource
  * 
  */
-public class SimPassiveResource extends EventSimEntity {
+public class SimPassiveResource extends EventSimEntity implements ResourceHandle {
 
     /** the encapsulated scheduler resource */
     private final IPassiveResource schedulerResource;
@@ -29,7 +29,7 @@ public class SimulatedProcess extends EventSimEntity implements ISchedulableProc
 	private static final Logger logger = Logger.getLogger(SimulatedProcess.class);
 
 	private final List<IActiveResource> terminatedObservers;
-	private final IRequest request;
+	private IRequest request;
 	private boolean terminated;
 	private int priority;
 	private SimulatedProcess parent;
@@ -45,7 +45,30 @@ public class SimulatedProcess extends EventSimEntity implements ISchedulableProc
 		this.id = Long.toString(getEntityId());
 	}
 
+	/**
+	 * Prepares this process for being reused by another request after it has
+	 * been released.
+	 * 
+	 * @param parent
+	 *            the parent process, or {@code null} if there is none
+	 * @param request
+	 *            the request that is to be scheduled by this process
+	 */
+	public void recycle(SimulatedProcess parent, final IRequest request) {
+		super.recycle();
+		this.parent = parent;
+		this.request = request;
+		this.terminated = false;
+		this.priority = 0;
+		this.onActivationCallback = null;
+		this.terminatedObservers.clear();
+		this.id = Long.toString(getEntityId());
+	}
+
 	public void setOnActivationCallback(Procedure callback) {
+		if (logger.isDebugEnabled()) {
+			checkNotReleased();
+		}
 		if (onActivationCallback != null) {
 			logger.warn(String.format("Overriding existing activation callback for %s", this));
 		}
@@ -57,6 +80,9 @@ public class SimulatedProcess extends EventSimEntity implements ISchedulableProc
 	 */
 	@Override
 	public void activate() {
+		if (logger.isDebugEnabled()) {
+			checkNotReleased();
+		}
 		if (onActivationCallback != null) {
 			// first reset this object's callback, then call it
 			Procedure callback = onActivationCallback;
@@ -1,6 +1,5 @@
 package edu.kit.ipd.sdq.eventsim.resources.probes.active;
 
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.AbstractProbe;
@@ -22,18 +21,8 @@ public class QueueLengthProbe extends AbstractProbe<AbstractActiveResource, Reso
                 // objects?)
                 @Override
                 public void stateChanged(long state, int instanceId) {
-                    // build measurement
                     double simTime = resource.getModel().getSimulationControl().getCurrentSimulationTime();
-                    Measurement<AbstractActiveResource> m = new Measurement<>("QUEUE_LENGTH", getMeasuringPoint(), null,
-                            state, simTime);
-
-                    // store
-                    // cache.put(m); TODO cache not needed! --> account for in abstract
-                    // superclass/constructor? or
-                    // enable by calculator (!)?
-
-                    // notify
-                    measurementListener.forEach(l -> l.notify(m));
+                    measure("QUEUE_LENGTH", null, state, simTime);
                 }
             }, instance);
         }
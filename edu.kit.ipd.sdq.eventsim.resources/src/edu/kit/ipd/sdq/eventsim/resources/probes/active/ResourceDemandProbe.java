@@ -1,7 +1,6 @@
 package edu.kit.ipd.sdq.eventsim.resources.probes.active;
 
 import de.uka.ipd.sdq.scheduler.ISchedulableProcess;
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.Metadata;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
@@ -23,22 +22,19 @@ public class ResourceDemandProbe extends AbstractProbe<AbstractActiveResource, R
                 // objects?)
                 @Override
                 public void demand(ISchedulableProcess process, double demand, int resourceServiceId) {
-                    // build measurement
                     double simTime = resource.getModel().getSimulationControl().getCurrentSimulationTime();
-                    Measurement<AbstractActiveResource> m = new Measurement<>("RESOURCE_DEMAND", getMeasuringPoint(),
-                            process, demand, simTime, new Metadata("resourceserviceid", resourceServiceId));
-
-                    // store
-                    // cache.put(m); TODO cache not needed! --> account for in abstract
-                    // superclass/constructor? or
-                    // enable by calculator (!)?
-
-                    // notify
-                    measurementListener.forEach(l -> l.notify(m));
+                    measure("RESOURCE_DEMAND", process, demand, simTime,
+                            new Metadata("resourceserviceid", resourceServiceId));
                 }
             });
         }
 
     }
 
+    @Override
+    public boolean isRecordable() {
+        // records cannot convey the resource service id
+        return false;
+    }
+
 }
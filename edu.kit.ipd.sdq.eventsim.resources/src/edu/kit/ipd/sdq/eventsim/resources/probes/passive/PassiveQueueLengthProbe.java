@@ -1,6 +1,5 @@
 package edu.kit.ipd.sdq.eventsim.resources.probes.passive;
 
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.AbstractProbe;
@@ -16,6 +15,7 @@ public class PassiveQueueLengthProbe extends AbstractProbe<SimPassiveResource, R
 		super(p, configuration);
 
 		SimPassiveResource resource = p.getElement();
+		MeasuringPoint<SimPassiveResource> where = p.withAddedContexts(resource.getAssemblyContext());
 		resource.addListener(new IPassiveResourceListener() {
 
 			@Override
@@ -38,15 +38,7 @@ public class PassiveQueueLengthProbe extends AbstractProbe<SimPassiveResource, R
 				
 				long state = resource.getCapacity() - resource.getAvailable();
 				
-				Measurement<SimPassiveResource> m = new Measurement<>("QUEUE_LENGTH", getMeasuringPoint()
-						.withAddedContexts(resource.getAssemblyContext()), null, state, simTime);
-
-				// store
-				// cache.put(m); TODO cache not needed! --> account for in abstract superclass/constructor? or
-				// enable by calculator (!)?
-
-				// notify
-				measurementListener.forEach(l -> l.notify(m));
+				measure("QUEUE_LENGTH", where, null, state, simTime);
 			}
 
 		});
@@ -1,6 +1,5 @@
 package edu.kit.ipd.sdq.eventsim.resources.probes.passive;
 
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.Metadata;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
@@ -29,15 +28,8 @@ public class PassiveResourceAcquiredProbe extends AbstractProbe<SimPassiveResour
 			public void acquire(SimulatedProcess process, long num) {
 				double simTime = process.getModel().getSimulationControl().getCurrentSimulationTime();
 
-				Measurement<SimPassiveResource> m = new Measurement<>("CURRENT_TIME", getMeasuringPoint(), process,
-						simTime, simTime,
+				measure("CURRENT_TIME", process, simTime, simTime,
 						/* TODO really useful? */ new Metadata("processposition", process.getCurrentPosition()));
-
-				// store
-				cache.put(m);
-
-				// notify
-				measurementListener.forEach(l -> l.notify(m));
 			}
 
 			@Override
@@ -48,4 +40,10 @@ public class PassiveResourceAcquiredProbe extends AbstractProbe<SimPassiveResour
 		});
 	}
 
+	@Override
+	public boolean isRecordable() {
+		// records cannot convey the process position
+		return false;
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package edu.kit.ipd.sdq.eventsim.resources.probes.passive;
 
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.AbstractProbe;
@@ -32,14 +31,7 @@ public class PassiveResourceReleasedProbe extends AbstractProbe<SimPassiveResour
 			public void release(SimulatedProcess process, long num) {
 				double simTime = process.getModel().getSimulationControl().getCurrentSimulationTime();
 
-				Measurement<SimPassiveResource> m = new Measurement<>("CURRENT_TIME",
-						getMeasuringPoint(), process, simTime, simTime);
-
-				// store
-				cache.put(m);
-
-				// notify
-				measurementListener.forEach(l -> l.notify(m));
+				measure("CURRENT_TIME", process, simTime, simTime);
 			}
 
 		});
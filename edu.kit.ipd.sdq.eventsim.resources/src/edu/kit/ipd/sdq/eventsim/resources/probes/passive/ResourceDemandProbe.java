@@ -1,6 +1,5 @@
 package edu.kit.ipd.sdq.eventsim.resources.probes.passive;
 
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.AbstractProbe;
@@ -20,13 +19,8 @@ public class ResourceDemandProbe extends AbstractProbe<SimPassiveResource, Resou
 
             @Override
             public void request(SimulatedProcess process, long num) {
-                // build measurement
                 double simTime = resource.getModel().getSimulationControl().getCurrentSimulationTime();
-                Measurement<SimPassiveResource> m = new Measurement<>("RESOURCE_DEMAND", getMeasuringPoint(), process,
-                        num, simTime);
-
-                // notify
-                measurementListener.forEach(l -> l.notify(m));
+                measure("RESOURCE_DEMAND", process, num, simTime);
             }
 
             @Override
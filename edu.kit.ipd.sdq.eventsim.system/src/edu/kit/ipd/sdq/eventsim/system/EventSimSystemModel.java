@@ -14,6 +14,7 @@ import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
 import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
 
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
 
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
@@ -33,23 +34,31 @@ import edu.kit.ipd.sdq.eventsim.instrumentation.description.action.ActionReprese
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.core.InstrumentationDescription;
 import edu.kit.ipd.sdq.eventsim.instrumentation.injection.Instrumentor;
 import edu.kit.ipd.sdq.eventsim.instrumentation.injection.InstrumentorBuilder;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
+import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategyRegistry;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalListenerRegistry;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementFacade;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.osgi.BundleProbeLocator;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.system.command.BuildComponentInstances;
+import edu.kit.ipd.sdq.eventsim.system.command.CompileSeffs;
+import edu.kit.ipd.sdq.eventsim.system.command.CompileSystemCallPlans;
 import edu.kit.ipd.sdq.eventsim.system.command.FindAssemblyContextForSystemCall;
 import edu.kit.ipd.sdq.eventsim.system.command.InstallExternalCallParameterHandling;
 import edu.kit.ipd.sdq.eventsim.system.debug.DebugSeffTraversalListener;
 import edu.kit.ipd.sdq.eventsim.system.entities.ForkedRequest;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
-import edu.kit.ipd.sdq.eventsim.system.entities.RequestFactory;
+import edu.kit.ipd.sdq.eventsim.system.entities.RequestPool;
 import edu.kit.ipd.sdq.eventsim.system.handler.AfterSystemCallParameterHandler;
 import edu.kit.ipd.sdq.eventsim.system.handler.BeforeSystemCallParameterHandler;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.AllocationRegistry;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ExternalCallPlan;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.SimulatedResourceContainer;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.SimulatedResourceEnvironment;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.SystemCallPlan;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.commands.BuildResourceAllocation;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.commands.BuildSimulatedResourceEnvironment;
 
@@ -83,12 +92,21 @@ public class EventSimSystemModel implements ISystem {
     @Inject
     private MeasurementStorage measurementStorage;
 
+    @Inject
+    private RecordDictionary recordDictionary;
+
     @Inject
     private ISimulationMiddleware middleware;
 
     @Inject
     private TraversalListenerRegistry<AbstractAction, Request> traversalListeners;
 
+    @Inject
+    private Provider<SimulationStrategyRegistry<AbstractAction, Request>> strategies;
+
+    @Inject
+    private ExecutionProgram<AbstractAction, Request> program;
+
     @Inject
     private PCMModel pcm;
 
@@ -96,13 +114,18 @@ public class EventSimSystemModel implements ISystem {
     private InstrumentationDescription instrumentation;
 
     @Inject
-    private RequestFactory requestFactory;
+    private RequestPool requestPool;
+
+    @Inject
+    private StoExCompiler stoExCompiler;
 
     private MeasurementFacade<SystemMeasurementConfiguration> measurementFacade;
 
     private SimulatedResourceEnvironment resourceEnvironment;
     private AllocationRegistry resourceAllocation;
     private Map<String, ComponentInstance> componentRegistry;
+    private Map<EntryLevelSystemCall, SystemCallPlan> systemCallPlans;
+    private Map<ExternalCallAction, ExternalCallPlan> externalCallPlans;
 
     @Inject
     public EventSimSystemModel(ISimulationMiddleware middleware) {
@@ -128,8 +151,15 @@ public class EventSimSystemModel implements ISystem {
         // initialise component instances
         this.componentRegistry = executor.execute(new BuildComponentInstances(this.resourceAllocation));
 
+        // resolve providing components and compile parameter passing for system calls
+        this.systemCallPlans = executor.execute(new CompileSystemCallPlans(this.componentRegistry, stoExCompiler));
+
         // install extern call parameter handling
-        executor.execute(new InstallExternalCallParameterHandling(traversalListeners));
+        this.externalCallPlans = executor.execute(new InstallExternalCallParameterHandling(traversalListeners,
+                stoExCompiler));
+
+        // compile SEFFs for faster traversal
+        executor.execute(new CompileSeffs(program, strategies.get(), traversalListeners));
 
         registerEventHandler();
     }
@@ -146,13 +176,12 @@ public class EventSimSystemModel implements ISystem {
     @Override
     public void callService(IUser user, EntryLevelSystemCall call, Procedure callback) {
         // find the component which provides the call
-        final AssemblyContext assemblyCtx = executor.execute(new FindAssemblyContextForSystemCall(call));
-        final ComponentInstance component = this.getComponent(assemblyCtx);
-        final OperationSignature signature = call.getOperationSignature__EntryLevelSystemCall();
-        final ResourceDemandingBehaviour behaviour = component.getServiceEffectSpecification(signature);
+        final SystemCallPlan plan = this.getSystemCallPlan(call);
+        final ComponentInstance component = plan.getComponent();
+        final ResourceDemandingBehaviour behaviour = plan.getBehaviour();
 
-        // spawn a new EventSim request
-        final Request request = requestFactory.createRequest(call, user);
+        // spawn a new (or recycled) EventSim request
+        final Request request = requestPool.acquire(call, user);
 
         // simulate request
         request.simulateBehaviour(behaviour, component, callback);
@@ -182,8 +211,12 @@ public class EventSimSystemModel implements ISystem {
 
         // setup system call parameter handling
         middleware.registerEventHandler(SystemRequestSpawnEvent.class,
-                new BeforeSystemCallParameterHandler(this, executor));
-        middleware.registerEventHandler(SystemRequestFinishedEvent.class, new AfterSystemCallParameterHandler());
+                new BeforeSystemCallParameterHandler(this));
+        middleware.registerEventHandler(SystemRequestFinishedEvent.class, new AfterSystemCallParameterHandler(this));
+        middleware.registerEventHandler(SystemRequestFinishedEvent.class, e -> {
+            recordDictionary.evict(e.getRequest());
+            return Registration.KEEP_REGISTERED;
+        });
     }
 
     private void setupMeasurements() {
@@ -200,6 +233,7 @@ public class EventSimSystemModel implements ISystem {
         measurementStorage.addNameExtractor(ForkedRequest.class, c -> ((ForkedRequest) c).getName());
         measurementStorage.addIdExtractor(Entity.class, c -> ((Entity) c).getId());
         measurementStorage.addNameExtractor(Entity.class, c -> ((Entity) c).getEntityName());
+        recordDictionary.addWhoIdExtractor(Request.class, c -> ((Request) c).getEntityId());
         measurementStorage.addNameExtractor(ExternalCallAction.class, c -> {
             ExternalCallAction action = (ExternalCallAction) c;
             OperationSignature calledSignature = action.getCalledService_ExternalService();
@@ -237,12 +271,41 @@ public class EventSimSystemModel implements ISystem {
         return this.componentRegistry.get(assemblyContext.getId());
     }
 
+    /**
+     * Returns the plan for simulating the specified system call.
+     * 
+     * @param call
+     *            the system call
+     * @return the plan, comprising the component instance providing the call
+     */
+    public SystemCallPlan getSystemCallPlan(final EntryLevelSystemCall call) {
+        SystemCallPlan plan = this.systemCallPlans.get(call);
+        if (plan == null) {
+            // call is not contained in the usage model
+            final AssemblyContext assemblyCtx = executor.execute(new FindAssemblyContextForSystemCall(call));
+            plan = new SystemCallPlan(call, this.getComponent(assemblyCtx), stoExCompiler);
+            this.systemCallPlans.put(call, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the plan for the specified external call.
+     * 
+     * @param call
+     *            the external call
+     * @return the plan, or {@code null} if the call is not contained in any SEFF of the system
+     */
+    public ExternalCallPlan getExternalCallPlan(final ExternalCallAction call) {
+        return this.externalCallPlans.get(call);
+    }
+
     public MeasurementFacade<SystemMeasurementConfiguration> getMeasurementFacade() {
         if (measurementFacade == null) {
             // setup measurement facade
             Bundle bundle = Activator.getContext().getBundle();
             measurementFacade = new MeasurementFacade<>(new SystemMeasurementConfiguration(traversalListeners),
-                    new BundleProbeLocator<>(bundle));
+                    new BundleProbeLocator<>(bundle), recordDictionary);
         }
         return measurementFacade;
     }
@@ -1,16 +1,16 @@
 package edu.kit.ipd.sdq.eventsim.system;
 
 import com.google.inject.AbstractModule;
-import com.google.inject.assistedinject.FactoryModuleBuilder;
 
 import edu.kit.ipd.sdq.eventsim.api.ISystem;
+import edu.kit.ipd.sdq.eventsim.system.entities.DefaultRequestFactory;
 import edu.kit.ipd.sdq.eventsim.system.entities.RequestFactory;
 
 public class EventSimSystemModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        install(new FactoryModuleBuilder().build(RequestFactory.class));
+        bind(RequestFactory.class).to(DefaultRequestFactory.class);
         
         bind(ISystem.class).to(EventSimSystemModel.class);
     }
@@ -1,5 +1,6 @@
 package edu.kit.ipd.sdq.eventsim.system.calculators;
 
+import org.apache.log4j.Logger;
 import org.palladiosimulator.pcm.seff.ExternalCallAction;
 
 import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
@@ -10,17 +11,29 @@ import edu.kit.ipd.sdq.eventsim.measurement.annotation.Calculator;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.ProbePair;
 import edu.kit.ipd.sdq.eventsim.measurement.calculator.AbstractBinaryCalculator;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.TriggeredRecordListener;
 
 @Calculator(metric = "responsetime_of_external_calls", type = Pair.class, fromType = ExternalCallAction.class, toType = ExternalCallAction.class, intendedProbes = {
 		@ProbePair(from = "before", to = "after") })
 public class ResponseTimeOfExternalCallsCalculator
 		extends AbstractBinaryCalculator<ExternalCallAction, ExternalCallAction> {
 
+	private static final Logger log = Logger.getLogger(ResponseTimeOfExternalCallsCalculator.class);
+
 	@Override
 	public void setup(IProbe<ExternalCallAction> fromProbe, IProbe<ExternalCallAction> toProbe) {
 		fromProbe.enableCaching();
-		toProbe.forEachMeasurement(measurement -> {
-			notify(calculate(fromProbe.getLastMeasurementOf(measurement.getWho()), measurement));
+		MeasuringPoint<Pair<ExternalCallAction, ExternalCallAction>> mp = new MeasuringPointPair<>(
+				fromProbe.getMeasuringPoint(), toProbe.getMeasuringPoint(), "responsetime",
+				toProbe.getMeasuringPoint().getContexts());
+		toProbe.forEachRecord((TriggeredRecordListener) (metricId, measuringPointId, who, whoId, value, when) -> {
+			double from = fromProbe.getLastValueOf(who);
+			if (!Double.isNaN(from)) {
+				measure("RESPONSE_TIME_OF_EXTERNAL_CALLS", mp, who, value - from, when);
+			} else {
+				log.warn(String.format("Could not find last measurement triggered by %s. Skipping calculation.",
+						who));
+			}
 		});
 	}
 
@@ -11,6 +11,7 @@ import edu.kit.ipd.sdq.eventsim.measurement.annotation.Calculator;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.ProbePair;
 import edu.kit.ipd.sdq.eventsim.measurement.calculator.AbstractBinaryCalculator;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.TriggeredRecordListener;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
 
 @Calculator(metric = "timespan_between_actions", type = Pair.class, fromType = AbstractAction.class, toType = AbstractAction.class, intendedProbes = {
@@ -25,21 +26,24 @@ public class TimeSpanBetweenAbstractActionsCalculator extends AbstractBinaryCalc
 		// log.warn("Cancelled setup of %s because one of the probes supplied is null.");
 		// }
 		fromProbe.enableCaching();
-		toProbe.forEachMeasurement(m -> {
+		MeasuringPoint<Pair<AbstractAction, AbstractAction>> mp = new MeasuringPointPair<>(
+				fromProbe.getMeasuringPoint(), toProbe.getMeasuringPoint(), "timespan",
+				toProbe.getMeasuringPoint().getContexts());
+		toProbe.forEachRecord((TriggeredRecordListener) (metricId, measuringPointId, who, whoId, value, when) -> {
 			// find "from"-measurement
-			Request request = (Request) m.getWho();
-			Measurement<AbstractAction> fromMeasurement = null;
+			Request request = (Request) who;
+			double from = Double.NaN;
 			do {
-				fromMeasurement = fromProbe.getLastMeasurementOf(request);
+				from = fromProbe.getLastValueOf(request);
 				request = request.getParent();
-			} while (fromMeasurement == null && request != null);
+			} while (Double.isNaN(from) && request != null);
 
-			if (fromMeasurement != null) {
-				notify(calculate(fromMeasurement, m));
+			if (!Double.isNaN(from)) {
+				measure("TIME_SPAN_BETWEEN_ACTIONS_SYSTEM", mp, who, value - from, when);
 			} else {
 				// TODO improve warning, give hits on how to resolve this problem
 				log.warn(String.format("Could not find last measurement triggered by %s or a parent request. "
-						+ "Skipping calculation.", m.getWho()));
+						+ "Skipping calculation.", who));
 			}
 		});
 	}
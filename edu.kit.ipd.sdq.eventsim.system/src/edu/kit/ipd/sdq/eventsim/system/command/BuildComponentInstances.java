@@ -31,7 +31,8 @@ import edu.kit.ipd.sdq.eventsim.util.ParameterHelper;
 /**
  * This command creates a component instance for each {@link BasicComponent} encapsulated in an
  * {@link AssemblyContext}. The roles of the created components are connected in accordance with the
- * {@link System} model.
+ * {@link System} model. Finally, the routing table of each component instance is built from the
+ * connected roles.
  * 
  * @author Philipp Merkle
  * 
@@ -125,6 +126,11 @@ public class BuildComponentInstances implements IPCMCommand<Map<String, Componen
             }
         }
 
+        // resolve call routes now that roles are linked
+        for (ComponentInstance c : componentsMap.values()) {
+            c.buildRoutingTable();
+        }
+
         return componentsMap;
     }
 
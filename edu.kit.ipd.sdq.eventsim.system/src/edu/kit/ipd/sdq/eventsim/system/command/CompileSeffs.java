@@ -0,0 +1,98 @@
+package edu.kit.ipd.sdq.eventsim.system.command;
+
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.seff.AbstractBranchTransition;
+import org.palladiosimulator.pcm.seff.BranchAction;
+import org.palladiosimulator.pcm.seff.ForkAction;
+import org.palladiosimulator.pcm.seff.LoopAction;
+import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
+import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
+import org.palladiosimulator.pcm.seff.SeffPackage;
+import org.palladiosimulator.pcm.seff.StartAction;
+import org.palladiosimulator.pcm.seff.SynchronisationPoint;
+
+import edu.kit.ipd.sdq.eventsim.api.PCMModel;
+import edu.kit.ipd.sdq.eventsim.command.ICommandExecutor;
+import edu.kit.ipd.sdq.eventsim.command.IPCMCommand;
+import edu.kit.ipd.sdq.eventsim.command.action.FindActionInBehaviour;
+import edu.kit.ipd.sdq.eventsim.command.action.FindSeffsForAssemblyContext;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgramCompiler;
+import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategyRegistry;
+import edu.kit.ipd.sdq.eventsim.interpreter.TraversalListenerRegistry;
+import edu.kit.ipd.sdq.eventsim.system.entities.Request;
+
+/**
+ * This command compiles the SEFFs of all components contained in the system into an
+ * {@link ExecutionProgram}. Nested behaviours, i.e. branch transitions, loop bodies and forked
+ * behaviours, are compiled as well.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class CompileSeffs implements IPCMCommand<Void> {
+
+    private final ExecutionProgramCompiler<AbstractAction, Request> compiler;
+
+    private final ExecutionProgram<AbstractAction, Request> program;
+
+    public CompileSeffs(ExecutionProgram<AbstractAction, Request> program,
+            SimulationStrategyRegistry<AbstractAction, Request> strategies,
+            TraversalListenerRegistry<AbstractAction, Request> traversalListeners) {
+        this.program = program;
+        this.compiler = new ExecutionProgramCompiler<>(strategies, traversalListeners,
+                AbstractAction::getSuccessor_AbstractAction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Void execute(PCMModel pcm, ICommandExecutor<PCMModel> executor) {
+        for (AssemblyContext assemblyCtx : pcm.getSystemModel().getAssemblyContexts__ComposedStructure()) {
+            for (ResourceDemandingSEFF seff : executor.execute(new FindSeffsForAssemblyContext(assemblyCtx))) {
+                compileBehaviour(seff, executor);
+            }
+        }
+        compiler.compileInto(program);
+        return null;
+    }
+
+    private void compileBehaviour(ResourceDemandingBehaviour behaviour, ICommandExecutor<PCMModel> executor) {
+        StartAction start = executor.execute(new FindActionInBehaviour<StartAction>(behaviour, StartAction.class));
+        if (!compiler.addBehaviour(behaviour, start)) {
+            // compiled before, e.g. because the component is instantiated more than once
+            return;
+        }
+        for (AbstractAction a = start; a != null; a = a.getSuccessor_AbstractAction()) {
+            if (SeffPackage.eINSTANCE.getBranchAction().isInstance(a)) {
+                for (AbstractBranchTransition t : ((BranchAction) a).getBranches_Branch()) {
+                    compileBehaviour(t.getBranchBehaviour_BranchTransition(), executor);
+                }
+            } else if (SeffPackage.eINSTANCE.getLoopAction().isInstance(a)) {
+                compileBehaviour(((LoopAction) a).getBodyBehaviour_Loop(), executor);
+            } else if (SeffPackage.eINSTANCE.getForkAction().isInstance(a)) {
+                ForkAction fork = (ForkAction) a;
+                for (ResourceDemandingBehaviour b : fork.getAsynchronousForkedBehaviours_ForkAction()) {
+                    compileBehaviour(b, executor);
+                }
+                SynchronisationPoint s = fork.getSynchronisingBehaviours_ForkAction();
+                if (s != null) {
+                    for (ResourceDemandingBehaviour b : s.getSynchronousForkedBehaviours_SynchronisationPoint()) {
+                        compileBehaviour(b, executor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean cachable() {
+        return false;
+    }
+
+}
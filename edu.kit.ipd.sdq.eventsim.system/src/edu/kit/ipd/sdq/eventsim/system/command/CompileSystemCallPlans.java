@@ -0,0 +1,71 @@
+package edu.kit.ipd.sdq.eventsim.system.command;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+
+import edu.kit.ipd.sdq.eventsim.api.PCMModel;
+import edu.kit.ipd.sdq.eventsim.command.ICommandExecutor;
+import edu.kit.ipd.sdq.eventsim.command.IPCMCommand;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.SystemCallPlan;
+
+/**
+ * This command creates a {@link SystemCallPlan} for each {@link EntryLevelSystemCall} contained in
+ * the usage model.
+ * 
+ * @author Philipp Merkle
+ * 
+ */
+public class CompileSystemCallPlans implements IPCMCommand<Map<EntryLevelSystemCall, SystemCallPlan>> {
+
+    private final Map<String, ComponentInstance> componentRegistry;
+
+    private final StoExCompiler compiler;
+
+    /**
+     * @param componentRegistry
+     *            the component instances, keyed by the ID of their assembly context
+     * @param compiler
+     *            the compiler of parameter characterisations
+     */
+    public CompileSystemCallPlans(Map<String, ComponentInstance> componentRegistry, StoExCompiler compiler) {
+        this.componentRegistry = componentRegistry;
+        this.compiler = compiler;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<EntryLevelSystemCall, SystemCallPlan> execute(PCMModel pcm, ICommandExecutor<PCMModel> executor) {
+        Map<EntryLevelSystemCall, SystemCallPlan> plans = new HashMap<>();
+        for (TreeIterator<EObject> it = pcm.getUsageModel().eAllContents(); it.hasNext();) {
+            EObject o = it.next();
+            if (o instanceof EntryLevelSystemCall) {
+                EntryLevelSystemCall call = (EntryLevelSystemCall) o;
+                AssemblyContext assemblyCtx = executor.execute(new FindAssemblyContextForSystemCall(call));
+                ComponentInstance component = componentRegistry.get(assemblyCtx.getId());
+                if (component != null) {
+                    plans.put(call, new SystemCallPlan(call, component, compiler));
+                }
+                // else: unsupported component type, which has been reported already
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean cachable() {
+        return false;
+    }
+
+}
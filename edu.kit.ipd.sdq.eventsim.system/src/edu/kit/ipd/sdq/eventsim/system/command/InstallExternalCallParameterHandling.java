@@ -1,13 +1,13 @@
 package edu.kit.ipd.sdq.eventsim.system.command;
 
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
-import org.palladiosimulator.pcm.parameter.VariableUsage;
-import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ExternalCallAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
@@ -20,36 +20,46 @@ import edu.kit.ipd.sdq.eventsim.command.IPCMCommand;
 import edu.kit.ipd.sdq.eventsim.command.action.FindActionsInSeff;
 import edu.kit.ipd.sdq.eventsim.command.action.FindSeffsForAssemblyContext;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalListenerRegistry;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
 import edu.kit.ipd.sdq.eventsim.system.interpreter.listener.AbstractExternalCallListener;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
-import edu.kit.ipd.sdq.eventsim.util.ParameterHelper;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ExternalCallPlan;
 
 /**
  * This command sets up the handling of PCM parameter characterisations for
  * {@link ExternalCallAction}s. ExternalCallActions accept input parameters and can return output
  * parameters, both of which are realised by modifying the current stack frame (see:
  * {@link StackContext}). These modifications are performed by this command, once installed.
+ * <p>
+ * For each ExternalCallAction, an {@link ExternalCallPlan} is compiled upon installation, so that
+ * passing parameters does not require to traverse the model on each call. The plans are returned
+ * by this command.
  * 
  * @author Philipp Merkle
  * 
  */
-public class InstallExternalCallParameterHandling implements IPCMCommand<Void> {
+public class InstallExternalCallParameterHandling implements IPCMCommand<Map<ExternalCallAction, ExternalCallPlan>> {
 
     private static final Logger logger = Logger.getLogger(InstallExternalCallParameterHandling.class);
     private static final boolean debug = logger.isDebugEnabled();
 
     private TraversalListenerRegistry<AbstractAction, Request> traversalListeners;
 
-    public InstallExternalCallParameterHandling(TraversalListenerRegistry<AbstractAction, Request> traversalListeners) {
+    private StoExCompiler compiler;
+
+    public InstallExternalCallParameterHandling(TraversalListenerRegistry<AbstractAction, Request> traversalListeners,
+            StoExCompiler compiler) {
         this.traversalListeners = traversalListeners;
+        this.compiler = compiler;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Void execute(final PCMModel pcm, final ICommandExecutor<PCMModel> executor) {
+    public Map<ExternalCallAction, ExternalCallPlan> execute(final PCMModel pcm,
+            final ICommandExecutor<PCMModel> executor) {
         // find all external calls
         final Set<ExternalCallAction> externalCalls = new LinkedHashSet<ExternalCallAction>();
         for (final AssemblyContext assemblyCtx : pcm.getSystemModel().getAssemblyContexts__ComposedStructure()) {
@@ -58,13 +68,13 @@ public class InstallExternalCallParameterHandling implements IPCMCommand<Void> {
                 externalCalls.addAll(executor.execute(new FindActionsInSeff<>(s, ExternalCallAction.class)));
             }
         }
-        if (externalCalls != null) {
-            for (final ExternalCallAction c : externalCalls) {
-                traversalListeners.addTraversalListener(c, new ExternalCallTraversalListener());
-            }
+        final Map<ExternalCallAction, ExternalCallPlan> plans = new HashMap<>();
+        for (final ExternalCallAction c : externalCalls) {
+            final ExternalCallPlan plan = new ExternalCallPlan(c, compiler);
+            plans.put(c, plan);
+            traversalListeners.addTraversalListener(c, new ExternalCallTraversalListener(plan));
         }
-        // the listeners are mounted; we don't need to return anything.
-        return null;
+        return plans;
     }
 
     /**
@@ -77,6 +87,12 @@ public class InstallExternalCallParameterHandling implements IPCMCommand<Void> {
 
     private static final class ExternalCallTraversalListener extends AbstractExternalCallListener {
 
+        private final ExternalCallPlan plan;
+
+        public ExternalCallTraversalListener(ExternalCallPlan plan) {
+            this.plan = plan;
+        }
+
         @Override
         public void before(final ExternalCallAction call, final Request request,
                 final ComponentInstance callingComponent) {
@@ -87,8 +103,7 @@ public class InstallExternalCallParameterHandling implements IPCMCommand<Void> {
             final StackContext ctx = request.getRequestState().getStoExContext();
 
             // find the component which provides the required call
-            final OperationSignature calledService = call.getCalledService_ExternalService();
-            final ComponentInstance providingComponent = callingComponent.getProvidingComponent(calledService);
+            final ComponentInstance providingComponent = plan.getProvidingComponent(callingComponent);
 
             // get a reference on the current stack frame which is being covered soon
             final SimulatedStackframe<Object> outerFrame = ctx.getStack().currentStackFrame();
@@ -100,8 +115,7 @@ public class InstallExternalCallParameterHandling implements IPCMCommand<Void> {
             serviceBodyFrame.addVariables(providingComponent.getComponentParameters());
 
             // evaluate the input parameters and add them to the call's scope
-            final List<VariableUsage> parameters = call.getInputVariableUsages__CallAction();
-            ParameterHelper.evaluateParametersAndCopyToFrame(parameters, outerFrame, serviceBodyFrame);
+            plan.getInputParameters().execute(outerFrame, serviceBodyFrame);
 
             if (debug) {
                 logger.debug("Finished handling external call input parameters");
@@ -124,9 +138,8 @@ public class InstallExternalCallParameterHandling implements IPCMCommand<Void> {
             ctx.getStack().removeStackFrame();
 
             // evaluate the return parameters of the call and add them to the current scope
-            final List<VariableUsage> parameters = call.getReturnVariableUsage__CallReturnAction();
             final SimulatedStackframe<Object> currentFrame = ctx.getStack().currentStackFrame();
-            ParameterHelper.evaluateParametersAndCopyToFrame(parameters, serviceBodyFrame, currentFrame);
+            plan.getReturnParameters().execute(serviceBodyFrame, currentFrame);
 
             if (debug) {
                 logger.debug("Finished handling external call output parameters");
@@ -0,0 +1,68 @@
+package edu.kit.ipd.sdq.eventsim.system.entities;
+
+import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.seff.ForkedBehaviour;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
+import edu.kit.ipd.sdq.eventsim.api.IUser;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
+import edu.kit.ipd.sdq.eventsim.interpreter.TraversalTrampoline;
+
+/**
+ * Creates {@link Request}s and {@link ForkedRequest}s by plain constructor calls. Dependencies are
+ * injected into this factory once, rather than into each request created.
+ * <p>
+ * Extensions that need Guice to create their own request types may still bind
+ * {@link RequestFactory} via an assisted-inject {@code FactoryModuleBuilder}, which overrides this
+ * factory.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+@Singleton
+public class DefaultRequestFactory implements RequestFactory {
+
+    private final ISimulationModel model;
+
+    private final TraversalTrampoline trampoline;
+
+    private final ExecutionProgram<AbstractAction, Request> program;
+
+    private final ISimulationMiddleware middleware;
+
+    private final Provider<RequestPool> poolProvider;
+
+    private RequestPool pool;
+
+    @Inject
+    public DefaultRequestFactory(ISimulationModel model, TraversalTrampoline trampoline,
+            ExecutionProgram<AbstractAction, Request> program, ISimulationMiddleware middleware,
+            Provider<RequestPool> poolProvider) {
+        this.model = model;
+        this.trampoline = trampoline;
+        this.program = program;
+        this.middleware = middleware;
+        this.poolProvider = poolProvider;
+    }
+
+    @Override
+    public Request createRequest(EntryLevelSystemCall call, IUser user) {
+        if (pool == null) {
+            // resolved lazily because the pool, in turn, depends on this factory
+            pool = poolProvider.get();
+        }
+        return new Request(model, call, user, trampoline, program, middleware, pool);
+    }
+
+    @Override
+    public ForkedRequest createForkedRequest(ForkedBehaviour behaviour, boolean asynchronous, Request parent) {
+        return new ForkedRequest(behaviour, asynchronous, parent);
+    }
+
+}
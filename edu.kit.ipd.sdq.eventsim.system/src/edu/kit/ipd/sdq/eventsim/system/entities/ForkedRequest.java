@@ -24,6 +24,25 @@ public class ForkedRequest extends Request {
         this.behaviour = behaviour;
         this.asynchronous = asynchronous;
         this.parent = parent;
+        initFork();
+    }
+
+    /**
+     * Constructs a new ForkedRequest without relying on member injection. The dependencies are
+     * taken over from the parent request. Used by {@link DefaultRequestFactory}.
+     */
+    ForkedRequest(ForkedBehaviour behaviour, boolean asynchronous, Request parent) {
+        super(parent, parent.getSystemCall(), parent.getUser());
+        this.behaviour = behaviour;
+        this.asynchronous = asynchronous;
+        this.parent = parent;
+        initFork();
+    }
+
+    private void initFork() {
+        // forked requests may outlive their parent, which is why neither may be recycled
+        parent.preventRecycling();
+        this.preventRecycling();
 
         // copy entity state using copy constructor
         this.setRequestState(new EntityState<AbstractAction>(parent.getRequestState()));
@@ -3,15 +3,12 @@ package edu.kit.ipd.sdq.eventsim.system.entities;
 import org.apache.log4j.Logger;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
-import org.palladiosimulator.pcm.seff.StartAction;
 import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
 import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
 
 import com.google.inject.Inject;
-import com.google.inject.Provider;
 import com.google.inject.assistedinject.Assisted;
 
-import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.api.IRequest;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
@@ -19,14 +16,12 @@ import edu.kit.ipd.sdq.eventsim.api.IUser;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
 import edu.kit.ipd.sdq.eventsim.api.events.SystemRequestFinishedEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.SystemRequestSpawnEvent;
-import edu.kit.ipd.sdq.eventsim.command.PCMModelCommandExecutor;
-import edu.kit.ipd.sdq.eventsim.command.action.FindActionInBehaviour;
 import edu.kit.ipd.sdq.eventsim.debug.DebugEntityListener;
 import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.TraversalException;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
-import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategyRegistry;
-import edu.kit.ipd.sdq.eventsim.interpreter.TraversalListenerRegistry;
+import edu.kit.ipd.sdq.eventsim.interpreter.TraversalTrampoline;
 import edu.kit.ipd.sdq.eventsim.interpreter.state.EntityState;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
@@ -40,29 +35,34 @@ import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
  */
 public class Request extends EventSimEntity implements IRequest {
 
+    /**
+     * @deprecated the current component is no longer stored as a state property; use
+     *             {@link #getCurrentComponent()} instead
+     */
+    @Deprecated
     public static final String COMPONENT_PROPERTY = "componentInstance";
 
     private static final Logger logger = Logger.getLogger(Request.class);
 
     /** the user that has issued the request */
-    private final IUser user;
+    private IUser user;
 
     /** the system call that is to be simulated by this request */
-    private final EntryLevelSystemCall call;
+    private EntryLevelSystemCall call;
 
     private EntityState<AbstractAction> state;
 
     @Inject
-    private PCMModelCommandExecutor executor;
+    private TraversalTrampoline trampoline;
 
     @Inject
-    private TraversalListenerRegistry<AbstractAction, Request> listenerRegistry;
+    private ExecutionProgram<AbstractAction, Request> program;
 
     @Inject
-    private Provider<SimulationStrategyRegistry<AbstractAction, Request>> strategyRegistry;
+    private ISimulationMiddleware middleware;
 
     @Inject
-    private ISimulationMiddleware middleware;
+    private RequestPool pool;
 
     /**
      * Constructs a new Request representing the execution of the specified system call, which has
@@ -83,16 +83,59 @@ public class Request extends EventSimEntity implements IRequest {
         this.user = user;
 
         initState();
+        installDebugListener();
+    }
+
+    /**
+     * Constructs a new Request without relying on member injection. Used by
+     * {@link DefaultRequestFactory}, which resolves the dependencies once instead of per request.
+     */
+    Request(final ISimulationModel model, final EntryLevelSystemCall call, final IUser user,
+            final TraversalTrampoline trampoline, final ExecutionProgram<AbstractAction, Request> program,
+            final ISimulationMiddleware middleware, final RequestPool pool) {
+        this(model, call, user);
+        this.trampoline = trampoline;
+        this.program = program;
+        this.middleware = middleware;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructs a new Request without relying on member injection. The dependencies are taken
+     * over from the specified request.
+     */
+    Request(final Request template, final EntryLevelSystemCall call, final IUser user) {
+        this(template.getModel(), call, user, template.trampoline, template.program, template.middleware,
+                template.pool);
+    }
+
+    private void initState() {
+        // initialise traversal state and StoEx context
+        state = new EntityState<>(user.getStochasticExpressionContext());
+    }
 
+    private void installDebugListener() {
         // install debug listener, if debugging is enabled
         if (logger.isDebugEnabled()) {
             this.addEntityListener(new DebugEntityListener(this));
         }
     }
 
-    private void initState() {
-        // initialise traversal state and StoEx context
-        state = new EntityState<>(user.getStochasticExpressionContext());
+    /**
+     * Prepares this request for simulating another system call after it has been released to the
+     * {@link RequestPool}. The traversal state is reset rather than reallocated.
+     * 
+     * @param call
+     *            the system call
+     * @param user
+     *            the User that has issued the Request
+     */
+    void recycle(final EntryLevelSystemCall call, final IUser user) {
+        super.recycle();
+        this.call = call;
+        this.user = user;
+        state.reset(user.getStochasticExpressionContext());
+        installDebugListener();
     }
 
     /**
@@ -153,7 +196,7 @@ public class Request extends EventSimEntity implements IRequest {
     }
 
     public ComponentInstance getCurrentComponent() {
-        return state.getProperty(COMPONENT_PROPERTY, ComponentInstance.class);
+        return state.getComponent();
     }
 
     public void enterBehaviour(ResourceDemandingBehaviour behaviour, Procedure onFinishCallback) {
@@ -164,26 +207,41 @@ public class Request extends EventSimEntity implements IRequest {
     public void leaveBehaviour() {
         // TODO make sure there is an open state left
 
-        AbstractAction finishedAction = state.getCurrentPosition();
-        notifyAfterAction(finishedAction, this);
+        program.notifyAfterListener(state.getCurrentIndex(), this);
 
-        if (state.size() == 1) {
+        final boolean leavingSystem = state.size() == 1;
+        if (leavingSystem) {
             notifyLeftSystem();
         }
 
         Procedure callback = state.getOnFinishCallback();
         state.popStackFrame();
         callback.execute();
+
+        if (leavingSystem) {
+            // this request is done, but instructions issued by the callback may still refer to it;
+            // the pool decides whether to recycle it once the traversal has unwound
+            trampoline.executeAfterTraversal(() -> pool.release(this));
+        }
     }
 
     // TODO pull up
     public void delay(double waitingTime, Procedure onResumeCallback) {
-        new AbstractSimEventDelegator<Request>(getModel(), "waitEvent") {
-            @Override
-            public void eventRoutine(Request who) {
-                onResumeCallback.execute();
-            }
-        }.schedule(this, waitingTime);
+        if (logger.isDebugEnabled()) {
+            // detect resumption after this request has been released, or even recycled
+            checkNotReleased();
+            final long id = getEntityId();
+            final Procedure callback = onResumeCallback;
+            onResumeCallback = () -> {
+                checkNotReleased();
+                if (getEntityId() != id) {
+                    throw new TraversalException(
+                            "Request#" + id + " has been recycled as " + getName() + " before resuming");
+                }
+                callback.execute();
+            };
+        }
+        scheduleCallback(waitingTime, onResumeCallback);
     }
 
     /**
@@ -203,12 +261,19 @@ public class Request extends EventSimEntity implements IRequest {
      */
     public void simulateBehaviour(ResourceDemandingBehaviour behaviour, ComponentInstance component,
             Procedure onCompletionCallback) {
+        if (logger.isDebugEnabled()) {
+            checkNotReleased();
+        }
+
         // find start action
-        final StartAction start = executor
-                .execute(new FindActionInBehaviour<StartAction>(behaviour, StartAction.class));
+        final int start = program.entryOf(behaviour);
+        if (start == ExecutionProgram.NO_ACTION) {
+            throw new TraversalException(
+                    "Behaviour " + behaviour.getId() + " has not been compiled into the execution program");
+        }
 
         enterBehaviour(behaviour, onCompletionCallback);
-        state.addProperty(COMPONENT_PROPERTY, component);
+        state.setComponent(component);
 
         if (state.size() == 1) {
             notifyEnteredSystem();
@@ -223,37 +288,61 @@ public class Request extends EventSimEntity implements IRequest {
     // simulateBehaviour(behaviour, component, onCompletionCallback);
     // }
 
-    // TODO pull up
+    /**
+     * Simulates the specified action. Prefer {@link #simulateSuccessor()} when continuing with the
+     * action following the current position.
+     * 
+     * @param action
+     *            the action to be simulated
+     */
     public void simulateAction(AbstractAction action) {
+        final int index = program.indexOf(action);
+        if (index == ExecutionProgram.NO_ACTION) {
+            throw new TraversalException("Action " + PCMEntityHelper.toString(action)
+                    + " has not been compiled into the execution program");
+        }
+        simulateAction(index);
+    }
+
+    /**
+     * Simulates the successor of the current position, i.e. of the action that has been simulated
+     * most recently within the current behaviour.
+     */
+    public void simulateSuccessor() {
+        simulateAction(program.getSuccessor(state.getCurrentIndex()));
+    }
+
+    // TODO pull up
+    private void simulateAction(int index) {
+        if (index == ExecutionProgram.NO_ACTION) {
+            throw new TraversalException("There is no action to continue with after "
+                    + PCMEntityHelper.toString(state.getCurrentPosition()));
+        }
+        final AbstractAction action = program.getAction(index);
         state.setCurrentPosition(action);
+        state.setCurrentIndex(index);
 
-        final SimulationStrategy<AbstractAction, Request> simulationStrategy = strategyRegistry.get()
-                .lookup((Class<? extends AbstractAction>) action.eClass().getInstanceClass());
+        final SimulationStrategy<AbstractAction, Request> simulationStrategy = program.getStrategy(index);
         if (simulationStrategy == null) {
             throw new TraversalException(
                     "No traversal strategy could be found for " + PCMEntityHelper.toString(action));
         }
 
-        logger.debug(String.format("%s simulating %s @ %s", this.toString(), PCMEntityHelper.toString(action),
-                getModel().getSimulationControl().getCurrentSimulationTime()));
+        if (logger.isDebugEnabled()) {
+            checkNotReleased();
+            logger.debug(String.format("%s simulating %s @ %s", this.toString(), PCMEntityHelper.toString(action),
+                    getModel().getSimulationControl().getCurrentSimulationTime()));
+        }
 
-        notifyBeforeAction(action, this);
+        program.notifyBeforeListener(index, this);
         // 1) tell simulation strategy to simulate the action's effects on this request
         simulationStrategy.simulate(action, this, instruction -> {
-            notifyAfterAction(action, this);
+            program.notifyAfterListener(index, this);
             // 2) then, execute traversal instruction returned by simulation strategy
-            instruction.execute();
+            trampoline.execute(instruction);
         });
     }
 
-    private void notifyAfterAction(final AbstractAction action, final Request request) {
-        listenerRegistry.notifyAfterListener(action, request);
-    }
-
-    private void notifyBeforeAction(final AbstractAction action, final Request request) {
-        listenerRegistry.notifyBeforeListener(action, request);
-    }
-
     @Override
     public void notifyEnteredSystem() {
         super.notifyEnteredSystem();
@@ -0,0 +1,75 @@
+package edu.kit.ipd.sdq.eventsim.system.entities;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
+import edu.kit.ipd.sdq.eventsim.api.IUser;
+
+/**
+ * Provides {@link Request}s for system calls. If entity pooling is enabled (see
+ * {@link ISimulationConfiguration#isEntityPooling()}), requests that have left the system are
+ * recycled instead of creating a new request, including member injection, for each system call.
+ * Otherwise, each system call is simulated by a new request.
+ * <p>
+ * Requests that have been involved in a fork are never recycled because forked requests may
+ * reference their parent after it has left the system.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+@Singleton
+public class RequestPool {
+
+    private final Deque<Request> released = new ArrayDeque<>();
+
+    private final boolean enabled;
+
+    @Inject
+    private RequestFactory requestFactory;
+
+    @Inject
+    public RequestPool(ISimulationConfiguration configuration) {
+        this.enabled = configuration.isEntityPooling();
+    }
+
+    /**
+     * Returns a request for simulating the specified system call, either a recycled one or a new
+     * one.
+     * 
+     * @param call
+     *            the system call
+     * @param user
+     *            the User issuing the system call
+     * @return the request
+     */
+    public Request acquire(EntryLevelSystemCall call, IUser user) {
+        Request request = released.pollLast();
+        if (request == null) {
+            return requestFactory.createRequest(call, user);
+        }
+        request.recycle(call, user);
+        return request;
+    }
+
+    /**
+     * Returns the specified request to this pool, provided that pooling is enabled and the request
+     * is recyclable. The request must not be used afterwards.
+     * 
+     * @param request
+     *            the request that has left the system
+     */
+    public void release(Request request) {
+        if (!enabled || !request.isRecyclable()) {
+            return;
+        }
+        request.release();
+        released.addLast(request);
+    }
+
+}
@@ -1,22 +1,25 @@
 package edu.kit.ipd.sdq.eventsim.system.handler;
 
-import java.util.List;
-
 import org.apache.log4j.Logger;
-import org.palladiosimulator.pcm.parameter.VariableUsage;
 import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
 
 import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler;
 import edu.kit.ipd.sdq.eventsim.api.events.SystemRequestFinishedEvent;
+import edu.kit.ipd.sdq.eventsim.system.EventSimSystemModel;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
-import edu.kit.ipd.sdq.eventsim.util.ParameterHelper;
 
 public class AfterSystemCallParameterHandler implements  IEventHandler<SystemRequestFinishedEvent> {
 
     private static final Logger logger = Logger.getLogger(AfterSystemCallParameterHandler.class);
 
+    private EventSimSystemModel model;
+
+    public AfterSystemCallParameterHandler(EventSimSystemModel model) {
+        this.model = model;
+    }
+
 	@Override
 	public Registration handle(SystemRequestFinishedEvent simulationEvent) {
 		if (logger.isDebugEnabled()) {
@@ -35,9 +38,8 @@ public class AfterSystemCallParameterHandler implements  IEventHandler<SystemReq
         ctx.getStack().removeStackFrame();
 
         // evaluate the return parameters of the call and add them to the current scope
-        final List<VariableUsage> parameters = call.getOutputParameterUsages_EntryLevelSystemCall();
         final SimulatedStackframe<Object> currentFrame = ctx.getStack().currentStackFrame();
-        ParameterHelper.evaluateParametersAndCopyToFrame(parameters, serviceBodyFrame, currentFrame);
+        model.getSystemCallPlan(call).getOutputParameters().execute(serviceBodyFrame, currentFrame);
 
         if (logger.isDebugEnabled()) {
             logger.debug("Finished handling system call output parameters");
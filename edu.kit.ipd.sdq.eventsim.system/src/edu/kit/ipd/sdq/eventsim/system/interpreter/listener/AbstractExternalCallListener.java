@@ -35,8 +35,7 @@ public abstract class AbstractExternalCallListener implements ITraversalListener
     @Override
     public void before(AbstractAction action, Request request) {
         ExternalCallAction call = castToExternalCallActionOrThrowException(action);
-        ComponentInstance component = request.getRequestState().getProperty(Request.COMPONENT_PROPERTY,
-                ComponentInstance.class);
+        ComponentInstance component = request.getCurrentComponent();
         before(call, request, component);
     }
 
@@ -46,8 +45,7 @@ public abstract class AbstractExternalCallListener implements ITraversalListener
     @Override
     public void after(AbstractAction action, Request request) {
         ExternalCallAction call = castToExternalCallActionOrThrowException(action);
-        ComponentInstance component = request.getRequestState().getProperty(Request.COMPONENT_PROPERTY,
-                ComponentInstance.class);
+        ComponentInstance component = request.getCurrentComponent();
         after(call, request, component);
     }
 
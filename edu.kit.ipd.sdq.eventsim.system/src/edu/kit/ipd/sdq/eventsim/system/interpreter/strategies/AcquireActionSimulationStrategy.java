@@ -2,18 +2,18 @@ package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
 
 import java.util.function.Consumer;
 
-import org.palladiosimulator.pcm.core.composition.AssemblyContext;
-import org.palladiosimulator.pcm.repository.PassiveResource;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.AcquireAction;
 
 import com.google.inject.Inject;
 
 import edu.kit.ipd.sdq.eventsim.api.IPassiveResource;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
 
 /**
  * This traversal strategy is responsible for {@link AcquireAction}s.
@@ -27,6 +27,9 @@ public class AcquireActionSimulationStrategy implements SimulationStrategy<Abstr
     @Inject
     private IPassiveResource passiveResourceModule;
 
+    private final ComponentActionCache<AcquireAction, ResourceHandle> resources = new ComponentActionCache<>(
+            this::resolveResource);
+
     /**
      * {@inheritDoc}
      */
@@ -41,17 +44,20 @@ public class AcquireActionSimulationStrategy implements SimulationStrategy<Abstr
             throw new EventSimException("Parametric resource demands are not yet supported for AcquireActions.");
         }
 
-        final PassiveResource passiveResouce = acquireAction.getPassiveresource_AcquireAction();
-        AssemblyContext ctx = request.getCurrentComponent().getAssemblyCtx();
+        final ResourceHandle passiveResource = resources.get(request.getCurrentComponent(), acquireAction);
 
         // 1) acquire passive resource
-        passiveResourceModule.acquire(request, ctx, passiveResouce, 1, () -> {
+        passiveResourceModule.acquire(request, passiveResource, 1, () -> {
             // 2) when granted, return traversal instruction
             onFinishCallback.accept(() -> {
                 // 3) once called, continue simulation with successor
-                request.simulateAction(acquireAction.getSuccessor_AbstractAction());
+                request.simulateSuccessor();
             });
         });
     }
 
+    private ResourceHandle resolveResource(ComponentInstance component, AcquireAction action) {
+        return passiveResourceModule.resolve(component.getAssemblyCtx(), action.getPassiveresource_AcquireAction());
+    }
+
 }
\ No newline at end of file
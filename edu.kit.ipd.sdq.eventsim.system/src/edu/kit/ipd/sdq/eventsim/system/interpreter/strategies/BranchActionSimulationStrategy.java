@@ -1,6 +1,8 @@
 package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.palladiosimulator.pcm.seff.AbstractAction;
@@ -17,11 +19,17 @@ import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.UnexpectedModelStructureException;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
+import edu.kit.ipd.sdq.eventsim.util.BranchSampler;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
 
 /**
  * This traversal strategy is responsible for {@link BranchAction}s.
+ * <p>
+ * The transitions of each branch are prepared on first use: probabilistic branches are turned into
+ * a {@link BranchSampler}, and the conditions of guarded branches are compiled.
  * 
  * @author Philipp Merkle
  * 
@@ -31,6 +39,13 @@ public class BranchActionSimulationStrategy implements SimulationStrategy<Abstra
     @Inject
     private IRandomGenerator randomGenerator;
 
+    @Inject
+    private StoExCompiler compiler;
+
+    private final Map<BranchAction, BranchSampler<ResourceDemandingBehaviour>> samplers = new IdentityHashMap<>();
+
+    private final Map<BranchAction, GuardedBranch> guardedBranches = new IdentityHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -47,22 +62,21 @@ public class BranchActionSimulationStrategy implements SimulationStrategy<Abstra
 
         // select branch transition
         ResourceDemandingBehaviour behaviour = selectBranchTransition(branchAction,
-                request.getRequestState().getStoExContext(), randomGenerator);
+                request.getRequestState().getStoExContext());
 
         // simulate branch transition
         request.simulateBehaviour(behaviour, request.getCurrentComponent(), () -> {
             // continue with next action
             onFinishCallback.accept(() -> {
-                request.simulateAction(branchAction.getSuccessor_AbstractAction());
+                request.simulateSuccessor();
             });
         });
     }
 
-    private static ResourceDemandingBehaviour selectBranchTransition(BranchAction branch, StackContext stackContext,
-            IRandomGenerator randomGenerator) {
+    private ResourceDemandingBehaviour selectBranchTransition(BranchAction branch, StackContext stackContext) {
         final AbstractBranchTransition firstTransition = branch.getBranches_Branch().get(0);
         if (firstTransition instanceof ProbabilisticBranchTransition) {
-            return selectProbabilisticBranchTransition(branch, randomGenerator);
+            return selectProbabilisticBranchTransition(branch);
         } else if (firstTransition instanceof GuardedBranchTransition) {
             return selectGuardedBranchTransition(branch, stackContext);
         } else {
@@ -73,50 +87,74 @@ public class BranchActionSimulationStrategy implements SimulationStrategy<Abstra
 
     }
 
-    private static ResourceDemandingBehaviour selectProbabilisticBranchTransition(BranchAction branch,
-            IRandomGenerator randomGenerator) {
-        ResourceDemandingBehaviour selectedBehaviour = null;
-
-        double sum = 0;
-        final double rand = randomGenerator.random();
-
-        boolean enteredTransition = false;
-        for (final AbstractBranchTransition t : branch.getBranches_Branch()) {
-            final ProbabilisticBranchTransition transition = (ProbabilisticBranchTransition) t;
-            assert (sum >= 0 && sum <= 1) : "Expected sum to be in the interval [0, 1], but was " + sum;
-            final double p = transition.getBranchProbability();
-            if (rand >= sum && rand < sum + p) {
-                enteredTransition = true;
-                selectedBehaviour = transition.getBranchBehaviour_BranchTransition();
-            }
-            sum += p;
+    private ResourceDemandingBehaviour selectProbabilisticBranchTransition(BranchAction branch) {
+        BranchSampler<ResourceDemandingBehaviour> sampler = samplers.get(branch);
+        if (sampler == null) {
+            sampler = new BranchSampler<>(branch.getBranches_Branch(),
+                    AbstractBranchTransition::getBranchBehaviour_BranchTransition,
+                    t -> ((ProbabilisticBranchTransition) t).getBranchProbability());
+            assert (sampler.getSum() >= 0 && sampler.getSum() <= 1) : "Expected sum to be in the interval [0, 1], "
+                    + "but was " + sampler.getSum();
+            samplers.put(branch, sampler);
         }
 
+        ResourceDemandingBehaviour selectedBehaviour = sampler.select(randomGenerator.random());
+
         // TODO better use exception, or diagnostics message
-        assert (enteredTransition) : "No branch transition has been entered.";
+        assert (selectedBehaviour != null) : "No branch transition has been entered.";
 
         return selectedBehaviour;
     }
 
-    private static ResourceDemandingBehaviour selectGuardedBranchTransition(BranchAction branch,
-            StackContext stackContext) {
-        ResourceDemandingBehaviour selectedBehaviour = null;
-
-        boolean enteredTransition = false;
-        for (final AbstractBranchTransition t : branch.getBranches_Branch()) {
-            final GuardedBranchTransition transition = (GuardedBranchTransition) t;
-            String conditionSpec = transition.getBranchCondition_GuardedBranchTransition().getSpecification();
-            Boolean condition = stackContext.evaluate(conditionSpec, Boolean.class);
-            if (condition.booleanValue() == true) {
-                enteredTransition = true;
-                selectedBehaviour = transition.getBranchBehaviour_BranchTransition();
-            }
+    private ResourceDemandingBehaviour selectGuardedBranchTransition(BranchAction branch, StackContext stackContext) {
+        GuardedBranch guardedBranch = guardedBranches.get(branch);
+        if (guardedBranch == null) {
+            guardedBranch = new GuardedBranch(branch.getBranches_Branch(), compiler);
+            guardedBranches.put(branch, guardedBranch);
         }
 
+        ResourceDemandingBehaviour selectedBehaviour = guardedBranch.select(stackContext);
+
         // TODO better use exception, or diagnostics message
-        assert (enteredTransition) : "No branch transition has been entered.";
+        assert (selectedBehaviour != null) : "No branch transition has been entered.";
 
         return selectedBehaviour;
     }
 
+    /**
+     * The guarded transitions of a branch along with their compiled conditions.
+     */
+    private static final class GuardedBranch {
+
+        private final CompiledExpression[] conditions;
+
+        private final ResourceDemandingBehaviour[] behaviours;
+
+        public GuardedBranch(List<AbstractBranchTransition> transitions, StoExCompiler compiler) {
+            conditions = new CompiledExpression[transitions.size()];
+            behaviours = new ResourceDemandingBehaviour[transitions.size()];
+            for (int i = 0; i < transitions.size(); i++) {
+                final GuardedBranchTransition transition = (GuardedBranchTransition) transitions.get(i);
+                conditions[i] = compiler.compile(transition.getBranchCondition_GuardedBranchTransition());
+                behaviours[i] = transition.getBranchBehaviour_BranchTransition();
+            }
+        }
+
+        /**
+         * Returns the behaviour of the last transition whose condition holds. All conditions are
+         * evaluated in model order, even after a match, because conditions may draw random numbers
+         * and skipping them would change the random number sequence of the remaining simulation.
+         */
+        public ResourceDemandingBehaviour select(StackContext stackContext) {
+            ResourceDemandingBehaviour selected = null;
+            for (int i = 0; i < conditions.length; i++) {
+                if (conditions[i].evaluate(stackContext, Boolean.class).booleanValue()) {
+                    selected = behaviours[i];
+                }
+            }
+            return selected;
+        }
+
+    }
+
 }
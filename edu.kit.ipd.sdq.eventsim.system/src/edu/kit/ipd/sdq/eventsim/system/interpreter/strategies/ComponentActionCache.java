@@ -0,0 +1,47 @@
+package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
+
+/**
+ * Caches values that depend on both the simulated action and the component instance the action is
+ * executed in, such as handles of the resources demanded by the action. Values are computed on
+ * first access by the given loader. {@code null} values are not cached.
+ * 
+ * @author Philipp Merkle
+ *
+ * @param <A>
+ *            the action type
+ * @param <V>
+ *            the type of cached values
+ */
+class ComponentActionCache<A, V> {
+
+    private final Map<ComponentInstance, Map<A, V>> values = new IdentityHashMap<>();
+
+    private final BiFunction<ComponentInstance, A, V> loader;
+
+    public ComponentActionCache(BiFunction<ComponentInstance, A, V> loader) {
+        this.loader = loader;
+    }
+
+    public V get(ComponentInstance component, A action) {
+        Map<A, V> componentValues = values.get(component);
+        if (componentValues == null) {
+            componentValues = new IdentityHashMap<>();
+            values.put(component, componentValues);
+        }
+        V value = componentValues.get(action);
+        if (value == null) {
+            value = loader.apply(component, action);
+            if (value != null) {
+                componentValues.put(action, value);
+            }
+        }
+        return value;
+    }
+
+}
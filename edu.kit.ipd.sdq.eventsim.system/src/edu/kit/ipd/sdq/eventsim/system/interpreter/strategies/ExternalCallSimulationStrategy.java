@@ -1,25 +1,28 @@
 package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
 
-import java.util.List;
-import java.util.Map.Entry;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.log4j.Logger;
-import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ExternalCallAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
 
 import com.google.inject.Inject;
 
-import de.uka.ipd.sdq.simucomframework.variables.converter.NumberConverter;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 import edu.kit.ipd.sdq.eventsim.api.ILinkingResource;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.system.EventSimSystemModel;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.CallRoute;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.CommunicationLink;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ExternalCallPlan;
 import edu.kit.ipd.sdq.eventsim.system.staticstructure.SimulatedResourceContainer;
 
 /**
@@ -38,6 +41,13 @@ public class ExternalCallSimulationStrategy implements SimulationStrategy<Abstra
     @Inject
     private ISimulationConfiguration configuration;
 
+    @Inject
+    private EventSimSystemModel model;
+
+    private final Map<CommunicationLink, ResourceHandle> linkingResources = new IdentityHashMap<>();
+
+    private boolean warnedAboutInnerByteSize;
+
     /**
      * {@inheritDoc}
      */
@@ -48,10 +58,9 @@ public class ExternalCallSimulationStrategy implements SimulationStrategy<Abstra
         final ComponentInstance currentComponent = request.getCurrentComponent();
 
         // find the component that provides the required service
-        final ComponentInstance providingComponent = currentComponent
-                .getProvidingComponent(callAction.getCalledService_ExternalService());
-        final ResourceDemandingBehaviour behaviour = providingComponent
-                .getServiceEffectSpecification(callAction.getCalledService_ExternalService());
+        final CallRoute route = currentComponent.getRoute(callAction.getCalledService_ExternalService());
+        final ComponentInstance providingComponent = route.getProvidingComponent();
+        final ResourceDemandingBehaviour behaviour = route.getBehaviour();
 
         // is network call?
         SimulatedResourceContainer fromContainer = currentComponent.getResourceContainer();
@@ -63,19 +72,20 @@ public class ExternalCallSimulationStrategy implements SimulationStrategy<Abstra
 
         if (isNetworkCall) {
             CommunicationLink link = fromContainer.findCommunicationLink(toContainer);
-            LinkingResource resource = link.getSpecification()
-                    .getLinkingResource_CommunicationLinkResourceSpecification();
+            ResourceHandle resource = resolveLinkingResource(link);
+            ExternalCallPlan plan = model.getExternalCallPlan(callAction);
 
             // 1) simulate network demand
-            network.consume(request, resource, calculateDemand(request), () -> {
+            network.consume(request, resource, calculateDemand(request, plan.getRequestByteSizeKeys()), () -> {
                 // 2) then simulate component-external call
                 request.simulateBehaviour(behaviour, providingComponent, () -> {
                     // 3) when the service call finishes, return traversal instruction
                     onFinishCallback.accept(() -> {
                         // 4) once called, first simulate network demand of result
-                        network.consume(request, resource, calculateDemand(request), () -> {
+                        network.consume(request, resource,
+                                calculateDemand(request, plan.getResponseByteSizeKeys()), () -> {
                             // 5) when completed, continue simulation with successor
-                            request.simulateAction(action.getSuccessor_AbstractAction());
+                            request.simulateSuccessor();
                         });
                     });
                 });
@@ -83,38 +93,54 @@ public class ExternalCallSimulationStrategy implements SimulationStrategy<Abstra
         } else {
             request.simulateBehaviour(behaviour, providingComponent, () -> {
                 onFinishCallback.accept(() -> {
-                    request.simulateAction(action.getSuccessor_AbstractAction());
+                    request.simulateSuccessor();
                 });
             });
         }
     }
 
+    private ResourceHandle resolveLinkingResource(CommunicationLink link) {
+        ResourceHandle resource = linkingResources.get(link);
+        if (resource == null) {
+            resource = network.resolve(link.getLinkingResource());
+            if (resource != null) {
+                linkingResources.put(link, resource);
+            }
+        }
+        return resource;
+    }
+
     /*
      * this code is largely taken from SimuCom's model 2 code transformation
      */
-    private double calculateDemand(Request request) {
+    private double calculateDemand(Request request, String[] byteSizeKeys) {
         double demand = 0;
         if (configuration.isSimulateThroughputOfLinkingResources()) {
             // if no stream.BYTESIZE variable is available, the demand is calculated by summing up
             // all the sent variables with BYTESIZE characterization
-            List<Entry<String, Object>> stackFrameContent = request.getRequestState().getStoExContext().getStack()
-                    .currentStackFrame().getContents();
-            for (Entry<String, Object> entry : stackFrameContent) {
-                if (entry.getKey().endsWith("BYTESIZE")) {
-                    if (entry.getKey().contains(".INNER.")) {
-                        // TODO: include logic to determine proper BYTESIZE of the call, take from
-                        // completions code.
-                        logger.warn(
-                                "Network demand cannot be properly determined for INNER BYTESIZE characterizations yet, "
-                                        + "the simulation will assume that there is just a single element in the collection. "
-                                        + "Please enable the ''simulate middleware marshalling / demarshalling of remote calls'' "
-                                        + "in the feature settings tab or directly define the BYTESIZE of the collection.");
-                    }
-                    demand += NumberConverter.toDouble(entry.getValue());
-                }
+            if (!warnedAboutInnerByteSize) {
+                warnIfInnerByteSize(byteSizeKeys);
             }
+            SimulatedStackframe<Object> frame = request.getRequestState().getStoExContext().getStack()
+                    .currentStackFrame();
+            demand = ExternalCallPlan.sum(byteSizeKeys, frame);
         } // else the demand stays 0.0; latency will still be simulated
         return demand;
     }
 
+    private void warnIfInnerByteSize(String[] byteSizeKeys) {
+        for (String key : byteSizeKeys) {
+            if (key.contains(".INNER.")) {
+                // TODO: include logic to determine proper BYTESIZE of the call, take from
+                // completions code.
+                logger.warn("Network demand cannot be properly determined for INNER BYTESIZE characterizations yet, "
+                        + "the simulation will assume that there is just a single element in the collection. "
+                        + "Please enable the ''simulate middleware marshalling / demarshalling of remote calls'' "
+                        + "in the feature settings tab or directly define the BYTESIZE of the collection.");
+                warnedAboutInnerByteSize = true;
+                return;
+            }
+        }
+    }
+
 }
@@ -55,7 +55,7 @@ public class ForkActionSimulationStrategy implements SimulationStrategy<Abstract
             // 1) once every forked behaviour reached the barrier, return traversal strategy
             onFinishCallback.accept(() -> {
                 // 2) once called, continue simulation with successor
-                request.simulateAction(fork.getSuccessor_AbstractAction());
+                request.simulateSuccessor();
             });
         });
         for (ForkedBehaviour b : synchronousBehaviours) {
@@ -1,14 +1,14 @@
 package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.log4j.Logger;
-import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
 import org.palladiosimulator.pcm.resourcetype.ProcessingResourceType;
 import org.palladiosimulator.pcm.resourcetype.ResourceInterface;
-import org.palladiosimulator.pcm.resourcetype.ResourceSignature;
 import org.palladiosimulator.pcm.resourcetype.ResourceType;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.InternalAction;
@@ -17,17 +17,24 @@ import org.palladiosimulator.pcm.seff.seff_performance.ResourceCall;
 
 import com.google.inject.Inject;
 
-import de.uka.ipd.sdq.simucomframework.variables.converter.NumberConverter;
 import edu.kit.ipd.sdq.eventsim.api.IActiveResource;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
-import edu.kit.ipd.sdq.eventsim.interpreter.DemandQueueHandler;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
 
 /**
  * This traversal strategy is responsible for {@link InternalAction}s.
+ * <p>
+ * The resource demands and processing resource calls of an InternalAction are translated into an
+ * array of {@link Demand}s when the action is simulated for the first time. The resources
+ * demanded are resolved once per component instance executing the action. Demands are then
+ * consumed one after another by walking both arrays.
  * 
  * @author Philipp Merkle
  * @author Christoph Föhrdes
@@ -38,9 +45,19 @@ public class InternalActionSimulationStrategy implements SimulationStrategy<Abst
 
     private static final Logger logger = Logger.getLogger(InternalActionSimulationStrategy.class);
 
+    private static final Demand[] NO_DEMANDS = new Demand[0];
+
     @Inject
     private IActiveResource activeResourceModule;
 
+    @Inject
+    private StoExCompiler compiler;
+
+    private final Map<InternalAction, Demand[]> demandsByAction = new IdentityHashMap<>();
+
+    private final ComponentActionCache<InternalAction, ResourceHandle[]> resources = new ComponentActionCache<>(
+            this::resolveResources);
+
     /**
      * {@inheritDoc}
      */
@@ -48,88 +65,78 @@ public class InternalActionSimulationStrategy implements SimulationStrategy<Abst
     public void simulate(AbstractAction action, Request request, Consumer<TraversalInstruction> onFinishCallback) {
         InternalAction internalAction = (InternalAction) action;
 
-        // prepare pending resource demands
-        Queue<ParametricResourceDemand> pendingDemands = new LinkedList<>();
-        for (final ParametricResourceDemand d : internalAction.getResourceDemand_Action()) {
-            pendingDemands.add(d);
-        }
-
-        // prepare pending resource calls
-        Queue<ResourceCall> pendingResourceCalls = new LinkedList<>();
-        for (final ResourceCall r : internalAction.getResourceCall__Action()) {
-            // ignore all resource calls that go to non-processing resource types
-            ResourceType type = findResourceType(r);
-            if (isProcessingResourceType(type)) {
-                pendingResourceCalls.add(r);
-            }
-        }
-
-        // 4) simulate resource calls (after resource demand simulation, see below)
-        DemandQueueHandler<ResourceCall> resourceCallHandler = new DemandQueueHandler<>(pendingResourceCalls,
-                (resourceCall, self) -> {
-                    // 5) for each resource call
-                    simulateProcessingResourceCall(request, resourceCall, self);
-                } , self -> {
-                    // 6) once all resource calls have been served
-                    onFinishCallback.accept(() -> {
-                        // 7) continue with next action
-                        request.simulateAction(action.getSuccessor_AbstractAction());
-                    });
-                }); // don't execute right away: will be started once resource resource demands (see
-                    // below) have been served
-
-        // 1) simulate resource demands
-        new DemandQueueHandler<ParametricResourceDemand>(pendingDemands, (demand, self) -> {
-            // 2) for each resource demand
-            simulateResourceDemand(request, demand, self);
-        } , self -> {
-            // 3) once all resource demands have been served
-            resourceCallHandler.execute(); // hand over to resource call handler
-        }).execute();
-
+        Demand[] demands = getDemands(internalAction);
+        ResourceHandle[] handles = resources.get(request.getCurrentComponent(), internalAction);
+
+        // 1) simulate resource demands, followed by resource calls
+        simulateDemand(request, demands, handles, 0, () -> {
+            // 2) once all demands have been served
+            onFinishCallback.accept(() -> {
+                // 3) continue with next action
+                request.simulateSuccessor();
+            });
+        });
     }
 
-    private void simulateResourceDemand(Request request, ParametricResourceDemand demand, Procedure onServedCallback) {
-        if (demand == null) {
-            AbstractAction currentAction = request.getRequestState().getCurrentPosition();
-            logger.warn("Missing resource demand for " + PCMEntityHelper.toString(currentAction));
+    /**
+     * Consumes the demand at the specified index and, once served, continues with the next demand.
+     */
+    private void simulateDemand(Request request, Demand[] demands, ResourceHandle[] handles, int index,
+            Procedure onAllServedCallback) {
+        if (index == demands.length) {
+            onAllServedCallback.execute();
             return;
         }
-
-        double evaluatedDemand = NumberConverter.toDouble(request.getRequestState().getStoExContext()
-                .evaluate(demand.getSpecification_ParametericResourceDemand().getSpecification()));
-        ResourceType type = demand.getRequiredResource_ParametricResourceDemand();
-        ResourceContainer resourceContainer = request.getCurrentComponent().getResourceContainer().getSpecification();
-        int resourceServiceId = 1;
+        Demand demand = demands[index];
+        double evaluatedDemand = demand.specification.evaluateAsDouble(request.getRequestState().getStoExContext());
 
         // consume the resource demand
-        this.activeResourceModule.consume(request, resourceContainer, type, evaluatedDemand, resourceServiceId,
-                onServedCallback);
+        this.activeResourceModule.consume(request, handles[index], evaluatedDemand, demand.serviceId,
+                () -> simulateDemand(request, demands, handles, index + 1, onAllServedCallback));
     }
 
-    private void simulateProcessingResourceCall(Request request, ResourceCall resourceCall,
-            Procedure onServedCallback) {
-        if (resourceCall == null) {
-            AbstractAction currentAction = request.getRequestState().getCurrentPosition();
-            logger.warn("Missing resource call for " + PCMEntityHelper.toString(currentAction));
-            return;
+    private Demand[] getDemands(InternalAction action) {
+        Demand[] demands = demandsByAction.get(action);
+        if (demands == null) {
+            demands = compileDemands(action);
+            demandsByAction.put(action, demands);
         }
+        return demands;
+    }
 
-        double evaluatedDemand = NumberConverter.toDouble(request.getRequestState().getStoExContext()
-                .evaluate(resourceCall.getNumberOfCalls__ResourceCall().getSpecification()));
-
-        // find the corresponding resource type to be invoked by the resource call
-        ResourceType type = findResourceType(resourceCall);
-
-        // find and adjust service id of interface
-        ResourceSignature resourceSignature = resourceCall.getSignature__ResourceCall();
-        int resourceServiceId = resourceSignature.getResourceServiceId();
-
-        ResourceContainer resourceContainer = request.getCurrentComponent().getResourceContainer().getSpecification();
+    private ResourceHandle[] resolveResources(ComponentInstance component, InternalAction action) {
+        Demand[] demands = getDemands(action);
+        ResourceHandle[] handles = new ResourceHandle[demands.length];
+        for (int i = 0; i < demands.length; i++) {
+            handles[i] = activeResourceModule.resolve(component.getResourceContainer().getSpecification(),
+                    demands[i].type);
+        }
+        return handles;
+    }
 
-        // consume the resource demand
-        this.activeResourceModule.consume(request, resourceContainer, type, evaluatedDemand, resourceServiceId,
-                onServedCallback);
+    private Demand[] compileDemands(InternalAction action) {
+        List<Demand> demands = new ArrayList<>();
+        for (final ParametricResourceDemand d : action.getResourceDemand_Action()) {
+            if (d == null) {
+                logger.warn("Missing resource demand for " + PCMEntityHelper.toString(action));
+                continue;
+            }
+            demands.add(new Demand(d.getRequiredResource_ParametricResourceDemand(),
+                    compiler.compile(d.getSpecification_ParametericResourceDemand()), 1));
+        }
+        for (final ResourceCall r : action.getResourceCall__Action()) {
+            if (r == null) {
+                logger.warn("Missing resource call for " + PCMEntityHelper.toString(action));
+                continue;
+            }
+            // ignore all resource calls that go to non-processing resource types
+            ResourceType type = findResourceType(r);
+            if (isProcessingResourceType(type)) {
+                demands.add(new Demand(type, compiler.compile(r.getNumberOfCalls__ResourceCall()),
+                        r.getSignature__ResourceCall().getResourceServiceId()));
+            }
+        }
+        return demands.isEmpty() ? NO_DEMANDS : demands.toArray(new Demand[demands.size()]);
     }
 
     private ResourceType findResourceType(ResourceCall resourceCall) {
@@ -143,4 +150,23 @@ public class InternalActionSimulationStrategy implements SimulationStrategy<Abst
         return type instanceof ProcessingResourceType;
     }
 
+    /**
+     * A resource demand or a processing resource call of an InternalAction.
+     */
+    private static final class Demand {
+
+        private final ResourceType type;
+
+        private final CompiledExpression specification;
+
+        private final int serviceId;
+
+        public Demand(ResourceType type, CompiledExpression specification, int serviceId) {
+            this.type = type;
+            this.specification = specification;
+            this.serviceId = serviceId;
+        }
+
+    }
+
 }
@@ -1,5 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
@@ -7,19 +9,29 @@ import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.LoopAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
 
+import com.google.inject.Inject;
+
 import edu.kit.ipd.sdq.eventsim.interpreter.LoopIterationHandler;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
 
 /**
- * This traversal strategy is responsible for {@link LoopAction}s.
+ * This traversal strategy is responsible for {@link LoopAction}s. The iteration count of each loop
+ * is compiled on first use.
  * 
  * @author Philipp Merkle
  * 
  */
 public class LoopActionSimulationStrategy implements SimulationStrategy<AbstractAction, Request> {
 
+    @Inject
+    private StoExCompiler compiler;
+
+    private final Map<LoopAction, CompiledExpression> iterationCounts = new IdentityHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -35,9 +47,8 @@ public class LoopActionSimulationStrategy implements SimulationStrategy<Abstract
         }
 
         // evaluate iteration count
-        final PCMRandomVariable loopCountRandVar = loop.getIterationCount_LoopAction();
-        final int requestedIterations = request.getRequestState().getStoExContext()
-                .evaluate(loopCountRandVar.getSpecification(), Integer.class);
+        final int requestedIterations = getIterationCount(loop).evaluate(request.getRequestState().getStoExContext(),
+                Integer.class);
 
         // 1) simulate loop iterations
         new LoopIterationHandler(requestedIterations, self -> {
@@ -49,10 +60,20 @@ public class LoopActionSimulationStrategy implements SimulationStrategy<Abstract
                 // when last iteration completes...
                 onFinishCallback.accept(() -> {
                     // 4) continue with loop successor
-                    request.simulateAction(loop.getSuccessor_AbstractAction());
+                    request.simulateSuccessor();
                 });
             });
         }).execute(); // bootstrap first iteration
     }
 
+    private CompiledExpression getIterationCount(LoopAction loop) {
+        CompiledExpression iterationCount = iterationCounts.get(loop);
+        if (iterationCount == null) {
+            final PCMRandomVariable loopCountRandVar = loop.getIterationCount_LoopAction();
+            iterationCount = compiler.compile(loopCountRandVar);
+            iterationCounts.put(loop, iterationCount);
+        }
+        return iterationCount;
+    }
+
 }
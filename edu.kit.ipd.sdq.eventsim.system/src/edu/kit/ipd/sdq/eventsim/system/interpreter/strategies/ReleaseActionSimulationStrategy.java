@@ -2,18 +2,18 @@ package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
 
 import java.util.function.Consumer;
 
-import org.palladiosimulator.pcm.core.composition.AssemblyContext;
-import org.palladiosimulator.pcm.repository.PassiveResource;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ReleaseAction;
 
 import com.google.inject.Inject;
 
 import edu.kit.ipd.sdq.eventsim.api.IPassiveResource;
+import edu.kit.ipd.sdq.eventsim.api.ResourceHandle;
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
 
 /**
  * This traversal strategy is responsible for {@link ReleaseAction}s.
@@ -26,6 +26,9 @@ public class ReleaseActionSimulationStrategy implements SimulationStrategy<Abstr
     @Inject
     private IPassiveResource passiveResourceModule;
 
+    private final ComponentActionCache<ReleaseAction, ResourceHandle> resources = new ComponentActionCache<>(
+            this::resolveResource);
+
     /**
      * {@inheritDoc}
      */
@@ -37,14 +40,17 @@ public class ReleaseActionSimulationStrategy implements SimulationStrategy<Abstr
             throw new EventSimException("Parametric resource demands are not yet supported for ReleaseActions.");
         }
 
-        final PassiveResource passiveResouce = releaseAction.getPassiveResource_ReleaseAction();
-        AssemblyContext ctx = request.getCurrentComponent().getAssemblyCtx();
+        final ResourceHandle passiveResource = resources.get(request.getCurrentComponent(), releaseAction);
 
-        passiveResourceModule.release(request, ctx, passiveResouce, 1);
+        passiveResourceModule.release(request, passiveResource, 1);
 
         onFinishCallback.accept(() -> {
-            request.simulateAction(action.getSuccessor_AbstractAction());
+            request.simulateSuccessor();
         });
     }
 
+    private ResourceHandle resolveResource(ComponentInstance component, ReleaseAction action) {
+        return passiveResourceModule.resolve(component.getAssemblyCtx(), action.getPassiveResource_ReleaseAction());
+    }
+
 }
@@ -1,25 +1,36 @@
 package edu.kit.ipd.sdq.eventsim.system.interpreter.strategies;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.SetVariableAction;
 
+import com.google.inject.Inject;
+
 import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.stoex.ParameterPlan;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.system.entities.Request;
-import edu.kit.ipd.sdq.eventsim.util.ParameterHelper;
 
 /**
- * This traversal strategy is responsible for {@link SetParameterAction}s.
+ * This traversal strategy is responsible for {@link SetParameterAction}s. The variable usages of
+ * each action are compiled into a {@link ParameterPlan} on first use.
  * 
  * @author Philipp Merkle
  * 
  */
 public class SetVariableActionSimulationStrategy implements SimulationStrategy<AbstractAction, Request> {
 
+    @Inject
+    private StoExCompiler compiler;
+
+    private final Map<SetVariableAction, ParameterPlan> plans = new IdentityHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -30,12 +41,20 @@ public class SetVariableActionSimulationStrategy implements SimulationStrategy<A
         StackContext ctx = request.getRequestState().getStoExContext();
         SimulatedStackframe<Object> currentStackFrame = ctx.getStack().currentStackFrame();
 
-        ParameterHelper.evaluateParametersAndCopyToFrame(setVariableAction.getLocalVariableUsages_SetVariableAction(),
-                currentStackFrame, currentStackFrame);
+        getPlan(setVariableAction).execute(currentStackFrame, currentStackFrame);
 
         onFinishCallback.accept(() -> {
-            request.simulateAction(action.getSuccessor_AbstractAction());
+            request.simulateSuccessor();
         });
     }
 
+    private ParameterPlan getPlan(SetVariableAction action) {
+        ParameterPlan plan = plans.get(action);
+        if (plan == null) {
+            plan = ParameterPlan.compile(action.getLocalVariableUsages_SetVariableAction(), compiler);
+            plans.put(action, plan);
+        }
+        return plan;
+    }
+
 }
@@ -25,7 +25,7 @@ public class StartActionSimulationStrategy implements SimulationStrategy<Abstrac
         // 1) return traversal instruction
         onFinishCallback.accept(() -> {
             // 2) once called, continue simulation with successor
-            request.simulateAction(action.getSuccessor_AbstractAction());
+            request.simulateSuccessor();
         });
     }
 
@@ -3,7 +3,6 @@ package edu.kit.ipd.sdq.eventsim.system.probes;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 
 import edu.kit.ipd.sdq.eventsim.interpreter.listener.ITraversalListener;
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.AbstractProbe;
@@ -29,16 +28,8 @@ public class SeffActionEntryTimeProbe<E extends AbstractAction>
                             return;
                         }
 
-                        // build measurement
                         double simTime = request.getModel().getSimulationControl().getCurrentSimulationTime();
-                        Measurement<E> m = new Measurement<>("CURRENT_TIME", getMeasuringPoint(), request, simTime,
-                                simTime);
-
-                        // store
-                        cache.put(m);
-
-                        // notify
-                        measurementListener.forEach(l -> l.notify(m));
+                        measure("CURRENT_TIME", request, simTime, simTime);
 
                     }
 
@@ -0,0 +1,40 @@
+package edu.kit.ipd.sdq.eventsim.system.staticstructure;
+
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
+
+/**
+ * The destination of a call issued by a {@link ComponentInstance}: the component instance that
+ * provides the called {@link OperationSignature}, along with the SEFF that describes the called
+ * service.
+ * 
+ * @author Philipp Merkle
+ * 
+ * @see ComponentInstance#getRoute(OperationSignature)
+ */
+public class CallRoute {
+
+    private final ComponentInstance providingComponent;
+
+    private final ResourceDemandingSEFF behaviour;
+
+    public CallRoute(ComponentInstance providingComponent, ResourceDemandingSEFF behaviour) {
+        this.providingComponent = providingComponent;
+        this.behaviour = behaviour;
+    }
+
+    /**
+     * @return the component instance providing the called service
+     */
+    public ComponentInstance getProvidingComponent() {
+        return providingComponent;
+    }
+
+    /**
+     * @return the SEFF of the called service
+     */
+    public ResourceDemandingSEFF getBehaviour() {
+        return behaviour;
+    }
+
+}
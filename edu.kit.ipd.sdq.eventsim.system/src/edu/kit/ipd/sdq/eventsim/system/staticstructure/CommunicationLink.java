@@ -3,6 +3,7 @@ package edu.kit.ipd.sdq.eventsim.system.staticstructure;
 import java.util.List;
 
 import org.palladiosimulator.pcm.resourceenvironment.CommunicationLinkResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
 
@@ -16,6 +17,7 @@ public class CommunicationLink {
 
     private List<SimulatedResourceContainer> connectedContainer;
     private CommunicationLinkResourceSpecification specification;
+    private LinkingResource linkingResource;
 
     /**
      * Default constructor.
@@ -29,6 +31,7 @@ public class CommunicationLink {
             CommunicationLinkResourceSpecification specification) {
         this.connectedContainer = connectedContainer;
         this.specification = specification;
+        this.linkingResource = specification.getLinkingResource_CommunicationLinkResourceSpecification();
     }
 
     /**
@@ -51,6 +54,13 @@ public class CommunicationLink {
         return specification;
     }
 
+    /**
+     * Returns the linking resource represented by this link.
+     */
+    public LinkingResource getLinkingResource() {
+        return linkingResource;
+    }
+
     /**
      * Returns the list of resource containers connected by this link.
      */
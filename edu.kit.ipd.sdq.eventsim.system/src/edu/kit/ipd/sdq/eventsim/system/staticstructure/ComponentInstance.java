@@ -1,7 +1,9 @@
 package edu.kit.ipd.sdq.eventsim.system.staticstructure;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.palladiosimulator.pcm.allocation.AllocationContext;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
@@ -39,6 +41,10 @@ import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
  * <li>AllocationContext: {@code getResourceContainer()}</li>
  * <li>UsageContext: {@code getComponentParameters()}</li>
  * </ul>
+ * <p>
+ * Calls issued by a component instance are routed by means of a routing table, which maps called
+ * signatures to {@link CallRoute}s. The table is built by {@link #buildRoutingTable()} once roles
+ * have been linked, so that routing a call amounts to a single identity-based lookup.
  * 
  * @author Philipp Merkle
  * 
@@ -52,6 +58,8 @@ public class ComponentInstance {
     private final AssemblyContext assemblyCtx;
     private final SimulatedStackframe<Object> componentParameters;
     private final SimulatedResourceContainer resourceContainer;
+    private final Map<OperationSignature, ResourceDemandingSEFF> seffs = new IdentityHashMap<>();
+    private final Map<OperationSignature, CallRoute> routes = new IdentityHashMap<>();
 
     /**
      * Constructs a new component instance by specifying the three contexts as described in the
@@ -75,6 +83,11 @@ public class ComponentInstance {
 
         // create provided and required roles
         this.createRoles(this.componentType);
+
+        // index SEFFs by the service they describe
+        for (final ServiceEffectSpecification s : type.getServiceEffectSpecifications__BasicComponent()) {
+            this.seffs.put(s.getDescribedService__SEFF(), (ResourceDemandingSEFF) s);
+        }
     }
 
     /**
@@ -133,6 +146,43 @@ public class ComponentInstance {
         return null;
     }
 
+    /**
+     * Builds the routing table of this component instance, which contains a {@link CallRoute} for
+     * each signature of each linked required role. Must be called after roles have been linked.
+     */
+    public void buildRoutingTable() {
+        this.routes.clear();
+        for (final RoleInstance r : this.requiredRoles) {
+            if (r.getLinkedRole() == null) {
+                // unconnected roles are reported when called
+                continue;
+            }
+            final ComponentInstance providingComponent = r.getLinkedRole().getComponent();
+            for (final OperationSignature s : r.getInterface().getSignatures__OperationInterface()) {
+                if (!this.routes.containsKey(s)) {
+                    this.routes.put(s, new CallRoute(providingComponent, providingComponent
+                            .getServiceEffectSpecification(s)));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param signature
+     *            the call's signature
+     * @return the route of a call with the specified signature issued by this component instance
+     */
+    public CallRoute getRoute(final OperationSignature signature) {
+        CallRoute route = this.routes.get(signature);
+        if (route == null) {
+            // signature not contained in the routing table, e.g. an equal signature loaded twice
+            final ComponentInstance providingComponent = this.findProvidingComponent(signature);
+            route = new CallRoute(providingComponent, providingComponent.getServiceEffectSpecification(signature));
+            this.routes.put(signature, route);
+        }
+        return route;
+    }
+
     /**
      * @param signature
      *            the call's signature
@@ -140,6 +190,10 @@ public class ComponentInstance {
      *         component instance
      */
     public ComponentInstance getProvidingComponent(final OperationSignature signature) {
+        return this.getRoute(signature).getProvidingComponent();
+    }
+
+    private ComponentInstance findProvidingComponent(final OperationSignature signature) {
         for (final RoleInstance r : this.requiredRoles) {
             for (final OperationSignature s : r.getInterface().getSignatures__OperationInterface()) {
                 if (PCMEntityHelper.equals(s, signature)) {
@@ -166,6 +220,10 @@ public class ComponentInstance {
      * @return the service effect specification of the specified signature
      */
     public ResourceDemandingSEFF getServiceEffectSpecification(final OperationSignature signature) {
+        final ResourceDemandingSEFF seff = this.seffs.get(signature);
+        if (seff != null) {
+            return seff;
+        }
         for (final ServiceEffectSpecification s : this.componentType.getServiceEffectSpecifications__BasicComponent()) {
             if (PCMEntityHelper.equals(s.getDescribedService__SEFF(), signature)) {
                 return (ResourceDemandingSEFF) s;
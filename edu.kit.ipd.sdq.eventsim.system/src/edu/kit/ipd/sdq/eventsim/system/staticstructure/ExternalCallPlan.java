@@ -0,0 +1,125 @@
+package edu.kit.ipd.sdq.eventsim.system.staticstructure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisationType;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.seff.ExternalCallAction;
+
+import de.uka.ipd.sdq.simucomframework.variables.converter.NumberConverter;
+import de.uka.ipd.sdq.simucomframework.variables.exceptions.ValueNotInFrameException;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+import edu.kit.ipd.sdq.eventsim.stoex.ParameterPlan;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
+import edu.kit.ipd.sdq.eventsim.stoex.VariableKeys;
+
+/**
+ * Everything needed to pass parameters to and from an {@link ExternalCallAction}, resolved when the
+ * simulation is being prepared. Since a SEFF is shared by all instances of its component, the
+ * component providing the called service depends on the calling component instance; it is looked up
+ * in the calling component's routing table.
+ * <p>
+ * In addition, the plan knows which variables contribute to the network demand of a remote call,
+ * namely the {@code BYTESIZE} characterisations of input parameters (request) and of return
+ * parameters (response). Hence, calculating the network demand does not require to search the
+ * stack frame.
+ * 
+ * @author Philipp Merkle
+ * 
+ */
+public class ExternalCallPlan {
+
+    private final ExternalCallAction call;
+
+    private final OperationSignature calledService;
+
+    private final ParameterPlan inputParameters;
+
+    private final ParameterPlan returnParameters;
+
+    private final String[] requestByteSizeKeys;
+
+    private final String[] responseByteSizeKeys;
+
+    public ExternalCallPlan(ExternalCallAction call, StoExCompiler compiler) {
+        this.call = call;
+        this.calledService = call.getCalledService_ExternalService();
+        this.inputParameters = ParameterPlan.compile(call.getInputVariableUsages__CallAction(), compiler);
+        this.returnParameters = ParameterPlan.compile(call.getReturnVariableUsage__CallReturnAction(), compiler);
+        this.requestByteSizeKeys = byteSizeKeys(call.getInputVariableUsages__CallAction());
+        this.responseByteSizeKeys = byteSizeKeys(call.getReturnVariableUsage__CallReturnAction());
+    }
+
+    private static String[] byteSizeKeys(List<VariableUsage> usages) {
+        List<String> keys = new ArrayList<>();
+        for (VariableUsage u : usages) {
+            for (VariableCharacterisation c : u.getVariableCharacterisation_VariableUsage()) {
+                if (c.getType() == VariableCharacterisationType.BYTESIZE) {
+                    keys.add(VariableKeys.keyOf(c));
+                }
+            }
+        }
+        return keys.toArray(new String[keys.size()]);
+    }
+
+    public ExternalCallAction getCall() {
+        return call;
+    }
+
+    /**
+     * @param callingComponent
+     *            the component instance issuing the call
+     * @return the component instance providing the called service to the calling component
+     */
+    public ComponentInstance getProvidingComponent(ComponentInstance callingComponent) {
+        return callingComponent.getRoute(calledService).getProvidingComponent();
+    }
+
+    public ParameterPlan getInputParameters() {
+        return inputParameters;
+    }
+
+    public ParameterPlan getReturnParameters() {
+        return returnParameters;
+    }
+
+    /**
+     * @return the keys of the {@code BYTESIZE} characterisations passed to the called service
+     */
+    public String[] getRequestByteSizeKeys() {
+        return requestByteSizeKeys;
+    }
+
+    /**
+     * @return the keys of the {@code BYTESIZE} characterisations returned by the called service
+     */
+    public String[] getResponseByteSizeKeys() {
+        return responseByteSizeKeys;
+    }
+
+    /**
+     * Sums up the values of the specified variables in the given frame. Variables not contained in
+     * the frame are skipped.
+     * 
+     * @param keys
+     *            the variable keys, e.g. {@link #getRequestByteSizeKeys()}
+     * @param frame
+     *            the frame containing the variables
+     * @return the sum of the variable values
+     */
+    public static double sum(String[] keys, SimulatedStackframe<Object> frame) {
+        double sum = 0;
+        for (String key : keys) {
+            try {
+                sum += NumberConverter.toDouble(frame.getValue(key));
+            } catch (ValueNotInFrameException e) {
+                // variable has not been characterised
+            }
+        }
+        return sum;
+    }
+
+}
@@ -27,6 +27,12 @@ public class SimulatedResourceContainer {
     private List<SimulatedResourceContainer> nestedContainers;
     private List<CommunicationLink> communicationLinks;
 
+    /** dense index assigned by the {@link SimulatedResourceEnvironment}; -1 if not registered */
+    private int index = -1;
+
+    /** this container's row of the environment's link matrix, indexed by target container */
+    private CommunicationLink[] linksByTarget;
+
     /**
      * Constructs an empty resource container, i.e. the container does not yet contain any
      * resources.
@@ -70,6 +76,14 @@ public class SimulatedResourceContainer {
      * @return the communication link between the resource containers, if there is one; null else
      */
     public CommunicationLink findCommunicationLink(SimulatedResourceContainer communicationTarget) {
+        int targetIndex = communicationTarget.index;
+        if (linksByTarget != null && targetIndex >= 0 && targetIndex < linksByTarget.length) {
+            return linksByTarget[targetIndex];
+        }
+        return searchCommunicationLink(communicationTarget);
+    }
+
+    CommunicationLink searchCommunicationLink(SimulatedResourceContainer communicationTarget) {
         for (CommunicationLink link : communicationLinks) {
             if (link.connects(this, communicationTarget)) {
                 return link;
@@ -90,6 +104,19 @@ public class SimulatedResourceContainer {
         }
 
         this.communicationLinks.add(link);
+        this.linksByTarget = null;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    void setLinksByTarget(CommunicationLink[] linksByTarget) {
+        this.linksByTarget = linksByTarget;
     }
 
 //    /**
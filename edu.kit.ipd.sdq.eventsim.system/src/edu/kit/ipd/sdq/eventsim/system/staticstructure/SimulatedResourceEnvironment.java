@@ -19,6 +19,10 @@ import edu.kit.ipd.sdq.eventsim.system.staticstructure.commands.BuildSimulatedRe
  * <li>specification: {@link ResourceContainer}</li>
  * <li>instance: {@link SimulatedResourceContainer}</li>
  * </ul>
+ * <p>
+ * Once all containers and links have been registered, {@link #buildLinkMatrix()} precomputes the
+ * {@link CommunicationLink} for each pair of containers, so that finding the link between two
+ * containers does not require to search the links.
  * 
  * @author Philipp Merkle
  * 
@@ -29,12 +33,16 @@ public class SimulatedResourceEnvironment {
     // maps ResourceContainer ID -> SimulatedResourceContainer
     private Map<String, SimulatedResourceContainer> map;
 
+    // containers in the order of their index
+    private List<SimulatedResourceContainer> containers;
+
     /**
      * Constructs a new registry for {@link SimulatedResourceContainer}s which represents the
      * resource environment.
      */
     public SimulatedResourceEnvironment() {
         map = new HashMap<String, SimulatedResourceContainer>();
+        containers = new ArrayList<SimulatedResourceContainer>();
     }
 
     /**
@@ -48,6 +56,24 @@ public class SimulatedResourceEnvironment {
      */
     public void registerResourceContainer(ResourceContainer specification, SimulatedResourceContainer instance) {
         map.put(specification.getId(), instance);
+        if (instance.getIndex() < 0) {
+            instance.setIndex(containers.size());
+            containers.add(instance);
+        }
+    }
+
+    /**
+     * Precomputes the communication link between each pair of registered resource containers.
+     * Containers or links registered afterwards invalidate the respective rows.
+     */
+    public void buildLinkMatrix() {
+        for (SimulatedResourceContainer from : containers) {
+            CommunicationLink[] row = new CommunicationLink[containers.size()];
+            for (SimulatedResourceContainer to : containers) {
+                row[to.getIndex()] = from.searchCommunicationLink(to);
+            }
+            from.setLinksByTarget(row);
+        }
     }
 
     /**
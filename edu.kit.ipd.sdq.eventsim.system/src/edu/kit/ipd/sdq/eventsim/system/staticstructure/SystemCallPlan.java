@@ -0,0 +1,63 @@
+package edu.kit.ipd.sdq.eventsim.system.staticstructure;
+
+import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+
+import edu.kit.ipd.sdq.eventsim.stoex.ParameterPlan;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
+
+/**
+ * Everything needed to simulate an {@link EntryLevelSystemCall}, resolved when the simulation is
+ * being prepared: the component instance providing the call, the SEFF describing the called
+ * service, and the plans for passing input and output parameters.
+ * 
+ * @author Philipp Merkle
+ * 
+ */
+public class SystemCallPlan {
+
+    private final EntryLevelSystemCall call;
+
+    private final ComponentInstance component;
+
+    private final ResourceDemandingSEFF behaviour;
+
+    private final ParameterPlan inputParameters;
+
+    private final ParameterPlan outputParameters;
+
+    public SystemCallPlan(EntryLevelSystemCall call, ComponentInstance component, StoExCompiler compiler) {
+        this.call = call;
+        this.component = component;
+        this.behaviour = component.getServiceEffectSpecification(call.getOperationSignature__EntryLevelSystemCall());
+        this.inputParameters = ParameterPlan.compile(call.getInputParameterUsages_EntryLevelSystemCall(), compiler);
+        this.outputParameters = ParameterPlan.compile(call.getOutputParameterUsages_EntryLevelSystemCall(), compiler);
+    }
+
+    public EntryLevelSystemCall getCall() {
+        return call;
+    }
+
+    /**
+     * @return the component instance providing the called service
+     */
+    public ComponentInstance getComponent() {
+        return component;
+    }
+
+    /**
+     * @return the SEFF of the called service
+     */
+    public ResourceDemandingSEFF getBehaviour() {
+        return behaviour;
+    }
+
+    public ParameterPlan getInputParameters() {
+        return inputParameters;
+    }
+
+    public ParameterPlan getOutputParameters() {
+        return outputParameters;
+    }
+
+}
@@ -57,6 +57,10 @@ public class BuildSimulatedResourceEnvironment implements IPCMCommand<SimulatedR
                 container.registerCommunicationLink(link);
             }
         }
+
+        // precompute links between each pair of containers
+        environment.buildLinkMatrix();
+
         return environment;
     }
 
@@ -41,9 +41,40 @@ public class ConfigurationBuilder {
 		return this;
 	}
 
+	public ConfigurationBuilder stopAtPrecision(double relativeHalfWidth, double confidenceLevel, String metric,
+			String measuringPoint) {
+		configMap.put(SimulationConfiguration.PRECISION_TARGET, Double.toString(relativeHalfWidth));
+		configMap.put(SimulationConfiguration.PRECISION_CONFIDENCE_LEVEL, Double.toString(confidenceLevel));
+		configMap.put(SimulationConfiguration.PRECISION_METRIC, metric);
+		configMap.put(SimulationConfiguration.PRECISION_MEASURING_POINT, measuringPoint);
+		return this;
+	}
+
+	public ConfigurationBuilder withPrecisionBatchSize(int batchSize) {
+		configMap.put(SimulationConfiguration.PRECISION_BATCH_SIZE, Integer.toString(batchSize));
+		return this;
+	}
+
+	public ConfigurationBuilder useTrampolinedTraversal() {
+		configMap.put(SimulationConfiguration.TRAMPOLINED_TRAVERSAL, true);
+		return this;
+	}
+
+	public ConfigurationBuilder useNativeSimulationEngine() {
+		configMap.put(SimulationConfiguration.NATIVE_SIMULATION_ENGINE, true);
+		return this;
+	}
+
+	public ConfigurationBuilder useEntityPooling() {
+		configMap.put(SimulationConfiguration.ENTITY_POOLING, true);
+		return this;
+	}
+
 	public SimulationConfiguration build() {
 		if (configMap.get(AbstractSimulationConfig.SIMULATION_TIME).equals(UNLIMITED)
-				&& configMap.get(AbstractSimulationConfig.MAXIMUM_MEASUREMENT_COUNT).equals(UNLIMITED)) {
+				&& configMap.get(AbstractSimulationConfig.MAXIMUM_MEASUREMENT_COUNT).equals(UNLIMITED)
+				&& Double.parseDouble(configMap.getOrDefault(SimulationConfiguration.PRECISION_TARGET, "0")
+						.toString()) <= 0) {
 			throw new RuntimeException("Require at least one stopping criterion");
 		}
 		SimulationConfiguration config = new SimulationConfiguration(configMap, false);
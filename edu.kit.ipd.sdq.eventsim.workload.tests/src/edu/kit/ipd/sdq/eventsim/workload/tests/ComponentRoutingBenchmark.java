@@ -0,0 +1,135 @@
+package edu.kit.ipd.sdq.eventsim.workload.tests;
+
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.pcm.core.composition.CompositionFactory;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.OperationInterface;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationRequiredRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.RequiredRole;
+import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
+import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
+
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.CallRoute;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.ComponentInstance;
+import edu.kit.ipd.sdq.eventsim.system.staticstructure.RoleInstance;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.BuildingContext;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.repository.RepositoryBuilder;
+import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
+
+/**
+ * Compares routing calls through the {@link ComponentInstance} routing table against searching
+ * required roles and SEFFs linearly, as done before the routing table has been introduced. The
+ * benchmark uses a single interface comprising many signatures, which is the worst case for the
+ * linear search.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class ComponentRoutingBenchmark {
+
+	private static final Logger logger = Logger.getLogger(ComponentRoutingBenchmark.class);
+
+	private static final int SIGNATURES = 500;
+
+	private static final int ROUNDS = 200;
+
+	private BasicComponent callerType;
+
+	private BasicComponent providerType;
+
+	private OperationSignature[] signatures;
+
+	private ComponentInstance caller;
+
+	private ComponentInstance provider;
+
+	@Before
+	public void init() {
+		BuildingContext ctx = new BuildingContext();
+		RepositoryBuilder rb = ctx.newRepositoryModel();
+		Repository r = rb.build();
+		OperationInterface iface = rb.newInterface().buildIn(r);
+
+		signatures = new OperationSignature[SIGNATURES];
+		providerType = rb.newBasicComponent().provide(iface).buildIn(r);
+		for (int i = 0; i < SIGNATURES; i++) {
+			signatures[i] = rb.newSignature().buildIn(iface);
+			rb.newSEFF(signatures[i]).start().stop().buildSeff()
+					.setBasicComponent_ServiceEffectSpecification(providerType);
+		}
+		callerType = rb.newBasicComponent().require(iface).buildIn(r);
+
+		provider = new ComponentInstance(providerType, CompositionFactory.eINSTANCE.createAssemblyContext(), null,
+				null);
+		caller = new ComponentInstance(callerType, CompositionFactory.eINSTANCE.createAssemblyContext(), null, null);
+		OperationRequiredRole requiredRole = (OperationRequiredRole) callerType
+				.getRequiredRoles_InterfaceRequiringEntity().get(0);
+		OperationProvidedRole providedRole = (OperationProvidedRole) providerType
+				.getProvidedRoles_InterfaceProvidingEntity().get(0);
+		RoleInstance.linkRoles(caller.getRequiredRole(requiredRole), provider.getProvidedRole(providedRole));
+		caller.buildRoutingTable();
+	}
+
+	@Test
+	public void routingTableVersusLinearSearch() {
+		// warm up and check that both variants agree
+		for (OperationSignature s : signatures) {
+			CallRoute route = caller.getRoute(s);
+			assertSame(provider, route.getProvidingComponent());
+			assertSame(findSeffLinearly(s), route.getBehaviour());
+		}
+
+		long start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (OperationSignature s : signatures) {
+				findProvidingRoleLinearly(s);
+				findSeffLinearly(s);
+			}
+		}
+		long linear = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (OperationSignature s : signatures) {
+				caller.getRoute(s);
+			}
+		}
+		long routed = System.nanoTime() - start;
+
+		long lookups = (long) ROUNDS * SIGNATURES;
+		logger.info(String.format("%s signatures: linear search %.1f ns/call, routing table %.1f ns/call",
+				SIGNATURES, (double) linear / lookups, (double) routed / lookups));
+	}
+
+	private RequiredRole findProvidingRoleLinearly(OperationSignature signature) {
+		for (RequiredRole r : callerType.getRequiredRoles_InterfaceRequiringEntity()) {
+			OperationInterface iface = ((OperationRequiredRole) r).getRequiredInterface__OperationRequiredRole();
+			List<OperationSignature> candidates = iface.getSignatures__OperationInterface();
+			for (OperationSignature s : candidates) {
+				if (PCMEntityHelper.equals(s, signature)) {
+					return r;
+				}
+			}
+		}
+		return null;
+	}
+
+	private ResourceDemandingSEFF findSeffLinearly(OperationSignature signature) {
+		for (ServiceEffectSpecification s : providerType.getServiceEffectSpecifications__BasicComponent()) {
+			if (PCMEntityHelper.equals(s.getDescribedService__SEFF(), signature)) {
+				return (ResourceDemandingSEFF) s;
+			}
+		}
+		return null;
+	}
+
+}
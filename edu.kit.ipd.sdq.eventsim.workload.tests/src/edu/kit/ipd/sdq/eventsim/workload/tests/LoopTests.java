@@ -5,15 +5,20 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 import org.palladiosimulator.pcm.usagemodel.Loop;
 import org.palladiosimulator.pcm.usagemodel.UsageModel;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelPackage;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -26,6 +31,7 @@ import edu.kit.ipd.sdq.eventsim.test.util.builder.BuildingContext;
 import edu.kit.ipd.sdq.eventsim.test.util.builder.ConfigurationBuilder;
 import edu.kit.ipd.sdq.eventsim.test.util.builder.PCMModelBuilder;
 import edu.kit.ipd.sdq.eventsim.test.util.builder.usage.UsageBuilder;
+import edu.kit.ipd.sdq.eventsim.workload.EventSimWorkloadModel;
 
 /**
  * Tests simulation of {@link Loop} actions.
@@ -122,6 +128,43 @@ public class LoopTests {
 		assertThat(trace.invocationCount("stop"), equalTo(1));
 	}
 
+	@Test
+	public void longLoopShouldNotGrowCallStackWhenTrampolined() {
+		final int LOOP_ITERATIONS = 10_000;
+
+		// create PCM usage model
+		BuildingContext ctx = new BuildingContext();
+		UsageBuilder ub = ctx.newUsageModel();
+		UsageModel um = ub.build();
+		UsageScenario s = ub.newScenario().closedWorkload(1, 0).buildIn(um);
+		ub.newBehaviour().start("outer_start").loop("loop", LOOP_ITERATIONS).stop("outer_stop").buildIn(s);
+		ub.newBehaviour().start("inner_start").stop("inner_stop").buildAsLoopBehaviourIn("loop");
+		PCMModel model = new PCMModelBuilder().withUsageModel(um).build();
+
+		// create simulation configuration
+		SimulationConfiguration config = new ConfigurationBuilder(model).stopAtMeasurementCount(1)
+				.useTrampolinedTraversal().build();
+
+		// assemble simulation components (some of them being mocked)
+		Injector injector = Guice.createInjector(new TestSimulationModule(config));
+		SimulationManager manager = injector.getInstance(SimulationManager.class);
+
+		// record the call stack depth at the beginning of each iteration
+		AbstractUserAction innerStart = ctx.lookup(UsagemodelPackage.eINSTANCE.getStart(), "inner_start");
+		List<Integer> stackDepths = new ArrayList<>();
+		((EventSimWorkloadModel) manager.getWorkload()).getMeasurementFacade().createProbe(innerStart, "before")
+				.forEachMeasurement(m -> stackDepths.add(Thread.currentThread().getStackTrace().length));
+
+		// run simulation
+		manager.startSimulation();
+
+		// the first iteration is entered from the loop action, all subsequent ones from the trampoline
+		assertThat(stackDepths.size(), equalTo(LOOP_ITERATIONS));
+		for (int i = 2; i < LOOP_ITERATIONS; i++) {
+			assertThat(stackDepths.get(i), equalTo(stackDepths.get(1)));
+		}
+	}
+
 	@Test
 	public void loopWithoutBehaviourShouldBeSkippedWithoutException() {
 		final int LOOP_ITERATIONS = 23;
@@ -0,0 +1,110 @@
+package edu.kit.ipd.sdq.eventsim.workload.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.pcm.usagemodel.Delay;
+import org.palladiosimulator.pcm.usagemodel.UsageModel;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelPackage;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import edu.kit.ipd.sdq.eventsim.SimulationConfiguration;
+import edu.kit.ipd.sdq.eventsim.api.PCMModel;
+import edu.kit.ipd.sdq.eventsim.launch.SimulationManager;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementFacade;
+import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
+import edu.kit.ipd.sdq.eventsim.middleware.simulation.ConfidenceIntervalStopCondition;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.BuildingContext;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.ConfigurationBuilder;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.PCMModelBuilder;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.usage.UsageBuilder;
+import edu.kit.ipd.sdq.eventsim.workload.EventSimWorkloadModel;
+import edu.kit.ipd.sdq.eventsim.workload.calculators.TimeSpanBetweenUserActionsCalculator;
+
+/**
+ * Tests stopping the simulation once the mean of a metric at a measuring point has been estimated
+ * with the requested precision.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class PrecisionStopTests {
+
+	private static final Level LOG_LEVEL = Level.INFO;
+
+	private static final double DELAY = 1.42;
+
+	private static final int BATCH_SIZE = 10;
+
+	@Before
+	public void init() {
+		Logger.getLogger("edu.kit.ipd.sdq.eventsim").setLevel(LOG_LEVEL);
+	}
+
+	@Test
+	public void stopsAfterMinimumBatchesIfMetricIsConstant() {
+		BuildingContext ctx = new BuildingContext();
+		PCMModel model = buildModel(ctx);
+
+		// a constant time span yields a zero-width interval as soon as the condition may hold
+		SimulationConfiguration config = new ConfigurationBuilder(model).stopAtSimulationTime(10000)
+				.stopAtPrecision(0.01, 0.95, "TIME_SPAN", "delay").withPrecisionBatchSize(BATCH_SIZE).build();
+		List<Double> timeSpans = simulate(ctx, config);
+
+		assertEquals(ConfidenceIntervalStopCondition.MIN_BATCHES * BATCH_SIZE, timeSpans.size());
+	}
+
+	@Test
+	public void ignoresMetricAtOtherMeasuringPoints() {
+		BuildingContext ctx = new BuildingContext();
+		PCMModel model = buildModel(ctx);
+
+		// no measuring point matches, so the simulation runs until the maximum simulation time
+		SimulationConfiguration config = new ConfigurationBuilder(model).stopAtSimulationTime(1000)
+				.stopAtPrecision(0.01, 0.95, "TIME_SPAN", "some other element").withPrecisionBatchSize(BATCH_SIZE)
+				.build();
+		List<Double> timeSpans = simulate(ctx, config);
+
+		assertEquals((int) (1000 / DELAY), timeSpans.size());
+		// enough time spans to satisfy the condition, had they been observed
+		assertTrue(timeSpans.size() > ConfidenceIntervalStopCondition.MIN_BATCHES * BATCH_SIZE);
+	}
+
+	private static PCMModel buildModel(BuildingContext ctx) {
+		UsageBuilder ub = ctx.newUsageModel();
+		UsageModel um = ub.build();
+		UsageScenario s = ub.newScenario().closedWorkload(1, 0).buildIn(um);
+		ub.newBehaviour().start().delay("delay", DELAY).stop().buildIn(s);
+		return new PCMModelBuilder().withUsageModel(um).build();
+	}
+
+	private static List<Double> simulate(BuildingContext ctx, SimulationConfiguration config) {
+		Injector injector = Guice.createInjector(new TestSimulationModule(config));
+		SimulationManager manager = injector.getInstance(SimulationManager.class);
+
+		// measure the delay's time span and pass it to the (observed) measurement storage
+		Delay delay = ctx.lookup(UsagemodelPackage.eINSTANCE.getDelay(), "delay");
+		MeasurementFacade<?> measurementFacade = ((EventSimWorkloadModel) manager.getWorkload()).getMeasurementFacade();
+		MeasurementStorage measurementStorage = injector.getInstance(MeasurementStorage.class);
+		List<Double> timeSpans = new ArrayList<>();
+		measurementFacade.createCalculator(new TimeSpanBetweenUserActionsCalculator("TIME_SPAN"))
+				.from(delay, "before").to(delay, "after").forEachMeasurement(m -> {
+					timeSpans.add(m.getValue());
+					measurementStorage.put(m);
+				});
+
+		manager.startSimulation();
+		return timeSpans;
+	}
+
+}
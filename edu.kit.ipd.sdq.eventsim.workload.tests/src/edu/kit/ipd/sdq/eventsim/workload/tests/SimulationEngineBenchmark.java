@@ -0,0 +1,105 @@
+package edu.kit.ipd.sdq.eventsim.workload.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.pcm.usagemodel.UsageModel;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import edu.kit.ipd.sdq.eventsim.SimulationConfiguration;
+import edu.kit.ipd.sdq.eventsim.api.PCMModel;
+import edu.kit.ipd.sdq.eventsim.launch.SimulationManager;
+import edu.kit.ipd.sdq.eventsim.middleware.engine.NativeSimEngineFactory;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.BuildingContext;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.ConfigurationBuilder;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.PCMModelBuilder;
+import edu.kit.ipd.sdq.eventsim.test.util.builder.usage.UsageBuilder;
+
+/**
+ * Compares the {@link NativeSimEngineFactory native simulation engine} against the engine preferred
+ * by the simulation platform, simulating the same model with both. The model comprises several
+ * closed workloads with many users, whose delays yield a large future event list and many events
+ * with equal time.
+ * <p>
+ * The benchmark takes long and is therefore skipped unless the system property {@value #ENABLED} is
+ * set to {@code true}, e.g. by adding {@code -Deventsim.benchmarks=true} to the VM arguments of the
+ * test launch configuration.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+public class SimulationEngineBenchmark {
+
+	/** the system property enabling benchmarks */
+	public static final String ENABLED = "eventsim.benchmarks";
+
+	private static final Logger logger = Logger.getLogger(SimulationEngineBenchmark.class);
+
+	private static final int SCENARIOS = 4;
+
+	private static final int USERS_PER_SCENARIO = 2_500;
+
+	private static final int MEASUREMENTS = 200_000;
+
+	private static final double DELTA = 1e-6;
+
+	@Before
+	public void init() {
+		assumeTrue("benchmarks disabled", Boolean.getBoolean(ENABLED));
+
+		// debug logging would install debug traversal listeners and dominate the measurement
+		Logger.getLogger("edu.kit.ipd.sdq.eventsim").setLevel(Level.INFO);
+	}
+
+	@Test
+	public void nativeVersusPreferredEngine() {
+		// warm up both engines
+		simulate(false, MEASUREMENTS / 10);
+		simulate(true, MEASUREMENTS / 10);
+
+		long start = System.nanoTime();
+		double preferredSimTime = simulate(false, MEASUREMENTS);
+		long preferred = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		double nativeSimTime = simulate(true, MEASUREMENTS);
+		long nativeEngine = System.nanoTime() - start;
+
+		assertEquals(preferredSimTime, nativeSimTime, DELTA);
+		logger.info(String.format("%s users: preferred engine %d ms, native engine %d ms", MEASUREMENTS,
+				preferred / 1_000_000, nativeEngine / 1_000_000));
+	}
+
+	/**
+	 * @return the simulation time at which the simulation stopped
+	 */
+	private double simulate(boolean nativeEngine, int measurements) {
+		BuildingContext ctx = new BuildingContext();
+		UsageBuilder ub = ctx.newUsageModel();
+		UsageModel um = ub.build();
+		for (int i = 0; i < SCENARIOS; i++) {
+			UsageScenario s = ub.newScenario().closedWorkload(USERS_PER_SCENARIO, 0.5 * i).buildIn(um);
+			ub.newBehaviour().start().delay(1.0).delay(0.25 * (i + 1)).delay(2.0).stop().buildIn(s);
+		}
+		PCMModel model = new PCMModelBuilder().withUsageModel(um).build();
+
+		ConfigurationBuilder configBuilder = new ConfigurationBuilder(model).stopAtMeasurementCount(measurements);
+		if (nativeEngine) {
+			configBuilder.useNativeSimulationEngine();
+		}
+		SimulationConfiguration config = configBuilder.build();
+
+		Injector injector = Guice.createInjector(new TestSimulationModule(config));
+		SimulationManager manager = injector.getInstance(SimulationManager.class);
+		manager.startSimulation();
+		return manager.getMiddleware().getSimulationControl().getCurrentSimulationTime();
+	}
+
+}
@@ -4,6 +4,8 @@ import org.eclipse.core.runtime.Platform;
 import org.mockito.Mockito;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
 
 import edu.kit.ipd.sdq.eventsim.api.IActiveResource;
 import edu.kit.ipd.sdq.eventsim.api.ILinkingResource;
@@ -12,6 +14,8 @@ import edu.kit.ipd.sdq.eventsim.api.ISimulationConfiguration;
 import edu.kit.ipd.sdq.eventsim.api.PCMModel;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.core.InstrumentationDescription;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.middleware.MeasurementStorageModule;
 import edu.kit.ipd.sdq.eventsim.middleware.SimulationMiddlewareModule;
 import edu.kit.ipd.sdq.eventsim.modules.SimulationModule;
 import edu.kit.ipd.sdq.eventsim.modules.SimulationModuleRegistry;
@@ -36,9 +40,6 @@ public class TestSimulationModule extends AbstractModule {
         bind(IPassiveResource.class).toInstance(Mockito.mock(IPassiveResource.class));
         bind(ILinkingResource.class).toInstance(Mockito.mock(ILinkingResource.class));
 
-        MeasurementStorage measurementStorage = Mockito.mock(MeasurementStorage.class);
-        bind(MeasurementStorage.class).toInstance(measurementStorage);
-
         SimulationModuleRegistry moduleRegistry = instantiateSimulationModuleRegistry();
         bind(SimulationModuleRegistry.class).toInstance(moduleRegistry);
 
@@ -47,6 +48,13 @@ public class TestSimulationModule extends AbstractModule {
         bind(InstrumentationDescription.class).toInstance(Mockito.mock(InstrumentationDescription.class));
     }
 
+    @Provides
+    @Singleton
+    public MeasurementStorage provideMeasurementStorage(RecordDictionary dictionary) {
+        // decorated like the real storage, e.g. to observe the precision metric
+        return MeasurementStorageModule.decorate(Mockito.mock(MeasurementStorage.class), config, dictionary);
+    }
+
     private SimulationModuleRegistry instantiateSimulationModuleRegistry() {
         SimulationModuleRegistry moduleRegistry = SimulationModuleRegistry.createFrom(Platform.getExtensionRegistry());
         // TODO improve method to select enabled simulation modules 
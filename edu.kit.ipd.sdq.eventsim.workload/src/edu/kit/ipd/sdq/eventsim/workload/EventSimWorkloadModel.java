@@ -7,6 +7,7 @@ import org.osgi.framework.Bundle;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
 
 import de.uka.ipd.sdq.probfunction.math.IProbabilityFunctionFactory;
@@ -18,17 +19,23 @@ import edu.kit.ipd.sdq.eventsim.api.IWorkload;
 import edu.kit.ipd.sdq.eventsim.api.PCMModel;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
 import edu.kit.ipd.sdq.eventsim.api.events.SimulationPrepareEvent;
+import edu.kit.ipd.sdq.eventsim.api.events.SimulationStopEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.WorkloadUserFinishedEvent;
 import edu.kit.ipd.sdq.eventsim.command.PCMModelCommandExecutor;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.core.InstrumentationDescription;
 import edu.kit.ipd.sdq.eventsim.instrumentation.description.useraction.UserActionRepresentative;
 import edu.kit.ipd.sdq.eventsim.instrumentation.injection.Instrumentor;
 import edu.kit.ipd.sdq.eventsim.instrumentation.injection.InstrumentorBuilder;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
+import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategyRegistry;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalListenerRegistry;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementFacade;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasurementStorage;
 import edu.kit.ipd.sdq.eventsim.measurement.osgi.BundleProbeLocator;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.RecordDictionary;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
+import edu.kit.ipd.sdq.eventsim.workload.command.CompileUsageBehaviours;
 import edu.kit.ipd.sdq.eventsim.workload.debug.DebugUsageTraversalListener;
 import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 import edu.kit.ipd.sdq.eventsim.workload.generator.BuildWorkloadGenerator;
@@ -57,6 +64,9 @@ public class EventSimWorkloadModel implements IWorkload {
     @Inject
     private MeasurementStorage measurementStorage;
 
+    @Inject
+    private RecordDictionary recordDictionary;
+
     @Inject
     private PCMModelCommandExecutor executor;
 
@@ -66,6 +76,12 @@ public class EventSimWorkloadModel implements IWorkload {
     @Inject
     private TraversalListenerRegistry<AbstractUserAction, User> traversalListeners;
 
+    @Inject
+    private Provider<SimulationStrategyRegistry<AbstractUserAction, User>> strategies;
+
+    @Inject
+    private ExecutionProgram<AbstractUserAction, User> program;
+
     @Inject
     private BuildWorkloadGenerator workloadGeneratorBuilder;
 
@@ -75,6 +91,9 @@ public class EventSimWorkloadModel implements IWorkload {
     @Inject
     private InstrumentationDescription instrumentation;
 
+    @Inject
+    private StoExCompiler stoExCompiler;
+
     private MeasurementFacade<WorkloadMeasurementConfiguration> measurementFacade;
 
     @Inject
@@ -105,6 +124,9 @@ public class EventSimWorkloadModel implements IWorkload {
 
         registerEventHandler();
 
+        // compile usage scenarios for faster traversal
+        executor.execute(new CompileUsageBehaviours(program, strategies.get(), traversalListeners));
+
         generate();
     }
 
@@ -123,8 +145,14 @@ public class EventSimWorkloadModel implements IWorkload {
     private void registerEventHandler() {
         middleware.registerEventHandler(WorkloadUserFinishedEvent.class, e -> {
             middleware.increaseMeasurementCount();
+            recordDictionary.evict(e.getUser());
             return Registration.KEEP_REGISTERED;
         });
+        middleware.registerEventHandler(SimulationStopEvent.class, e -> {
+            // tells which stochastic expressions could not be folded
+            logger.info(stoExCompiler.getStatistics());
+            return Registration.UNREGISTER;
+        });
     }
 
     private void setupMeasurements() {
@@ -140,21 +168,22 @@ public class EventSimWorkloadModel implements IWorkload {
         pcm.getUsageModel().getUsageScenario_UsageModel().forEach(scenario -> {
             // setup inter-arrival time probe
             IProbe<?> interArrivalProbe = getMeasurementFacade().createProbe(scenario, "inter_arrival_time");
-            interArrivalProbe.forEachMeasurement(m -> measurementStorage.put(m));
+            measurementStorage.storeAllOf(interArrivalProbe);
 
             // setup inter-departure time probe
             IProbe<?> interDepartureProbe = getMeasurementFacade().createProbe(scenario, "inter_departure_time");
-            interDepartureProbe.forEachMeasurement(m -> measurementStorage.put(m));
+            measurementStorage.storeAllOf(interDepartureProbe);
 
             // setup active users probe
             IProbe<?> activeUsersProbe = getMeasurementFacade().createProbe(scenario, "active_users");
-            activeUsersProbe.forEachMeasurement(m -> measurementStorage.put(m));
+            measurementStorage.storeAllOf(activeUsersProbe);
         });
 
         measurementStorage.addIdExtractor(User.class, c -> Long.toString(((User) c).getEntityId()));
         measurementStorage.addNameExtractor(User.class, c -> ((User) c).getName());
         measurementStorage.addIdExtractor(AbstractUserAction.class, c -> ((AbstractUserAction) c).getId());
         measurementStorage.addNameExtractor(AbstractUserAction.class, c -> ((AbstractUserAction) c).getEntityName());
+        recordDictionary.addWhoIdExtractor(User.class, c -> ((User) c).getEntityId());
     }
 
     public MeasurementFacade<WorkloadMeasurementConfiguration> getMeasurementFacade() {
@@ -162,7 +191,7 @@ public class EventSimWorkloadModel implements IWorkload {
             // setup measurement facade
             Bundle bundle = Activator.getContext().getBundle();
             measurementFacade = new MeasurementFacade<>(new WorkloadMeasurementConfiguration(this, middleware, model),
-                    new BundleProbeLocator<>(bundle));
+                    new BundleProbeLocator<>(bundle), recordDictionary);
         }
         return measurementFacade;
     }
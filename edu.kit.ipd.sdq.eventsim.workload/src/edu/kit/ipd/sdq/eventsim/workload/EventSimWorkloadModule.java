@@ -4,6 +4,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 
 import edu.kit.ipd.sdq.eventsim.api.IWorkload;
+import edu.kit.ipd.sdq.eventsim.workload.entities.DefaultUserFactory;
 import edu.kit.ipd.sdq.eventsim.workload.entities.UserFactory;
 import edu.kit.ipd.sdq.eventsim.workload.generator.WorkloadGeneratorFactory;
 
@@ -16,7 +17,7 @@ public class EventSimWorkloadModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        install(new FactoryModuleBuilder().build(UserFactory.class));
+        bind(UserFactory.class).to(DefaultUserFactory.class);
         install(new FactoryModuleBuilder().build(WorkloadGeneratorFactory.class));
 
         bind(IWorkload.class).to(EventSimWorkloadModel.class);
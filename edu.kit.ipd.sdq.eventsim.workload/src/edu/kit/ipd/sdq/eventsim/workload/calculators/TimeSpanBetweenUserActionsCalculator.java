@@ -1,5 +1,6 @@
 package edu.kit.ipd.sdq.eventsim.workload.calculators;
 
+import org.apache.log4j.Logger;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 
 import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
@@ -10,6 +11,7 @@ import edu.kit.ipd.sdq.eventsim.measurement.annotation.Calculator;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.ProbePair;
 import edu.kit.ipd.sdq.eventsim.measurement.calculator.AbstractBinaryCalculator;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.IProbe;
+import edu.kit.ipd.sdq.eventsim.measurement.record.TriggeredRecordListener;
 import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 
 @Calculator(metric = "timespan_between_useractions", type = Pair.class, fromType = AbstractUserAction.class, toType = AbstractUserAction.class, intendedProbes = {
@@ -17,6 +19,8 @@ import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 public class TimeSpanBetweenUserActionsCalculator
 		extends AbstractBinaryCalculator<AbstractUserAction, AbstractUserAction> {
 
+	private static final Logger log = Logger.getLogger(TimeSpanBetweenUserActionsCalculator.class);
+
 	private String metric;
 
 	public TimeSpanBetweenUserActionsCalculator() {
@@ -33,10 +37,19 @@ public class TimeSpanBetweenUserActionsCalculator
 		// log.warn("Cancelled setup of %s because one of the probes supplied is null.");
 		// }
 		fromProbe.enableCaching();
-		toProbe.forEachMeasurement(m -> {
+		MeasuringPoint<Pair<AbstractUserAction, AbstractUserAction>> mp = new MeasuringPointPair<>(
+				fromProbe.getMeasuringPoint(), toProbe.getMeasuringPoint(), "timespan",
+				toProbe.getMeasuringPoint().getContexts());
+		String metric = this.metric == null ? "TIME_SPAN_BETWEEN_ACTIONS_WORKLOAD" : this.metric;
+		toProbe.forEachRecord((TriggeredRecordListener) (metricId, measuringPointId, who, whoId, value, when) -> {
 			// find "from"-measurement
-			User user = (User) m.getWho();
-			notify(calculate(fromProbe.getLastMeasurementOf(user), m));
+			User user = (User) who;
+			double from = fromProbe.getLastValueOf(user);
+			if (!Double.isNaN(from)) {
+				measure(metric, mp, user, value - from, when);
+			} else {
+				log.warn(String.format("Could not find last measurement triggered by %s. Skipping calculation.", user));
+			}
 		});
 	}
 
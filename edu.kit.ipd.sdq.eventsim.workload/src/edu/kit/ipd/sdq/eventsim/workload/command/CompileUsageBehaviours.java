@@ -0,0 +1,84 @@
+package edu.kit.ipd.sdq.eventsim.workload.command;
+
+import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
+import org.palladiosimulator.pcm.usagemodel.Branch;
+import org.palladiosimulator.pcm.usagemodel.BranchTransition;
+import org.palladiosimulator.pcm.usagemodel.Loop;
+import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
+import org.palladiosimulator.pcm.usagemodel.Start;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelPackage;
+
+import edu.kit.ipd.sdq.eventsim.api.PCMModel;
+import edu.kit.ipd.sdq.eventsim.command.ICommandExecutor;
+import edu.kit.ipd.sdq.eventsim.command.IPCMCommand;
+import edu.kit.ipd.sdq.eventsim.command.useraction.FindActionInUsageBehaviour;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgramCompiler;
+import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategyRegistry;
+import edu.kit.ipd.sdq.eventsim.interpreter.TraversalListenerRegistry;
+import edu.kit.ipd.sdq.eventsim.workload.entities.User;
+
+/**
+ * This command compiles the scenario behaviours of all {@link UsageScenario}s into an
+ * {@link ExecutionProgram}. Nested behaviours, i.e. branch transitions and loop bodies, are compiled
+ * as well.
+ *
+ * @author Philipp Merkle
+ *
+ */
+public class CompileUsageBehaviours implements IPCMCommand<Void> {
+
+    private final ExecutionProgramCompiler<AbstractUserAction, User> compiler;
+
+    private final ExecutionProgram<AbstractUserAction, User> program;
+
+    public CompileUsageBehaviours(ExecutionProgram<AbstractUserAction, User> program,
+            SimulationStrategyRegistry<AbstractUserAction, User> strategies,
+            TraversalListenerRegistry<AbstractUserAction, User> traversalListeners) {
+        this.program = program;
+        this.compiler = new ExecutionProgramCompiler<>(strategies, traversalListeners,
+                AbstractUserAction::getSuccessor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Void execute(PCMModel pcm, ICommandExecutor<PCMModel> executor) {
+        for (UsageScenario scenario : pcm.getUsageModel().getUsageScenario_UsageModel()) {
+            compileBehaviour(scenario.getScenarioBehaviour_UsageScenario(), executor);
+        }
+        compiler.compileInto(program);
+        return null;
+    }
+
+    private void compileBehaviour(ScenarioBehaviour behaviour, ICommandExecutor<PCMModel> executor) {
+        if (behaviour == null) {
+            // reported by the respective simulation strategy, if ever traversed
+            return;
+        }
+        Start start = executor.execute(new FindActionInUsageBehaviour<Start>(behaviour, Start.class));
+        if (!compiler.addBehaviour(behaviour, start)) {
+            return;
+        }
+        for (AbstractUserAction a = start; a != null; a = a.getSuccessor()) {
+            if (UsagemodelPackage.eINSTANCE.getBranch().isInstance(a)) {
+                for (BranchTransition t : ((Branch) a).getBranchTransitions_Branch()) {
+                    compileBehaviour(t.getBranchedBehaviour_BranchTransition(), executor);
+                }
+            } else if (UsagemodelPackage.eINSTANCE.getLoop().isInstance(a)) {
+                compileBehaviour(((Loop) a).getBodyBehaviour_Loop(), executor);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean cachable() {
+        return false;
+    }
+
+}
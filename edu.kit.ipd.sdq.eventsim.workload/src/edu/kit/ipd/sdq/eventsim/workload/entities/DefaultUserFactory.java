@@ -0,0 +1,46 @@
+package edu.kit.ipd.sdq.eventsim.workload.entities;
+
+import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
+import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
+import edu.kit.ipd.sdq.eventsim.interpreter.TraversalTrampoline;
+
+/**
+ * Creates {@link User}s by plain constructor calls. Dependencies are injected into this factory
+ * once, rather than into each user created.
+ * 
+ * @author Philipp Merkle
+ *
+ */
+@Singleton
+public class DefaultUserFactory implements UserFactory {
+
+    private final ISimulationModel model;
+
+    private final TraversalTrampoline trampoline;
+
+    private final ExecutionProgram<AbstractUserAction, User> program;
+
+    private final ISimulationMiddleware middleware;
+
+    @Inject
+    public DefaultUserFactory(ISimulationModel model, TraversalTrampoline trampoline,
+            ExecutionProgram<AbstractUserAction, User> program, ISimulationMiddleware middleware) {
+        this.model = model;
+        this.trampoline = trampoline;
+        this.program = program;
+        this.middleware = middleware;
+    }
+
+    @Override
+    public User create(UsageScenario scenario) {
+        return new User(model, scenario, trampoline, program, middleware);
+    }
+
+}
@@ -3,30 +3,25 @@ package edu.kit.ipd.sdq.eventsim.workload.entities;
 import org.apache.log4j.Logger;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
-import org.palladiosimulator.pcm.usagemodel.Start;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
 
 import com.google.inject.Inject;
-import com.google.inject.Provider;
 import com.google.inject.assistedinject.Assisted;
 
 import de.uka.ipd.sdq.simucomframework.variables.StackContext;
-import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationModel;
 import edu.kit.ipd.sdq.eventsim.api.ISimulationMiddleware;
 import edu.kit.ipd.sdq.eventsim.api.IUser;
 import edu.kit.ipd.sdq.eventsim.api.Procedure;
 import edu.kit.ipd.sdq.eventsim.api.events.WorkloadUserFinishedEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.WorkloadUserSpawnEvent;
-import edu.kit.ipd.sdq.eventsim.command.PCMModelCommandExecutor;
-import edu.kit.ipd.sdq.eventsim.command.useraction.FindActionInUsageBehaviour;
 import edu.kit.ipd.sdq.eventsim.debug.DebugEntityListener;
 import edu.kit.ipd.sdq.eventsim.entities.EventSimEntity;
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.EventSimException;
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.TraversalException;
+import edu.kit.ipd.sdq.eventsim.interpreter.ExecutionProgram;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
-import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategyRegistry;
-import edu.kit.ipd.sdq.eventsim.interpreter.TraversalListenerRegistry;
+import edu.kit.ipd.sdq.eventsim.interpreter.TraversalTrampoline;
 import edu.kit.ipd.sdq.eventsim.interpreter.state.EntityState;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
 import edu.kit.ipd.sdq.eventsim.workload.generator.WorkloadGenerator;
@@ -50,13 +45,10 @@ public class User extends EventSimEntity implements IUser {
     private EntityState<AbstractUserAction> state;
 
     @Inject
-    private PCMModelCommandExecutor executor;
+    private TraversalTrampoline trampoline;
 
     @Inject
-    private TraversalListenerRegistry<AbstractUserAction, User> listenerRegistry;
-
-    @Inject
-    private Provider<SimulationStrategyRegistry<AbstractUserAction, User>> strategyRegistry;
+    private ExecutionProgram<AbstractUserAction, User> program;
 
     @Inject
     private ISimulationMiddleware middleware;
@@ -81,6 +73,18 @@ public class User extends EventSimEntity implements IUser {
         }
     }
 
+    /**
+     * Constructs a new User without relying on member injection. Used by
+     * {@link DefaultUserFactory}, which resolves the dependencies once instead of per user.
+     */
+    User(final ISimulationModel model, final UsageScenario scenario, final TraversalTrampoline trampoline,
+            final ExecutionProgram<AbstractUserAction, User> program, final ISimulationMiddleware middleware) {
+        this(model, scenario);
+        this.trampoline = trampoline;
+        this.program = program;
+        this.middleware = middleware;
+    }
+
     private void initState() {
         // initialise traversal state and StoEx context
         state = new EntityState<>(new StackContext());
@@ -124,8 +128,7 @@ public class User extends EventSimEntity implements IUser {
             throw new EventSimException("Tried to leave scenario behaviour, but there is no open scope.");
         }
 
-        AbstractUserAction finishedAction = state.getCurrentPosition();
-        notifyAfterAction(finishedAction, this);
+        program.notifyAfterListener(state.getCurrentIndex(), this);
 
         if (state.size() == 1) {
             notifyLeftSystem();
@@ -137,33 +140,59 @@ public class User extends EventSimEntity implements IUser {
     }
 
     public void delay(double waitingTime, Procedure onResumeCallback) {
-        new AbstractSimEventDelegator<User>(getModel(), "waitEvent") {
-            @Override
-            public void eventRoutine(User who) {
-                onResumeCallback.execute();
-            }
-        }.schedule(this, waitingTime);
+        scheduleCallback(waitingTime, onResumeCallback);
     }
 
+    /**
+     * Simulates the specified action. Prefer {@link #simulateSuccessor()} when continuing with the
+     * action following the current position.
+     * 
+     * @param action
+     *            the action to be simulated
+     */
     public void simulateAction(AbstractUserAction action) {
+        final int index = program.indexOf(action);
+        if (index == ExecutionProgram.NO_ACTION) {
+            throw new TraversalException("Action " + PCMEntityHelper.toString(action)
+                    + " has not been compiled into the execution program");
+        }
+        simulateAction(index);
+    }
+
+    /**
+     * Simulates the successor of the current position, i.e. of the action that has been simulated
+     * most recently within the current scenario behaviour.
+     */
+    public void simulateSuccessor() {
+        simulateAction(program.getSuccessor(state.getCurrentIndex()));
+    }
+
+    private void simulateAction(int index) {
+        if (index == ExecutionProgram.NO_ACTION) {
+            throw new TraversalException("There is no action to continue with after "
+                    + PCMEntityHelper.toString(state.getCurrentPosition()));
+        }
+        final AbstractUserAction action = program.getAction(index);
         state.setCurrentPosition(action);
+        state.setCurrentIndex(index);
 
-        final SimulationStrategy<AbstractUserAction, User> simulationStrategy = strategyRegistry.get()
-                .lookup((Class<? extends AbstractUserAction>) action.eClass().getInstanceClass());
+        final SimulationStrategy<AbstractUserAction, User> simulationStrategy = program.getStrategy(index);
         if (simulationStrategy == null) {
             throw new TraversalException(
                     "No simulation strategy could be found for " + PCMEntityHelper.toString(action));
         }
 
-        logger.debug(String.format("%s simulating %s @ %s", this.toString(), PCMEntityHelper.toString(action),
-                getModel().getSimulationControl().getCurrentSimulationTime()));
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("%s simulating %s @ %s", this.toString(), PCMEntityHelper.toString(action),
+                    getModel().getSimulationControl().getCurrentSimulationTime()));
+        }
 
-        notifyBeforeAction(action, this);
+        program.notifyBeforeListener(index, this);
         // 1) tell simulation strategy to simulate the action's effects on this user
         simulationStrategy.simulate(action, this, instruction -> {
-            notifyAfterAction(action, this);
+            program.notifyAfterListener(index, this);
             // 2) then, execute traversal instruction returned by simulation strategy
-            instruction.execute();
+            trampoline.execute(instruction);
         });
     }
 
@@ -191,22 +220,12 @@ public class User extends EventSimEntity implements IUser {
         }
 
         // begin simulation
-        Start startAction = executor.execute(new FindActionInUsageBehaviour<Start>(behaviour, Start.class));
-        simulateAction(startAction);
-    }
-
-    private void notifyAfterAction(final AbstractUserAction action, final User user) {
-        listenerRegistry.getTraversalListenerList().forEach(l -> l.after(action, user));
-        if (listenerRegistry.getTraversalListenerMap().containsKey(action)) {
-            listenerRegistry.getTraversalListenerMap().get(action).forEach(l -> l.after(action, user));
-        }
-    }
-
-    private void notifyBeforeAction(final AbstractUserAction action, final User user) {
-        listenerRegistry.getTraversalListenerList().forEach(l -> l.before(action, user));
-        if (listenerRegistry.getTraversalListenerMap().containsKey(action)) {
-            listenerRegistry.getTraversalListenerMap().get(action).forEach(l -> l.before(action, user));
+        final int start = program.entryOf(behaviour);
+        if (start == ExecutionProgram.NO_ACTION) {
+            throw new TraversalException(
+                    "Behaviour " + behaviour.getId() + " has not been compiled into the execution program");
         }
+        simulateAction(start);
     }
 
     @Override
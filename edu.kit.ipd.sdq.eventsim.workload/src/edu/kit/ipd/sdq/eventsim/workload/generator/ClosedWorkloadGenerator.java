@@ -1,6 +1,5 @@
 package edu.kit.ipd.sdq.eventsim.workload.generator;
 
-import org.palladiosimulator.pcm.core.PCMRandomVariable;
 import org.palladiosimulator.pcm.usagemodel.ClosedWorkload;
 import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
@@ -8,8 +7,9 @@ import org.palladiosimulator.pcm.usagemodel.UsageScenario;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import edu.kit.ipd.sdq.eventsim.entities.IEntityListener;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 import edu.kit.ipd.sdq.eventsim.workload.entities.UserFactory;
 
@@ -26,7 +26,7 @@ public class ClosedWorkloadGenerator implements WorkloadGenerator {
 
     private final ClosedWorkload workload;
     private final int population;
-    private final PCMRandomVariable thinkTime;
+    private final CompiledExpression thinkTime;
     private UserFactory userFactory;
 
     /**
@@ -34,15 +34,18 @@ public class ClosedWorkloadGenerator implements WorkloadGenerator {
      * 
      * @param middleware
      * @param userFactory
+     * @param compiler
+     *            the compiler of the think time
      * @param workload
      *            the workload description
      */
     @Inject
-    public ClosedWorkloadGenerator(UserFactory userFactory, @Assisted ClosedWorkload workload) {
+    public ClosedWorkloadGenerator(UserFactory userFactory, StoExCompiler compiler,
+            @Assisted ClosedWorkload workload) {
         this.userFactory = userFactory;
         this.workload = workload;
         this.population = workload.getPopulation();
-        this.thinkTime = workload.getThinkTime_ClosedWorkload();
+        this.thinkTime = compiler.compile(workload.getThinkTime_ClosedWorkload());
     }
 
     /**
@@ -78,7 +81,7 @@ public class ClosedWorkloadGenerator implements WorkloadGenerator {
             }
 
         });
-        double waitingTime = StackContext.evaluateStatic(this.thinkTime.getSpecification(), Double.class);
+        double waitingTime = this.thinkTime.evaluateStatic(Double.class);
         waitingTime = Math.max(0, waitingTime); // ensure non-negative
 
         ScenarioBehaviour behaviour = scenario.getScenarioBehaviour_UsageScenario();
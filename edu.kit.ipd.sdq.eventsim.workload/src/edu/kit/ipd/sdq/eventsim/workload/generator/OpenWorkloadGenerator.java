@@ -1,14 +1,14 @@
 package edu.kit.ipd.sdq.eventsim.workload.generator;
 
-import org.palladiosimulator.pcm.core.PCMRandomVariable;
 import org.palladiosimulator.pcm.usagemodel.OpenWorkload;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
 
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import edu.kit.ipd.sdq.eventsim.entities.IEntityListener;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 import edu.kit.ipd.sdq.eventsim.workload.entities.UserFactory;
 
@@ -23,7 +23,7 @@ import edu.kit.ipd.sdq.eventsim.workload.entities.UserFactory;
 public class OpenWorkloadGenerator implements WorkloadGenerator {
 
     private final OpenWorkload workload;
-    private final PCMRandomVariable interarrivalTime;
+    private final CompiledExpression interarrivalTime;
     private UserFactory userFactory;
 
     /**
@@ -31,15 +31,18 @@ public class OpenWorkloadGenerator implements WorkloadGenerator {
      * 
      * @param middleware
      * @param userFactory
+     * @param compiler
+     *            the compiler of the interarrival time
      * @param workload
      *            the workload description
      */
     @Inject
-    public OpenWorkloadGenerator(UserFactory userFactory, @Assisted final OpenWorkload workload) {
+    public OpenWorkloadGenerator(UserFactory userFactory, StoExCompiler compiler,
+            @Assisted final OpenWorkload workload) {
         this.userFactory = userFactory;
         this.workload = workload;
 
-        this.interarrivalTime = workload.getInterArrivalTime_OpenWorkload();
+        this.interarrivalTime = compiler.compile(workload.getInterArrivalTime_OpenWorkload());
     }
 
     /**
@@ -68,8 +71,7 @@ public class OpenWorkloadGenerator implements WorkloadGenerator {
 
             @Override
             public void enteredSystem() {
-                final double waitingTime = StackContext
-                        .evaluateStatic(OpenWorkloadGenerator.this.interarrivalTime.getSpecification(), Double.class);
+                final double waitingTime = OpenWorkloadGenerator.this.interarrivalTime.evaluateStatic(Double.class);
                 OpenWorkloadGenerator.this.spawnUser(waitingTime);
             }
 
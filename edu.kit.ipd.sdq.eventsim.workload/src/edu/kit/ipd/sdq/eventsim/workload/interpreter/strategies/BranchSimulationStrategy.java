@@ -1,5 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.workload.interpreter.strategies;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
@@ -14,12 +16,14 @@ import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.InvalidModelParametersExcep
 import edu.kit.ipd.sdq.eventsim.exceptions.unchecked.UnknownSimulationException;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.util.BranchSampler;
 import edu.kit.ipd.sdq.eventsim.util.PCMEntityHelper;
 import edu.kit.ipd.sdq.eventsim.workload.WorkloadModelDiagnostics;
 import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 
 /**
- * Simulates {@link Branch} actions.
+ * Simulates {@link Branch} actions. The transitions of each branch are turned into a
+ * {@link BranchSampler} on first use.
  * 
  * @author Philipp Merkle
  * 
@@ -36,6 +40,8 @@ public class BranchSimulationStrategy implements SimulationStrategy<AbstractUser
     @Inject
     private WorkloadModelDiagnostics diagnostics;
 
+    private final Map<Branch, BranchSampler<ScenarioBehaviour>> samplers = new IdentityHashMap<>();
+
     @Override
     public void simulate(AbstractUserAction action, User user, Consumer<TraversalInstruction> onFinishCallback) {
         Branch branch = (Branch) action;
@@ -43,35 +49,33 @@ public class BranchSimulationStrategy implements SimulationStrategy<AbstractUser
         // no branch transitions? report and continue with successor.
         if (branch.getBranchTransitions_Branch().size() == 0) {
             diagnostics.reportMissingBranchTransitions(branch);
-            user.simulateAction(branch.getSuccessor());
+            user.simulateSuccessor();
             return;
         }
 
         // randomly select branch transition according to their individual probability
-        ScenarioBehaviour branchTransition = selectBranchTransition(branch, randomGenerator);
+        ScenarioBehaviour branchTransition = selectBranchTransition(branch);
 
         user.simulateBehaviour(branchTransition, () -> {
             // once branch transition has been simulated
             onFinishCallback.accept(() -> {
-                user.simulateAction(branch.getSuccessor());
+                user.simulateSuccessor();
             });
         });
     }
 
-    private static ScenarioBehaviour selectBranchTransition(Branch branch, IRandomGenerator randomGenerator) {
-        ScenarioBehaviour selectedTransition = null;
-        double sum = 0;
-        final double rand = randomGenerator.random();
-        for (final BranchTransition t : branch.getBranchTransitions_Branch()) {
-            final double p = t.getBranchProbability();
-            if (rand >= sum && rand < sum + p) {
-                selectedTransition = t.getBranchedBehaviour_BranchTransition();
-            }
-            sum += p;
+    private ScenarioBehaviour selectBranchTransition(Branch branch) {
+        BranchSampler<ScenarioBehaviour> sampler = samplers.get(branch);
+        if (sampler == null) {
+            sampler = new BranchSampler<>(branch.getBranchTransitions_Branch(),
+                    BranchTransition::getBranchedBehaviour_BranchTransition, BranchTransition::getBranchProbability);
+            samplers.put(branch, sampler);
         }
 
+        ScenarioBehaviour selectedTransition = sampler.select(randomGenerator.random());
+
         failIfNoTransitionSelected(branch, selectedTransition);
-        failIfProbabilitiesDontSumUpToOne(branch, sum);
+        failIfProbabilitiesDontSumUpToOne(branch, sampler.getSum());
 
         return selectedTransition;
     }
@@ -1,25 +1,35 @@
 package edu.kit.ipd.sdq.eventsim.workload.interpreter.strategies;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 import org.palladiosimulator.pcm.usagemodel.Delay;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
-import de.uka.ipd.sdq.simucomframework.variables.converter.NumberConverter;
+import com.google.inject.Inject;
+
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 
 /**
- * This traversal strategy is responsible for {@link Delay} actions.
+ * This traversal strategy is responsible for {@link Delay} actions. The delay time of each action
+ * is compiled on first use.
  * 
  * @author Philipp Merkle
  * 
  */
 public class DelaySimulationStrategy implements SimulationStrategy<AbstractUserAction, User> {
 
+    @Inject
+    private StoExCompiler compiler;
+
+    private final Map<Delay, CompiledExpression> delayTimes = new IdentityHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -28,18 +38,26 @@ public class DelaySimulationStrategy implements SimulationStrategy<AbstractUserA
         Delay delay = (Delay) action;
 
         // evaluate StoEx
-        final PCMRandomVariable delayTimeSpecification = delay.getTimeSpecification_Delay();
-        final double delayTime = NumberConverter
-                .toDouble(StackContext.evaluateStatic(delayTimeSpecification.getSpecification()));
+        final double delayTime = getDelayTime(delay).evaluateStaticAsDouble();
 
         // 1) wait desired time
         user.delay(delayTime, () -> {
             // 2) when waiting time elapsed, return traversal instruction   
             onFinishCallback.accept(() -> {
                 // 3) once called, continue simulation with successor
-                user.simulateAction(delay.getSuccessor());
+                user.simulateSuccessor();
             });
         });
     }
 
+    private CompiledExpression getDelayTime(Delay delay) {
+        CompiledExpression delayTime = delayTimes.get(delay);
+        if (delayTime == null) {
+            final PCMRandomVariable delayTimeSpecification = delay.getTimeSpecification_Delay();
+            delayTime = compiler.compile(delayTimeSpecification);
+            delayTimes.put(delay, delayTime);
+        }
+        return delayTime;
+    }
+
 }
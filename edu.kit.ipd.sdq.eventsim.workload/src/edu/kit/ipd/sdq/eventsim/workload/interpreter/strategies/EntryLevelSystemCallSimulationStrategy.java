@@ -36,7 +36,7 @@ public class EntryLevelSystemCallSimulationStrategy implements SimulationStrateg
             // 2) when the service call finishes, return traversal instruction
             onFinishCallback.accept(() -> {
                 // 3) once called, continue simulation with successor
-                user.simulateAction(call.getSuccessor());
+                user.simulateSuccessor();
             });
         });
     }
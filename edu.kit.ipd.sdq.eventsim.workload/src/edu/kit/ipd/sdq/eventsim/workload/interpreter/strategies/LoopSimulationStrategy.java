@@ -1,5 +1,7 @@
 package edu.kit.ipd.sdq.eventsim.workload.interpreter.strategies;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
@@ -9,15 +11,17 @@ import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
 
 import com.google.inject.Inject;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import edu.kit.ipd.sdq.eventsim.interpreter.LoopIterationHandler;
 import edu.kit.ipd.sdq.eventsim.interpreter.SimulationStrategy;
 import edu.kit.ipd.sdq.eventsim.interpreter.TraversalInstruction;
+import edu.kit.ipd.sdq.eventsim.stoex.CompiledExpression;
+import edu.kit.ipd.sdq.eventsim.stoex.StoExCompiler;
 import edu.kit.ipd.sdq.eventsim.workload.WorkloadModelDiagnostics;
 import edu.kit.ipd.sdq.eventsim.workload.entities.User;
 
 /**
- * This traversal strategy is responsible for {@link Loop} actions.
+ * This traversal strategy is responsible for {@link Loop} actions. The iteration count of each loop
+ * is compiled on first use.
  * 
  * @author Philipp Merkle
  * 
@@ -27,6 +31,11 @@ public class LoopSimulationStrategy implements SimulationStrategy<AbstractUserAc
     @Inject
     private WorkloadModelDiagnostics diagnostics;
 
+    @Inject
+    private StoExCompiler compiler;
+
+    private final Map<Loop, CompiledExpression> iterationCounts = new IdentityHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -40,13 +49,12 @@ public class LoopSimulationStrategy implements SimulationStrategy<AbstractUserAc
         final ScenarioBehaviour behaviour = loop.getBodyBehaviour_Loop();
         if (behaviour == null) {
             diagnostics.reportMissingLoopingBehaviour(loop);
-            user.simulateAction(loop.getSuccessor());
+            user.simulateSuccessor();
             return;
         }
 
         // evaluate iteration count
-        final PCMRandomVariable loopCountRandVar = loop.getLoopIteration_Loop();
-        final int requestedIterations = StackContext.evaluateStatic(loopCountRandVar.getSpecification(), Integer.class);
+        final int requestedIterations = getIterationCount(loop).evaluateStatic(Integer.class);
 
         // 1) simulate loop iterations
         new LoopIterationHandler(requestedIterations, self -> {
@@ -58,11 +66,21 @@ public class LoopSimulationStrategy implements SimulationStrategy<AbstractUserAc
                 // 4) when last iteration completes, return traversal instruction
                 onFinishCallback.accept(() -> {
                     // 5) once called, continue simulation with successor
-                    user.simulateAction(loop.getSuccessor());
+                    user.simulateSuccessor();
                 });
 
             });
         }).execute(); // bootstrap first iteration
     }
 
+    private CompiledExpression getIterationCount(Loop loop) {
+        CompiledExpression iterationCount = iterationCounts.get(loop);
+        if (iterationCount == null) {
+            final PCMRandomVariable loopCountRandVar = loop.getLoopIteration_Loop();
+            iterationCount = compiler.compile(loopCountRandVar);
+            iterationCounts.put(loop, iterationCount);
+        }
+        return iterationCount;
+    }
+
 }
@@ -25,7 +25,7 @@ public class StartSimulationStrategy implements SimulationStrategy<AbstractUserA
         // 1) return traversal instruction
         onFinishCallback.accept(() -> {
             // 2) once called, continue simulation with successor
-            user.simulateAction(action.getSuccessor());
+            user.simulateSuccessor();
         });
     }
 
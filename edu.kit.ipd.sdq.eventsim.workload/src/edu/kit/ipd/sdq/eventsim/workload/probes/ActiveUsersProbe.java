@@ -6,7 +6,6 @@ import edu.kit.ipd.sdq.eventsim.api.IUser;
 import edu.kit.ipd.sdq.eventsim.api.events.WorkloadUserFinishedEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.WorkloadUserSpawnEvent;
 import edu.kit.ipd.sdq.eventsim.api.events.IEventHandler.Registration;
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.AbstractProbe;
@@ -20,49 +19,23 @@ public class ActiveUsersProbe<E extends UsageScenario> extends AbstractProbe<E,
     public ActiveUsersProbe(MeasuringPoint<E> p, WorkloadMeasurementConfiguration cfg) {
         super(p, cfg);
 
-        configuration.getMiddleware().registerEventHandler(WorkloadUserSpawnEvent.class, event -> {
+        configuration.getMiddleware().registerEventHandler(WorkloadUserSpawnEvent.class, p.getElement(), event -> {
             IUser user = event.getUser();
 
-            // check if this probe is responsible for the present user's usage scenario
-            // TODO use event filters to notify only relevant/interested handlers
-            UsageScenario actualScenario = user.getUsageScenario();
-            UsageScenario relevantScenario = p.getElement();
-            if (actualScenario.getId().equals(relevantScenario.getId())) {
-                activeUsers++;
-                double simTime = cfg.getSimulationModel().getSimulationControl().getCurrentSimulationTime();
+            activeUsers++;
+            double simTime = cfg.getSimulationModel().getSimulationControl().getCurrentSimulationTime();
 
-                // build measurement
-                Measurement<E> m = new Measurement<>("ACTIVE_USERS", getMeasuringPoint(), user, activeUsers, simTime);
-
-                // store
-                // cache.put(m);
-
-                // notify
-                measurementListener.forEach(l -> l.notify(m));
-            }
+            measure("ACTIVE_USERS", user, activeUsers, simTime);
             return Registration.KEEP_REGISTERED;
         });
         
-        configuration.getMiddleware().registerEventHandler(WorkloadUserFinishedEvent.class, event -> {
+        configuration.getMiddleware().registerEventHandler(WorkloadUserFinishedEvent.class, p.getElement(), event -> {
             IUser user = event.getUser();
 
-            // check if this probe is responsible for the present user's usage scenario
-            // TODO use event filters to notify only relevant/interested handlers
-            UsageScenario actualScenario = user.getUsageScenario();
-            UsageScenario relevantScenario = p.getElement();
-            if (actualScenario.getId().equals(relevantScenario.getId())) {
-                activeUsers--;
-                double simTime = cfg.getSimulationModel().getSimulationControl().getCurrentSimulationTime();
-
-                // build measurement
-                Measurement<E> m = new Measurement<>("ACTIVE_USERS", getMeasuringPoint(), user, activeUsers, simTime);
-
-                // store
-                // cache.put(m);
+            activeUsers--;
+            double simTime = cfg.getSimulationModel().getSimulationControl().getCurrentSimulationTime();
 
-                // notify
-                measurementListener.forEach(l -> l.notify(m));
-            }
+            measure("ACTIVE_USERS", user, activeUsers, simTime);
             return Registration.KEEP_REGISTERED;
         });
 
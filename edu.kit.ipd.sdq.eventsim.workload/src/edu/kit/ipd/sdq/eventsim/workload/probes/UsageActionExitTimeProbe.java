@@ -3,7 +3,6 @@ package edu.kit.ipd.sdq.eventsim.workload.probes;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 
 import edu.kit.ipd.sdq.eventsim.interpreter.listener.ITraversalListener;
-import edu.kit.ipd.sdq.eventsim.measurement.Measurement;
 import edu.kit.ipd.sdq.eventsim.measurement.MeasuringPoint;
 import edu.kit.ipd.sdq.eventsim.measurement.annotation.Probe;
 import edu.kit.ipd.sdq.eventsim.measurement.probe.AbstractProbe;
@@ -27,16 +26,8 @@ public class UsageActionExitTimeProbe<E extends AbstractUserAction>
 
                     @Override
                     public void after(AbstractUserAction action, User user) {
-                        // build measurement
                         double simTime = user.getModel().getSimulationControl().getCurrentSimulationTime();
-                        Measurement<E> m = new Measurement<>("CURRENT_TIME", getMeasuringPoint(), user, simTime,
-                                simTime);
-
-                        // store
-                        cache.put(m);
-
-                        // notify
-                        measurementListener.forEach(l -> l.notify(m));
+                        measure("CURRENT_TIME", user, simTime, simTime);
                     }
                 });
     }